@@ -0,0 +1,14 @@
+package com.f1v3.async.cache;
+
+/**
+ * 캐시 생성 이후 누적 통계
+ *
+ * @param hitRate           조회 중 캐시에서 바로 돌려준 비율 (조회가 없으면 1.0)
+ * @param loadCount         원본 조회 수 (같은 키의 동시 미스는 한 번으로 합쳐진다)
+ * @param averageLoadMillis 원본 조회 한 번의 평균 소요 시간 (실패 포함)
+ * @param evictionCount     크기 제한 때문에 밀려난 항목 수 (무효화는 제외)
+ * @param size              지금 캐시에 있는 항목 수
+ */
+public record CacheStats(long hitCount, long missCount, double hitRate, long loadCount, long loadFailureCount,
+                         double averageLoadMillis, long evictionCount, long size) {
+}
@@ -0,0 +1,87 @@
+package com.f1v3.async.cache;
+
+/**
+ * 키별 최근 접근 빈도를 4비트 카운터로 어림하는 Count-Min Sketch (TinyLFU)
+ * <p>
+ * 키를 저장하지 않고 long 배열 하나에 카운터 16개씩 담으므로, 캐시에서 이미 밀려난 키의 빈도도 고정 메모리로 기억한다.
+ * 해시 4개로 고른 카운터 중 가장 작은 값이 빈도이고, 기록이 표본 크기(배열 길이의 10배)에 이르면 모든 카운터를 절반으로 줄여
+ * 오래전에 자주 쓰인 키가 계속 자리를 차지하지 않게 한다. 스레드 안전하지 않다 (캐시의 정책 락 안에서만 사용).
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long maximumSize) {
+        int length = Integer.highestOneBit((int) Math.max(16, Math.min(maximumSize, 1 << 30)) - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = length * 10;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄인다 - 홀수 카운터에서 버려지는 1 만큼 기록 수도 함께 줄인다
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        long index = (hash + SEEDS[depth]) * SEEDS[depth];
+        index += index >>> 32;
+        return (int) index & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
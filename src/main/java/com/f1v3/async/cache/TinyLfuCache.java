@@ -0,0 +1,459 @@
+package com.f1v3.async.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * W-TinyLFU 정책으로 최대 항목 수를 지키는 read-through 캐시
+ * <p>
+ * 새 항목은 전체의 1% 인 창(LRU)에 먼저 들어가고, 창에서 밀려난 항목은 주 영역(SLRU: 시험 20% / 보호 80%)의
+ * 가장 오래된 항목과 {@link FrequencySketch} 로 어림한 최근 접근 빈도를 겨뤄 더 자주 쓰인 쪽만 남는다.
+ * 한 번 읽히고 마는 키가 몰려 와도(전체 사용자 순회 등) 자주 읽히는 키를 밀어내지 못하고, 갓 들어온 키는 창에서 빈도를 쌓을 기회를 얻는다.
+ * <p>
+ * 조회는 {@link ConcurrentHashMap} 에서 락 없이 읽고, 접근 기록은 스레드별로 나눈 작은 링 버퍼에 남긴 뒤
+ * 버퍼가 차면 정책 락을 잡을 수 있는 스레드가 한꺼번에 반영한다 (버퍼가 가득 차 있으면 기록을 버린다 - 빈도는 어림값이라 괜찮다).
+ * 같은 키의 동시 미스는 원본 조회 한 번으로 합치고, {@link #write} / {@link #invalidate} 와 겹친 조회 결과는 캐시에 넣지 않아
+ * 쓰기 전 값이 쓰기 후에 다시 자리 잡지 않게 한다.
+ */
+public class TinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> loader;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedOrder = new AccessOrder<>();
+    private final long maximumSize;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private long windowSize;
+    private long mainSize;
+    private long protectedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(long maximumSize, Function<? super K, ? extends V> loader) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("최대 항목 수는 1 이상이어야 함: " + maximumSize);
+        }
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.mainMaximum = maximumSize - windowMaximum;
+        this.protectedMaximum = mainMaximum * 80 / 100;
+        this.sketch = new FrequencySketch(maximumSize);
+
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 원본에서 읽어 캐시에 넣고 돌려준다.
+     * 같은 키를 이미 다른 스레드가 읽고 있으면 그 결과를 기다린다.
+     *
+     * @throws RuntimeException 원본 조회에서 난 예외 (실패는 캐시하지 않는다)
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            hits.increment();
+            afterRead(node);
+            return node.value;
+        }
+        misses.increment();
+        return load(key);
+    }
+
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * 원본을 고치는 writer 를 같은 키의 다른 쓰기/무효화와 겹치지 않게 실행하고, 그 결과를 캐시에 넣는다 (write-through).
+     * <p>
+     * writer 는 키별 잠금 안에서 실행되므로 짧게 끝나야 하고, 이 캐시를 다시 호출하면 안 된다.
+     */
+    public V write(K key, Function<? super K, ? extends V> writer) {
+        AtomicReference<V> written = new AtomicReference<>();
+        Node<K, V> node = data.compute(key, (k, existing) -> {
+            // 진행 중인 조회는 쓰기 전 값을 읽었을 수 있으므로 결과를 캐시에 넣지 못하게 한다
+            loading.remove(k);
+            V value = writer.apply(k);
+            written.set(value);
+            if (existing == null) {
+                return new Node<>(k, value);
+            }
+            existing.value = value;
+            return existing;
+        });
+        afterWrite(node);
+        return written.get();
+    }
+
+    public void invalidate(K key) {
+        AtomicReference<Node<K, V>> removed = new AtomicReference<>();
+        data.compute(key, (k, existing) -> {
+            loading.remove(k);
+            removed.set(existing);
+            return null;
+        });
+        if (removed.get() != null) {
+            evictionLock.lock();
+            try {
+                unlink(removed.get());
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    public long estimatedSize() {
+        return data.size();
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public CacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long loadCount = loads.sum();
+        long requests = hitCount + missCount;
+        return new CacheStats(hitCount, missCount, requests == 0 ? 1.0 : (double) hitCount / requests,
+            loadCount, loadFailures.sum(), loadCount == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / loadCount,
+            evictions.sum(), data.size());
+    }
+
+    /**
+     * 버퍼에 남은 접근 기록을 정책에 반영한다 (보통은 버퍼가 찰 때나 쓰기 때 저절로 반영된다)
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private V load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        // 앞의 조회가 끝나 캐시에 넣은 직후일 수 있다
+        Node<K, V> cached = data.get(key);
+        if (cached != null) {
+            loading.remove(key, future);
+            future.complete(cached.value);
+            return cached.value;
+        }
+
+        long startNanos = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            recordLoad(startNanos, false);
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        recordLoad(startNanos, true);
+
+        Node<K, V> created = new Node<>(key, value);
+        Node<K, V> node = data.compute(key, (k, existing) -> {
+            // 표식이 사라졌으면 조회하는 동안 쓰기나 무효화가 있었던 것 - 읽은 값은 돌려주기만 하고 캐시에는 넣지 않는다
+            boolean current = loading.remove(k, future);
+            return existing != null || !current ? existing : created;
+        });
+        if (node == created) {
+            afterWrite(created);
+        }
+        future.complete(value);
+        return value;
+    }
+
+    private void recordLoad(long startNanos, boolean success) {
+        loadNanos.add(System.nanoTime() - startNanos);
+        loads.increment();
+        if (!success) {
+            loadFailures.increment();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[stripe()];
+        long tail = buffer.writeCounter.get();
+        long pending = tail - buffer.readCounter;
+        if (pending < READ_BUFFER_SIZE && buffer.writeCounter.compareAndSet(tail, tail + 1)) {
+            buffer.slots.setRelease((int) tail & READ_BUFFER_MASK, node);
+            pending++;
+        }
+        if (pending >= READ_BUFFER_SIZE && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            if (node.linked) {
+                onAccess(node);
+            } else if (data.get(node.key) == node) {
+                // 정책에 넣기 전에 무효화/퇴출된 항목은 건너뛴다
+                sketch.increment(node.key);
+                node.queue = WINDOW;
+                window.addLast(node);
+                node.linked = true;
+                windowSize++;
+                evict();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & (readBuffers.length - 1);
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            long head = buffer.readCounter;
+            long tail = buffer.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) head & READ_BUFFER_MASK;
+                Node<K, V> node = buffer.slots.getAcquire(index);
+                if (node == null) {
+                    // 자리만 잡고 아직 기록하지 않은 칸 - 다음 반영 때 이어서 읽는다
+                    break;
+                }
+                buffer.slots.setPlain(index, null);
+                onAccess(node);
+            }
+            buffer.readCounter = head;
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (!node.linked) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                // 시험 영역에서 다시 읽힌 항목은 보호 영역으로 올리고, 넘치면 보호 영역의 가장 오래된 항목을 내린다
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedOrder.addLast(node);
+                protectedSize++;
+                if (protectedSize > protectedMaximum) {
+                    Node<K, V> demoted = protectedOrder.pollFirst();
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                    protectedSize--;
+                }
+            }
+            case PROTECTED -> protectedOrder.moveToLast(node);
+            default -> throw new IllegalStateException("알 수 없는 영역: " + node.queue);
+        }
+    }
+
+    /**
+     * 창이 넘치면 창의 가장 오래된 항목(후보)을 주 영역으로 보낸다. 주 영역도 가득 찼으면 시험 영역의 가장 오래된 항목(희생자)과
+     * 최근 빈도를 비교해 더 자주 쓰인 쪽을 남긴다 (같으면 이미 자리 잡은 희생자를 남긴다).
+     */
+    private void evict() {
+        while (windowSize > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            windowSize--;
+            if (mainSize < mainMaximum) {
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+                mainSize++;
+                continue;
+            }
+
+            Node<K, V> victim = probation.isEmpty() ? protectedOrder.peekFirst() : probation.peekFirst();
+            if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                unlink(victim);
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+                mainSize++;
+                discard(victim);
+            } else {
+                candidate.linked = false;
+                discard(candidate);
+            }
+        }
+    }
+
+    private void discard(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (!node.linked) {
+            return;
+        }
+        node.linked = false;
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowSize--;
+            }
+            case PROBATION -> {
+                probation.remove(node);
+                mainSize--;
+            }
+            case PROTECTED -> {
+                protectedOrder.remove(node);
+                protectedSize--;
+                mainSize--;
+            }
+            default -> throw new IllegalStateException("알 수 없는 영역: " + node.queue);
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private volatile V value;
+
+        // 아래는 정책 락 안에서만 읽고 쓴다
+        private boolean linked;
+        private int queue;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 노드에 링크를 둔 접근 순서 목록 (앞이 가장 오래된 항목)
+     */
+    private static final class AccessOrder<K, V> {
+
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        private boolean isEmpty() {
+            return first == null;
+        }
+
+        private Node<K, V> peekFirst() {
+            return first;
+        }
+
+        private Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        private void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        private void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * 스레드 묶음 하나의 접근 기록 버퍼 - 기록은 CAS 로 자리를 잡고, 비우는 쪽은 정책 락을 쥔 스레드 하나뿐이다
+     */
+    private static final class ReadBuffer<K, V> {
+
+        private final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+    }
+}
@@ -0,0 +1,60 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "async.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    public WorkStealingNode workStealingNode(@Value("${async.cluster.host:127.0.0.1}") String host,
+                                             @Value("${async.cluster.port:9400}") int port,
+                                             @Value("${async.cluster.peers:}") String peers,
+                                             @Value("${async.cluster.workers:10}") int workers,
+                                             @Value("${async.cluster.batch-size:16}") int batchSize,
+                                             @Value("${async.cluster.steal-interval-ms:50}") long stealIntervalMillis,
+                                             ServiceExecutorFactory executorFactory,
+                                             WelcomeTaskOutbox outbox,
+                                             EmailService emailService,
+                                             PointService pointService) throws IOException {
+        return new WorkStealingNode(new InetSocketAddress(host, port), parsePeers(peers), workers, batchSize,
+            stealIntervalMillis, executorFactory.newFixedThreadPool("cluster", workers), outbox, task -> {
+                if (task.kind() != WelcomeTask.Kind.POINTS) {
+                    emailService.sendWelcomeEmail(task.email());
+                }
+                if (task.kind() != WelcomeTask.Kind.EMAIL) {
+                    pointService.addWelcomePoints(task.userId());
+                }
+            });
+    }
+
+    /**
+     * {@code host:port,host:port} 형식의 다른 노드 목록
+     */
+    static List<InetSocketAddress> parsePeers(String peers) {
+        return Arrays.stream(peers.split(","))
+            .map(String::strip)
+            .filter(peer -> !peer.isEmpty())
+            .map(peer -> {
+                int separator = peer.lastIndexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("host:port 형식이 아님: " + peer);
+                }
+                return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.profiling.RegistrationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "async.cluster.enabled", havingValue = "true")
+public class ClusterUserService {
+
+    private final WorkStealingNode workStealingNode;
+
+    public void registerUser(String userId, String email) {
+        log.info("=== 클러스터 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("cluster", userId, email);
+
+        // 메일/포인트를 따로 쌓아 두 작업 모두 한가한 다른 노드가 가져갈 수 있게 한다
+        workStealingNode.submit(WelcomeTask.email(email));
+        workStealingNode.submit(WelcomeTask.points(userId));
+        registration.finish(true);
+
+        log.info("=== 클러스터 방식 회원가입 접수 완료 - 사용자: {}, 대기열: {}건 ===", userId, workStealingNode.getBacklogSize());
+    }
+}
@@ -0,0 +1,115 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 노드 하나에 작업 가져오기를 요청하는 클라이언트
+ * <p>
+ * 가져오기 스레드 하나만 쓰므로 연결 하나를 계속 재사용하고, 실패하면 연결을 닫은 뒤 잠시 그 노드를 건너뛴다.
+ * 받은 작업은 호출자가 자기 미완료 목록에 등록한 뒤 {@link #acknowledge(int)} 로 ACK 를 보낸다. ACK 전에 실패하면 상대가
+ * 자기 대기열로 되돌리고, ACK 가 상대의 시간 초과보다 늦게 도착하면 양쪽에서 실행될 수 있다 (전송 중 작업은 최소 한 번 실행).
+ */
+final class StealClient implements AutoCloseable {
+
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final InetSocketAddress peer;
+    private final int timeoutMillis;
+    private Socket socket;
+    private DataInputStream in;
+    private OutputStream out;
+    private long retryAtNanos;
+
+    StealClient(InetSocketAddress peer, int timeoutMillis) {
+        this.peer = peer;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    InetSocketAddress getPeer() {
+        return peer;
+    }
+
+    boolean isAvailable() {
+        return socket != null || System.nanoTime() - retryAtNanos >= 0;
+    }
+
+    /**
+     * 작업을 받아 오기만 하고 ACK 는 보내지 않는다 - 비어 있지 않으면 받은 쪽 목록에 등록한 뒤 {@link #acknowledge(int)} 를 호출해야 한다.
+     */
+    List<WelcomeTask> steal(int maxTasks) throws IOException {
+        try {
+            connectIfNeeded();
+            ByteBuffer request = StealProtocol.stealRequest(maxTasks);
+            out.write(request.array(), 0, request.limit());
+            out.flush();
+
+            int length = in.readInt();
+            StealProtocol.checkFrameLength(length);
+            byte[] frame = new byte[length];
+            in.readFully(frame);
+            ByteBuffer body = ByteBuffer.wrap(frame);
+            if (body.get() != StealProtocol.BATCH) {
+                throw new IOException("알 수 없는 응답 종류");
+            }
+            return StealProtocol.readBatch(body);
+        } catch (IOException | IllegalArgumentException e) {
+            throw failed(e);
+        }
+    }
+
+    void acknowledge(int taskCount) throws IOException {
+        try {
+            ByteBuffer ack = StealProtocol.ack(taskCount);
+            out.write(ack.array(), 0, ack.limit());
+            out.flush();
+        } catch (IOException e) {
+            throw failed(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 끊긴 연결
+            }
+            socket = null;
+        }
+    }
+
+    private IOException failed(Exception e) {
+        close();
+        retryAtNanos = System.nanoTime() + RETRY_BACKOFF_NANOS;
+        return e instanceof IOException io ? io : new IOException(e);
+    }
+
+    private void connectIfNeeded() throws IOException {
+        if (socket != null) {
+            return;
+        }
+        Socket connected = new Socket();
+        try {
+            connected.setTcpNoDelay(true);
+            connected.connect(peer, timeoutMillis);
+            connected.setSoTimeout(timeoutMillis);
+        } catch (IOException e) {
+            connected.close();
+            throw e;
+        }
+        socket = connected;
+        in = new DataInputStream(new BufferedInputStream(connected.getInputStream()));
+        out = connected.getOutputStream();
+    }
+}
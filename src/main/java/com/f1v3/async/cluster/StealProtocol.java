@@ -0,0 +1,146 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 노드 사이 작업 가져오기 프로토콜
+ * <p>
+ * 프레임: {@code [길이 int][종류 byte][본문]} (길이는 종류 + 본문 바이트 수)
+ * <ul>
+ *     <li>{@link #STEAL} - 본문: 최대로 가져갈 작업 수 (int)</li>
+ *     <li>{@link #BATCH} - 본문: 작업 수 (int), 작업마다 종류 순번 (byte), userId, email
+ *     (문자열은 UTF-8 바이트 수 int + 바이트, null 이면 -1)</li>
+ *     <li>{@link #ACK} - 본문: 받은 작업 수 (int)</li>
+ * </ul>
+ * 요청 하나에 응답 하나이고, 줄 작업이 없으면 빈 BATCH 를 보낸다.
+ * 비어 있지 않은 BATCH 를 받은 쪽은 ACK 를 보내고, 보낸 쪽은 ACK 를 받아야 작업을 넘긴 것으로 처리한다.
+ */
+final class StealProtocol {
+
+    static final byte STEAL = 1;
+    static final byte BATCH = 2;
+    static final byte ACK = 3;
+
+    static final int HEADER_BYTES = Integer.BYTES;
+    static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private static final WelcomeTask.Kind[] KINDS = WelcomeTask.Kind.values();
+
+    private StealProtocol() {
+    }
+
+    static ByteBuffer stealRequest(int maxTasks) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + 1 + Integer.BYTES);
+        frame.putInt(1 + Integer.BYTES).put(STEAL).putInt(maxTasks);
+        return frame.flip();
+    }
+
+    static ByteBuffer batch(List<WelcomeTask> tasks) {
+        List<byte[]> strings = new ArrayList<>(tasks.size() * 2);
+        int length = 1 + Integer.BYTES;
+        for (WelcomeTask task : tasks) {
+            byte[] userId = encode(task.userId());
+            byte[] email = encode(task.email());
+            strings.add(userId);
+            strings.add(email);
+            length += 1 + 2 * Integer.BYTES + byteCount(userId) + byteCount(email);
+        }
+        if (length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("프레임이 너무 큼: " + length + " bytes");
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + length);
+        frame.putInt(length).put(BATCH).putInt(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            frame.put((byte) tasks.get(i).kind().ordinal());
+            putString(frame, strings.get(2 * i));
+            putString(frame, strings.get(2 * i + 1));
+        }
+        return frame.flip();
+    }
+
+    static ByteBuffer ack(int taskCount) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + 1 + Integer.BYTES);
+        frame.putInt(1 + Integer.BYTES).put(ACK).putInt(taskCount);
+        return frame.flip();
+    }
+
+    /**
+     * 종류 바이트 다음부터 시작하는 STEAL 본문을 읽는다
+     */
+    static int readStealRequest(ByteBuffer body) {
+        int maxTasks = body.getInt();
+        if (maxTasks < 0) {
+            throw new IllegalArgumentException("잘못된 요청 작업 수: " + maxTasks);
+        }
+        return maxTasks;
+    }
+
+    /**
+     * 종류 바이트 다음부터 시작하는 ACK 본문을 읽는다
+     */
+    static int readAck(ByteBuffer body) {
+        return body.getInt();
+    }
+
+    /**
+     * 종류 바이트 다음부터 시작하는 BATCH 본문을 읽는다
+     */
+    static List<WelcomeTask> readBatch(ByteBuffer body) {
+        try {
+            int count = body.getInt();
+            if (count < 0 || count > body.remaining()) {
+                throw new IllegalArgumentException("잘못된 작업 수: " + count);
+            }
+            List<WelcomeTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                WelcomeTask.Kind kind = KINDS[body.get()];
+                tasks.add(new WelcomeTask(kind, getString(body), getString(body)));
+            }
+            return tasks;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 BATCH 프레임", e);
+        }
+    }
+
+    static void checkFrameLength(int length) {
+        if (length < 1 || length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("잘못된 프레임 길이: " + length);
+        }
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int byteCount(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("잘못된 문자열 길이: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,240 @@
+package com.f1v3.async.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 다른 노드의 작업 가져오기 요청에 대기열 뒤쪽 작업을 묶어 보내는 NIO 서버
+ * <p>
+ * 셀렉터 스레드 하나가 모든 연결을 처리한다. 받은 쪽의 ACK 가 와야 넘긴 것으로 보고,
+ * 그 전에 연결이 끊기거나 ACK 를 기다리는 시간을 넘기면 작업을 대기열에 되돌린다.
+ */
+@Slf4j
+final class StealServer implements AutoCloseable {
+
+    private static final int REQUEST_BUFFER_BYTES = 64;
+
+    private final WorkBacklog backlog;
+    private final int batchSize;
+    private final long ackTimeoutNanos;
+    private final Consumer<List<WorkBacklog.Entry>> onHandedOff;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    StealServer(InetSocketAddress bindAddress, WorkBacklog backlog, int batchSize, long ackTimeoutMillis,
+                Consumer<List<WorkBacklog.Entry>> onHandedOff) throws IOException {
+        this.backlog = backlog;
+        this.batchSize = batchSize;
+        this.ackTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMillis);
+        this.onHandedOff = onHandedOff;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(bindAddress);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::serve, "cluster-steal-server-" + getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void serve() {
+        try {
+            long ackCheckMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(ackTimeoutNanos) / 2);
+            while (running) {
+                selector.select(ackCheckMillis);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+                expireUnacknowledged();
+            }
+        } catch (IOException e) {
+            log.error("작업 가져오기 서버 오류 - 서버 중단", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+            } else if (key.isWritable()) {
+                write(key);
+            } else if (key.isReadable()) {
+                read(key);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("작업 가져오기 연결 종료 - {}", e.toString());
+            close(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (channel.read(connection.in) < 0) {
+            close(key);
+            return;
+        }
+        readFrames(key, connection);
+    }
+
+    /**
+     * 버퍼에 다 들어온 프레임을 차례로 처리한다 - ACK 와 다음 STEAL 이 한 번에 도착할 수 있다
+     */
+    private void readFrames(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer in = connection.in.flip();
+        try {
+            // 요청/응답이 하나씩 오가므로 응답을 다 쓸 때까지는 다음 요청을 꺼내지 않는다
+            while (connection.out == null && in.remaining() >= StealProtocol.HEADER_BYTES) {
+                int length = in.getInt(in.position());
+                StealProtocol.checkFrameLength(length);
+                if (StealProtocol.HEADER_BYTES + length > in.capacity()) {
+                    throw new IllegalArgumentException("요청 프레임이 너무 큼: " + length);
+                }
+                if (in.remaining() < StealProtocol.HEADER_BYTES + length) {
+                    return;
+                }
+                in.getInt();
+                ByteBuffer body = in.slice(in.position(), length);
+                in.position(in.position() + length);
+                byte type = body.get();
+                if (type == StealProtocol.ACK && !connection.inFlight.isEmpty()) {
+                    acknowledge(connection, StealProtocol.readAck(body));
+                } else if (type == StealProtocol.STEAL && connection.inFlight.isEmpty()) {
+                    respond(key, connection, StealProtocol.readStealRequest(body));
+                } else {
+                    throw new IllegalArgumentException("예상하지 못한 요청 종류: " + type);
+                }
+            }
+        } finally {
+            in.compact();
+        }
+    }
+
+    private void respond(SelectionKey key, Connection connection, int maxTasks) throws IOException {
+        List<WorkBacklog.Entry> entries = backlog.steal(Math.min(maxTasks, batchSize));
+        connection.inFlight = entries;
+        connection.out = StealProtocol.batch(entries.stream().map(WorkBacklog.Entry::task).toList());
+        key.interestOps(SelectionKey.OP_WRITE);
+        flush(key, connection);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        if (flush(key, connection)) {
+            readFrames(key, connection);
+        }
+    }
+
+    /**
+     * @return 응답을 끝까지 썼으면 true
+     */
+    private boolean flush(SelectionKey key, Connection connection) throws IOException {
+        ((SocketChannel) key.channel()).write(connection.out);
+        if (connection.out.hasRemaining()) {
+            return false;
+        }
+        connection.out = null;
+        // 보낸 작업은 ACK 가 올 때까지 대기열에서만 빠져 있고, 미완료 작업 목록에는 남아 있다
+        connection.ackDeadlineNanos = System.nanoTime() + ackTimeoutNanos;
+        key.interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+
+    private void acknowledge(Connection connection, int taskCount) {
+        List<WorkBacklog.Entry> handedOff = connection.inFlight;
+        if (taskCount != handedOff.size()) {
+            throw new IllegalArgumentException("ACK 작업 수 불일치 - 보냄: " + handedOff.size() + ", 받음: " + taskCount);
+        }
+        connection.inFlight = List.of();
+        onHandedOff.accept(handedOff);
+    }
+
+    private void expireUnacknowledged() {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection && connection.out == null
+                && !connection.inFlight.isEmpty() && now - connection.ackDeadlineNanos >= 0) {
+                log.warn("작업을 넘긴 뒤 ACK 를 받지 못함 - 연결을 닫음");
+                close(key);
+            }
+        }
+    }
+
+    private void close(SelectionKey key) {
+        if (key.attachment() instanceof Connection connection && !connection.inFlight.isEmpty()) {
+            backlog.restore(connection.inFlight);
+            log.warn("작업을 넘기는 도중 연결이 끊겨 대기열로 되돌림 - {}건", connection.inFlight.size());
+            connection.inFlight = List.of();
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("연결 닫기 실패", e);
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("셀렉터 닫기 실패", e);
+        }
+    }
+
+    private static final class Connection {
+
+        private final ByteBuffer in = ByteBuffer.allocate(REQUEST_BUFFER_BYTES);
+        private ByteBuffer out;
+        private List<WorkBacklog.Entry> inFlight = List.of();
+        private long ackDeadlineNanos;
+    }
+}
@@ -0,0 +1,66 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 한 노드에 쌓인 후속 작업 대기열
+ * <p>
+ * 이 노드의 작업자는 앞에서(먼저 들어온 것부터) 꺼내고, 다른 노드는 뒤에서(가장 최근 것부터) 가져가
+ * 서로 같은 끝을 두고 다투는 일을 줄인다.
+ */
+final class WorkBacklog {
+
+    private final ConcurrentLinkedDeque<Entry> deque = new ConcurrentLinkedDeque<>();
+
+    void add(Entry entry) {
+        deque.addLast(entry);
+    }
+
+    Entry poll() {
+        return deque.pollFirst();
+    }
+
+    /**
+     * 남은 작업의 절반(올림)까지, 최대 {@code maxTasks} 개를 뒤에서 가져간다 - 가진 것을 모두 넘겨 이 노드가 놀게 되지 않도록
+     */
+    List<Entry> steal(int maxTasks) {
+        int limit = Math.min(maxTasks, (deque.size() + 1) / 2);
+        List<Entry> stolen = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            Entry entry = deque.pollLast();
+            if (entry == null) {
+                break;
+            }
+            stolen.add(entry);
+        }
+        // 가져간 쪽에서도 먼저 들어온 작업부터 실행하도록 원래 순서로 돌려 놓는다
+        Collections.reverse(stolen);
+        return stolen;
+    }
+
+    /**
+     * 넘기지 못한 작업을 다시 뒤에 붙인다
+     */
+    void restore(List<Entry> entries) {
+        entries.forEach(deque::addLast);
+    }
+
+    boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    int size() {
+        return deque.size();
+    }
+
+    /**
+     * @param outboxId 이 노드의 미완료 작업 목록에 등록된 번호
+     */
+    record Entry(long outboxId, WelcomeTask task) {
+    }
+}
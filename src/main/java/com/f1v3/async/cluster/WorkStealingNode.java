@@ -0,0 +1,243 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 여러 애플리케이션 인스턴스가 회원가입 후속 작업(메일/포인트)을 나눠 처리하는 클러스터 노드
+ * <p>
+ * 작업은 먼저 이 노드의 대기열에 쌓이고, 작업자 수만큼만 실행기에 넘긴다. 대기열이 비고 작업자가 남는 노드는
+ * {@code async.cluster.steal-interval-ms} 마다 다른 노드에 작업을 요청해 최대 {@code async.cluster.batch-size} 개를 한 번에 가져온다.
+ * 중개 서버 없이 노드끼리 TCP 로 직접 주고받으며, 한 노드는 남은 작업의 절반까지만 내준다.
+ * <p>
+ * 대기열의 작업은 {@link WelcomeTaskOutbox} 에 등록돼 있어 종료 때 처리하지 못하면 파일로 저장되고,
+ * 다른 노드로 넘긴 작업은 가져간 노드의 ACK 를 받은 뒤에 목록에서 지운다. 가져간 노드는 자기 목록에 먼저 등록한 뒤 ACK 를 보내므로
+ * 작업은 어느 순간에나 한 노드 이상의 목록에 남아 있다. ACK 가 오지 않으면 대기열에 되돌려 이 노드가 실행한다.
+ * <p>
+ * 전달은 최소 한 번이다: ACK 가 시간 초과와 엇갈리거나 ACK 를 보내다 끊기면 같은 작업이 두 노드에서 실행될 수 있다.
+ * 중복 메일 방지 필터는 JVM 마다 따로라 노드 사이의 중복은 막지 못하고, 포인트 적립도 멱등이 아니므로 이때 두 번 적립될 수 있다.
+ */
+@Slf4j
+public class WorkStealingNode implements AutoCloseable {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    // 가져간 쪽의 응답 대기 시간보다 길게 잡아, 응답을 받은 노드가 보낸 ACK 가 시간 초과와 엇갈리는 일을 줄인다
+    private static final long ACK_TIMEOUT_MILLIS = 2L * CONNECT_TIMEOUT_MILLIS;
+
+    private final WorkBacklog backlog = new WorkBacklog();
+    private final WelcomeTaskOutbox outbox;
+    private final Consumer<WelcomeTask> runner;
+    private final ExecutorService executor;
+    private final int workers;
+    private final int batchSize;
+    private final long stealIntervalMillis;
+    private final List<StealClient> peers;
+    private final StealServer server;
+    private final Thread stealer;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder stolen = new LongAdder();
+    private final LongAdder handedOff = new LongAdder();
+
+    private int nextPeer;   // 가져오기 스레드만 사용
+    private volatile boolean closed;
+
+    public WorkStealingNode(InetSocketAddress bindAddress, List<InetSocketAddress> peers,
+                            int workers, int batchSize, long stealIntervalMillis,
+                            ExecutorService executor, WelcomeTaskOutbox outbox, Consumer<WelcomeTask> runner) throws IOException {
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("작업자 수와 묶음 크기는 1 이상이어야 함");
+        }
+        this.outbox = outbox;
+        this.runner = runner;
+        this.executor = executor;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.stealIntervalMillis = stealIntervalMillis;
+        this.peers = peers.stream().map(peer -> new StealClient(peer, CONNECT_TIMEOUT_MILLIS)).toList();
+        this.server = new StealServer(bindAddress, backlog, batchSize, ACK_TIMEOUT_MILLIS, this::onHandedOff);
+        this.stealer = new Thread(this::stealLoop, "cluster-stealer-" + server.getPort());
+        stealer.setDaemon(true);
+        stealer.start();
+        log.info("클러스터 노드 시작 - 포트: {}, 다른 노드: {}, 작업자: {}, 묶음 크기: {}", server.getPort(), peers, workers, batchSize);
+    }
+
+    public void submit(WelcomeTask task) {
+        backlog.add(new WorkBacklog.Entry(outbox.register(task), task));
+        dispatch();
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    public int getBacklogSize() {
+        return backlog.size();
+    }
+
+    /**
+     * 이 노드에서 실행을 마친 작업 수 (다른 노드에서 가져온 작업 포함)
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * 다른 노드에서 가져온 작업 수
+     */
+    public long getStolenCount() {
+        return stolen.sum();
+    }
+
+    /**
+     * 다른 노드가 가져간 작업 수
+     */
+    public long getHandedOffCount() {
+        return handedOff.sum();
+    }
+
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!backlog.isEmpty() || activeWorkers.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * 가져오기와 내주기를 멈춘다. 실행기는 만든 쪽이 정리한다 (남은 대기열은 미완료 작업 목록에 그대로 남음).
+     */
+    @Override
+    public void close() {
+        closed = true;
+        stealer.interrupt();
+        server.close();
+        peers.forEach(StealClient::close);
+        log.info("클러스터 노드 종료 - 실행: {}건, 가져옴: {}건, 내줌: {}건, 남은 대기열: {}건",
+            executed.sum(), stolen.sum(), handedOff.sum(), backlog.size());
+    }
+
+    /**
+     * 작업자 수를 넘지 않게 실행기에 작업 실행을 넘긴다. 작업마다 실행기에 따로 넘기므로 실행기 감시에는 짧은 작업으로 보인다.
+     */
+    private void dispatch() {
+        while (!backlog.isEmpty()) {
+            int active = activeWorkers.get();
+            if (active >= workers) {
+                return;
+            }
+            if (!activeWorkers.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            try {
+                executor.execute(this::runNext);
+            } catch (RejectedExecutionException e) {
+                // 종료 중 - 남은 작업은 미완료 목록에 남아 다음 기동 때 다시 실행된다
+                activeWorkers.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void runNext() {
+        try {
+            WorkBacklog.Entry entry = backlog.poll();
+            if (entry != null) {
+                run(entry);
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+        if (!Thread.currentThread().isInterrupted()) {
+            dispatch();
+        }
+    }
+
+    private void run(WorkBacklog.Entry entry) {
+        try {
+            outbox.track(entry.outboxId(), () -> {
+                runner.accept(entry.task());
+                return null;
+            }).call();
+            executed.increment();
+        } catch (Exception e) {
+            log.error("후속 작업 실행 실패 - {}", entry.task(), e);
+        }
+    }
+
+    private void onHandedOff(List<WorkBacklog.Entry> entries) {
+        entries.forEach(entry -> outbox.handOff(entry.outboxId()));
+        handedOff.add(entries.size());
+        log.debug("다른 노드에 작업 {}건 넘김 - 남은 대기열: {}건", entries.size(), backlog.size());
+    }
+
+    private void stealLoop() {
+        while (!closed) {
+            try {
+                if (!peers.isEmpty() && backlog.isEmpty() && activeWorkers.get() < workers && !executor.isShutdown()) {
+                    stealFromPeers();
+                }
+                TimeUnit.MILLISECONDS.sleep(stealIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 다른 노드를 돌아가며 하나에서라도 작업을 받을 때까지 요청한다
+     */
+    private void stealFromPeers() {
+        for (int attempt = 0; attempt < peers.size() && !closed; attempt++) {
+            StealClient peer = peers.get(nextPeer);
+            nextPeer = (nextPeer + 1) % peers.size();
+            if (!peer.isAvailable()) {
+                continue;
+            }
+            try {
+                List<WelcomeTask> tasks = peer.steal(batchSize);
+                if (!tasks.isEmpty()) {
+                    // ACK 를 받은 상대는 바로 자기 목록에서 지우므로, 그 전에 이 노드 목록에 등록해 둔다
+                    List<WorkBacklog.Entry> entries = tasks.stream()
+                        .map(task -> new WorkBacklog.Entry(outbox.register(task), task))
+                        .toList();
+                    acknowledge(peer, entries.size());
+                    stolen.add(entries.size());
+                    log.debug("{} 에서 작업 {}건 가져옴", peer.getPeer(), entries.size());
+                    entries.forEach(backlog::add);
+                    dispatch();
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("{} 에서 작업 가져오기 실패 - {}", peer.getPeer(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * ACK 를 보내다 실패해도 상대가 받았는지 알 수 없으므로 받은 작업은 그대로 실행한다 (상대도 되돌려 실행하면 중복 실행)
+     */
+    private void acknowledge(StealClient peer, int taskCount) {
+        try {
+            peer.acknowledge(taskCount);
+        } catch (IOException e) {
+            log.warn("{} 에 ACK 전송 실패 - 받은 작업 {}건은 이 노드에서도 실행 (상대가 되돌려 실행하면 중복) - {}",
+                peer.getPeer(), taskCount, e.toString());
+        }
+    }
+}
@@ -1,25 +1,69 @@
 package com.f1v3.async.common;
 
+import com.f1v3.async.email.EmailDeliveryException;
+import com.f1v3.async.email.WelcomeEmailGuard;
+import com.f1v3.async.profiling.StageOutcome;
+import com.f1v3.async.profiling.WelcomeEmailEvent;
+import com.f1v3.async.simulation.ServiceSimulation;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
-
 @Slf4j
 @Service
 public class EmailService {
 
+    private final ObjectProvider<WelcomeEmailGuard> welcomeEmailGuard;
+    private final ServiceSimulation serviceSimulation;
+
+    @Autowired
+    public EmailService(ObjectProvider<WelcomeEmailGuard> welcomeEmailGuard, ServiceSimulation serviceSimulation) {
+        this.welcomeEmailGuard = welcomeEmailGuard;
+        this.serviceSimulation = serviceSimulation;
+    }
+
+    /**
+     * 발송을 직접 구현하는 하위 클래스용 (시뮬레이션은 기본 고정 지연)
+     */
+    protected EmailService(ObjectProvider<WelcomeEmailGuard> welcomeEmailGuard) {
+        this(welcomeEmailGuard, ServiceSimulation.defaults());
+    }
+
     public void sendWelcomeEmail(String email) {
+        WelcomeEmailEvent event = WelcomeEmailEvent.start(email);
+        WelcomeEmailGuard guard = welcomeEmailGuard.getIfAvailable();
+        if (guard != null && !guard.tryAcquire(email)) {
+            log.info("[{}] 이미 환영 메일을 받은 주소 - 발송 생략: {}", Thread.currentThread().getName(), email);
+            event.finish(StageOutcome.SKIPPED);
+            return;
+        }
+
+        try {
+            deliverWelcomeEmail(email);
+            event.finish(StageOutcome.SENT);
+        } catch (RuntimeException e) {
+            // 발송에 실패하면 다음 가입 때 다시 보낼 수 있도록 이력을 되돌린다
+            if (guard != null) {
+                guard.release(email);
+            }
+            event.finish(StageOutcome.FAILED);
+            throw e;
+        }
+    }
+
+    protected void deliverWelcomeEmail(String email) {
         try {
             log.info("[{}] 메일 발송 시작 - 이메일: {}", Thread.currentThread().getName(), email);
 
-            // 메일 발송 시뮬레이션 (2초 소요)
-            TimeUnit.SECONDS.sleep(2);
+            // 메일 발송 시뮬레이션 (설정한 지연 분포와 장애 비율을 따름)
+            serviceSimulation.email().call();
 
             log.info("[{}] 메일 발송 완료 - 이메일: {}", Thread.currentThread().getName(), email);
         } catch (InterruptedException e) {
+            // 발송이 끝났는지 알 수 없으므로 실패로 올려 보내 발송 이력을 되돌린다
             Thread.currentThread().interrupt();
-            log.error("메일 발송 중 인터럽트 발생", e);
+            throw new EmailDeliveryException("메일 발송 중 인터럽트 발생: " + email, e);
         }
     }
 }
@@ -1,25 +1,58 @@
 package com.f1v3.async.common;
 
+import com.f1v3.async.point.PointBalanceCache;
+import com.f1v3.async.point.PointLedger;
+import com.f1v3.async.profiling.StageOutcome;
+import com.f1v3.async.profiling.WelcomePointsEvent;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
-
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PointService {
 
+    private static final long WELCOME_POINTS = 1000L;
+
+    private final ObjectProvider<PointLedger> pointLedger;
+    private final PointBalanceCache pointBalanceCache;
+    private final ServiceSimulation serviceSimulation;
+
     public void addWelcomePoints(String userId) {
+        WelcomePointsEvent event = WelcomePointsEvent.start(userId);
         try {
             log.info("[{}] 포인트 적립 시작 - 사용자: {}", Thread.currentThread().getName(), userId);
 
-            // 포인트 적립 시뮬레이션 (1.5초 소요)
-            TimeUnit.MILLISECONDS.sleep(1500);
+            PointLedger ledger = pointLedger.getIfAvailable();
+            if (ledger != null) {
+                // 포인트 원장에 기록 (그룹 커밋으로 디스크 반영까지 대기)
+                ledger.append(userId, WELCOME_POINTS);
+            } else {
+                // 포인트 적립 시뮬레이션 (설정한 지연 분포와 장애 비율을 따름)
+                serviceSimulation.points().call();
+            }
+            // 가입 직후 잔액 조회가 몰리므로 캐시도 함께 갱신한다
+            pointBalanceCache.add(userId, WELCOME_POINTS);
 
-            log.info("[{}] 포인트 적립 완료 - 사용자: {} (+1000 포인트)", Thread.currentThread().getName(), userId);
+            log.info("[{}] 포인트 적립 완료 - 사용자: {} (+{} 포인트)", Thread.currentThread().getName(), userId, WELCOME_POINTS);
+            event.finish(StageOutcome.GRANTED);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("포인트 적립 중 인터럽트 발생", e);
+            event.finish(StageOutcome.INTERRUPTED);
+        } catch (RuntimeException e) {
+            event.finish(StageOutcome.FAILED);
+            throw e;
         }
     }
+
+    /**
+     * 잔액을 조회한다 - 캐시에 없을 때만 포인트 시스템에서 읽는다 ({@link PointBalanceCache})
+     */
+    public long getBalance(String userId) {
+        return pointBalanceCache.get(userId);
+    }
 }
@@ -2,35 +2,54 @@ package com.f1v3.async.completablefuture;
 
 import com.f1v3.async.common.EmailService;
 import com.f1v3.async.common.PointService;
-import lombok.RequiredArgsConstructor;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.profiling.RegistrationAbortEvent;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.profiling.StageOutcome;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.RegistrationStep;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CompletableFutureUserService {
 
     private final EmailService emailService;
     private final PointService pointService;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private final WelcomeTaskOutbox outbox;
+    private final RegistrationStatusStore statusStore;
+    private final ExecutorService executorService;
+
+    public CompletableFutureUserService(EmailService emailService, PointService pointService,
+                                        ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox,
+                                        RegistrationStatusStore statusStore) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.outbox = outbox;
+        this.statusStore = statusStore;
+        this.executorService = executorFactory.newFixedThreadPool("completable-future", 10);
+    }
 
     public void registerUser(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== CompletableFuture 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("completable-future", userId, email);
 
         // CompletableFuture를 사용한 비동기 처리
-        CompletableFuture<String> emailFuture = CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<String> emailFuture = outbox.supplyAsync(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return "메일 발송 완료: " + email;
         }, executorService);
 
-        CompletableFuture<String> pointFuture = CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<String> pointFuture = outbox.supplyAsync(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return "포인트 적립 완료: " + userId;
         }, executorService);
@@ -47,24 +66,53 @@ public class CompletableFutureUserService {
                 log.error("결과 조회 중 오류 발생", e);
             }
         }).join();
+        registration.finish(true);
 
         long endTime = System.currentTimeMillis();
         log.info("=== CompletableFuture 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
     }
 
+    /**
+     * {@link #registerUser} 와 같이 메일/포인트를 병렬로 실행하되 기다리지 않고 결과 Future 를 바로 돌려준다
+     * (호출 스레드를 붙잡지 않아야 하는 비동기 서블릿 엔드포인트용)
+     */
+    public CompletableFuture<String> registerUserAsync(String userId, String email) {
+        log.info("=== CompletableFuture 비동기 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("completable-future", userId, email);
+        long ticket = statusStore.accept("completable-future", userId);
+
+        CompletableFuture<String> emailFuture = outbox.supplyAsync(WelcomeTask.email(email),
+            statusStore.track(ticket, RegistrationStep.EMAIL, () -> {
+                emailService.sendWelcomeEmail(email);
+                return "메일 발송 완료: " + email;
+            }), executorService);
+
+        CompletableFuture<String> pointFuture = outbox.supplyAsync(WelcomeTask.points(userId),
+            statusStore.track(ticket, RegistrationStep.POINTS, () -> {
+                pointService.addWelcomePoints(userId);
+                return "포인트 적립 완료: " + userId;
+            }), executorService);
+
+        return emailFuture
+            .thenCombine(pointFuture, (emailResult, pointResult) -> emailResult + ", " + pointResult)
+            .whenComplete((result, throwable) -> registration.finish(throwable == null));
+    }
+
     public CompletableFuture<String> registerUserWithChaining(String userId, String email) {
         log.info("=== CompletableFuture 체이닝 방식 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("completable-future", userId);
 
-        return CompletableFuture
-            .supplyAsync(() -> {
-                emailService.sendWelcomeEmail(email);
-                return "메일 발송 완료: " + email;
-            }, executorService)
+        return outbox.supplyAsync(WelcomeTask.email(email),
+                statusStore.track(ticket, RegistrationStep.EMAIL, () -> {
+                    emailService.sendWelcomeEmail(email);
+                    return "메일 발송 완료: " + email;
+                }), executorService)
             .thenCompose(emailResult ->
-                CompletableFuture.supplyAsync(() -> {
-                    pointService.addWelcomePoints(userId);
-                    return emailResult + ", 포인트 적립 완료: " + userId;
-                }, executorService))
+                outbox.supplyAsync(WelcomeTask.points(userId),
+                    statusStore.track(ticket, RegistrationStep.POINTS, () -> {
+                        pointService.addWelcomePoints(userId);
+                        return emailResult + ", 포인트 적립 완료: " + userId;
+                    }), executorService))
             .thenApply(result -> {
                 log.info("체이닝 작업 완료: {}", result);
                 return result;
@@ -73,30 +121,34 @@ public class CompletableFutureUserService {
 
     public CompletableFuture<String> registerUserWithTimeout(String userId, String email) {
         log.info("=== CompletableFuture 타임아웃 방식 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("completable-future", userId);
 
-        return CompletableFuture
-            .supplyAsync(() -> {
-                emailService.sendWelcomeEmail(email);
-                pointService.addWelcomePoints(userId);
+        return outbox.supplyAsync(WelcomeTask.registration(userId, email), () -> {
+                statusStore.run(ticket, RegistrationStep.EMAIL, () -> emailService.sendWelcomeEmail(email));
+                statusStore.run(ticket, RegistrationStep.POINTS, () -> pointService.addWelcomePoints(userId));
                 return "타임아웃 처리 완료: " + userId;
             }, executorService)
             .orTimeout(3, TimeUnit.SECONDS)
             .exceptionally(throwable -> {
                 log.warn("타임아웃 발생: {}", throwable.getMessage());
+                RegistrationAbortEvent.emit("completable-future", userId, "all",
+                    throwable instanceof TimeoutException ? StageOutcome.TIMEOUT : StageOutcome.FAILED);
                 return "타임아웃으로 인한 기본 처리: " + userId;
             });
     }
 
     public CompletableFuture<String> registerUserWithException(String userId, String email) {
         log.info("=== CompletableFuture 예외 처리 방식 회원가입 시작 - 사용자: {} ===", userId);
-
-        return CompletableFuture
-            .supplyAsync(() -> {
-                if (userId.contains("exception")) {
-                    throw new RuntimeException("의도적인 예외 발생");
-                }
-                emailService.sendWelcomeEmail(email);
-                pointService.addWelcomePoints(userId);
+        long ticket = statusStore.accept("completable-future", userId);
+
+        return outbox.supplyAsync(WelcomeTask.registration(userId, email), () -> {
+                statusStore.run(ticket, RegistrationStep.EMAIL, () -> {
+                    if (userId.contains("exception")) {
+                        throw new RuntimeException("의도적인 예외 발생");
+                    }
+                    emailService.sendWelcomeEmail(email);
+                });
+                statusStore.run(ticket, RegistrationStep.POINTS, () -> pointService.addWelcomePoints(userId));
                 return "정상 처리 완료: " + userId;
             }, executorService)
             .exceptionally(throwable -> {
@@ -104,18 +156,4 @@ public class CompletableFutureUserService {
                 return "예외 처리 완료: " + userId;
             });
     }
-
-    public void shutdown() {
-        log.info("CompletableFuture ExecutorService 종료 시작");
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-        log.info("CompletableFuture ExecutorService 종료 완료");
-    }
 }
@@ -0,0 +1,69 @@
+package com.f1v3.async.dag;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Service
+public class DagUserService {
+
+    private final StepGraphEngine engine;
+    private final StepGraph registrationGraph;
+    private final ServiceSimulation serviceSimulation;
+
+    public DagUserService(EmailService emailService, PointService pointService, ExecutorRegistry executorRegistry,
+                          ServiceSimulation serviceSimulation) {
+        this.serviceSimulation = serviceSimulation;
+        this.engine = new StepGraphEngine(10, executorRegistry.register("dag", () -> 10));
+        executorRegistry.manage("dag", engine.getExecutor());
+        // 단계는 의존성만 선언하고, 실행 순서와 병렬성은 엔진이 결정한다
+        this.registrationGraph = StepGraph.builder()
+            .step("email", Duration.ofMillis(2000), Duration.ofSeconds(3),
+                context -> emailService.sendWelcomeEmail(context.email()))
+            .step("points", Duration.ofMillis(1500), Duration.ofSeconds(3),
+                context -> pointService.addWelcomePoints(context.userId()))
+            .step("coupon", Duration.ofMillis(500), Duration.ofSeconds(1),
+                context -> simulate("쿠폰 발급", context.userId(), 500), "points")
+            .step("analytics", Duration.ofMillis(300), Duration.ofSeconds(1),
+                context -> simulate("가입 분석 이벤트 전송", context.userId(), 300))
+            .step("crm", Duration.ofMillis(700), Duration.ofSeconds(2),
+                context -> simulate("CRM 동기화", context.userId(), 700), "email")
+            .build();
+    }
+
+    public RegistrationReport registerUser(String userId, String email) {
+        log.info("=== 단계 그래프 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("dag", userId, email);
+        RegistrationReport report = registerUserAsync(userId, email).join();
+        registration.finish(report.isSuccessful());
+        log.info("=== 단계 그래프 방식 회원가입 완료 - 총 소요시간: {}ms ===", report.totalMillis());
+        return report;
+    }
+
+    public CompletableFuture<RegistrationReport> registerUserAsync(String userId, String email) {
+        return engine.execute(registrationGraph, new RegistrationContext(userId, email));
+    }
+
+    public StepGraph getRegistrationGraph() {
+        return registrationGraph;
+    }
+
+    private void simulate(String stepName, String userId, long millis) {
+        try {
+            log.info("[{}] {} 시작 - 사용자: {}", Thread.currentThread().getName(), stepName, userId);
+            serviceSimulation.clock().sleep(millis);
+            log.info("[{}] {} 완료 - 사용자: {}", Thread.currentThread().getName(), stepName, userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("{} 중 인터럽트 발생", stepName, e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.f1v3.async.dag;
+
+/**
+ * 회원가입 후속 단계에 전달되는 입력
+ */
+public record RegistrationContext(String userId, String email) {
+}
@@ -0,0 +1,20 @@
+package com.f1v3.async.dag;
+
+import java.util.List;
+
+/**
+ * 단계 그래프 실행 결과와 단계별 소요시간
+ */
+public record RegistrationReport(String userId, long totalMillis, List<StepResult> steps) {
+
+    public boolean isSuccessful() {
+        return steps.stream().allMatch(step -> step.status() == StepStatus.COMPLETED);
+    }
+
+    public StepResult step(String name) {
+        return steps.stream()
+            .filter(step -> step.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("알 수 없는 단계: " + name));
+    }
+}
@@ -0,0 +1,25 @@
+package com.f1v3.async.dag;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 회원가입 후속 단계 선언
+ *
+ * @param name              단계 이름
+ * @param dependsOn         먼저 끝나야 하는 단계 이름들
+ * @param estimatedDuration 임계 경로 계산에 사용하는 예상 소요시간
+ * @param timeout           단계 실행 제한 시간 (실행 시작 시점부터)
+ * @param action            실제 작업
+ */
+public record RegistrationStep(String name,
+                               Set<String> dependsOn,
+                               Duration estimatedDuration,
+                               Duration timeout,
+                               Consumer<RegistrationContext> action) {
+
+    public RegistrationStep {
+        dependsOn = Set.copyOf(dependsOn);
+    }
+}
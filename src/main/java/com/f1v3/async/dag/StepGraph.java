@@ -0,0 +1,133 @@
+package com.f1v3.async.dag;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 회원가입 후속 단계들의 의존 그래프 (DAG)
+ * <p>
+ * 생성 시 존재하지 않는 의존성과 순환을 검사하고, 단계마다 임계 경로 순위(rank)를 계산한다.
+ * rank 는 해당 단계부터 그래프 끝까지 가장 긴 경로의 예상 소요시간 합으로, 값이 클수록 먼저 실행되어야 한다.
+ */
+public class StepGraph {
+
+    private final List<RegistrationStep> steps;
+    private final Map<String, Long> ranks;
+
+    private StepGraph(List<RegistrationStep> steps) {
+        this.steps = topologicalOrder(steps);
+        this.ranks = computeRanks(this.steps);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 위상 정렬된 단계 목록 (선행 단계가 항상 앞에 온다)
+     */
+    public List<RegistrationStep> getSteps() {
+        return steps;
+    }
+
+    public long getRank(String stepName) {
+        return ranks.get(stepName);
+    }
+
+    /**
+     * 예상 소요시간 기준 임계 경로 길이 (병렬 실행 시 이론상 최소 소요시간)
+     */
+    public long getCriticalPathMillis() {
+        return ranks.values().stream().mapToLong(Long::longValue).max().orElse(0L);
+    }
+
+    private static List<RegistrationStep> topologicalOrder(List<RegistrationStep> steps) {
+        Map<String, RegistrationStep> byName = new LinkedHashMap<>();
+        for (RegistrationStep step : steps) {
+            if (byName.put(step.name(), step) != null) {
+                throw new IllegalArgumentException("중복된 단계 이름: " + step.name());
+            }
+        }
+
+        Map<String, Integer> inDegree = new LinkedHashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (RegistrationStep step : steps) {
+            inDegree.put(step.name(), step.dependsOn().size());
+            for (String dependency : step.dependsOn()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalArgumentException(step.name() + " 단계가 존재하지 않는 단계에 의존: " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(step.name());
+            }
+        }
+
+        // Kahn 알고리즘
+        Deque<String> ready = new ArrayDeque<>();
+        inDegree.forEach((name, degree) -> {
+            if (degree == 0) {
+                ready.add(name);
+            }
+        });
+
+        List<RegistrationStep> ordered = new ArrayList<>(steps.size());
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            ordered.add(byName.get(name));
+            for (String dependent : dependents.getOrDefault(name, List.of())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (ordered.size() != steps.size()) {
+            throw new IllegalArgumentException("단계 그래프에 순환 의존이 있음");
+        }
+        return Collections.unmodifiableList(ordered);
+    }
+
+    private static Map<String, Long> computeRanks(List<RegistrationStep> ordered) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (RegistrationStep step : ordered) {
+            for (String dependency : step.dependsOn()) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(step.name());
+            }
+        }
+
+        // 역위상 순서로 rank(step) = 예상 소요시간 + max(rank(후행 단계))
+        Map<String, Long> ranks = new HashMap<>();
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            RegistrationStep step = ordered.get(i);
+            long downstream = dependents.getOrDefault(step.name(), List.of()).stream()
+                .mapToLong(ranks::get)
+                .max()
+                .orElse(0L);
+            ranks.put(step.name(), step.estimatedDuration().toMillis() + downstream);
+        }
+        return Collections.unmodifiableMap(ranks);
+    }
+
+    public static class Builder {
+
+        private final List<RegistrationStep> steps = new ArrayList<>();
+
+        public Builder step(String name, Duration estimatedDuration, Duration timeout,
+                            Consumer<RegistrationContext> action, String... dependsOn) {
+            steps.add(new RegistrationStep(name, Set.of(dependsOn), estimatedDuration, timeout, action));
+            return this;
+        }
+
+        public StepGraph build() {
+            return new StepGraph(steps);
+        }
+    }
+}
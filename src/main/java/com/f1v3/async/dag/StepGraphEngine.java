@@ -0,0 +1,185 @@
+package com.f1v3.async.dag;
+
+import com.f1v3.async.executor.TaskTracker;
+import com.f1v3.async.executor.TrackingThreadPoolExecutor;
+import com.f1v3.async.profiling.RegistrationAbortEvent;
+import com.f1v3.async.profiling.StageOutcome;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단계 그래프 실행 엔진
+ * <p>
+ * 선행 단계가 모두 끝난 단계부터 바로 실행하고, 풀이 가득 찬 경우에는 임계 경로 순위(rank)가 높은 단계를 먼저 꺼낸다.
+ * 선행 단계가 실패하거나 시간 초과된 단계는 실행하지 않고 SKIPPED 로 기록한다.
+ */
+@Slf4j
+public class StepGraphEngine {
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "StepGraph-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong sequence = new AtomicLong();
+
+    public StepGraphEngine(int poolSize) {
+        this(poolSize, new TaskTracker("dag", () -> poolSize));
+    }
+
+    public StepGraphEngine(int poolSize, TaskTracker tracker) {
+        this.executor = new TrackingThreadPoolExecutor(poolSize, new PriorityBlockingQueue<>(), tracker);
+    }
+
+    public CompletableFuture<RegistrationReport> execute(StepGraph graph, RegistrationContext context) {
+        long startNanos = System.nanoTime();
+        Map<String, CompletableFuture<StepResult>> results = new ConcurrentHashMap<>();
+
+        for (RegistrationStep step : graph.getSteps()) {
+            CompletableFuture<?>[] dependencies = step.dependsOn().stream()
+                .map(results::get)
+                .toArray(CompletableFuture[]::new);
+
+            CompletableFuture<StepResult> result = CompletableFuture.allOf(dependencies)
+                .thenCompose(ignored -> {
+                    boolean dependencyFailed = step.dependsOn().stream()
+                        .map(name -> results.get(name).join())
+                        .anyMatch(dependency -> dependency.status() != StepStatus.COMPLETED);
+                    if (dependencyFailed) {
+                        long now = elapsedMillis(startNanos);
+                        return CompletableFuture.completedFuture(
+                            new StepResult(step.name(), StepStatus.SKIPPED, 0L, now, 0L, null));
+                    }
+                    return dispatch(step, graph.getRank(step.name()), context, startNanos);
+                });
+            results.put(step.name(), result);
+        }
+
+        return CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                List<StepResult> steps = new ArrayList<>(graph.getSteps().size());
+                graph.getSteps().forEach(step -> steps.add(results.get(step.name()).join()));
+                RegistrationReport report = new RegistrationReport(context.userId(), elapsedMillis(startNanos), steps);
+                logReport(report, graph);
+                return report;
+            });
+    }
+
+    /**
+     * 단계를 실행하는 풀 - 애플리케이션에서는 종료 단계의 정리 대상으로 등록한다 (시간 초과 스케줄러는 데몬 스레드라 따로 닫지 않아도 됨)
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        timeoutScheduler.shutdownNow();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    public List<Runnable> shutdownNow() {
+        timeoutScheduler.shutdownNow();
+        return executor.shutdownNow();
+    }
+
+    private CompletableFuture<StepResult> dispatch(RegistrationStep step, long rank,
+                                                   RegistrationContext context, long startNanos) {
+        CompletableFuture<StepResult> result = new CompletableFuture<>();
+        long readyNanos = System.nanoTime();
+
+        RankedTask task = new RankedTask(rank, sequence.getAndIncrement(), () -> {
+            long runNanos = System.nanoTime();
+            long queuedMillis = TimeUnit.NANOSECONDS.toMillis(runNanos - readyNanos);
+            long startedAtMillis = TimeUnit.NANOSECONDS.toMillis(runNanos - startNanos);
+            ScheduledFuture<?> timeout = scheduleTimeout(step, result, queuedMillis, startedAtMillis);
+            try {
+                step.action().accept(context);
+                result.complete(new StepResult(step.name(), StepStatus.COMPLETED,
+                    queuedMillis, startedAtMillis, elapsedMillis(runNanos), null));
+            } catch (Throwable e) {
+                result.complete(new StepResult(step.name(), StepStatus.FAILED,
+                    queuedMillis, startedAtMillis, elapsedMillis(runNanos), e));
+            } finally {
+                timeout.cancel(false);
+            }
+        });
+
+        // 시간 초과 시 실행 중인 스레드를 인터럽트한다
+        result.whenComplete((stepResult, error) -> {
+            if (stepResult != null && stepResult.status() == StepStatus.TIMED_OUT) {
+                RegistrationAbortEvent.emit("dag", context.userId(), step.name(), StageOutcome.TIMEOUT);
+                task.cancel(true);
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private ScheduledFuture<?> scheduleTimeout(RegistrationStep step, CompletableFuture<StepResult> result,
+                                               long queuedMillis, long startedAtMillis) {
+        long timeoutMillis = step.timeout().toMillis();
+        return timeoutScheduler.schedule(() -> result.complete(
+                new StepResult(step.name(), StepStatus.TIMED_OUT, queuedMillis, startedAtMillis, timeoutMillis,
+                    new TimeoutException(step.name() + " 단계 시간 초과 (" + timeoutMillis + "ms)"))),
+            timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void logReport(RegistrationReport report, StepGraph graph) {
+        log.info("단계 그래프 실행 완료 - 사용자: {}, 총 소요시간: {}ms (예상 임계 경로: {}ms)",
+            report.userId(), report.totalMillis(), graph.getCriticalPathMillis());
+        for (StepResult step : report.steps()) {
+            log.info("  - {} [{}] 시작: +{}ms, 대기: {}ms, 소요: {}ms",
+                step.name(), step.status(), step.startedAtMillis(), step.queuedMillis(), step.durationMillis());
+        }
+    }
+
+    private static long elapsedMillis(long fromNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fromNanos);
+    }
+
+    /**
+     * 임계 경로 순위가 높을수록, 같으면 먼저 준비된 순서로 꺼내지는 작업
+     */
+    private static class RankedTask extends FutureTask<Void> implements Comparable<RankedTask> {
+
+        private final long rank;
+        private final long sequence;
+
+        RankedTask(long rank, long sequence, Runnable runnable) {
+            super(runnable, null);
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(RankedTask other) {
+            int byRank = Long.compare(other.rank, rank);
+            return byRank != 0 ? byRank : Long.compare(sequence, other.sequence);
+        }
+    }
+}
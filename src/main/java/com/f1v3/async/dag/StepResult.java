@@ -0,0 +1,16 @@
+package com.f1v3.async.dag;
+
+/**
+ * 단계별 실행 결과
+ *
+ * @param queuedMillis    선행 단계 완료 후 실행 시작까지 대기한 시간
+ * @param startedAtMillis 회원가입 시작 기준 실행 시작 시점
+ * @param durationMillis  실행 소요시간
+ */
+public record StepResult(String name,
+                         StepStatus status,
+                         long queuedMillis,
+                         long startedAtMillis,
+                         long durationMillis,
+                         Throwable error) {
+}
@@ -0,0 +1,8 @@
+package com.f1v3.async.dag;
+
+public enum StepStatus {
+    COMPLETED,
+    FAILED,
+    TIMED_OUT,
+    SKIPPED   // 선행 단계 실패로 실행하지 않음
+}
@@ -0,0 +1,63 @@
+package com.f1v3.async.email;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 크기의 다이렉트 ByteBuffer 를 재사용하는 풀
+ * <p>
+ * 다이렉트 버퍼는 할당과 해제(GC 후 Cleaner)가 비싸므로 렌더링마다 새로 만들지 않고 돌려받아 쓴다.
+ * 풀이 비면 새로 할당하고, 돌려받을 때 풀이 가득 차 있으면 버린다. 대기열은 배열 기반이라 반납할 때도 노드를 만들지 않는다.
+ */
+public final class DirectBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> free;
+    private final LongAdder allocated = new LongAdder();
+
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 1 || maxPooled < 1) {
+            throw new IllegalArgumentException("버퍼 크기와 풀 크기는 1 이상이어야 함");
+        }
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 비어 있는(position 0, limit = capacity) 버퍼를 꺼낸다
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer != null) {
+            return buffer.clear();
+        }
+        allocated.increment();
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 이 풀에서 꺼낸 버퍼를 돌려준다. 돌려준 뒤에는 버퍼를 읽거나 쓰면 안 된다.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.isDirect() && buffer.capacity() == bufferSize) {
+            free.offer(buffer);
+        }
+    }
+
+    /**
+     * 지금까지 새로 할당한 버퍼 수 (재사용이 잘 되면 동시에 쓰는 버퍼 수 근처에 머문다)
+     */
+    public long getAllocatedCount() {
+        return allocated.sum();
+    }
+
+    public int getPooledCount() {
+        return free.size();
+    }
+}
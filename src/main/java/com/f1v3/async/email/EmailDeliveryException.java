@@ -0,0 +1,12 @@
+package com.f1v3.async.email;
+
+public class EmailDeliveryException extends RuntimeException {
+
+    public EmailDeliveryException(String message) {
+        super(message);
+    }
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,122 @@
+package com.f1v3.async.email;
+
+import com.f1v3.async.common.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP 메일 발송 API 를 호출하는 EmailService
+ * <p>
+ * {@link HttpClient#sendAsync} 로 요청을 보내므로 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ * 하나의 HttpClient 를 재사용해 커넥션을 유지하고, HTTP/2 를 지원하는 서버에서는 하나의 커넥션에 요청을 다중화한다.
+ * 동시 요청 수는 maxConcurrentRequests 로 제한하며, 초과 요청은 스레드를 막지 않고 대기열에서 기다린다.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "async.email.provider", havingValue = "http")
+public class HttpEmailService extends EmailService implements AutoCloseable {
+
+    private static final CompletableFuture<Void> PERMITTED = CompletableFuture.completedFuture(null);
+
+    private final HttpClient httpClient;
+    private final URI sendUri;
+    private final Duration requestTimeout;
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int availablePermits;
+
+    public HttpEmailService(ObjectProvider<WelcomeEmailGuard> welcomeEmailGuard,
+                            @Value("${async.email.http.base-url}") String baseUrl,
+                            @Value("${async.email.http.max-concurrent-requests:256}") int maxConcurrentRequests,
+                            @Value("${async.email.http.request-timeout-ms:5000}") long requestTimeoutMillis) {
+        super(welcomeEmailGuard);
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+        this.sendUri = URI.create(baseUrl).resolve("/v1/messages");
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.availablePermits = maxConcurrentRequests;
+    }
+
+    @Override
+    protected void deliverWelcomeEmail(String email) {
+        // 기존 블로킹 방식 전략들을 위한 동기 호출
+        log.info("[{}] 메일 발송 시작 (HTTP) - 이메일: {}", Thread.currentThread().getName(), email);
+        try {
+            sendWelcomeEmailAsync(email).join();
+        } catch (CompletionException e) {
+            throw new EmailDeliveryException("메일 발송 실패: " + email, e.getCause());
+        }
+        log.info("[{}] 메일 발송 완료 (HTTP) - 이메일: {}", Thread.currentThread().getName(), email);
+    }
+
+    /**
+     * 발송 API 를 바로 호출한다. 중복 발송 가드({@link WelcomeEmailGuard})는 {@link #sendWelcomeEmail} 경로에서만 확인한다.
+     */
+    public CompletableFuture<Void> sendWelcomeEmailAsync(String email) {
+        HttpRequest request = HttpRequest.newBuilder(sendUri)
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(welcomeMessage(email)))
+            .build();
+
+        return acquirePermit()
+            .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+            .whenComplete((response, error) -> releasePermit())
+            .thenAccept(response -> {
+                if (response.statusCode() / 100 != 2) {
+                    throw new EmailDeliveryException("메일 발송 API 오류 - 상태 코드: " + response.statusCode());
+                }
+            });
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private CompletableFuture<Void> acquirePermit() {
+        synchronized (waiters) {
+            if (availablePermits > 0) {
+                availablePermits--;
+                return PERMITTED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    private void releasePermit() {
+        CompletableFuture<Void> next;
+        synchronized (waiters) {
+            next = waiters.poll();
+            if (next == null) {
+                availablePermits++;
+            }
+        }
+        // 허가를 대기 중인 요청에 바로 넘긴다 (락 밖에서 완료시켜 후속 작업이 락을 잡지 않도록)
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    private static String welcomeMessage(String email) {
+        return "{\"to\":\"" + email.replace("\\", "\\\\").replace("\"", "\\\"") + "\",\"template\":\"welcome\"}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.f1v3.async.email;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 렌더링을 마친 환영 메일 - SMTP DATA 로 그대로 쓸 수 있는 바이트(점 이스케이프 및 마지막 {@code .} 줄 포함)
+ * <p>
+ * 풀에서 빌린 다이렉트 버퍼를 들고 있으므로 보낸 뒤 한 번 {@link #close()} 해야 한다.
+ * 한 번에 한 스레드만 다룬다 (렌더링한 스레드가 발송 스레드에 넘기면 그 뒤로는 발송 스레드만 사용).
+ */
+public final class RenderedEmail implements AutoCloseable {
+
+    private final ByteBuffer content;
+    private final DirectBufferPool pool;
+    private boolean released;
+
+    RenderedEmail(ByteBuffer content, DirectBufferPool pool) {
+        this.content = content;
+        this.pool = pool;
+    }
+
+    /**
+     * 읽을 준비가 된(flip 된) 내용 - 채널에 쓰면 position 이 앞으로 이동한다
+     */
+    public ByteBuffer content() {
+        return content;
+    }
+
+    public int size() {
+        return content.limit();
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            if (pool != null) {
+                pool.release(content);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.f1v3.async.email;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 용량이 차면 더 큰 블룸 필터를 덧붙이는 확장형 블룸 필터 (Scalable Bloom Filter)
+ * <p>
+ * 새 필터는 용량을 2배로 늘리고 오탐률은 절반으로 줄여, 필터가 몇 개로 늘어나도 전체 오탐률이
+ * 지정한 값을 넘지 않는다. 비트 설정은 AtomicLongArray 로 락 없이 처리하고,
+ * 필터 추가만 동기화한다. 원소 삭제는 지원하지 않는다.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private volatile List<Layer> layers;
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("잘못된 블룸 필터 설정 - 용량: " + initialCapacity + ", 오탐률: " + falsePositiveRate);
+        }
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        // 첫 필터가 전체 오탐률 한도의 절반을 쓰고, 이후 필터들이 나머지 절반을 나눠 쓴다
+        this.layers = List.of(new Layer(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    private ScalableBloomFilter(long initialCapacity, double falsePositiveRate, List<Layer> layers) {
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.layers = List.copyOf(layers);
+    }
+
+    /**
+     * false 이면 한 번도 추가되지 않은 값이다. true 이면 추가되었을 수 있다 (오탐 가능).
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (Layer layer : layers) {
+            if (layer.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 값을 추가한다. 호출자는 {@link #mightContain} 이 false 인 값에 대해서만 호출하면 된다.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        Layer current = currentLayer();
+        current.put(hash);
+        if (current.count.incrementAndGet() >= current.capacity) {
+            grow(current);
+        }
+    }
+
+    public long getApproximateCount() {
+        long count = 0;
+        for (Layer layer : layers) {
+            count += layer.count.get();
+        }
+        return count;
+    }
+
+    public long getBitSize() {
+        long bits = 0;
+        for (Layer layer : layers) {
+            bits += layer.bitSize;
+        }
+        return bits;
+    }
+
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        List<Layer> snapshot = layers;
+        output.writeInt(SNAPSHOT_VERSION);
+        output.writeLong(initialCapacity);
+        output.writeDouble(falsePositiveRate);
+        output.writeInt(snapshot.size());
+        for (Layer layer : snapshot) {
+            output.writeLong(layer.capacity);
+            output.writeDouble(layer.falsePositiveRate);
+            output.writeLong(layer.count.get());
+            for (int i = 0; i < layer.bits.length(); i++) {
+                output.writeLong(layer.bits.get(i));
+            }
+        }
+    }
+
+    public static ScalableBloomFilter readFrom(DataInput input) throws IOException {
+        int version = input.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("지원하지 않는 블룸 필터 스냅샷 버전: " + version);
+        }
+        long initialCapacity = input.readLong();
+        double falsePositiveRate = input.readDouble();
+        int layerCount = input.readInt();
+
+        List<Layer> layers = new ArrayList<>(layerCount);
+        for (int l = 0; l < layerCount; l++) {
+            Layer layer = new Layer(input.readLong(), input.readDouble());
+            layer.count.set(input.readLong());
+            for (int i = 0; i < layer.bits.length(); i++) {
+                layer.bits.set(i, input.readLong());
+            }
+            layers.add(layer);
+        }
+        return new ScalableBloomFilter(initialCapacity, falsePositiveRate, layers);
+    }
+
+    private Layer currentLayer() {
+        List<Layer> snapshot = layers;
+        return snapshot.get(snapshot.size() - 1);
+    }
+
+    private synchronized void grow(Layer full) {
+        if (currentLayer() != full) {
+            // 다른 스레드가 이미 새 필터를 추가함
+            return;
+        }
+        List<Layer> grown = new ArrayList<>(layers);
+        grown.add(new Layer(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO));
+        layers = List.copyOf(grown);
+    }
+
+    private static long hash(String value) {
+        // FNV-1a 64비트 후 MurmurHash3 fmix64 로 비트를 섞는다
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Layer {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitSize;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // 최적 비트 수 m = -n ln p / (ln 2)^2, 해시 함수 수 k = (m / n) ln 2
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+            this.bitSize = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray(words);
+        }
+
+        private boolean mightContain(long hash) {
+            // 이중 해싱(Kirsch-Mitzenmacher): g_i(x) = h1(x) + i * h2(x)
+            long h1 = hash;
+            long h2 = Long.rotateLeft(hash, 32) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash) {
+            long h1 = hash;
+            long h2 = Long.rotateLeft(hash, 32) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((bits.get(word) & mask) == 0) {
+                    bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package com.f1v3.async.email;
+
+import com.f1v3.async.common.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SMTP 서버에 직접 메일을 보내는 EmailService
+ * <p>
+ * 논블로킹 소켓 채널과 셀렉터 스레드 하나로 최대 {@code async.email.smtp.max-connections} 개의 커넥션을 유지하며 재사용하므로,
+ * 메일마다 연결을 열고 인사(220)와 EHLO 를 주고받는 왕복이 없다. 서버가 PIPELINING(RFC 2920)을 알리면
+ * MAIL FROM / RCPT TO / DATA 를 응답을 기다리지 않고 한 번에 보내고, 본문 끝(.)과 다음 메일의 명령도 함께 보내
+ * 커넥션 하나에서 메일 한 통에 왕복 한 번만 든다. 알리지 않으면 명령마다 응답을 기다린다.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "async.email.provider", havingValue = "smtp")
+public class SmtpEmailService extends EmailService implements AutoCloseable {
+
+    private static final String CRLF = "\r\n";
+    private static final ByteBuffer END_OF_DATA = StandardCharsets.US_ASCII.encode("." + CRLF).asReadOnlyBuffer();
+    private static final int READ_BUFFER_BYTES = 8192;
+
+    private final WelcomeEmailTemplates templates;
+    private final InetSocketAddress server;
+    private final String sender;
+    private final int maxConnections;
+    private final int maxMessagesPerConnection;
+    private final long timeoutMillis;
+
+    private final Selector selector;
+    private final Thread ioThread;
+    private final Queue<Message> submitted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openedConnections = new AtomicInteger();
+    private volatile int openConnections;
+    private volatile boolean closed;
+
+    // 아래는 셀렉터 스레드만 사용
+    private final Deque<Message> pending = new ArrayDeque<>();
+    private final List<SmtpConnection> connections = new ArrayList<>();
+
+    public SmtpEmailService(ObjectProvider<WelcomeEmailGuard> welcomeEmailGuard,
+                            WelcomeEmailTemplates templates,
+                            @Value("${async.email.smtp.host:127.0.0.1}") String host,
+                            @Value("${async.email.smtp.port:2525}") int port,
+                            @Value("${async.email.smtp.sender:welcome@f1v3.com}") String sender,
+                            @Value("${async.email.smtp.max-connections:8}") int maxConnections,
+                            @Value("${async.email.smtp.max-messages-per-connection:32}") int maxMessagesPerConnection,
+                            @Value("${async.email.smtp.timeout-ms:5000}") long timeoutMillis) throws IOException {
+        super(welcomeEmailGuard);
+        this.templates = templates;
+        this.server = new InetSocketAddress(host, port);
+        this.sender = checkAddress(sender);
+        this.maxConnections = maxConnections;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.timeoutMillis = timeoutMillis;
+        this.selector = Selector.open();
+        this.ioThread = new Thread(this::run, "smtp-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    @Override
+    protected void deliverWelcomeEmail(String email) {
+        // 기존 블로킹 방식 전략들을 위한 동기 호출
+        log.info("[{}] 메일 발송 시작 (SMTP) - 이메일: {}", Thread.currentThread().getName(), email);
+        try {
+            sendWelcomeEmailAsync(email).join();
+        } catch (CompletionException e) {
+            throw new EmailDeliveryException("메일 발송 실패: " + email, e.getCause());
+        }
+        log.info("[{}] 메일 발송 완료 (SMTP) - 이메일: {}", Thread.currentThread().getName(), email);
+    }
+
+    public CompletableFuture<Void> sendWelcomeEmailAsync(String email) {
+        return sendWelcomeEmailAsync(email, null);
+    }
+
+    /**
+     * 호출한 스레드에서 메일을 렌더링해 커넥션 풀에 넣고, 서버가 본문을 받아들이면(250) 완료되는 Future 를 돌려준다.
+     * 중복 발송 가드({@link WelcomeEmailGuard})는 {@link #sendWelcomeEmail} 경로에서만 확인한다.
+     *
+     * @param locale 템플릿 로케일 (null 이면 기본 로케일)
+     */
+    public CompletableFuture<Void> sendWelcomeEmailAsync(String email, Locale locale) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new EmailDeliveryException("SMTP 발송기가 종료됨"));
+        }
+        Message message;
+        try {
+            String recipient = checkAddress(email);
+            message = new Message(recipient, templates.render(sender, recipient, locale));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e instanceof EmailDeliveryException ? e
+                : new EmailDeliveryException("메일 렌더링 실패: " + email, e));
+        }
+        submitted.add(message);
+        selector.wakeup();
+        return message.result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지금까지 연 커넥션 수 (재사용이 잘 되면 최대 커넥션 수 근처에 머문다)
+     */
+    public int getOpenedConnectionCount() {
+        return openedConnections.get();
+    }
+
+    public int getOpenConnectionCount() {
+        return openConnections;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            ioThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select(Math.max(1, timeoutMillis / 4));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    ((SmtpConnection) key.attachment()).handle(key);
+                }
+                Message message;
+                while ((message = submitted.poll()) != null) {
+                    pending.add(message);
+                }
+                expireIdleConnections();
+                assign();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("SMTP 셀렉터 스레드 오류 - 발송기 중단", e);
+            closed = true;
+        } finally {
+            shutdownConnections();
+        }
+    }
+
+    /**
+     * 대기 중인 메일을 커넥션에 나눠 준다 - 놀고 있는 커넥션, 새 커넥션, 가장 한가한 커넥션 순으로 고른다
+     */
+    private void assign() {
+        while (!pending.isEmpty()) {
+            Message message = pending.peek();
+            if (message.result.isDone()) {
+                // 기다리다 시간 초과된 메일
+                pending.poll().discard();
+                continue;
+            }
+            SmtpConnection target = null;
+            for (SmtpConnection connection : connections) {
+                if (target == null || connection.load() < target.load()) {
+                    target = connection;
+                }
+            }
+            if ((target == null || target.load() > 0) && connections.size() < maxConnections) {
+                target = open();
+                if (target == null) {
+                    return;
+                }
+            }
+            if (target == null || target.load() >= maxMessagesPerConnection) {
+                return;
+            }
+            target.enqueue(pending.poll());
+        }
+    }
+
+    private SmtpConnection open() {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            SmtpConnection connection = new SmtpConnection(channel);
+            boolean connected = channel.connect(server);
+            connection.key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, connection);
+            connections.add(connection);
+            openedConnections.incrementAndGet();
+            openConnections = connections.size();
+            return connection;
+        } catch (IOException e) {
+            log.warn("SMTP 서버 연결 실패 - {}: {}", server, e.toString());
+            failPending(e);
+            return null;
+        }
+    }
+
+    private void expireIdleConnections() {
+        long now = System.nanoTime();
+        for (SmtpConnection connection : List.copyOf(connections)) {
+            if (!connection.awaiting.isEmpty()
+                && now - connection.lastActivityNanos > TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+                connection.fail(new IOException("SMTP 응답 시간 초과 (" + timeoutMillis + "ms)"));
+            }
+        }
+    }
+
+    private void failPending(Exception cause) {
+        Message message;
+        while ((message = pending.poll()) != null) {
+            message.fail(new EmailDeliveryException("SMTP 서버 연결 실패: " + server, cause));
+        }
+    }
+
+    private void shutdownConnections() {
+        for (SmtpConnection connection : List.copyOf(connections)) {
+            connection.quit();
+        }
+        EmailDeliveryException stopped = new EmailDeliveryException("SMTP 발송기가 종료됨");
+        submitted.forEach(message -> message.fail(stopped));
+        pending.forEach(message -> message.fail(stopped));
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("셀렉터 닫기 실패", e);
+        }
+    }
+
+    private String envelope(Message message) {
+        return "MAIL FROM:<" + sender + ">" + CRLF + "RCPT TO:<" + message.recipient + ">" + CRLF + "DATA" + CRLF;
+    }
+
+    private static String checkAddress(String address) {
+        if (address == null || address.isBlank() || address.chars().anyMatch(c -> c == '\r' || c == '\n' || c == '<' || c == '>')) {
+            throw new EmailDeliveryException("잘못된 메일 주소: " + address);
+        }
+        return address;
+    }
+
+    private static final class Message {
+
+        private final String recipient;
+        private final RenderedEmail content;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private boolean written;
+        private boolean rejected;
+
+        private Message(String recipient, RenderedEmail content) {
+            this.recipient = recipient;
+            this.content = content;
+        }
+
+        private void reject(Reply reply) {
+            rejected = true;
+            fail(new EmailDeliveryException("SMTP 오류 - " + reply));
+        }
+
+        private void fail(EmailDeliveryException cause) {
+            result.completeExceptionally(cause);
+            discard();
+        }
+
+        /**
+         * 렌더링한 버퍼를 풀에 돌려준다 - 소켓에 다 쓴 뒤 셀렉터 스레드에서만 부른다 (시간 초과한 호출 쪽이 아니라)
+         */
+        private void discard() {
+            content.close();
+        }
+    }
+
+    private enum Step {
+        GREETING, EHLO, ENVELOPE, DATA, BODY, RSET, QUIT
+    }
+
+    /**
+     * 보낼 명령 하나와, 그 응답을 받으면 어떤 단계로 처리할지
+     *
+     * @param replies 이 명령에 돌아올 응답 수 (MAIL FROM/RCPT TO/DATA 를 한 번에 쓰면 3)
+     */
+    private record Command(Step step, ByteBuffer payload, Message message, int replies) {
+
+        private static Command of(Step step, String text, Message message, int replies) {
+            return new Command(step, StandardCharsets.UTF_8.encode(text), message, replies);
+        }
+
+        /**
+         * DATA 는 파이프라이닝 그룹의 마지막이어야 한다 (RFC 2920)
+         */
+        private boolean endsGroup() {
+            return step == Step.DATA || step == Step.ENVELOPE && replies == 3;
+        }
+    }
+
+    private record Reply(int code, List<String> lines) {
+
+        private boolean isPositive() {
+            return code / 100 == 2;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" / ", lines);
+        }
+    }
+
+    /**
+     * 커넥션 하나의 상태 - 셀렉터 스레드만 다룬다
+     */
+    private final class SmtpConnection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final Deque<ByteBuffer> out = new ArrayDeque<>();
+        private final Deque<Message> messages = new ArrayDeque<>();
+        private final Deque<Command> queued = new ArrayDeque<>();
+        /** 응답을 기다리는 명령 - 명령 하나에 응답이 여러 개면 응답마다 하나씩 소비 */
+        private final Deque<Command> awaiting = new ArrayDeque<>();
+        private final List<String> replyLines = new ArrayList<>();
+        private SelectionKey key;
+        private boolean ready;
+        private boolean pipelining;
+        private boolean barrier;
+        private int remainingReplies;
+        private int inFlightMessages;
+        private long lastActivityNanos = System.nanoTime();
+
+        private SmtpConnection(SocketChannel channel) {
+            this.channel = channel;
+            // 연결되면 서버가 먼저 인사(220)를 보낸다
+            awaiting.add(Command.of(Step.GREETING, "", null, 1));
+            remainingReplies = 1;
+            barrier = true;
+        }
+
+        private int load() {
+            return messages.size() + inFlightMessages;
+        }
+
+        private void enqueue(Message message) {
+            messages.add(message);
+            pump();
+        }
+
+        private void handle(SelectionKey key) {
+            try {
+                if (!key.isValid()) {
+                    return;
+                }
+                if (key.isConnectable() && channel.finishConnect()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    lastActivityNanos = System.nanoTime();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush();
+                }
+                if (key.isValid() && key.isReadable()) {
+                    read();
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void read() throws IOException {
+            if (channel.read(in) < 0) {
+                throw new IOException("SMTP 서버가 연결을 닫음");
+            }
+            lastActivityNanos = System.nanoTime();
+            in.flip();
+            int lineStart = in.position();
+            for (int i = in.position(); i + 1 < in.limit(); i++) {
+                if (in.get(i) == '\r' && in.get(i + 1) == '\n') {
+                    String line = StandardCharsets.UTF_8.decode(in.slice(lineStart, i - lineStart)).toString();
+                    lineStart = i + 2;
+                    i++;
+                    replyLines.add(line);
+                    // "250-..." 은 여러 줄 응답의 중간, "250 ..." 또는 "250" 이 마지막 줄
+                    if (line.length() < 4 || line.charAt(3) != '-') {
+                        onReply(new Reply(parseCode(line), List.copyOf(replyLines)));
+                        replyLines.clear();
+                    }
+                }
+            }
+            in.position(lineStart);
+            in.compact();
+            if (!in.hasRemaining()) {
+                throw new IOException("SMTP 응답 줄이 너무 김");
+            }
+            pump();
+        }
+
+        private void onReply(Reply reply) throws IOException {
+            Command command = awaiting.peek();
+            if (command == null) {
+                throw new IOException("요청하지 않은 SMTP 응답: " + reply);
+            }
+            int index = command.replies() - remainingReplies;
+            if (--remainingReplies == 0) {
+                awaiting.poll();
+                Command next = awaiting.peek();
+                remainingReplies = next == null ? 0 : next.replies();
+            }
+            if (reply.code() == 421) {
+                // 서버가 커넥션을 정리함 (유휴 시간 초과 등)
+                throw new IOException("SMTP 서버가 서비스를 종료함: " + reply);
+            }
+
+            switch (command.step()) {
+                case GREETING -> {
+                    if (reply.code() != 220) {
+                        throw new IOException("SMTP 인사 실패: " + reply);
+                    }
+                    write(Command.of(Step.EHLO, "EHLO async.f1v3.local" + CRLF, null, 1));
+                }
+                case EHLO -> {
+                    if (!reply.isPositive()) {
+                        throw new IOException("EHLO 실패: " + reply);
+                    }
+                    pipelining = reply.lines().stream()
+                        .anyMatch(line -> line.length() > 4 && line.substring(4).strip().toUpperCase(Locale.ROOT).equals("PIPELINING"));
+                    ready = true;
+                    log.debug("SMTP 커넥션 준비 - 서버: {}, PIPELINING: {}", server, pipelining);
+                }
+                case ENVELOPE -> onEnvelopeReply(command, index, reply);
+                case DATA -> onDataReply(command.message(), reply);
+                case BODY -> {
+                    inFlightMessages--;
+                    if (reply.isPositive()) {
+                        command.message().result.complete(null);
+                        command.message().discard();
+                    } else {
+                        command.message().reject(reply);
+                        queued.addFirst(Command.of(Step.RSET, "RSET" + CRLF, null, 1));
+                    }
+                }
+                case RSET, QUIT -> {
+                    // 응답 내용과 무관하게 다음 메일로 넘어간다
+                }
+            }
+            if (awaiting.isEmpty()) {
+                barrier = false;
+            }
+        }
+
+        /**
+         * MAIL FROM / RCPT TO (+ 한 번에 보냈다면 DATA) 응답 - PIPELINING 이 없으면 DATA 는 따로 보내므로 index 는 항상 0
+         */
+        private void onEnvelopeReply(Command command, int index, Reply reply) {
+            if (command.replies() == 3 && index == 2) {
+                onDataReply(command.message(), reply);
+            } else if (!reply.isPositive() && !command.message().rejected) {
+                command.message().reject(reply);
+            }
+        }
+
+        private void onDataReply(Message message, Reply reply) {
+            if (reply.code() == 354) {
+                // 앞선 MAIL/RCPT 가 거부됐는데도 본문을 받겠다고 하면 빈 본문으로 끝낸다
+                // (호출 쪽에서 시간 초과된 메일은 이미 수신자가 등록됐으므로 그대로 보낸다)
+                ByteBuffer content = message.rejected ? END_OF_DATA.duplicate() : message.content.content();
+                queued.addFirst(new Command(Step.BODY, content, message, 1));
+                return;
+            }
+            inFlightMessages--;
+            if (!message.rejected) {
+                message.reject(reply);
+            }
+            queued.addFirst(Command.of(Step.RSET, "RSET" + CRLF, null, 1));
+        }
+
+        /**
+         * 보낼 수 있는 명령을 모두 쓴다. DATA 는 그룹의 마지막이어야 하므로(RFC 2920) DATA 를 쓴 뒤에는 응답이 올 때까지 멈추고,
+         * PIPELINING 이 없으면 명령마다 멈춘다.
+         */
+        private void pump() {
+            while (ready && !barrier && (!queued.isEmpty() || refill())) {
+                Command command = queued.poll();
+                write(command);
+                barrier = !pipelining || command.endsGroup();
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private boolean refill() {
+            Message message;
+            do {
+                message = messages.poll();
+                if (message == null) {
+                    return false;
+                }
+                if (message.result.isDone()) {
+                    // 기다리다 시간 초과된 메일
+                    message.discard();
+                }
+            } while (message.result.isDone());
+            message.written = true;
+            inFlightMessages++;
+            if (pipelining) {
+                queued.add(Command.of(Step.ENVELOPE, envelope(message), message, 3));
+            } else {
+                queued.add(Command.of(Step.ENVELOPE, "MAIL FROM:<" + sender + ">" + CRLF, message, 1));
+                queued.add(Command.of(Step.ENVELOPE, "RCPT TO:<" + message.recipient + ">" + CRLF, message, 1));
+                queued.add(Command.of(Step.DATA, "DATA" + CRLF, message, 1));
+            }
+            return true;
+        }
+
+        private void write(Command command) {
+            if (awaiting.isEmpty()) {
+                remainingReplies = command.replies();
+                lastActivityNanos = System.nanoTime();
+            }
+            awaiting.add(command);
+            out.add(command.payload());
+        }
+
+        private void flush() throws IOException {
+            if (!out.isEmpty()) {
+                // 본문 끝과 다음 메일의 명령이 한 세그먼트로 가도록 모아 쓴다
+                channel.write(out.toArray(ByteBuffer[]::new));
+                while (!out.isEmpty() && !out.peek().hasRemaining()) {
+                    out.poll();
+                }
+                if (!out.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            if (key.isValid() && (key.interestOps() & SelectionKey.OP_CONNECT) == 0) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * 커넥션을 버린다. 이미 명령을 보낸 메일은 실패로 끝내고(전달됐을 수도 있으므로 다시 보내지 않음),
+         * 아직 보내지 않은 메일은 다른 커넥션이 보내도록 대기열 앞으로 되돌린다.
+         * 연결이나 인사 단계에서 실패했다면 서버에 닿지 않는 것이므로 되돌리지 않고 모두 실패로 끝낸다.
+         */
+        private void fail(Exception cause) {
+            if (!closed) {
+                log.warn("SMTP 커넥션 종료 - {}", cause.toString());
+            }
+            close();
+            for (Command command : awaiting) {
+                failIfWritten(command.message(), cause);
+            }
+            for (Command command : queued) {
+                failIfWritten(command.message(), cause);
+            }
+            if (ready) {
+                messages.descendingIterator().forEachRemaining(pending::addFirst);
+            } else {
+                messages.forEach(message -> message.fail(new EmailDeliveryException("SMTP 서버 연결 실패: " + server, cause)));
+            }
+            awaiting.clear();
+            queued.clear();
+            messages.clear();
+        }
+
+        private void failIfWritten(Message message, Exception cause) {
+            if (message != null && message.written) {
+                // 채널을 닫은 뒤라 버퍼를 돌려줘도 안전
+                message.fail(new EmailDeliveryException("SMTP 커넥션 오류", cause));
+            }
+        }
+
+        private void quit() {
+            try {
+                if (ready && channel.isConnected()) {
+                    channel.write(StandardCharsets.UTF_8.encode("QUIT" + CRLF));
+                }
+            } catch (IOException e) {
+                log.debug("QUIT 전송 실패", e);
+            }
+            fail(new IOException("SMTP 발송기 종료"));
+        }
+
+        private void close() {
+            connections.remove(this);
+            openConnections = connections.size();
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("SMTP 커넥션 닫기 실패", e);
+            }
+        }
+
+        private static int parseCode(String line) throws IOException {
+            try {
+                return Integer.parseInt(line.substring(0, 3));
+            } catch (RuntimeException e) {
+                throw new IOException("잘못된 SMTP 응답: " + line);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이미 환영 메일을 받은 주소로의 재발송을 막는 가드
+ * <p>
+ * 블룸 필터가 "처음 보는 주소" 라고 답하면 발송 이력을 조회하지 않고 바로 발송을 허용한다.
+ * "이미 보냈을 수 있음" 이라고 답한 경우(재가입, 가져오기 중복, 오탐)에만 {@link WelcomedEmailHistory} 를 정확히 조회한다.
+ * 발송 이력은 기록할 때마다 파일에 덧붙이고(주소 전체를 메모리에 두지 않음), 시작할 때 그 파일을 차례로 읽어 필터를 다시 채우므로
+ * 재시작하거나 비정상 종료된 뒤에도 이미 보낸 주소를 막는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "async.email.dedup.enabled", havingValue = "true")
+public class WelcomeEmailGuard implements AutoCloseable {
+
+    private final ScalableBloomFilter filter;
+    private final WelcomedEmailHistory history;
+    private final AtomicLong skippedLookupCount = new AtomicLong();
+
+    public WelcomeEmailGuard(@Value("${async.email.dedup.initial-capacity:100000}") long initialCapacity,
+                             @Value("${async.email.dedup.false-positive-rate:0.001}") double falsePositiveRate,
+                             @Value("${async.email.dedup.history-path:}") String historyPath) {
+        this(new ScalableBloomFilter(initialCapacity, falsePositiveRate), openHistory(historyPath));
+    }
+
+    WelcomeEmailGuard(ScalableBloomFilter filter, WelcomedEmailHistory history) {
+        this.filter = filter;
+        this.history = history;
+        history.forEachRecorded(filter::put);
+        if (history.size() > 0) {
+            log.info("환영 메일 발송 이력으로 필터 복구 - 발송 이력 {}건, 필터 {} KB", history.size(), filter.getBitSize() / 8 / 1024);
+        }
+    }
+
+    /**
+     * 환영 메일을 보내도 되면 발송 이력을 남기고 true, 이미 보낸 주소이면 false 를 반환한다.
+     */
+    public boolean tryAcquire(String email) {
+        String key = normalize(email);
+
+        if (!filter.mightContain(key)) {
+            // 처음 보는 주소 - 발송 이력 조회 없이 기록만 한다 (동시에 같은 주소가 들어오면 record 가 한쪽만 허용)
+            skippedLookupCount.incrementAndGet();
+            filter.put(key);
+            return history.record(key);
+        }
+        return !history.contains(key) && history.record(key);
+    }
+
+    /**
+     * 발송에 실패한 주소를 이력에서 제거해 다음 가입 때 다시 발송되도록 한다.
+     * 필터 비트는 지울 수 없지만, 다음 조회에서 이력을 정확히 확인하므로 발송이 막히지 않는다.
+     */
+    public void release(String email) {
+        history.remove(normalize(email));
+    }
+
+    public long getSkippedLookupCount() {
+        return skippedLookupCount.get();
+    }
+
+    public long getHistoryLookupCount() {
+        return history.getLookupCount();
+    }
+
+    public ScalableBloomFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public void close() {
+        history.close();
+    }
+
+    private static WelcomedEmailHistory openHistory(String historyPath) {
+        if (historyPath.isBlank()) {
+            return new WelcomedEmailHistory();
+        }
+        try {
+            return WelcomedEmailHistory.open(Path.of(historyPath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("환영 메일 발송 이력 열기 실패: " + historyPath, e);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,203 @@
+package com.f1v3.async.email;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 미리 컴파일한 환영 메일 템플릿
+ * <p>
+ * 원본은 머리글 줄, 빈 줄, 본문 순서이며 {@code {{sender}}}, {@code {{recipient}}} 자리에 값이 들어간다.
+ * 컴파일할 때 From/To/MIME 머리글을 붙이고, ASCII 가 아닌 Subject 를 RFC 2047 형식으로 인코딩하고,
+ * 줄바꿈을 CRLF 로 맞추고, '.' 으로 시작하는 줄에 '.' 을 하나 더 붙이고(SMTP 점 이스케이프), 마지막 {@code .} 줄까지 붙여
+ * 고정된 부분을 전부 UTF-8 바이트로 만들어 둔다. 렌더링은 고정 바이트와 값을 버퍼에 차례로 복사하기만 한다.
+ */
+final class WelcomeEmailTemplate {
+
+    private static final String CRLF = "\r\n";
+    /** 인코딩된 단어 하나(=?UTF-8?B?...?=)가 75자를 넘지 않도록 나누는 원본 바이트 수 */
+    private static final int ENCODED_WORD_BYTES = 45;
+
+    enum Variable {
+        SENDER("sender"), RECIPIENT("recipient");
+
+        private final String placeholder;
+
+        Variable(String placeholder) {
+            this.placeholder = "{{" + placeholder + "}}";
+        }
+    }
+
+    private final byte[][] literals;
+    private final Variable[] variables;
+    /** 값이 줄 맨 앞에 오는지 - 값이 '.' 으로 시작하면 점 이스케이프가 필요 */
+    private final boolean[] atLineStart;
+    private final int literalBytes;
+
+    private WelcomeEmailTemplate(List<byte[]> literals, List<Variable> variables, List<Boolean> atLineStart) {
+        this.literals = literals.toArray(byte[][]::new);
+        this.variables = variables.toArray(Variable[]::new);
+        this.atLineStart = new boolean[atLineStart.size()];
+        for (int i = 0; i < this.atLineStart.length; i++) {
+            this.atLineStart[i] = atLineStart.get(i);
+        }
+        int total = 0;
+        for (byte[] literal : literals) {
+            total += literal.length;
+        }
+        this.literalBytes = total;
+    }
+
+    static WelcomeEmailTemplate compile(String source) {
+        String normalized = source.replace("\r\n", "\n").replace('\r', '\n');
+        int separator = normalized.indexOf("\n\n");
+        if (separator < 0) {
+            throw new IllegalArgumentException("템플릿에 머리글과 본문을 나누는 빈 줄이 없음");
+        }
+
+        StringBuilder message = new StringBuilder()
+            .append("From: <").append(Variable.SENDER.placeholder).append(">").append(CRLF)
+            .append("To: <").append(Variable.RECIPIENT.placeholder).append(">").append(CRLF);
+        for (String header : normalized.substring(0, separator).split("\n")) {
+            if (header.regionMatches(true, 0, "Subject:", 0, 8)) {
+                header = "Subject: " + encodeHeaderValue(header.substring(8).strip());
+            }
+            message.append(header).append(CRLF);
+        }
+        message.append("MIME-Version: 1.0").append(CRLF)
+            .append("Content-Type: text/plain; charset=UTF-8").append(CRLF)
+            .append("Content-Transfer-Encoding: 8bit").append(CRLF)
+            .append(CRLF);
+        String body = normalized.substring(separator + 2);
+        if (!body.isEmpty() && !body.endsWith("\n")) {
+            body += "\n";
+        }
+        for (String line : body.split("\n", -1)) {
+            message.append(line.startsWith(".") ? "." + line : line).append(CRLF);
+        }
+        // split 은 마지막 줄바꿈 뒤 빈 줄을 하나 더 돌려주므로 그 CRLF 를 빼고 끝 표시를 붙인다
+        message.setLength(message.length() - CRLF.length());
+        message.append(".").append(CRLF);
+        return parse(message.toString());
+    }
+
+    /**
+     * 값을 넣었을 때 필요한 최대 바이트 수 (UTF-8 은 char 하나에 최대 3바이트, 점 이스케이프에 1바이트)
+     */
+    int maxRenderedBytes(String sender, String recipient) {
+        int total = literalBytes;
+        for (Variable variable : variables) {
+            total += value(variable, sender, recipient).length() * 3 + 1;
+        }
+        return total;
+    }
+
+    /**
+     * 버퍼의 현재 위치부터 메일을 쓴다. 버퍼에 {@link #maxRenderedBytes} 이상 남아 있어야 한다.
+     */
+    void renderTo(ByteBuffer buffer, String sender, String recipient) {
+        for (int i = 0; i < variables.length; i++) {
+            buffer.put(literals[i]);
+            String value = value(variables[i], sender, recipient);
+            if (atLineStart[i] && value.startsWith(".")) {
+                buffer.put((byte) '.');
+            }
+            putUtf8(buffer, value);
+        }
+        buffer.put(literals[variables.length]);
+    }
+
+    private static String value(Variable variable, String sender, String recipient) {
+        return variable == Variable.SENDER ? sender : recipient;
+    }
+
+    /**
+     * 문자열 복사 없이 UTF-8 로 버퍼에 쓴다 - 메일 주소는 대부분 ASCII 라 바이트를 바로 넣고, 아닌 부분만 인코더에 넘긴다
+     */
+    private static void putUtf8(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+                CoderResult result = encoder.encode(CharBuffer.wrap(value, i, value.length()), buffer, true);
+                if (result.isError() || result.isOverflow()) {
+                    throw new IllegalArgumentException("메일 주소를 UTF-8 로 인코딩할 수 없음: " + result);
+                }
+                encoder.flush(buffer);
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    private static WelcomeEmailTemplate parse(String message) {
+        List<byte[]> literals = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        List<Boolean> atLineStart = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = message.indexOf("{{", position);
+            if (start < 0) {
+                literals.add(message.substring(position).getBytes(StandardCharsets.UTF_8));
+                return new WelcomeEmailTemplate(literals, variables, atLineStart);
+            }
+            int end = message.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("닫히지 않은 자리표시자: " + message.substring(start));
+            }
+            String placeholder = message.substring(start, end + 2);
+            Variable variable = null;
+            for (Variable candidate : Variable.values()) {
+                if (candidate.placeholder.equals(placeholder)) {
+                    variable = candidate;
+                }
+            }
+            if (variable == null) {
+                throw new IllegalArgumentException("알 수 없는 자리표시자: " + placeholder);
+            }
+            literals.add(message.substring(position, start).getBytes(StandardCharsets.UTF_8));
+            variables.add(variable);
+            atLineStart.add(start == 0 || message.charAt(start - 1) == '\n');
+            position = end + 2;
+        }
+    }
+
+    /**
+     * ASCII 가 아닌 머리글 값을 RFC 2047 인코딩된 단어로 바꾼다 (UTF-8 문자가 쪼개지지 않게 나눈 뒤 접어서 이어 붙임)
+     */
+    static String encodeHeaderValue(String value) {
+        if (value.chars().allMatch(c -> c >= 0x20 && c < 0x7f)) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder();
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+            if (chunk.size() + bytes.length > ENCODED_WORD_BYTES) {
+                appendEncodedWord(encoded, chunk);
+            }
+            chunk.writeBytes(bytes);
+            i += Character.charCount(codePoint);
+        }
+        appendEncodedWord(encoded, chunk);
+        return encoded.toString();
+    }
+
+    private static void appendEncodedWord(StringBuilder encoded, ByteArrayOutputStream chunk) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        if (!encoded.isEmpty()) {
+            encoded.append(CRLF).append(' ');
+        }
+        encoded.append("=?UTF-8?B?").append(Base64.getEncoder().encodeToString(chunk.toByteArray())).append("?=");
+        chunk.reset();
+    }
+}
@@ -0,0 +1,136 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 환영 메일 템플릿 렌더링 단계
+ * <p>
+ * {@code templates/welcome-email_언어_국가.txt} → {@code _언어} → 기본({@code welcome-email.txt}) 순으로 찾은 템플릿을
+ * 처음 한 번만 컴파일해 로케일별로 캐시한다. 로케일은 요청마다 달라질 수 있으므로 캐시는 언어/국가만 키로 쓰고
+ * {@value #MAX_CACHED_LOCALES} 개까지만 둔다 (넘으면 템플릿 파일만 매번 찾고, 컴파일한 템플릿은 파일별로 재사용). 렌더링은 풀에서 빌린 다이렉트 버퍼에 바이트를 바로 쓰므로
+ * 메일마다 만들어지는 문자열이 없고, 발송기는 그 버퍼를 그대로 소켓에 쓴다.
+ * 버퍼({@code async.email.template.buffer-size})보다 큰 메일만 풀 밖의 힙 버퍼에 렌더링한다.
+ */
+@Slf4j
+@Component
+public class WelcomeEmailTemplates {
+
+    private static final String RESOURCE_PREFIX = "templates/welcome-email";
+    static final int MAX_CACHED_LOCALES = 64;
+
+    private final Locale defaultLocale;
+    private final DirectBufferPool bufferPool;
+    private final Map<Locale, WelcomeEmailTemplate> byLocale = new ConcurrentHashMap<>();
+    private final Map<String, WelcomeEmailTemplate> byResource = new ConcurrentHashMap<>();
+
+    public WelcomeEmailTemplates(@Value("${async.email.template.default-locale:ko}") String defaultLocale,
+                                 @Value("${async.email.template.buffer-size:4096}") int bufferSize,
+                                 @Value("${async.email.template.pooled-buffers:256}") int pooledBuffers) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.bufferPool = new DirectBufferPool(bufferSize, pooledBuffers);
+        // 기본 템플릿이 없거나 잘못됐으면 첫 메일이 아니라 기동할 때 실패하도록
+        template(this.defaultLocale);
+    }
+
+    public RenderedEmail render(String sender, String recipient) {
+        return render(sender, recipient, defaultLocale);
+    }
+
+    /**
+     * 메일 한 통을 렌더링한다. 돌려받은 {@link RenderedEmail} 은 보낸 뒤 닫아야 버퍼가 풀로 돌아간다.
+     */
+    public RenderedEmail render(String sender, String recipient, Locale locale) {
+        WelcomeEmailTemplate template = template(locale == null ? defaultLocale : locale);
+        int maxBytes = template.maxRenderedBytes(sender, recipient);
+        boolean pooled = maxBytes <= bufferPool.getBufferSize();
+        ByteBuffer buffer = pooled ? bufferPool.acquire() : ByteBuffer.allocate(maxBytes);
+        try {
+            template.renderTo(buffer, sender, recipient);
+        } catch (RuntimeException e) {
+            if (pooled) {
+                bufferPool.release(buffer);
+            }
+            throw e;
+        }
+        return new RenderedEmail(buffer.flip(), pooled ? bufferPool : null);
+    }
+
+    /**
+     * 컴파일한 템플릿 파일 수 (로케일이 늘어도 같은 파일을 쓰면 늘지 않는다)
+     */
+    public int getCompiledCount() {
+        return byResource.size();
+    }
+
+    public DirectBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    int getCachedLocaleCount() {
+        return byLocale.size();
+    }
+
+    private WelcomeEmailTemplate template(Locale locale) {
+        // 템플릿 파일 이름에는 언어와 국가만 쓰므로 스크립트/변형/확장은 버린다
+        Locale key = Locale.of(locale.getLanguage(), locale.getCountry());
+        WelcomeEmailTemplate template = byLocale.get(key);
+        if (template != null) {
+            return template;
+        }
+        if (byLocale.size() >= MAX_CACHED_LOCALES) {
+            // 동시에 들어온 새 로케일 몇 개만큼은 넘을 수 있지만, 요청이 보낸 로케일 수만큼 계속 늘지는 않는다
+            return load(key);
+        }
+        return byLocale.computeIfAbsent(key, this::load);
+    }
+
+    private WelcomeEmailTemplate load(Locale locale) {
+        for (String resource : candidates(locale)) {
+            ClassLoader classLoader = WelcomeEmailTemplates.class.getClassLoader();
+            if (classLoader.getResource(resource) != null) {
+                return byResource.computeIfAbsent(resource, this::compile);
+            }
+        }
+        throw new IllegalStateException("환영 메일 템플릿 없음: " + RESOURCE_PREFIX + ".txt");
+    }
+
+    private WelcomeEmailTemplate compile(String resource) {
+        try (InputStream in = WelcomeEmailTemplates.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("환영 메일 템플릿 없음: " + resource);
+            }
+            WelcomeEmailTemplate template = WelcomeEmailTemplate.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            log.info("환영 메일 템플릿 컴파일 - {}", resource);
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> candidates(Locale locale) {
+        List<String> candidates = new ArrayList<>();
+        for (Locale candidate : List.of(locale, defaultLocale)) {
+            if (!candidate.getCountry().isEmpty()) {
+                candidates.add(RESOURCE_PREFIX + "_" + candidate.getLanguage() + "_" + candidate.getCountry() + ".txt");
+            }
+            if (!candidate.getLanguage().isEmpty()) {
+                candidates.add(RESOURCE_PREFIX + "_" + candidate.getLanguage() + ".txt");
+            }
+        }
+        candidates.add(RESOURCE_PREFIX + ".txt");
+        return candidates;
+    }
+}
@@ -0,0 +1,260 @@
+package com.f1v3.async.email;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 환영 메일 발송 이력 (정확한 조회용)
+ * <p>
+ * 실제 서비스에서는 DB 의 발송 이력 테이블에 해당한다. 블룸 필터가 "이미 보냈을 수 있음" 이라고 답한 경우에만 조회한다.
+ * <p>
+ * {@link #open(Path)} 으로 연 이력은 주소를 메모리에 두지 않고, 기록/삭제할 때마다 디렉터리의 추가 전용 파일에 바로 덧붙인다.
+ * 파일은 주소 해시로 {@value #BUCKETS} 개로 나눠 조회와 중복 확인은 한 파일만 읽는다 (같은 파일의 쓰기는 락으로 순서를 맞춘다).
+ * 프로세스가 죽어도 기록한 주소는 남지만, OS 버퍼를 디스크에 내리지는 않으므로 장비가 꺼지면 마지막 기록이 빠질 수 있다.
+ * <p>
+ * 레코드 형식: [byte 종류(+ 기록, - 삭제)][unsigned short 주소 길이][주소 UTF-8] - 같은 주소는 마지막 레코드가 현재 상태
+ */
+public class WelcomedEmailHistory implements AutoCloseable {
+
+    static final int BUCKETS = 64;
+
+    private static final byte RECORDED = '+';
+    private static final byte REMOVED = '-';
+    private static final int MAX_EMAIL_BYTES = 0xFFFF;
+
+    private final Set<String> welcomed;
+    private final Path directory;
+    private final FileChannel[] buckets;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    /**
+     * 메모리에만 두는 이력 (종료하면 사라짐)
+     */
+    public WelcomedEmailHistory() {
+        this.welcomed = ConcurrentHashMap.newKeySet();
+        this.directory = null;
+        this.buckets = null;
+    }
+
+    private WelcomedEmailHistory(Path directory, FileChannel[] buckets, long size) {
+        this.welcomed = null;
+        this.directory = directory;
+        this.buckets = buckets;
+        this.size.set(size);
+    }
+
+    /**
+     * 디렉터리의 이력 파일을 연다 (없으면 만든다). 마지막 레코드가 쓰다 끊긴 파일은 그 앞까지로 자른다.
+     */
+    public static WelcomedEmailHistory open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel[] buckets = new FileChannel[BUCKETS];
+        long size = 0;
+        try {
+            for (int i = 0; i < BUCKETS; i++) {
+                Path file = bucketFile(directory, i);
+                long[] live = new long[1];
+                long valid = scan(file, (operation, email) -> live[0] += operation == RECORDED ? 1 : -1);
+                buckets[i] = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                if (buckets[i].size() > valid) {
+                    buckets[i].truncate(valid);
+                }
+                buckets[i].position(valid);
+                size += live[0];
+            }
+        } catch (IOException e) {
+            closeAll(buckets);
+            throw e;
+        }
+        return new WelcomedEmailHistory(directory, buckets, size);
+    }
+
+    public boolean contains(String email) {
+        lookupCount.incrementAndGet();
+        if (welcomed != null) {
+            return welcomed.contains(email);
+        }
+        int bucket = bucketOf(email);
+        synchronized (buckets[bucket]) {
+            return isRecorded(bucket, email);
+        }
+    }
+
+    /**
+     * 발송 이력을 기록한다. 이미 기록되어 있으면 false (DB 의 유니크 제약 위반에 해당)
+     */
+    public boolean record(String email) {
+        if (welcomed != null) {
+            return welcomed.add(email);
+        }
+        int bucket = bucketOf(email);
+        synchronized (buckets[bucket]) {
+            if (isRecorded(bucket, email)) {
+                return false;
+            }
+            append(bucket, RECORDED, email);
+        }
+        size.incrementAndGet();
+        return true;
+    }
+
+    public void remove(String email) {
+        if (welcomed != null) {
+            welcomed.remove(email);
+            return;
+        }
+        int bucket = bucketOf(email);
+        synchronized (buckets[bucket]) {
+            if (!isRecorded(bucket, email)) {
+                return;
+            }
+            append(bucket, REMOVED, email);
+        }
+        size.decrementAndGet();
+    }
+
+    /**
+     * 기록된 적이 있는 주소를 파일 순서대로 넘긴다 (삭제된 주소 포함) - 주소 전체를 메모리에 올리지 않고 블룸 필터를 다시 채울 때 쓴다
+     */
+    public void forEachRecorded(Consumer<String> action) {
+        if (welcomed != null) {
+            welcomed.forEach(action);
+            return;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            synchronized (buckets[i]) {
+                try {
+                    scan(bucketFile(directory, i), (operation, email) -> {
+                        if (operation == RECORDED) {
+                            action.accept(email);
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException("환영 메일 발송 이력 읽기 실패: " + directory, e);
+                }
+            }
+        }
+    }
+
+    public long size() {
+        return welcomed != null ? welcomed.size() : size.get();
+    }
+
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (buckets != null) {
+            closeAll(buckets);
+        }
+    }
+
+    private static int bucketOf(String email) {
+        return Math.floorMod(email.hashCode(), BUCKETS);
+    }
+
+    /**
+     * 버킷 락을 쥐고 호출
+     */
+    private boolean isRecorded(int bucket, String email) {
+        boolean[] recorded = new boolean[1];
+        try {
+            scan(bucketFile(directory, bucket), (operation, candidate) -> {
+                if (candidate.equals(email)) {
+                    recorded[0] = operation == RECORDED;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("환영 메일 발송 이력 조회 실패: " + directory, e);
+        }
+        return recorded[0];
+    }
+
+    /**
+     * 버킷 락을 쥐고 호출
+     */
+    private void append(int bucket, byte operation, String email) {
+        byte[] bytes = email.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_EMAIL_BYTES) {
+            throw new IllegalArgumentException("주소가 너무 김: " + bytes.length + " bytes");
+        }
+        ByteBuffer record = ByteBuffer.allocate(1 + Short.BYTES + bytes.length);
+        record.put(operation).putShort((short) bytes.length).put(bytes).flip();
+        try {
+            while (record.hasRemaining()) {
+                buckets[bucket].write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("환영 메일 발송 이력 기록 실패: " + directory, e);
+        }
+    }
+
+    /**
+     * @return 끝까지 온전히 읽은 레코드의 마지막 위치 (파일이 없으면 0)
+     */
+    private static long scan(Path file, RecordVisitor visitor) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int operation = input.read();
+                if (operation < 0) {
+                    return valid;
+                }
+                byte[] bytes;
+                try {
+                    bytes = new byte[input.readUnsignedShort()];
+                    input.readFully(bytes);
+                } catch (EOFException e) {
+                    // 쓰다 끊긴 마지막 레코드
+                    return valid;
+                }
+                if (operation != RECORDED && operation != REMOVED) {
+                    throw new IOException("알 수 없는 레코드 종류 " + operation + " - " + file + " @" + valid);
+                }
+                visitor.visit((byte) operation, new String(bytes, StandardCharsets.UTF_8));
+                valid += 1 + Short.BYTES + bytes.length;
+            }
+        }
+    }
+
+    private static Path bucketFile(Path directory, int index) {
+        return directory.resolve(String.format("welcomed-%02d.log", index));
+    }
+
+    private static void closeAll(FileChannel[] channels) {
+        for (FileChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 닫는 중 실패는 무시 - 기록은 이미 파일에 있음
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(byte operation, String email);
+    }
+}
@@ -0,0 +1,97 @@
+package com.f1v3.async.eventbus;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.lifecycle.ExecutorDrainLifecycle;
+import com.f1v3.async.profiling.RegistrationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가입 이벤트를 발행하고, 메일/포인트는 이벤트 버스의 소비자 스레드가 처리하는 방식
+ * <p>
+ * 애플리케이션 종료 시 서비스 풀과 같은 단계({@link ExecutorDrainLifecycle#PHASE})에서 정리 예산 안에
+ * 이미 발행된 이벤트를 모두 소비한 뒤 소비자 스레드를 닫는다.
+ */
+@Slf4j
+@Service
+public class EventBusUserService implements SmartLifecycle {
+
+    public static final String EMAIL_CONSUMER = "email";
+    public static final String POINT_CONSUMER = "point";
+
+    private final PartitionedEventBus eventBus;
+    private final long drainTimeoutMillis;
+
+    private volatile boolean running;
+
+    public EventBusUserService(EmailService emailService, PointService pointService,
+                               @Value("${async.eventbus.partitions:4}") int partitions,
+                               @Value("${async.eventbus.ring-size:1024}") int ringSize,
+                               @Value("${async.executor.drain.timeout-ms:10000}") long drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        // 후속 작업은 가입 이벤트의 소비자로 등록하고, 각 소비자는 파티션별로 자기 속도대로 처리한다
+        Map<String, UserRegisteredHandler> consumers = new LinkedHashMap<>();
+        consumers.put(EMAIL_CONSUMER, (event, offset) -> emailService.sendWelcomeEmail(event.getEmail()));
+        consumers.put(POINT_CONSUMER, (event, offset) -> pointService.addWelcomePoints(event.getUserId()));
+        this.eventBus = new PartitionedEventBus(partitions, ringSize, consumers);
+    }
+
+    /**
+     * 가입 이벤트만 발행하고 바로 반환한다. 발행 경로에서는 로그를 남기지 않는다 (소요 시간은 JFR 가입 이벤트로 확인).
+     *
+     * @throws IllegalStateException 종료가 시작된 뒤 가입한 경우
+     */
+    public void registerUser(String userId, String email) {
+        RegistrationEvent registration = RegistrationEvent.start("eventbus", userId, email);
+
+        // 사용자 저장 후 가입 이벤트만 발행하고 바로 반환 (메일/포인트는 소비자가 처리)
+        eventBus.publish(userId, email);
+        registration.finish(true);
+    }
+
+    public long getLag(String consumer) {
+        return eventBus.getLag(consumer);
+    }
+
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        return eventBus.awaitIdle(timeout, unit);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        log.info("이벤트 버스 정리 시작 - 예산: {}ms, 밀린 이벤트 - 메일: {}건, 포인트: {}건",
+            drainTimeoutMillis, eventBus.getLag(EMAIL_CONSUMER), eventBus.getLag(POINT_CONSUMER));
+        try {
+            if (!eventBus.shutdown(drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("처리되지 않은 가입 이벤트가 남은 채로 종료 - 메일: {}건, 포인트: {}건",
+                    eventBus.getLag(EMAIL_CONSUMER), eventBus.getLag(POINT_CONSUMER));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("이벤트 버스 정리 완료");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return ExecutorDrainLifecycle.PHASE;
+    }
+}
@@ -0,0 +1,98 @@
+package com.f1v3.async.eventbus;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 파티션 하나의 링 버퍼 (Disruptor 방식)
+ * <p>
+ * 발행자는 커서를 증가시켜 순번을 선점하고, 슬롯에 값을 쓴 뒤 해당 순번을 "발행됨" 으로 표시한다.
+ * 소비자는 각자 오프셋을 가지고 독립적으로 읽으며, 발행자는 가장 느린 소비자를 한 바퀴 앞지르지 않도록 기다린다.
+ */
+final class PartitionRing {
+
+    private final UserRegistered[] entries;
+    private final int mask;
+    private final int indexShift;
+    // 슬롯별로 마지막으로 발행된 바퀴 수 - 여러 발행자가 순서와 무관하게 완료해도 소비자가 빈틈을 알 수 있다
+    private final AtomicIntegerArray publishedRounds;
+    private final Sequence cursor = new Sequence(-1);
+    private final Sequence gatingCache = new Sequence(-1);
+    private final Sequence[] consumerSequences;
+
+    PartitionRing(int size, int consumerCount) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2의 거듭제곱이어야 함: " + size);
+        }
+        this.entries = new UserRegistered[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new UserRegistered();
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.publishedRounds = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedRounds.set(i, -1);
+        }
+        this.consumerSequences = new Sequence[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            consumerSequences[i] = new Sequence(-1);
+        }
+    }
+
+    long publish(String userId, String email) {
+        long sequence = cursor.incrementAndGet();
+
+        long wrapPoint = sequence - entries.length;
+        if (wrapPoint > gatingCache.get()) {
+            // 링이 가득 참 - 가장 느린 소비자가 슬롯을 비울 때까지 대기 (배압)
+            long minimum;
+            while (wrapPoint > (minimum = minimumConsumerSequence())) {
+                LockSupport.parkNanos(1_000);
+            }
+            gatingCache.setRelease(minimum);
+        }
+
+        int index = (int) sequence & mask;
+        entries[index].set(userId, email, System.nanoTime());
+        publishedRounds.setRelease(index, (int) (sequence >>> indexShift));
+        return sequence;
+    }
+
+    boolean isPublished(long sequence) {
+        return publishedRounds.getAcquire((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * from 부터 연속으로 발행된 마지막 순번 (from 이 발행되지 않았으면 from - 1)
+     */
+    long highestPublished(long from) {
+        long claimed = cursor.get();
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    UserRegistered get(long sequence) {
+        return entries[(int) sequence & mask];
+    }
+
+    Sequence consumerSequence(int consumer) {
+        return consumerSequences[consumer];
+    }
+
+    long getPublishedOffset() {
+        return cursor.get();
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Sequence sequence : consumerSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,206 @@
+package com.f1v3.async.eventbus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * userId 해시로 파티션을 나눈 프로세스 내 이벤트 버스
+ * <p>
+ * 파티션마다 링 버퍼 하나를 두고, 소비자(메일, 포인트 등)마다 파티션당 전용 스레드 하나가 자기 오프셋부터 순서대로 읽는다.
+ * 같은 사용자의 이벤트는 항상 같은 파티션에 들어가므로 소비자별로 발행 순서대로 처리된다.
+ * 소비자는 서로를 기다리지 않으므로 느린 소비자(메일)가 있어도 빠른 소비자(포인트)는 밀리지 않는다.
+ * <p>
+ * 발행은 순번 선점(CAS 1회)과 슬롯 덮어쓰기뿐이며, 소비자를 깨우지 않는다 (소비자가 짧게 대기하며 확인).
+ * <p>
+ * 발행은 읽기 락 안에서 종료 여부를 확인하고, 종료는 쓰기 락으로 발행을 막으므로
+ * 종료 전에 발행을 통과한 이벤트는 모두 정리 대상에 들어간다.
+ */
+@Slf4j
+public class PartitionedEventBus {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final PartitionRing[] partitions;
+    private final List<String> consumerNames;
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private final ReentrantReadWriteLock publishLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    public PartitionedEventBus(int partitionCount, int ringSize, Map<String, UserRegisteredHandler> consumers) {
+        this.partitions = new PartitionRing[partitionCount];
+        this.consumerNames = List.copyOf(consumers.keySet());
+        for (int p = 0; p < partitionCount; p++) {
+            partitions[p] = new PartitionRing(ringSize, consumers.size());
+        }
+
+        int consumer = 0;
+        for (Map.Entry<String, UserRegisteredHandler> entry : consumers.entrySet()) {
+            for (int p = 0; p < partitionCount; p++) {
+                Thread thread = new Thread(new ConsumerLoop(entry.getKey(), entry.getValue(), partitions[p], consumer),
+                    "eventbus-" + entry.getKey() + "-" + p);
+                thread.setDaemon(true);
+                consumerThreads.add(thread);
+                thread.start();
+            }
+            consumer++;
+        }
+    }
+
+    /**
+     * 이벤트를 발행하고 바로 반환한다. 링이 가득 찬 경우에만 가장 느린 소비자를 기다린다.
+     *
+     * @return 파티션 안에서의 이벤트 순번
+     * @throws IllegalStateException 종료가 시작된 뒤 발행한 경우
+     */
+    public long publish(String userId, String email) {
+        // 확인과 발행 사이에 종료가 끼어들면 정리 대기가 이 이벤트를 보지 못하므로 둘을 읽기 락으로 묶는다
+        publishLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new IllegalStateException("이벤트 버스가 종료되어 발행할 수 없음");
+            }
+            return partitions[partitionOf(userId)].publish(userId, email);
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    public int partitionOf(String userId) {
+        int hash = userId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    public long getPublishedOffset(int partition) {
+        return partitions[partition].getPublishedOffset();
+    }
+
+    public long getConsumedOffset(String consumer, int partition) {
+        return partitions[partition].consumerSequence(consumerIndex(consumer)).get();
+    }
+
+    /**
+     * 소비자가 아직 처리하지 않은 이벤트 수 (전체 파티션 합)
+     */
+    public long getLag(String consumer) {
+        int index = consumerIndex(consumer);
+        long lag = 0;
+        for (PartitionRing partition : partitions) {
+            lag += partition.getPublishedOffset() - partition.consumerSequence(index).get();
+        }
+        return lag;
+    }
+
+    /**
+     * 지금까지 발행된 이벤트를 모든 소비자가 처리할 때까지 기다린다.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (consumerNames.stream().anyMatch(consumer -> getLag(consumer) > 0)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * 새 발행을 막고, 이미 발행된 이벤트를 처리할 때까지 기다린 뒤 소비자 스레드를 종료한다.
+     * <p>
+     * 쓰기 락은 진행 중인 발행(링이 가득 차 기다리는 발행 포함)이 끝난 뒤에 잡히므로,
+     * 정리 대기는 발행에 성공한 모든 이벤트를 포함한다. 쓰기 락을 기다리는 동안 새 발행은 뒤에 줄을 서므로
+     * 발행이 끊이지 않아도 종료가 밀리지 않는다.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        publishLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            publishLock.writeLock().unlock();
+        }
+        boolean drained = awaitIdle(timeout, unit);
+        running = false;
+        for (Thread thread : consumerThreads) {
+            if (!drained) {
+                thread.interrupt();
+            }
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        return drained;
+    }
+
+    private int consumerIndex(String consumer) {
+        int index = consumerNames.indexOf(consumer);
+        if (index < 0) {
+            throw new IllegalArgumentException("등록되지 않은 소비자: " + consumer);
+        }
+        return index;
+    }
+
+    private final class ConsumerLoop implements Runnable {
+
+        private final String name;
+        private final UserRegisteredHandler handler;
+        private final PartitionRing ring;
+        private final Sequence sequence;
+
+        private ConsumerLoop(String name, UserRegisteredHandler handler, PartitionRing ring, int consumer) {
+            this.name = name;
+            this.handler = handler;
+            this.ring = ring;
+            this.sequence = ring.consumerSequence(consumer);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running || ring.isPublished(next)) {
+                long available = ring.highestPublished(next);
+                if (available < next) {
+                    idle = backoff(idle);
+                    continue;
+                }
+
+                // 발행된 구간을 한 번에 처리하고 오프셋은 마지막에 한 번만 갱신한다
+                for (long offset = next; offset <= available; offset++) {
+                    handle(offset);
+                }
+                sequence.setRelease(available);
+                next = available + 1;
+                idle = 0;
+            }
+        }
+
+        private void handle(long offset) {
+            UserRegistered event = ring.get(offset);
+            try {
+                handler.onEvent(event, offset);
+            } catch (RuntimeException e) {
+                // 한 이벤트의 실패로 파티션 전체가 멈추지 않도록 기록만 하고 다음 이벤트로 넘어간다
+                log.error("[{}] 이벤트 처리 실패 - 소비자: {}, 사용자: {}, 오프셋: {}",
+                    Thread.currentThread().getName(), name, event.getUserId(), offset, e);
+            }
+        }
+
+        private int backoff(int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            return Math.min(idle + 1, SPIN_TRIES + YIELD_TRIES);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.f1v3.async.eventbus;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 캐시 라인 단위로 떨어뜨린 시퀀스 (발행 커서, 소비자 오프셋)
+ * <p>
+ * 값 앞뒤로 7개의 long 을 비워 두어, 서로 다른 스레드가 갱신하는 시퀀스가 같은 캐시 라인을 공유하지 않도록 한다.
+ */
+final class Sequence {
+
+    private static final int PADDING = 7;
+
+    private final AtomicLongArray padded = new AtomicLongArray(PADDING * 2 + 1);
+
+    Sequence(long initialValue) {
+        padded.set(PADDING, initialValue);
+    }
+
+    long get() {
+        return padded.get(PADDING);
+    }
+
+    void setRelease(long value) {
+        padded.setRelease(PADDING, value);
+    }
+
+    long incrementAndGet() {
+        return padded.incrementAndGet(PADDING);
+    }
+}
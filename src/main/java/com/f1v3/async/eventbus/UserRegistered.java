@@ -0,0 +1,35 @@
+package com.f1v3.async.eventbus;
+
+/**
+ * 회원가입 완료 이벤트
+ * <p>
+ * 링 버퍼의 슬롯으로 미리 만들어 두고 발행할 때마다 값만 덮어쓴다 (발행 시 객체 생성 없음).
+ * 핸들러 밖으로 참조를 넘기면 이후 발행에 덮어써지므로, 비동기로 넘길 값은 핸들러 안에서 꺼내야 한다.
+ */
+public final class UserRegistered {
+
+    private String userId;
+    private String email;
+    private long publishedAtNanos;
+
+    UserRegistered() {
+    }
+
+    void set(String userId, String email, long publishedAtNanos) {
+        this.userId = userId;
+        this.email = email;
+        this.publishedAtNanos = publishedAtNanos;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getPublishedAtNanos() {
+        return publishedAtNanos;
+    }
+}
@@ -0,0 +1,11 @@
+package com.f1v3.async.eventbus;
+
+@FunctionalInterface
+public interface UserRegisteredHandler {
+
+    /**
+     * @param event  재사용되는 이벤트 슬롯 - 메서드가 끝난 뒤에는 참조하지 않는다
+     * @param offset 파티션 안에서의 이벤트 순번
+     */
+    void onEvent(UserRegistered event, long offset);
+}
@@ -0,0 +1,42 @@
+package com.f1v3.async.executor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 실행되지 못하고 버려질 때 기다리는 쪽에 알릴 수 있는 작업
+ * <p>
+ * 버려진 작업은 실행되지 않으므로, 작업을 기다리는 Future 를 예외로 끝내고 작업이 잡아 둔 자원(outbox 항목 등)을 되돌리는 일을 여기서 한다.
+ * 이 인터페이스를 구현하지 않은 작업(예: {@code CompletableFuture.supplyAsync} 의 내부 작업)은 버리면 기다리는 쪽이 영영 끝나지 않으므로,
+ * 버림 정책에서도 예외로 거부한다.
+ */
+public interface Discardable {
+
+    void discard(RejectedExecutionException cause);
+
+    static boolean isDiscardable(Runnable task) {
+        return find(task) != null;
+    }
+
+    /**
+     * 감싼 작업을 풀어 가며 버림을 알릴 수 있는 작업을 찾아 알린다 - 찾지 못하면 false
+     */
+    static boolean tryDiscard(Runnable task, RejectedExecutionException cause) {
+        Discardable discardable = find(task);
+        if (discardable == null) {
+            return false;
+        }
+        discardable.discard(cause);
+        return true;
+    }
+
+    private static Discardable find(Runnable task) {
+        Runnable current = task;
+        while (current != null) {
+            if (current instanceof Discardable discardable) {
+                return discardable;
+            }
+            current = current instanceof WrappedTask wrapped ? wrapped.unwrap() : null;
+        }
+        return null;
+    }
+}
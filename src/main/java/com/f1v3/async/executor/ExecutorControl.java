@@ -0,0 +1,145 @@
+package com.f1v3.async.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 중인 {@link ThreadPoolExecutor} 의 스레드 수, 대기열 용량, 거부 정책을 재시작 없이 바꾼다
+ * <p>
+ * 풀의 거부 처리기로 등록되므로 바꾼 거부 정책은 다음 거부부터 바로 적용된다.
+ * 버린 작업은 {@link Discardable} 로 기다리는 쪽에 알리고 {@link TaskTracker} 에 알려 대기 작업 수가 어긋나지 않게 한다.
+ * 알릴 방법이 없는 작업은 버리지 않고 ABORT 처럼 예외로 거부한다.
+ */
+@Slf4j
+public class ExecutorControl implements RejectedExecutionHandler {
+
+    private final String name;
+    private final ThreadPoolExecutor pool;
+    private final ResizableBlockingQueue<Runnable> queue;
+    private final TaskTracker tracker;
+    private final boolean reportsAborts;
+    private final LongAdder callerRuns = new LongAdder();
+    private volatile RejectionPolicy rejectionPolicy;
+
+    /**
+     * @param reportsAborts 예외로 거부한 제출을 추적기에 직접 알릴지 - {@code ProfiledExecutorService} 처럼 제출 경로가
+     *                      예외를 받아 집계하는 풀은 false, 모든 제출 경로를 감쌀 수 없는 {@code ThreadPoolTaskExecutor} 는 true
+     */
+    public ExecutorControl(String name, ThreadPoolExecutor pool, TaskTracker tracker, RejectionPolicy rejectionPolicy,
+                           boolean reportsAborts) {
+        if (!(pool.getQueue() instanceof ResizableBlockingQueue<Runnable> resizable)) {
+            throw new IllegalArgumentException(name + " 실행기의 작업 큐는 ResizableBlockingQueue 여야 함");
+        }
+        this.name = name;
+        this.pool = pool;
+        this.queue = resizable;
+        this.tracker = tracker;
+        this.rejectionPolicy = rejectionPolicy;
+        this.reportsAborts = reportsAborts;
+        pool.setRejectedExecutionHandler(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorSettings getSettings() {
+        return new ExecutorSettings(pool.getCorePoolSize(), pool.getMaximumPoolSize(), queue.getCapacity(), rejectionPolicy);
+    }
+
+    /**
+     * 바꾼 설정을 실행 중인 풀에 바로 적용한다.
+     * <p>
+     * 코어 크기를 늘리면 대기열에 쌓인 작업을 처리할 스레드가 곧바로 추가되고, 줄이면 남는 스레드는 하던 작업을 마친 뒤 종료된다.
+     * 최대 크기는 대기열이 가득 찼을 때만 쓰이므로, 무제한 대기열에서는 코어 크기를 바꿔야 처리량이 달라진다.
+     */
+    public synchronized ExecutorSettings update(ExecutorSettingsUpdate update) {
+        ExecutorSettings current = getSettings();
+        int core = update.corePoolSize() != null ? update.corePoolSize() : current.corePoolSize();
+        int max = update.maxPoolSize() != null ? update.maxPoolSize() : current.maxPoolSize();
+        int capacity = update.queueCapacity() != null ? update.queueCapacity() : current.queueCapacity();
+        RejectionPolicy policy = update.rejectionPolicy() != null ? update.rejectionPolicy() : current.rejectionPolicy();
+        if (core < 1 || max < core) {
+            throw new IllegalArgumentException(
+                String.format("스레드 수는 1 <= 코어(%d) <= 최대(%d) 여야 함", core, max));
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("대기열 용량은 0 이상이어야 함: " + capacity);
+        }
+
+        // ThreadPoolExecutor 는 변경마다 코어 <= 최대를 확인하므로, 최대를 코어 아래로 줄일 때만 코어를 먼저 바꾼다
+        if (max >= pool.getCorePoolSize()) {
+            pool.setMaximumPoolSize(max);
+            pool.setCorePoolSize(core);
+        } else {
+            pool.setCorePoolSize(core);
+            pool.setMaximumPoolSize(max);
+        }
+        queue.setCapacity(capacity);
+        rejectionPolicy = policy;
+
+        ExecutorSettings updated = getSettings();
+        log.info("실행기 설정 변경 - 이름: {}, {} -> {}", name, current, updated);
+        return updated;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw abort(name + " 실행기가 종료되어 작업을 받을 수 없음");
+        }
+        switch (rejectionPolicy) {
+            case ABORT -> throw abort(name + " 실행기가 가득 차 작업을 거부함");
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                task.run();
+            }
+            case DISCARD -> discard(task);
+            case DISCARD_OLDEST -> {
+                // execute 로 다시 제출하면 제출 경로의 감싸기/집계가 한 번 더 일어나므로 큐에 직접 넣는다
+                BlockingQueue<Runnable> workQueue = executor.getQueue();
+                Runnable oldest = workQueue.peek();
+                if (oldest == null || !Discardable.isDiscardable(oldest) || !workQueue.remove(oldest)) {
+                    discard(task);
+                    return;
+                }
+                Discardable.tryDiscard(oldest, new RejectedExecutionException(name + " 실행기가 가득 차 오래 기다린 작업을 버림"));
+                tracker.onDiscard(1);
+                if (!workQueue.offer(task)) {
+                    discard(task);
+                }
+            }
+        }
+    }
+
+    private void discard(Runnable task) {
+        if (!Discardable.tryDiscard(task, new RejectedExecutionException(name + " 실행기가 가득 차 작업을 버림"))) {
+            throw abort(name + " 실행기가 가득 차 작업을 거부함 (버리면 결과를 기다리는 쪽에 알릴 수 없는 작업)");
+        }
+        tracker.onDiscard(1);
+    }
+
+    private RejectedExecutionException abort(String message) {
+        if (reportsAborts) {
+            tracker.onReject();
+        }
+        return new RejectedExecutionException(message);
+    }
+
+    public ExecutorStats getStats() {
+        return ExecutorStats.of(tracker, this);
+    }
+
+    int getLargestPoolSize() {
+        return pool.getLargestPoolSize();
+    }
+
+    long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+}
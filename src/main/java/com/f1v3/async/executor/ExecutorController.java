@@ -0,0 +1,61 @@
+package com.f1v3.async.executor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 회원가입 실행기 상태 조회와 실행 중 설정 변경
+ * <p>
+ * 메일 서버/포인트 시스템이 느려졌을 때 재배포 없이 풀 크기, 대기열 용량, 거부 정책을 바꾼다.
+ * 바꾼 값은 재시작하면 원래 설정으로 돌아간다.
+ */
+@RestController
+@RequestMapping("/api/executors")
+@RequiredArgsConstructor
+public class ExecutorController {
+
+    private final ExecutorRegistry executorRegistry;
+
+    @GetMapping
+    public List<ExecutorStats> getExecutors() {
+        return executorRegistry.getStats();
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<ExecutorStats> getExecutor(@PathVariable String name) {
+        return executorRegistry.findStats(name)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 요청에 담긴 항목만 바꾸고 바뀐 상태를 돌려준다 - 조회만 가능한 실행기(링 버퍼, 가상 스레드, 우선순위 큐)는 409
+     */
+    @PatchMapping("/{name}")
+    public ResponseEntity<?> updateExecutor(@PathVariable String name, @RequestBody ExecutorSettingsUpdate update) {
+        Optional<ExecutorControl> control = executorRegistry.findControl(name);
+        if (control.isEmpty()) {
+            return executorRegistry.findStats(name).isPresent()
+                ? ResponseEntity.status(HttpStatus.CONFLICT).body(name + " 실행기는 설정을 바꿀 수 없음")
+                : ResponseEntity.notFound().build();
+        }
+        control.get().update(update);
+        return ResponseEntity.ok(control.get().getStats());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
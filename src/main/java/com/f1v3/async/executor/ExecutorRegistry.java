@@ -0,0 +1,106 @@
+package com.f1v3.async.executor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntSupplier;
+
+/**
+ * 회원가입 실행기들의 {@link TaskTracker} 와 종료 시 정리할 실행기, 실행 중에 설정을 바꿀 수 있는 실행기를 모아 두는 저장소
+ * <p>
+ * 실행기는 만들어질 때 한 번 등록되고, 감시/종료/조정 쪽은 등록된 목록을 읽기만 한다.
+ */
+@Component
+public class ExecutorRegistry {
+
+    private final List<TaskTracker> trackers = new CopyOnWriteArrayList<>();
+    private final List<ManagedExecutor> managedExecutors = new CopyOnWriteArrayList<>();
+    private final Map<String, ExecutorControl> controls = new ConcurrentHashMap<>();
+    private final List<TaskTracker.ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final TaskTracker.ChangeListener notifier = new ChangeNotifier();
+
+    public TaskTracker register(String name, IntSupplier poolSize) {
+        TaskTracker tracker = new TaskTracker(name, poolSize, notifier);
+        trackers.add(tracker);
+        return tracker;
+    }
+
+    /**
+     * 등록된 실행기의 대기/실행 작업 수가 바뀌기 직전과 직후마다 호출할 리스너를 더한다 (가상 시계가 시간을 앞당길 때를 정하는 데 쓴다).
+     */
+    public void addChangeListener(TaskTracker.ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public List<TaskTracker> getTrackers() {
+        return List.copyOf(trackers);
+    }
+
+    /**
+     * 애플리케이션 종료 시 대기 작업을 마저 처리한 뒤 닫을 실행기로 등록한다.
+     */
+    public void manage(String name, ExecutorService executor) {
+        managedExecutors.add(new ManagedExecutor(name, executor));
+    }
+
+    public List<ManagedExecutor> getManagedExecutors() {
+        return List.copyOf(managedExecutors);
+    }
+
+    /**
+     * 실행 중에 스레드 수, 대기열 용량, 거부 정책을 바꿀 수 있는 실행기로 등록한다.
+     */
+    public void control(ExecutorControl control) {
+        controls.put(control.getName(), control);
+    }
+
+    public Optional<ExecutorControl> findControl(String name) {
+        return Optional.ofNullable(controls.get(name));
+    }
+
+    /**
+     * 등록된 모든 실행기의 현재 상태 (등록 순서)
+     */
+    public List<ExecutorStats> getStats() {
+        return trackers.stream()
+            .map(tracker -> ExecutorStats.of(tracker, controls.get(tracker.getName())))
+            .toList();
+    }
+
+    public Optional<ExecutorStats> findStats(String name) {
+        return getStats().stream()
+            .filter(stats -> stats.name().equals(name))
+            .findFirst();
+    }
+
+    public record ManagedExecutor(String name, ExecutorService executor) {
+    }
+
+    private final class ChangeNotifier implements TaskTracker.ChangeListener {
+
+        @Override
+        public void beforeChange() {
+            if (changeListeners.isEmpty()) {
+                return;
+            }
+            for (TaskTracker.ChangeListener listener : changeListeners) {
+                listener.beforeChange();
+            }
+        }
+
+        @Override
+        public void afterChange() {
+            if (changeListeners.isEmpty()) {
+                return;
+            }
+            for (TaskTracker.ChangeListener listener : changeListeners) {
+                listener.afterChange();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.f1v3.async.executor;
+
+/**
+ * 실행 중에 바꿀 수 있는 스레드 풀 설정
+ *
+ * @param queueCapacity 대기열 용량 ({@link Integer#MAX_VALUE} 이면 사실상 무제한)
+ */
+public record ExecutorSettings(int corePoolSize, int maxPoolSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+}
@@ -0,0 +1,8 @@
+package com.f1v3.async.executor;
+
+/**
+ * 스레드 풀 설정 변경 요청 - null 인 항목은 현재 값을 유지한다
+ */
+public record ExecutorSettingsUpdate(Integer corePoolSize, Integer maxPoolSize, Integer queueCapacity,
+                                     RejectionPolicy rejectionPolicy) {
+}
@@ -0,0 +1,25 @@
+package com.f1v3.async.executor;
+
+/**
+ * 실행기 하나의 현재 상태
+ *
+ * @param resizable       {@link ExecutorControl} 로 설정을 바꿀 수 있는지 (링 버퍼, 가상 스레드, 우선순위 큐 실행기는 조회만 가능)
+ * @param poolSize        지금 떠 있는 작업 스레드 수 (가상 스레드 실행기는 0)
+ * @param rejectedCount   ABORT 정책으로 거부된 제출 수
+ * @param discardedCount  DISCARD/DISCARD_OLDEST 정책 또는 강제 종료로 버려진 작업 수
+ * @param callerRunsCount CALLER_RUNS 정책으로 제출 스레드가 직접 실행한 작업 수
+ * @param settings        바꿀 수 있는 실행기의 현재 설정, 아니면 null
+ */
+public record ExecutorStats(String name, boolean resizable, int poolSize, int largestPoolSize, int activeCount,
+                            long queuedCount, long completedCount, long rejectedCount, long discardedCount,
+                            long callerRunsCount, ExecutorSettings settings) {
+
+    public static ExecutorStats of(TaskTracker tracker, ExecutorControl control) {
+        int poolSize = tracker.getPoolSize();
+        return new ExecutorStats(tracker.getName(), control != null, poolSize,
+            control != null ? control.getLargestPoolSize() : poolSize, tracker.getRunningTasks().size(),
+            tracker.getQueuedCount(), tracker.getCompletedCount(), tracker.getRejectedCount(),
+            tracker.getDiscardedCount(), control != null ? control.getCallerRunsCount() : 0,
+            control != null ? control.getSettings() : null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.f1v3.async.executor;
+
+public enum ExecutorType {
+
+    /**
+     * Executors.newFixedThreadPool / ThreadPoolTaskExecutor (LinkedBlockingQueue 기반)
+     */
+    JDK,
+
+    /**
+     * 미리 할당한 링 버퍼 기반 {@link RingBufferExecutor}
+     */
+    RING
+}
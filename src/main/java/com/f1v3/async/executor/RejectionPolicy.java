@@ -0,0 +1,31 @@
+package com.f1v3.async.executor;
+
+/**
+ * 풀과 대기열이 모두 가득 찼을 때 새 작업을 처리하는 방식 ({@link ExecutorControl} 로 실행 중에 바꿀 수 있다)
+ * <p>
+ * 버리는 정책은 작업을 실행하지 않고, 버려진 작업을 기다리는 Future 를 {@link java.util.concurrent.RejectedExecutionException} 으로 끝낸다
+ * ({@link Discardable} - submit 으로 만든 Future, {@code WelcomeTaskOutbox} 로 제출한 작업). outbox 항목도 함께 지운다.
+ * 버려도 알릴 방법이 없는 작업(예: {@code CompletableFuture.supplyAsync} 의 내부 작업)은 ABORT 처럼 예외로 거부한다.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * {@link java.util.concurrent.RejectedExecutionException} 을 던진다 (기본값)
+     */
+    ABORT,
+
+    /**
+     * 제출한 스레드가 직접 실행한다 - 제출 쪽이 느려지는 만큼 유입이 줄어드는 배압
+     */
+    CALLER_RUNS,
+
+    /**
+     * 새 작업을 버린다
+     */
+    DISCARD,
+
+    /**
+     * 가장 오래 기다린 작업을 버리고 새 작업을 대기열에 넣는다
+     */
+    DISCARD_OLDEST
+}
@@ -0,0 +1,155 @@
+package com.f1v3.async.executor;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 실행 중에 용량을 바꿀 수 있는 스레드 풀 작업 큐
+ * <p>
+ * {@link LinkedBlockingQueue} 의 용량은 생성할 때 정해지므로, 내부 큐는 제한 없이 두고 넣을 때 이 큐의 용량을 확인한다.
+ * 용량을 줄여도 이미 들어 있는 작업은 그대로 실행되고, 대기 작업이 새 용량 아래로 줄어들 때까지 새 작업만 받지 않는다.
+ * 넣기는 원래도 {@code putLock} 하나로 줄을 서므로 용량 확인용 락이 경합을 늘리지 않는다.
+ * <p>
+ * 자리가 날 때까지 기다리는 put/offer(timeout) 은 꺼내기/지우기/용량 늘리기가 깨운다.
+ * 기다리는 스레드가 없으면 꺼내는 쪽은 락을 잡지 않는다.
+ */
+public class ResizableBlockingQueue<E> extends LinkedBlockingQueue<E> {
+
+    private final ReentrantLock offerLock = new ReentrantLock();
+    private final Condition notFull = offerLock.newCondition();
+    private final AtomicInteger waitingPuts = new AtomicInteger();
+    private volatile int capacity;
+
+    public ResizableBlockingQueue(int capacity) {
+        setCapacity(capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        offerLock.lock();
+        try {
+            return size() < capacity && super.offer(e);
+        } finally {
+            offerLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        offerLock.lockInterruptibly();
+        waitingPuts.incrementAndGet();
+        try {
+            while (size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return super.offer(e);
+        } finally {
+            waitingPuts.decrementAndGet();
+            offerLock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offerLock.lockInterruptibly();
+        waitingPuts.incrementAndGet();
+        try {
+            while (size() >= capacity) {
+                notFull.await();
+            }
+            super.offer(e);
+        } finally {
+            waitingPuts.decrementAndGet();
+            offerLock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = super.take();
+        signalNotFull();
+        return e;
+    }
+
+    @Override
+    public E poll() {
+        E e = super.poll();
+        if (e != null) {
+            signalNotFull();
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = super.poll(timeout, unit);
+        if (e != null) {
+            signalNotFull();
+        }
+        return e;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        boolean removed = super.remove(o);
+        if (removed) {
+            signalNotFull();
+        }
+        return removed;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        int drained = super.drainTo(c, maxElements);
+        if (drained > 0) {
+            signalNotFull();
+        }
+        return drained;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        signalNotFull();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 0 이면 대기열 없이 바로 스레드를 늘리거나(최대 크기까지) 거부 정책을 적용한다.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("대기열 용량은 0 이상이어야 함: " + capacity);
+        }
+        this.capacity = capacity;
+        signalNotFull();
+    }
+
+    private void signalNotFull() {
+        // 기다리는 쪽은 개수를 늘린 뒤 크기를 확인하고, 꺼내는 쪽은 크기를 줄인 뒤 개수를 확인하므로 깨우기를 놓치지 않는다
+        if (waitingPuts.get() > 0) {
+            offerLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                offerLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.f1v3.async.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 미리 할당한 링 버퍼(MPMC)를 작업 큐로 쓰는 고정 크기 스레드 풀
+ * <p>
+ * LinkedBlockingQueue 는 작업마다 노드를 만들고 제출/인출 모두 락을 잡는다.
+ * 이 실행기는 슬롯마다 순번을 두는 bounded MPMC 큐(Vyukov 방식)를 써서, 제출과 인출이 각각 CAS 한 번으로 끝나고 객체를 만들지 않는다.
+ * <p>
+ * 링이 가득 차면 제출 스레드가 빈 슬롯이 생길 때까지 기다린다 (배압). 잠깐 확인한 뒤에는 대기 방식과 관계없이 점점 길게 잠들며 기다린다.
+ * 단, 이 실행기의 작업자 스레드가 가득 찬 링에 제출하면 기다리지 않고 그 자리에서 직접 실행한다
+ * ({@code CallerRunsPolicy} 와 같음). 모든 작업자가 가득 찬 링을 기다리면 링을 비울 스레드가 없어 멈추기 때문이다.
+ * 작업자 대기 방식은 {@link WaitStrategy} 로 정한다.
+ * <p>
+ * 제출 중인 스레드 수를 세어, shutdown 과 경합해 들어간 작업도 작업자가 실행하거나 shutdownNow 가 돌려주도록 한다.
+ * 작업이 Error 를 던지면 ThreadPoolExecutor 처럼 그 작업자 스레드는 끝나고 새 스레드가 자리를 잇는다.
+ */
+@Slf4j
+public class RingBufferExecutor extends AbstractExecutorService {
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // 제출/인출 위치를 서로 다른 캐시 라인에 둔다 (false sharing 방지)
+    private static final int ENQUEUE_INDEX = 7;
+    private static final int DEQUEUE_INDEX = 23;
+
+    private final Runnable[] tasks;
+    private final AtomicLongArray slotSequences;
+    private final int mask;
+    private final AtomicLongArray positions = new AtomicLongArray(31);
+    private final WaitStrategy waitStrategy;
+    private final Worker[] workers;
+    private final AtomicInteger parkedWorkers = new AtomicInteger();
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final CountDownLatch terminated;
+    private volatile int state = RUNNING;
+
+    public RingBufferExecutor(String name, int threads, int ringSize, WaitStrategy waitStrategy) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2의 거듭제곱이어야 함: " + ringSize);
+        }
+        this.tasks = new Runnable[ringSize];
+        this.slotSequences = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            slotSequences.set(i, i);
+        }
+        this.mask = ringSize - 1;
+        this.waitStrategy = waitStrategy;
+        this.terminated = new CountDownLatch(threads);
+
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(name + "-" + (i + 1));
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * 작업을 링에 넣는다. 링이 가득 차면 빈 슬롯이 생길 때까지 기다리고,
+     * 호출한 스레드가 이 실행기의 작업자이면 기다리지 않고 직접 실행한다 (작업의 예외도 호출자에게 그대로 전달된다).
+     *
+     * @throws RejectedExecutionException 실행기가 종료된 경우
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (!enqueue(task)) {
+            // 제출 중 표시를 푼 뒤 실행한다 - 오래 걸리는 작업이 종료 대기를 붙잡지 않는다
+            task.run();
+            return;
+        }
+
+        if (parkedWorkers.get() > 0) {
+            wakeOne();
+        }
+    }
+
+    public int getQueueSize() {
+        return (int) Math.max(0, positions.get(ENQUEUE_INDEX) - positions.get(DEQUEUE_INDEX));
+    }
+
+    public int getCapacity() {
+        return tasks.length;
+    }
+
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        wakeAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state = STOP;
+        // 상태를 확인하고 링에 넣는 중인 제출이 끝나야 남은 작업을 빠짐없이 꺼낼 수 있다
+        while (submitting.get() > 0) {
+            Thread.onSpinWait();
+        }
+        List<Runnable> pending = new ArrayList<>();
+        for (Runnable task; (task = poll()) != null; ) {
+            pending.add(task);
+        }
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+        }
+        wakeAll();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * @return 링에 넣었으면 true, 작업자 스레드가 가득 찬 링을 만나 직접 실행해야 하면 false
+     */
+    private boolean enqueue(Runnable task) {
+        // 상태 확인부터 링에 넣기까지를 제출 중으로 표시한다 - 종료 중인 작업자와 shutdownNow 는 이 수가 0 이 되길 기다린다
+        submitting.incrementAndGet();
+        try {
+            int waits = 0;
+            do {
+                if (state != RUNNING) {
+                    throw new RejectedExecutionException("실행기가 종료되어 작업을 받을 수 없음");
+                }
+                if (waits > 0) {
+                    // 링이 가득 참 - 작업자는 기다리면 교착될 수 있으므로 직접 실행하고, 그 밖의 제출자는 슬롯이 빌 때까지 대기
+                    if (isWorkerThread()) {
+                        return false;
+                    }
+                    backOff(waits);
+                }
+                waits++;
+            } while (!offer(task));
+            return true;
+        } finally {
+            if (submitting.decrementAndGet() == 0 && state != RUNNING) {
+                // 마지막 제출자를 기다리던 작업자가 종료 여부를 다시 확인하게 한다
+                wakeAll();
+            }
+        }
+    }
+
+    /**
+     * 링이 가득 찼을 때만 확인하므로 제출 경로에 비용을 더하지 않는다.
+     */
+    private boolean isWorkerThread() {
+        Thread current = Thread.currentThread();
+        for (Worker worker : workers) {
+            if (worker.thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean offer(Runnable task) {
+        long position = positions.get(ENQUEUE_INDEX);
+        while (true) {
+            int index = (int) position & mask;
+            long difference = slotSequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (positions.compareAndSet(ENQUEUE_INDEX, position, position + 1)) {
+                    tasks[index] = task;
+                    slotSequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = positions.get(ENQUEUE_INDEX);
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = positions.get(ENQUEUE_INDEX);
+            }
+        }
+    }
+
+    private Runnable poll() {
+        long position = positions.get(DEQUEUE_INDEX);
+        while (true) {
+            int index = (int) position & mask;
+            long difference = slotSequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (positions.compareAndSet(DEQUEUE_INDEX, position, position + 1)) {
+                    Runnable task = tasks[index];
+                    tasks[index] = null;
+                    slotSequences.setRelease(index, position + mask + 1);
+                    return task;
+                }
+                position = positions.get(DEQUEUE_INDEX);
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = positions.get(DEQUEUE_INDEX);
+            }
+        }
+    }
+
+    /**
+     * @return PARK 전략에서 잠들 차례이면 true (제출자가 깨워줄 때까지 잠든다)
+     */
+    private boolean idle(int waits) {
+        if (waitStrategy == WaitStrategy.SPIN || waits < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (waitStrategy == WaitStrategy.YIELD) {
+            Thread.yield();
+        } else {
+            // yield 단계를 거치지 않고 바로 잠든다 - 제출자가 깨우면 스케줄러가 바로 실행시키지만,
+            // yield 중인 스레드는 실행 가능 상태로 남아 제출자의 타임슬라이스가 끝날 때까지 밀릴 수 있다
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 링이 가득 찬 제출자의 대기 - 잠깐 확인한 뒤에는 10us 부터 1ms 까지 두 배씩 늘려 잠든다
+     * (작업이 오래 걸려 링이 비지 않아도 제출자가 코어를 점유하지 않는다)
+     */
+    private void backOff(int waits) {
+        if (waits < SPIN_TRIES) {
+            Thread.onSpinWait();
+            return;
+        }
+        int doublings = Math.min(waits - SPIN_TRIES, Long.numberOfLeadingZeros(MIN_BACKOFF_NANOS) - 1);
+        LockSupport.parkNanos(this, Math.min(MIN_BACKOFF_NANOS << doublings, MAX_BACKOFF_NANOS));
+    }
+
+    private void wakeOne() {
+        for (Worker worker : workers) {
+            // 잠든 작업자 하나를 깨우되, 이미 깨운 작업자를 다시 깨우는 시스템 호출은 하지 않는다
+            if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    private void wakeAll() {
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final String name;
+        private final AtomicBoolean parked = new AtomicBoolean();
+        private volatile Thread thread;
+
+        private Worker(String name) {
+            this.name = name;
+        }
+
+        private void start() {
+            thread = new Thread(this, name);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            boolean replaced = false;
+            try {
+                int waits = 0;
+                while (state != STOP) {
+                    Runnable task = poll();
+                    if (task != null) {
+                        if (parkedWorkers.get() > 0 && getQueueSize() > 0) {
+                            wakeOne();
+                        }
+                        runTask(task);
+                        waits = 0;
+                        continue;
+                    }
+                    if (state == SHUTDOWN && submitting.get() == 0 && getQueueSize() == 0) {
+                        break;
+                    }
+
+                    if (idle(waits)) {
+                        park();
+                    }
+                    waits = Math.min(waits + 1, SPIN_TRIES);
+                }
+            } catch (Error e) {
+                // ThreadPoolExecutor 처럼 이 스레드는 Error 를 그대로 던지고 끝내되, 남은 작업을 이어서 실행할 스레드를 새로 띄운다
+                if (state != STOP) {
+                    log.error("[{}] 작업이 Error 를 던져 작업자 스레드를 교체함", name, e);
+                    start();
+                    replaced = true;
+                }
+                throw e;
+            } finally {
+                if (!replaced) {
+                    terminated.countDown();
+                }
+            }
+        }
+
+        private void park() {
+            // 잠들기 전에 표시하고 큐를 다시 확인해, 그 사이에 들어온 작업의 깨우기를 놓치지 않는다
+            parked.set(true);
+            parkedWorkers.incrementAndGet();
+            try {
+                if (getQueueSize() == 0 && state == RUNNING) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                parkedWorkers.decrementAndGet();
+                parked.set(false);
+            }
+        }
+
+        private void runTask(Runnable task) {
+            if (state != STOP) {
+                // 이전 작업이 남긴 인터럽트 상태를 다음 작업에 넘기지 않는다
+                Thread.interrupted();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 예외는 기록하고 같은 스레드로 계속 실행한다 (Error 는 run 에서 스레드를 교체)
+                log.error("[{}] 작업 실행 중 예외 발생", name, e);
+            }
+        }
+    }
+}
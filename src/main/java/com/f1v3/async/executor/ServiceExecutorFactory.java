@@ -0,0 +1,78 @@
+package com.f1v3.async.executor;
+
+import com.f1v3.async.profiling.ProfiledExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 전용 스레드 풀과 {@code AsyncConfig} 의 실행기를 만드는 팩토리
+ * <p>
+ * {@code async.executor.type} 으로 JDK 풀(LinkedBlockingQueue)과 링 버퍼 실행기 중 하나를 고른다.
+ * 만든 풀은 작업 대기 시간을 JFR 이벤트로 남기도록 {@link ProfiledExecutorService} 로 감싸고, 감시와 종료 시 정리 대상으로
+ * {@link ExecutorRegistry} 에 등록한다. 풀을 닫는 것은 서비스가 아니라 {@code ExecutorDrainLifecycle} 의 몫이다.
+ * <p>
+ * JDK 풀은 처음에는 {@code Executors.newFixedThreadPool} 과 같게(고정 크기, 무제한 대기열, 가득 차면 예외) 만들지만,
+ * 대기열을 {@link ResizableBlockingQueue} 로 두고 {@link ExecutorControl} 을 등록해 실행 중에 크기와 정책을 바꿀 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class ServiceExecutorFactory {
+
+    // 최대 크기를 코어보다 크게 바꿨을 때 늘어난 스레드가 놀면 종료되기까지의 시간
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorType type;
+    private final int ringSize;
+    private final WaitStrategy waitStrategy;
+    private final ExecutorRegistry executorRegistry;
+
+    public ServiceExecutorFactory(@Value("${async.executor.type:jdk}") String type,
+                                  @Value("${async.executor.ring-size:1024}") int ringSize,
+                                  @Value("${async.executor.wait-strategy:park}") String waitStrategy,
+                                  ExecutorRegistry executorRegistry) {
+        this.executorRegistry = executorRegistry;
+        this.type = ExecutorType.valueOf(type.toUpperCase(Locale.ROOT));
+        this.ringSize = ringSize;
+        this.waitStrategy = WaitStrategy.valueOf(waitStrategy.toUpperCase(Locale.ROOT));
+    }
+
+    public ExecutorService newFixedThreadPool(String name, int threads) {
+        TaskTracker tracker;
+        ExecutorService pool;
+        if (type == ExecutorType.RING) {
+            log.info("링 버퍼 실행기 생성 - 이름: {}, 스레드: {}, 링 크기: {}, 대기 방식: {}", name, threads, ringSize, waitStrategy);
+            tracker = executorRegistry.register(name, () -> threads);
+            pool = new RingBufferExecutor(name, threads, ringSize, waitStrategy);
+        } else {
+            ThreadPoolExecutor jdkPool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ResizableBlockingQueue<>(Integer.MAX_VALUE));
+            tracker = executorRegistry.register(name, jdkPool::getPoolSize);
+            executorRegistry.control(new ExecutorControl(name, jdkPool, tracker, RejectionPolicy.ABORT, false));
+            pool = jdkPool;
+        }
+        ExecutorService executor = new ProfiledExecutorService(name, pool, tracker);
+        executorRegistry.manage(name, executor);
+        return executor;
+    }
+
+    /**
+     * 작업마다 가상 스레드를 만드는 실행기 - 풀 크기 제한이 없으므로 추적기의 풀 크기는 0 (포화 감시 대상 아님)
+     */
+    public ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        TaskTracker tracker = executorRegistry.register(name, () -> 0);
+        ExecutorService executor = new ProfiledExecutorService(name, Executors.newVirtualThreadPerTaskExecutor(), tracker);
+        executorRegistry.manage(name, executor);
+        return executor;
+    }
+
+    public ExecutorType getType() {
+        return type;
+    }
+}
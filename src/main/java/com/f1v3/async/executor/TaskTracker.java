@@ -0,0 +1,167 @@
+package com.f1v3.async.executor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * 실행기 하나의 제출/시작/완료 수와 지금 실행 중인 작업(스레드, 시작 시각)을 추적한다
+ * <p>
+ * 실행기 구현(JDK 풀, 링 버퍼, 우선순위 큐)과 무관하게 같은 방식으로 대기 작업 수와 실행 중인 스레드를 볼 수 있도록,
+ * 제출 경로와 작업 실행 전후에서 호출된다.
+ */
+public class TaskTracker {
+
+    private static final ChangeListener NO_LISTENER = new ChangeListener() {
+    };
+
+    private final String name;
+    private final IntSupplier poolSize;
+    private final ChangeListener listener;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Map<Thread, Long> running = new ConcurrentHashMap<>();
+
+    public TaskTracker(String name, IntSupplier poolSize) {
+        this(name, poolSize, NO_LISTENER);
+    }
+
+    /**
+     * @param listener 대기/실행 작업 수를 바꾸기 직전과 직후에 호출된다
+     */
+    public TaskTracker(String name, IntSupplier poolSize, ChangeListener listener) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.listener = listener;
+    }
+
+    /**
+     * 제출로 집계하고, 실행 전후를 기록하는 작업으로 감싼다.
+     */
+    public Runnable wrap(Runnable task) {
+        onSubmit();
+        return new TrackedTask(task);
+    }
+
+    public void onSubmit() {
+        listener.beforeChange();
+        submitted.increment();
+        listener.afterChange();
+    }
+
+    public void onReject() {
+        listener.beforeChange();
+        submitted.decrement();
+        rejected.increment();
+        listener.afterChange();
+    }
+
+    public void onDiscard(int count) {
+        listener.beforeChange();
+        discarded.add(count);
+        listener.afterChange();
+    }
+
+    public void beforeExecute(Thread thread) {
+        listener.beforeChange();
+        // 실행 중으로 먼저 올린 뒤 대기에서 빼므로, 어느 순간에 읽어도 작업이 대기와 실행 중 어디에도 없는 때는 없다
+        running.put(thread, System.nanoTime());
+        started.increment();
+        listener.afterChange();
+    }
+
+    public void afterExecute(Thread thread) {
+        listener.beforeChange();
+        running.remove(thread);
+        completed.increment();
+        listener.afterChange();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize.getAsInt();
+    }
+
+    public long getQueuedCount() {
+        return Math.max(0, submitted.sum() - started.sum() - discarded.sum());
+    }
+
+    /**
+     * 꺼내 갈 작업이 남아 있는데 쉬는 스레드도 있는 상태 - 곧 작업 스레드가 깨어나 작업을 시작한다
+     * (풀 크기가 0 이면 작업마다 스레드를 만드는 실행기이므로 대기 작업이 있기만 하면 해당한다)
+     */
+    public boolean hasPendingHandoff() {
+        if (getQueuedCount() == 0) {
+            return false;
+        }
+        int size = getPoolSize();
+        return size <= 0 || running.size() < size;
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * 실행 중인 스레드와 작업 시작 시각({@link System#nanoTime()})
+     */
+    public Map<Thread, Long> getRunningTasks() {
+        return Collections.unmodifiableMap(running);
+    }
+
+    private final class TrackedTask implements WrappedTask {
+
+        private final Runnable task;
+
+        private TrackedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            Thread thread = Thread.currentThread();
+            beforeExecute(thread);
+            try {
+                task.run();
+            } finally {
+                afterExecute(thread);
+            }
+        }
+
+        @Override
+        public Runnable unwrap() {
+            return task;
+        }
+    }
+
+    /**
+     * 여러 값(대기 수, 실행 중인 스레드, 풀 크기)을 차례로 읽어 판단하는 쪽(가상 시계)이 바뀌는 도중의 상태를 보지 않게 한다
+     * <p>
+     * 값 하나를 바꾸는 동안에도 다른 값과 잠시 어긋날 수 있으므로(예: 실행 중 맵에서 스레드는 빠졌는데 크기는 아직 그대로),
+     * 직전 호출과 직후 호출 사이에 읽은 값은 버려야 한다. 작업마다 호출되므로 가볍게 끝나야 한다.
+     */
+    public interface ChangeListener {
+
+        default void beforeChange() {
+        }
+
+        default void afterChange() {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.f1v3.async.executor;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제출과 작업 실행 전후를 {@link TaskTracker} 에 알리는 고정 크기 스레드 풀
+ * <p>
+ * 큐 자체가 기능인 실행기(우선순위 큐, 임계 경로 큐)를 래퍼 없이 추적하기 위해 사용한다.
+ */
+public class TrackingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final TaskTracker tracker;
+
+    public TrackingThreadPoolExecutor(int poolSize, BlockingQueue<Runnable> queue, TaskTracker tracker) {
+        super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        tracker.onSubmit();
+        try {
+            super.execute(command);
+        } catch (RejectedExecutionException e) {
+            tracker.onReject();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = super.shutdownNow();
+        tracker.onDiscard(pending.size());
+        return pending;
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        tracker.beforeExecute(thread);
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable error) {
+        tracker.afterExecute(Thread.currentThread());
+    }
+
+    public TaskTracker getTracker() {
+        return tracker;
+    }
+}
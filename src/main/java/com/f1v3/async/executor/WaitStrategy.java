@@ -0,0 +1,16 @@
+package com.f1v3.async.executor;
+
+/**
+ * {@link RingBufferExecutor} 의 작업자가 할 일이 없을 때 기다리는 방식
+ * <ul>
+ *     <li>SPIN: 계속 확인 - 인계 지연이 가장 짧지만 대기 중에도 코어를 하나씩 점유 (작업자 수 < 코어 수 일 때만)</li>
+ *     <li>YIELD: 잠깐 확인 후 다른 스레드에 양보 - 지연은 짧고 CPU 는 덜 쓰지만 여전히 대기 중 CPU 사용</li>
+ *     <li>PARK: 잠깐 확인 후 잠듦 - 작업이 들어오면 제출자가 잠든 작업자 하나를 깨움, 대기 중 CPU 를 쓰지 않음 (기본값)</li>
+ * </ul>
+ */
+public enum WaitStrategy {
+
+    SPIN,
+    YIELD,
+    PARK
+}
@@ -0,0 +1,9 @@
+package com.f1v3.async.executor;
+
+/**
+ * 다른 작업을 감싼 작업 (대기 시간 기록, 실행 추적 등) - 거부/버림 처리 때 원래 작업을 찾을 수 있게 한다
+ */
+public interface WrappedTask extends Runnable {
+
+    Runnable unwrap();
+}
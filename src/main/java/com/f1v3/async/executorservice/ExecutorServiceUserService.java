@@ -2,12 +2,16 @@ package com.f1v3.async.executorservice;
 
 import com.f1v3.async.common.EmailService;
 import com.f1v3.async.common.PointService;
-import lombok.RequiredArgsConstructor;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.profiling.RegistrationAbortEvent;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.profiling.StageOutcome;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ExecutionException;
@@ -15,37 +19,49 @@ import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ExecutorServiceUserService {
 
     private final EmailService emailService;
     private final PointService pointService;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private final WelcomeTaskOutbox outbox;
+    private final ExecutorService executorService;
+
+    public ExecutorServiceUserService(EmailService emailService, PointService pointService,
+                                      ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.outbox = outbox;
+        this.executorService = executorFactory.newFixedThreadPool("executor-service", 10);
+    }
 
     public void registerUser(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== ExecutorService 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("executor-service", userId, email);
+        boolean success = false;
 
         // 각각을 ExecutorService로 실행
-        Future<Void> emailFuture = executorService.submit(() -> {
+        Future<Void> emailFuture = executorService.submit(outbox.track(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return null;
-        });
-        Future<Void> pointFuture = executorService.submit(() -> {
+        }));
+        Future<Void> pointFuture = executorService.submit(outbox.track(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return null;
-        });
+        }));
 
         try {
             // 두 작업이 모두 완료될 때까지 대기
             emailFuture.get();
             pointFuture.get();
+            success = true;
         } catch (InterruptedException e) {
             log.error("ExecutorService 작업이 인터럽트됨", e);
             Thread.currentThread().interrupt(); // 인터럽트 상태 복원
         } catch (ExecutionException e) {
             log.error("ExecutorService 작업 실행 중 오류 발생", e);
         }
+        registration.finish(success);
 
         long endTime = System.currentTimeMillis();
         log.info("=== ExecutorService 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
@@ -55,14 +71,14 @@ public class ExecutorServiceUserService {
         long startTime = System.currentTimeMillis();
         log.info("=== ExecutorService 타임아웃 방식 회원가입 시작 - 사용자: {} (타임아웃: {}초) ===", userId, timeoutSeconds);
 
-        Future<Void> emailFuture = executorService.submit(() -> {
+        Future<Void> emailFuture = executorService.submit(outbox.track(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return null;
-        });
-        Future<Void> pointFuture = executorService.submit(() -> {
+        }));
+        Future<Void> pointFuture = executorService.submit(outbox.track(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return null;
-        });
+        }));
 
         try {
             // 타임아웃과 함께 대기
@@ -70,12 +86,15 @@ public class ExecutorServiceUserService {
             pointFuture.get(timeoutSeconds, TimeUnit.SECONDS);
         } catch (TimeoutException e) {
             log.error("ExecutorService 타임아웃 발생", e);
+            RegistrationAbortEvent.emit("executor-service", userId, emailFuture.isDone() ? "points" : "email",
+                StageOutcome.TIMEOUT);
             // 취소 처리
             emailFuture.cancel(true);
             pointFuture.cancel(true);
         } catch (InterruptedException e) {
             log.error("ExecutorService 작업이 인터럽트됨", e);
             Thread.currentThread().interrupt(); // 인터럽트 상태 복원
+            RegistrationAbortEvent.emit("executor-service", userId, "all", StageOutcome.CANCELLED);
             // 취소 처리
             emailFuture.cancel(true);
             pointFuture.cancel(true);
@@ -90,7 +109,7 @@ public class ExecutorServiceUserService {
     public Future<String> registerUserWithFuture(String userId, String email) {
         log.info("=== ExecutorService Future 방식 회원가입 시작 - 사용자: {} ===", userId);
 
-        return executorService.submit(() -> {
+        return executorService.submit(outbox.track(WelcomeTask.registration(userId, email), () -> {
             try {
                 // 이메일 발송과 포인트 적립을 순차적으로 실행
                 emailService.sendWelcomeEmail(email);
@@ -101,25 +120,7 @@ public class ExecutorServiceUserService {
                 log.error("ExecutorService Future 작업 중 오류 발생", e);
                 throw new ExecutorServiceException("ExecutorService 작업 실행 실패: " + e.getMessage(), e);
             }
-        });
-    }
-
-    public void shutdown() {
-        log.info("ExecutorService 종료 시작");
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    log.error("ExecutorService가 정상적으로 종료되지 않음");
-                }
-            }
-        } catch (InterruptedException e) {
-            log.error("ExecutorService 종료 중 인터럽트 발생", e);
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-        log.info("ExecutorService 종료 완료");
+        }));
     }
 
     // 전용 예외 클래스
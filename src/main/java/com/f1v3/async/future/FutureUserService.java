@@ -2,35 +2,58 @@ package com.f1v3.async.future;
 
 import com.f1v3.async.common.EmailService;
 import com.f1v3.async.common.PointService;
-import lombok.RequiredArgsConstructor;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.profiling.RegistrationAbortEvent;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.profiling.StageOutcome;
+import com.f1v3.async.simulation.ServiceSimulation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class FutureUserService {
 
     private final EmailService emailService;
     private final PointService pointService;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private final WelcomeTaskOutbox outbox;
+    private final ServiceSimulation serviceSimulation;
+    private final ExecutorService executorService;
+
+    public FutureUserService(EmailService emailService, PointService pointService,
+                             ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox,
+                             ServiceSimulation serviceSimulation) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.outbox = outbox;
+        this.serviceSimulation = serviceSimulation;
+        this.executorService = executorFactory.newFixedThreadPool("future", 10);
+    }
 
     public void registerUser(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== Future 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("future", userId, email);
+        boolean success = true;
 
         // Future를 사용하여 작업 결과를 추적
-        Future<String> emailFuture = executorService.submit(() -> {
+        Future<String> emailFuture = executorService.submit(outbox.track(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return "메일 발송 완료: " + email;
-        });
+        }));
 
-        Future<String> pointFuture = executorService.submit(() -> {
+        Future<String> pointFuture = executorService.submit(outbox.track(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return "포인트 적립 완료: " + userId;
-        });
+        }));
 
         try {
             // Future.get()을 통해 결과 확인
@@ -40,7 +63,9 @@ public class FutureUserService {
             log.info("작업 결과 - {}, {}", emailResult, pointResult);
         } catch (Exception e) {
             log.error("Future 작업 중 오류 발생", e);
+            success = false;
         }
+        registration.finish(success);
 
         long endTime = System.currentTimeMillis();
         log.info("=== Future 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
@@ -50,15 +75,15 @@ public class FutureUserService {
         long startTime = System.currentTimeMillis();
         log.info("=== Future 커스텀 타임아웃 방식 회원가입 시작 - 사용자: {} ===", userId);
 
-        Future<String> emailFuture = executorService.submit(() -> {
+        Future<String> emailFuture = executorService.submit(outbox.track(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return "메일 발송 완료";
-        });
+        }));
 
-        Future<String> pointFuture = executorService.submit(() -> {
+        Future<String> pointFuture = executorService.submit(outbox.track(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return "포인트 적립 완료";
-        });
+        }));
 
         try {
             // 각 작업별로 다른 타임아웃 설정
@@ -70,6 +95,7 @@ public class FutureUserService {
 
         } catch (TimeoutException e) {
             log.error("타임아웃 발생", e);
+            RegistrationAbortEvent.emit("future", userId, emailFuture.isDone() ? "points" : "email", StageOutcome.TIMEOUT);
             emailFuture.cancel(true);
             pointFuture.cancel(true);
         } catch (Exception e) {
@@ -84,15 +110,15 @@ public class FutureUserService {
         long startTime = System.currentTimeMillis();
         log.info("=== Future 논블로킹 방식 회원가입 시작 - 사용자: {} ===", userId);
 
-        Future<String> emailFuture = executorService.submit(() -> {
+        Future<String> emailFuture = executorService.submit(outbox.track(WelcomeTask.email(email), () -> {
             emailService.sendWelcomeEmail(email);
             return "메일 발송 완료";
-        });
+        }));
 
-        Future<String> pointFuture = executorService.submit(() -> {
+        Future<String> pointFuture = executorService.submit(outbox.track(WelcomeTask.points(userId), () -> {
             pointService.addWelcomePoints(userId);
             return "포인트 적립 완료";
-        });
+        }));
 
         // 논블로킹 체크
         while (!emailFuture.isDone() || !pointFuture.isDone()) {
@@ -101,7 +127,8 @@ public class FutureUserService {
                     pointFuture.isDone() ? "완료" : "진행중");
 
             try {
-                Thread.sleep(500);
+                // 폴링 간격도 작업과 같은 시계로 흘려 가상 시계에서는 실제로 기다리지 않는다
+                serviceSimulation.clock().sleep(500);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
@@ -120,10 +147,96 @@ public class FutureUserService {
         log.info("=== Future 논블로킹 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
     }
 
+    public void registerUserWithCompletionService(String userId, String email) {
+        long startTime = System.currentTimeMillis();
+        log.info("=== Future 완료 통지 방식 회원가입 시작 - 사용자: {} ===", userId);
+
+        // 완료된 순서대로 결과를 꺼낼 수 있는 CompletionService (폴링 없이 완료 즉시 처리)
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executorService);
+
+        completionService.submit(outbox.track(WelcomeTask.email(email), () -> {
+            emailService.sendWelcomeEmail(email);
+            return "메일 발송 완료";
+        }));
+
+        completionService.submit(outbox.track(WelcomeTask.points(userId), () -> {
+            pointService.addWelcomePoints(userId);
+            return "포인트 적립 완료";
+        }));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                String result = completionService.take().get();
+                log.info("작업 완료 통지 - {} ({}ms)", result, System.currentTimeMillis() - startTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("완료 대기 중 인터럽트 발생", e);
+                break;
+            } catch (ExecutionException e) {
+                log.error("Future 작업 중 오류 발생", e);
+            }
+        }
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== Future 완료 통지 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
+    }
+
+    public List<String> registerUsersInCompletionOrder(Map<String, String> users) {
+        long startTime = System.currentTimeMillis();
+        log.info("=== Future 완료 순서 대량 회원가입 시작 - 사용자 수: {} ===", users.size());
+
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executorService);
+        Map<Future<String>, String> owners = new HashMap<>();
+        Map<String, Integer> remainingSteps = new HashMap<>();
+
+        users.forEach((userId, email) -> {
+            owners.put(completionService.submit(outbox.track(WelcomeTask.email(email), () -> {
+                emailService.sendWelcomeEmail(email);
+                return "메일 발송 완료: " + email;
+            })), userId);
+            owners.put(completionService.submit(outbox.track(WelcomeTask.points(userId), () -> {
+                pointService.addWelcomePoints(userId);
+                return "포인트 적립 완료: " + userId;
+            })), userId);
+            remainingSteps.put(userId, 2);
+        });
+
+        // 제출 순서가 아닌 완료 순서대로 처리하므로 빠른 작업이 느린 작업 뒤에서 기다리지 않는다
+        List<String> results = new ArrayList<>(owners.size());
+        for (int i = 0; i < owners.size(); i++) {
+            Future<String> completed;
+            try {
+                completed = completionService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("완료 대기 중 인터럽트 발생", e);
+                break;
+            }
+
+            String userId = owners.get(completed);
+            try {
+                results.add(completed.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Future 작업 중 오류 발생 - 사용자: {}", userId, e);
+            }
+
+            if (remainingSteps.merge(userId, -1, Integer::sum) == 0) {
+                log.info("사용자 회원가입 후속 작업 완료 - 사용자: {} ({}ms)", userId, System.currentTimeMillis() - startTime);
+            }
+        }
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== Future 완료 순서 대량 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
+        return results;
+    }
+
     public Future<String> registerUserWithResult(String userId, String email) {
         log.info("=== Future 결과 반환 방식 회원가입 시작 - 사용자: {} ===", userId);
 
-        return executorService.submit(() -> {
+        return executorService.submit(outbox.track(WelcomeTask.registration(userId, email), () -> {
             try {
                 // 이메일 발송과 포인트 적립을 순차적으로 실행
                 emailService.sendWelcomeEmail(email);
@@ -135,20 +248,6 @@ public class FutureUserService {
                 log.error("Future 결과 반환 작업 중 오류 발생", e);
                 throw new RuntimeException(e);
             }
-        });
-    }
-
-    public void shutdown() {
-        log.info("Future ExecutorService 종료 시작");
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-        log.info("Future ExecutorService 종료 완료");
+        }));
     }
 }
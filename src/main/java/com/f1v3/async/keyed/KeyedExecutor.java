@@ -0,0 +1,72 @@
+package com.f1v3.async.keyed;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 키(userId) 단위 순서를 보장하는 Executor
+ * <p>
+ * 같은 키의 작업은 제출 순서대로 하나씩 실행되고, 다른 키의 작업은 위임 Executor 에서 병렬로 실행된다.
+ * 키마다 마지막 작업(tail)만 보관하고, 뒤따르는 작업이 없으면 완료 시점에 제거한다.
+ * <p>
+ * 맵에서는 tail 만 바꿔 끼우고, 위임 Executor 제출은 맵 갱신이 끝난 뒤 이전 작업이 끝났을 때 한다.
+ * 거부 정책이 CALLER_RUNS 라 제출한 스레드에서 작업이 바로 실행되어도, 그 작업이 같은 키로 다시 제출할 수 있다.
+ */
+public class KeyedExecutor {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final Executor delegate;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public KeyedExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    public CompletableFuture<Void> execute(String key, Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> next = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(key, next);
+
+        Runnable step = () -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                finish(key, next);
+            }
+        };
+
+        // 이전 작업의 성공/실패와 관계없이 다음 작업을 이어서 실행한다
+        (previous == null ? DONE : previous).whenComplete((ignored, previousError) -> {
+            try {
+                delegate.execute(step);
+            } catch (RejectedExecutionException e) {
+                // 위임 Executor 가 작업을 거부한 경우 - 뒤따르는 작업은 계속 진행한다
+                result.completeExceptionally(e);
+                finish(key, next);
+            }
+        });
+        return result;
+    }
+
+    public int getActiveKeyCount() {
+        return tails.size();
+    }
+
+    private void finish(String key, CompletableFuture<Void> tail) {
+        tails.remove(key, tail);
+        tail.complete(null);
+    }
+}
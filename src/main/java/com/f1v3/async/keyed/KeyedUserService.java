@@ -0,0 +1,76 @@
+package com.f1v3.async.keyed;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.RegistrationStep;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+public class KeyedUserService {
+
+    private final EmailService emailService;
+    private final PointService pointService;
+    private final WelcomeTaskOutbox outbox;
+    private final RegistrationStatusStore statusStore;
+    private final ExecutorService executorService;
+    private final KeyedExecutor keyedExecutor;
+
+    public KeyedUserService(EmailService emailService, PointService pointService,
+                            ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox,
+                            RegistrationStatusStore statusStore) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.outbox = outbox;
+        this.statusStore = statusStore;
+        this.executorService = executorFactory.newFixedThreadPool("keyed", 10);
+        this.keyedExecutor = new KeyedExecutor(executorService);
+    }
+
+    public void registerUser(String userId, String email) {
+        long startTime = System.currentTimeMillis();
+        log.info("=== 사용자별 순서 보장 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("keyed", userId, email);
+
+        registerUserAsync(userId, email).join();
+        registration.finish(true);
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== 사용자별 순서 보장 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
+    }
+
+    public CompletableFuture<String> registerUserAsync(String userId, String email) {
+        long ticket = statusStore.accept("keyed", userId);
+
+        // 메일 발송은 순서와 무관하므로 공용 풀에서 바로 병렬 실행
+        CompletableFuture<String> emailFuture = outbox.supplyAsync(WelcomeTask.email(email),
+            statusStore.track(ticket, RegistrationStep.EMAIL, () -> {
+                emailService.sendWelcomeEmail(email);
+                return "메일 발송 완료: " + email;
+            }), executorService);
+
+        // 포인트 적립은 사용자 레인에 넣어 이후 이벤트보다 먼저 처리되도록 보장
+        CompletableFuture<String> pointFuture = keyedExecutor.submit(userId, outbox.trackSupplier(WelcomeTask.points(userId),
+            statusStore.track(ticket, RegistrationStep.POINTS, () -> {
+                pointService.addWelcomePoints(userId);
+                return "포인트 적립 완료: " + userId;
+            })));
+
+        return emailFuture.thenCombine(pointFuture, (emailResult, pointResult) -> emailResult + ", " + pointResult);
+    }
+
+    public CompletableFuture<Void> submitUserEvent(String userId, Runnable event) {
+        // 같은 사용자의 후속 이벤트(프로필 변경 등)는 가입 포인트 적립 이후 순서대로 실행
+        log.info("사용자 후속 이벤트 등록 - 사용자: {}", userId);
+        return keyedExecutor.execute(userId, event);
+    }
+}
@@ -0,0 +1,24 @@
+package com.f1v3.async.lifecycle;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료 시 실행기 정리 결과
+ *
+ * @param cancelledTasks  예산 안에 끝나지 않아 취소한 대기 작업 수 (실행기 이름별)
+ * @param unfinishedTasks 끝내지 못한 회원가입 후속 작업
+ * @param persisted       끝내지 못한 작업을 다음 기동 때 다시 실행하도록 저장했는지
+ */
+public record DrainReport(long elapsedMillis,
+                          Map<String, Integer> cancelledTasks,
+                          List<WelcomeTask> unfinishedTasks,
+                          boolean persisted) {
+
+    public Map<WelcomeTask.Kind, Integer> countByKind() {
+        Map<WelcomeTask.Kind, Integer> counts = new EnumMap<>(WelcomeTask.Kind.class);
+        unfinishedTasks.forEach(task -> counts.merge(task.kind(), 1, Integer::sum));
+        return counts;
+    }
+}
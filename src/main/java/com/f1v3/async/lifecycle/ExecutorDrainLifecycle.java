@@ -0,0 +1,217 @@
+package com.f1v3.async.lifecycle;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.ExecutorRegistry.ManagedExecutor;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 전용 풀을 애플리케이션 종료 단계에서 정리하는 생명주기
+ * <p>
+ * 종료 시 모든 풀의 접수를 먼저 막고, 설정한 예산 안에서 대기 중인 메일/포인트 작업을 마저 처리한다.
+ * 예산을 넘기면 남은 작업을 취소하고, 끝내지 못한 후속 작업은 파일로 저장해 다음 기동 때 다시 실행한다.
+ */
+@Slf4j
+@Component
+public class ExecutorDrainLifecycle implements SmartLifecycle {
+
+    /**
+     * 웹 서버의 요청 정리 단계(DEFAULT_PHASE - 1024)와 웹 서버 종료(DEFAULT_PHASE - 2048)보다 뒤에 멈춰,
+     * 처리 중인 요청이 넣는 작업까지 받은 다음 정리한다. 실행기가 아닌 후속 작업 소비자(이벤트 버스)도 같은 단계에서 멈춘다.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long INTERRUPT_GRACE_MILLIS = 1000;
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final ExecutorRegistry executorRegistry;
+    private final WelcomeTaskOutbox outbox;
+    private final EmailService emailService;
+    private final PointService pointService;
+    private final ServiceExecutorFactory executorFactory;
+    private final long drainTimeoutMillis;
+    private final Path pendingPath;
+
+    private volatile boolean running;
+    private volatile DrainReport lastReport;
+
+    public ExecutorDrainLifecycle(ExecutorRegistry executorRegistry,
+                                  WelcomeTaskOutbox outbox,
+                                  EmailService emailService,
+                                  PointService pointService,
+                                  ServiceExecutorFactory executorFactory,
+                                  @Value("${async.executor.drain.timeout-ms:10000}") long drainTimeoutMillis,
+                                  @Value("${async.executor.drain.pending-path:}") String pendingPath) {
+        this.executorRegistry = executorRegistry;
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.executorFactory = executorFactory;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.pendingPath = pendingPath.isBlank() ? null : Path.of(pendingPath);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        List<WelcomeTask> recovered = loadPendingTasks();
+        if (!recovered.isEmpty()) {
+            replay(recovered);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public DrainReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 접수 중단 → 예산 안에서 대기 작업 처리 → 남은 작업 취소 → 끝내지 못한 후속 작업 저장
+     */
+    public DrainReport drain() {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+        List<ManagedExecutor> executors = executorRegistry.getManagedExecutors();
+        log.info("실행기 정리 시작 - 대상: {}개, 예산: {}ms, 미완료 후속 작업: {}건", executors.size(), drainTimeoutMillis, outbox.size());
+
+        outbox.markShuttingDown();
+        executors.forEach(managed -> managed.executor().shutdown());
+
+        Map<String, Integer> cancelled = new LinkedHashMap<>();
+        try {
+            for (ManagedExecutor managed : executors) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0 && managed.executor().awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    continue;
+                }
+                cancelled.put(managed.name(), managed.executor().shutdownNow().size());
+            }
+            // 인터럽트된 작업이 정리되고 미완료 목록에 반영될 시간을 잠깐 준다
+            for (ManagedExecutor managed : executors) {
+                if (!managed.executor().isTerminated()) {
+                    managed.executor().awaitTermination(INTERRUPT_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("실행기 정리 중 인터럽트 발생 - 남은 작업을 모두 취소", e);
+            for (ManagedExecutor managed : executors) {
+                cancelled.merge(managed.name(), managed.executor().shutdownNow().size(), Integer::sum);
+            }
+        }
+
+        List<WelcomeTask> unfinished = outbox.getPending();
+        savePendingTasks(unfinished);
+        DrainReport report = new DrainReport(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+            cancelled, unfinished, pendingPath != null);
+        lastReport = report;
+
+        if (cancelled.isEmpty() && unfinished.isEmpty()) {
+            log.info("실행기 정리 완료 - 모든 대기 작업 처리, 소요: {}ms", report.elapsedMillis());
+        } else {
+            log.warn("실행기 정리 완료 - 예산 {}ms 초과, 소요: {}ms, 취소된 대기 작업: {}, 끝내지 못한 후속 작업: {}건 {} ({})",
+                drainTimeoutMillis, report.elapsedMillis(), cancelled, unfinished.size(), report.countByKind(),
+                report.persisted() ? "저장: " + pendingPath : "저장 경로 없음 - 유실");
+        }
+        return report;
+    }
+
+    private void replay(List<WelcomeTask> tasks) {
+        log.info("이전 종료 때 끝내지 못한 후속 작업 {}건 재실행", tasks.size());
+        ExecutorService recovery = executorFactory.newFixedThreadPool("recovery", 2);
+        for (WelcomeTask task : tasks) {
+            recovery.submit(outbox.track(task, () -> {
+                if (task.kind() != WelcomeTask.Kind.POINTS) {
+                    emailService.sendWelcomeEmail(task.email());
+                }
+                if (task.kind() != WelcomeTask.Kind.EMAIL) {
+                    pointService.addWelcomePoints(task.userId());
+                }
+                return null;
+            }));
+        }
+        recovery.shutdown();
+    }
+
+    private List<WelcomeTask> loadPendingTasks() {
+        if (pendingPath == null || !Files.exists(pendingPath)) {
+            return List.of();
+        }
+        try {
+            List<WelcomeTask> tasks = new ArrayList<>();
+            for (String line : Files.readAllLines(pendingPath, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                tasks.add(new WelcomeTask(WelcomeTask.Kind.valueOf(fields[0]), emptyToNull(fields[1]), emptyToNull(fields[2])));
+            }
+            // 다시 넣은 작업은 미완료 목록이 추적하므로 파일은 바로 지운다
+            Files.delete(pendingPath);
+            return tasks;
+        } catch (IOException e) {
+            throw new UncheckedIOException("미완료 후속 작업 파일 읽기 실패: " + pendingPath, e);
+        }
+    }
+
+    private void savePendingTasks(List<WelcomeTask> tasks) {
+        if (pendingPath == null || tasks.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(pendingPath.toAbsolutePath().getParent());
+            Path temp = pendingPath.resolveSibling(pendingPath.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (WelcomeTask task : tasks) {
+                    writer.write(task.kind() + FIELD_SEPARATOR + nullToEmpty(task.userId()) + FIELD_SEPARATOR
+                        + nullToEmpty(task.email()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, pendingPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("미완료 후속 작업 저장 실패 - {}건 유실: {}", tasks.size(), tasks, e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
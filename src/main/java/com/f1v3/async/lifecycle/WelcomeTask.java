@@ -0,0 +1,28 @@
+package com.f1v3.async.lifecycle;
+
+/**
+ * 회원가입 후속 작업(환영 메일, 가입 포인트) 하나를 다시 실행할 수 있을 만큼만 담은 값
+ */
+public record WelcomeTask(Kind kind, String userId, String email) {
+
+    public enum Kind {
+        /** 환영 메일 발송 */
+        EMAIL,
+        /** 가입 포인트 적립 */
+        POINTS,
+        /** 메일 발송 후 포인트 적립을 한 작업에서 순서대로 */
+        REGISTRATION
+    }
+
+    public static WelcomeTask email(String email) {
+        return new WelcomeTask(Kind.EMAIL, null, email);
+    }
+
+    public static WelcomeTask points(String userId) {
+        return new WelcomeTask(Kind.POINTS, userId, null);
+    }
+
+    public static WelcomeTask registration(String userId, String email) {
+        return new WelcomeTask(Kind.REGISTRATION, userId, email);
+    }
+}
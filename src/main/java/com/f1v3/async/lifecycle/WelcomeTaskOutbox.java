@@ -0,0 +1,196 @@
+package com.f1v3.async.lifecycle;
+
+import com.f1v3.async.executor.Discardable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 제출됐지만 아직 끝나지 않은 회원가입 후속 작업 목록
+ * <p>
+ * 작업을 만들 때 등록하고, 작업이 끝까지 실행되면 지운다. 종료 중({@link #markShuttingDown()} 이후) 인터럽트로 중단된 작업은
+ * 끝난 것으로 보지 않으므로, 종료 시점에 남아 있는 항목이 곧 처리하지 못한 작업이다.
+ * <p>
+ * 감싼 작업은 {@link Discardable} 이라, 실행기가 거부하거나 버림 정책으로 버리면 항목을 지운다 (실행되지 않을 작업을 다시 실행하지 않도록).
+ * 단, 종료 중의 거부는 실행기가 접수를 멈춰서 생긴 것이므로 항목을 남겨, 앞 단계가 끝난 뒤에 넣은 후속 단계도 저장되게 한다.
+ */
+@Component
+public class WelcomeTaskOutbox {
+
+    private final Map<Long, WelcomeTask> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean shuttingDown;
+
+    public <T> Callable<T> track(WelcomeTask task, Callable<T> work) {
+        return track(register(task), work);
+    }
+
+    /**
+     * 이미 {@link #register(WelcomeTask)} 로 등록해 둔 작업을 실행할 때 감싼다 (대기열에 먼저 쌓아 두는 작업용)
+     */
+    public <T> Callable<T> track(long id, Callable<T> work) {
+        return new TrackedCallable<>(id, work);
+    }
+
+    public <T> Supplier<T> trackSupplier(WelcomeTask task, Supplier<T> work) {
+        return new TrackedSupplier<>(register(task), work);
+    }
+
+    /**
+     * {@code CompletableFuture.supplyAsync(trackSupplier(task, work), executor)} 와 같지만, 실행기가 작업을 거부하거나 버리면
+     * 돌려준 Future 를 그 예외로 끝내고 항목도 지운다 (supplyAsync 의 내부 작업은 버려지면 Future 를 끝낼 방법이 없다)
+     */
+    public <T> CompletableFuture<T> supplyAsync(WelcomeTask task, Supplier<T> work, Executor executor) {
+        return supplyAsync(register(task), work, executor);
+    }
+
+    /**
+     * 이미 {@link #register(WelcomeTask)} 로 등록해 둔 작업을 실행한다 (앞 단계가 끝난 뒤에 넣지만 접수 시점부터 보존해야 하는 작업용)
+     */
+    public <T> CompletableFuture<T> supplyAsync(long id, Supplier<T> work, Executor executor) {
+        AsyncTask<T> asyncTask = new AsyncTask<>(new TrackedSupplier<>(id, work));
+        try {
+            executor.execute(asyncTask);
+        } catch (RejectedExecutionException e) {
+            asyncTask.discard(e);
+        }
+        return asyncTask.future;
+    }
+
+    public List<WelcomeTask> getPending() {
+        return List.copyOf(pending.values());
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    void markShuttingDown() {
+        shuttingDown = true;
+    }
+
+    /**
+     * 실행기에 바로 넣지 않고 따로 쌓아 두는 작업을 등록한다. 실행할 때는 {@link #track(long, Callable)} 로 감싸고,
+     * 다른 노드로 넘기면 {@link #handOff(long)} 로 지운다.
+     */
+    public long register(WelcomeTask task) {
+        long id = sequence.incrementAndGet();
+        pending.put(id, task);
+        return id;
+    }
+
+    /**
+     * 등록해 둔 작업을 실행하지 않기로 한다 (앞 단계 실패). 종료 중에는 지우지 않아 다음 기동 때 다시 실행한다.
+     */
+    public void cancel(long id) {
+        discarded(id);
+    }
+
+    /**
+     * 다른 노드가 가져간 작업 - 이 노드가 더 이상 책임지지 않으므로 종료 중이어도 바로 지운다
+     */
+    public void handOff(long id) {
+        pending.remove(id);
+    }
+
+    private void complete(long id) {
+        // 메일/포인트 서비스는 인터럽트를 삼키고 상태만 복원하므로, 종료 중 인터럽트된 작업은 다시 실행할 대상으로 남긴다
+        // (평소의 인터럽트는 호출자가 시간 초과로 취소한 것이므로 지운다)
+        if (!shuttingDown || !Thread.currentThread().isInterrupted()) {
+            pending.remove(id);
+        }
+    }
+
+    private void discarded(long id) {
+        // 종료 중에는 정리 단계가 남은 항목을 파일로 저장하므로 지우지 않는다
+        if (!shuttingDown) {
+            pending.remove(id);
+        }
+    }
+
+    private final class TrackedCallable<T> implements Callable<T>, Discardable {
+
+        private final long id;
+        private final Callable<T> work;
+
+        private TrackedCallable(long id, Callable<T> work) {
+            this.id = id;
+            this.work = work;
+        }
+
+        @Override
+        public T call() throws Exception {
+            try {
+                return work.call();
+            } finally {
+                complete(id);
+            }
+        }
+
+        @Override
+        public void discard(RejectedExecutionException cause) {
+            discarded(id);
+        }
+    }
+
+    private final class TrackedSupplier<T> implements Supplier<T>, Discardable {
+
+        private final long id;
+        private final Supplier<T> work;
+
+        private TrackedSupplier(long id, Supplier<T> work) {
+            this.id = id;
+            this.work = work;
+        }
+
+        @Override
+        public T get() {
+            try {
+                return work.get();
+            } finally {
+                complete(id);
+            }
+        }
+
+        @Override
+        public void discard(RejectedExecutionException cause) {
+            discarded(id);
+        }
+    }
+
+    private static final class AsyncTask<T> implements Runnable, Discardable {
+
+        private final TrackedSupplier<T> supplier;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private AsyncTask(TrackedSupplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void discard(RejectedExecutionException cause) {
+            supplier.discard(cause);
+            future.completeExceptionally(cause);
+        }
+    }
+}
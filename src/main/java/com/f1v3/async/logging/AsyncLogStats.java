@@ -0,0 +1,13 @@
+package com.f1v3.async.logging;
+
+/**
+ * 비동기 로그 appender({@link ch.qos.logback.classic.AsyncAppender}) 상태
+ *
+ * @param queuedCount         큐에서 쓰기를 기다리는 이벤트 수
+ * @param remainingCapacity   큐의 남은 자리
+ * @param discardingThreshold 남은 자리가 이 값보다 적으면 INFO 이하 이벤트를 버린다
+ * @param neverBlock          true 면 큐가 가득 찼을 때 기다리지 않고 버린다
+ */
+public record AsyncLogStats(String name, int queueSize, int queuedCount, int remainingCapacity,
+                            int discardingThreshold, boolean neverBlock) {
+}
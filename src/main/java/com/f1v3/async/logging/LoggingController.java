@@ -0,0 +1,42 @@
+package com.f1v3.async.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 비동기 로그 큐 상태 조회 - 큐가 자주 밀리면 큐 크기나 로그 레벨을 조정한다
+ */
+@RestController
+@RequestMapping("/api/logging")
+public class LoggingController {
+
+    @GetMapping("/async")
+    public List<AsyncLogStats> getAsyncLogStats() {
+        List<AsyncLogStats> stats = new ArrayList<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return stats;
+        }
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof AsyncAppender appender) {
+                    stats.add(new AsyncLogStats(appender.getName(), appender.getQueueSize(),
+                        appender.getNumberOfElementsInQueue(), appender.getRemainingCapacity(),
+                        appender.getDiscardingThreshold(), appender.isNeverBlock()));
+                }
+            }
+        }
+        return stats;
+    }
+}
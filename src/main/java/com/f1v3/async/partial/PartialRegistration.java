@@ -0,0 +1,25 @@
+package com.f1v3.async.partial;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 필수 단계까지 끝난 회원가입 - 호출자는 이 시점에 응답하고, 남은 단계는 {@link #background()} 로 따라간다
+ *
+ * @param message    필수 단계 결과
+ * @param background 메일 등 나머지 단계가 끝나면 완료 (실패해도 가입 자체는 성공이므로 예외 대신 결과로 알린다)
+ */
+public record PartialRegistration(String userId, String message, CompletableFuture<BackgroundResult> background) {
+
+    /**
+     * 백그라운드 단계 결과
+     *
+     * @param elapsedMillis 가입 시작부터 백그라운드 단계가 끝날 때까지 걸린 시간
+     * @param error         실패했으면 원인, 성공했으면 null
+     */
+    public record BackgroundResult(String userId, String stage, long elapsedMillis, Throwable error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
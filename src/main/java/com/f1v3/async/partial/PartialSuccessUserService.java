@@ -0,0 +1,177 @@
+package com.f1v3.async.partial;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.partial.PartialRegistration.BackgroundResult;
+import com.f1v3.async.profiling.RegistrationBackgroundEvent;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.profiling.StageOutcome;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.RegistrationStep;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 필수 단계(포인트 적립 - 가입 직후 사용자에게 보임)가 끝나면 바로 응답하고, 환영 메일은 백그라운드에서 마무리하는 가입 방식
+ * <p>
+ * 다른 방식들은 메일과 포인트가 모두 끝날 때(병렬이면 둘 중 느린 쪽, 순차면 합)까지 응답하지 않아,
+ * 가장 느리고 덜 중요한 메일 발송이 사용자 응답 시간을 정한다.
+ * 이 방식은 두 단계를 별도 풀에서 실행해 메일이 밀려도 포인트 적립이 그 뒤에 줄 서지 않게 하고,
+ * 메일은 포인트 적립이 성공한 가입에만 보낸다.
+ * 메일 실패(실행기 거부 포함)는 가입 실패가 아니라 백그라운드 결과({@link PartialRegistration#background()})와 지표로 남긴다.
+ * 메일 작업은 가입을 접수할 때 {@link WelcomeTaskOutbox} 에 등록하므로, 응답 후 종료 단계에서 메일 풀이 거부하거나
+ * 끝내지 못해도 미완료 작업으로 저장돼 다음 기동 때 발송된다 (정상 종료 기준 - 프로세스가 강제 종료되면 메모리의 목록도 사라진다).
+ */
+@Slf4j
+@Service
+public class PartialSuccessUserService {
+
+    private static final String STRATEGY = "partial-success";
+
+    private final EmailService emailService;
+    private final PointService pointService;
+    private final WelcomeTaskOutbox outbox;
+    private final RegistrationStatusStore statusStore;
+    private final ExecutorService criticalExecutor;
+    private final ExecutorService backgroundExecutor;
+    private final List<Consumer<BackgroundResult>> backgroundListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder backgroundPending = new LongAdder();
+    private final LongAdder backgroundSucceeded = new LongAdder();
+    private final LongAdder backgroundFailed = new LongAdder();
+
+    public PartialSuccessUserService(EmailService emailService, PointService pointService,
+                                     ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox,
+                                     RegistrationStatusStore statusStore,
+                                     @Value("${async.partial.critical-threads:10}") int criticalThreads,
+                                     @Value("${async.partial.background-threads:10}") int backgroundThreads) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.outbox = outbox;
+        this.statusStore = statusStore;
+        this.criticalExecutor = executorFactory.newFixedThreadPool("partial-critical", criticalThreads);
+        this.backgroundExecutor = executorFactory.newFixedThreadPool("partial-background", backgroundThreads);
+    }
+
+    public String registerUser(String userId, String email) {
+        long startTime = System.currentTimeMillis();
+
+        PartialRegistration registration = registerUserAsync(userId, email).join();
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== 부분 완료 방식 회원가입 응답 - 소요시간: {}ms (메일은 백그라운드 진행) ===", endTime - startTime);
+        return registration.message();
+    }
+
+    /**
+     * 포인트 적립이 끝나면 완료되는 Future 를 돌려준다. 포인트 적립이 실패하면 가입도 실패로 끝난다.
+     */
+    public CompletableFuture<PartialRegistration> registerUserAsync(String userId, String email) {
+        log.info("=== 부분 완료 방식 회원가입 시작 - 사용자: {} ===", userId);
+        long startNanos = System.nanoTime();
+        RegistrationEvent registration = RegistrationEvent.start(STRATEGY, userId, email);
+        RegistrationBackgroundEvent backgroundEvent = RegistrationBackgroundEvent.start(STRATEGY, userId, "email");
+        long ticket = statusStore.accept(STRATEGY, userId);
+        // 메일은 포인트 적립 뒤에 넣지만, 그 사이에 종료가 시작돼도 남도록 접수 시점에 등록한다
+        long emailTask = outbox.register(WelcomeTask.email(email));
+
+        CompletableFuture<String> points = outbox.supplyAsync(WelcomeTask.points(userId),
+            statusStore.track(ticket, RegistrationStep.POINTS, () -> {
+                pointService.addWelcomePoints(userId);
+                return "포인트 적립 완료: " + userId;
+            }), criticalExecutor);
+
+        // 메일은 포인트 적립이 성공한 뒤에 넘긴다 - 실패한 가입에는 환영 메일을 보내지 않고, 응답은 어차피 포인트 적립 뒤다
+        return points
+            .whenComplete((message, error) -> {
+                if (error != null) {
+                    outbox.cancel(emailTask);
+                }
+            })
+            .thenApply(message -> new PartialRegistration(userId, message + " (메일 발송은 백그라운드 진행)",
+                sendInBackground(userId, email, emailTask, ticket, startNanos, backgroundEvent)))
+            .whenComplete((result, error) -> registration.finish(error == null));
+    }
+
+    /**
+     * 모든 가입의 백그라운드 단계가 끝날 때마다 호출된다 (백그라운드 실행기 스레드에서 실행되므로 오래 걸리면 안 됨)
+     */
+    public void addBackgroundListener(Consumer<BackgroundResult> listener) {
+        backgroundListeners.add(listener);
+    }
+
+    public void removeBackgroundListener(Consumer<BackgroundResult> listener) {
+        backgroundListeners.remove(listener);
+    }
+
+    /**
+     * 응답은 했지만 아직 끝나지 않은 백그라운드 단계 수
+     */
+    public long getBackgroundPendingCount() {
+        return backgroundPending.sum();
+    }
+
+    public long getBackgroundSucceededCount() {
+        return backgroundSucceeded.sum();
+    }
+
+    public long getBackgroundFailedCount() {
+        return backgroundFailed.sum();
+    }
+
+    private CompletableFuture<BackgroundResult> sendInBackground(String userId, String email, long emailTask, long ticket,
+                                                                 long startNanos, RegistrationBackgroundEvent event) {
+        // 실행기가 거부하면 outbox 항목은 지워지고(종료 중이면 저장 대상으로 남음) Future 가 거부 예외로 끝나므로,
+        // 대기 수는 완료 처리에서 함께 되돌린다
+        backgroundPending.increment();
+        return outbox.supplyAsync(emailTask,
+                statusStore.track(ticket, RegistrationStep.EMAIL, () -> {
+                    emailService.sendWelcomeEmail(email);
+                    return "메일 발송 완료: " + email;
+                }), backgroundExecutor)
+            .handle((result, error) -> onBackgroundDone(userId, ticket, startNanos, event, error));
+    }
+
+    private BackgroundResult onBackgroundDone(String userId, long ticket, long startNanos, RegistrationBackgroundEvent event,
+                                              Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            // 실행되지 않은 단계라 상태 저장소에는 아직 대기로 남아 있다
+            statusStore.finished(ticket, RegistrationStep.EMAIL, false);
+        }
+        BackgroundResult result = new BackgroundResult(userId, "email",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), cause);
+        backgroundPending.decrement();
+        if (cause == null) {
+            backgroundSucceeded.increment();
+            event.finish(StageOutcome.SENT);
+        } else {
+            backgroundFailed.increment();
+            event.finish(StageOutcome.FAILED);
+            log.warn("백그라운드 메일 발송 실패 - 사용자: {} (가입은 완료됨): {}", userId, cause.toString());
+        }
+
+        for (Consumer<BackgroundResult> listener : backgroundListeners) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                log.error("백그라운드 완료 콜백 실패 - 사용자: {}", userId, e);
+            }
+        }
+        return result;
+    }
+}
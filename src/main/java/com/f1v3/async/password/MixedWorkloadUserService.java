@@ -0,0 +1,102 @@
+package com.f1v3.async.password;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.profiling.RegistrationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 비밀번호 해시(CPU 집약) → 메일 발송/포인트 적립(I/O 대기) 순서로 가입을 처리하는 서비스
+ * <p>
+ * 같은 흐름을 {@link PoolLayout} 별 실행기 구성으로 돌려, 계산 단계를 I/O 풀과 분리했을 때와 한 풀에 섞었을 때,
+ * 가상 스레드에 맡겼을 때의 처리량을 비교한다.
+ */
+@Slf4j
+@Service
+public class MixedWorkloadUserService {
+
+    private final EmailService emailService;
+    private final PointService pointService;
+    private final PasswordHasher passwordHasher;
+    private final WelcomeTaskOutbox outbox;
+    private final Map<PoolLayout, Stages> stages = new EnumMap<>(PoolLayout.class);
+    private final int computeThreads;
+
+    public MixedWorkloadUserService(EmailService emailService, PointService pointService, PasswordHasher passwordHasher,
+                                    ServiceExecutorFactory executorFactory, WelcomeTaskOutbox outbox,
+                                    @Value("${async.password.compute-threads:0}") int computeThreads) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.passwordHasher = passwordHasher;
+        this.outbox = outbox;
+        this.computeThreads = computeThreads > 0 ? computeThreads : Runtime.getRuntime().availableProcessors();
+
+        // 계산 풀은 코어 수만큼만 두어 해시끼리 코어를 두고 다투지 않게 하고, I/O 풀은 기존 방식들과 같은 10 스레드
+        stages.put(PoolLayout.SPLIT, new Stages(executorFactory.newFixedThreadPool("password-compute", this.computeThreads),
+            executorFactory.newFixedThreadPool("password-io", 10)));
+        ExecutorService shared = executorFactory.newFixedThreadPool("password-shared", 10);
+        stages.put(PoolLayout.SHARED, new Stages(shared, shared));
+        ExecutorService virtual = executorFactory.newVirtualThreadPerTaskExecutor("password-virtual");
+        stages.put(PoolLayout.VIRTUAL, new Stages(virtual, virtual));
+    }
+
+    public String registerUser(String userId, String email, String password, PoolLayout layout) {
+        long startTime = System.currentTimeMillis();
+        log.info("=== 비밀번호 해시 포함 회원가입 시작 ({}) - 사용자: {} ===", layout, userId);
+
+        String result = registerUserAsync(userId, email, password, layout).join();
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== 비밀번호 해시 포함 회원가입 완료 ({}) - 총 소요시간: {}ms ===", layout, endTime - startTime);
+        return result;
+    }
+
+    public CompletableFuture<String> registerUserAsync(String userId, String email, String password, PoolLayout layout) {
+        Stages executors = stages.get(layout);
+        RegistrationEvent registration = RegistrationEvent.start(
+            "password-" + layout.name().toLowerCase(Locale.ROOT), userId, email);
+
+        // 비밀번호 해시가 끝나야 계정이 만들어지므로 메일/포인트는 그 뒤에 병렬로 실행
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> hash(userId, password), executors.compute())
+            .thenCompose(passwordHash -> {
+                CompletableFuture<String> emailFuture = outbox.supplyAsync(WelcomeTask.email(email), () -> {
+                        emailService.sendWelcomeEmail(email);
+                        return "메일 발송 완료: " + email;
+                    }, executors.io());
+                CompletableFuture<String> pointFuture = outbox.supplyAsync(WelcomeTask.points(userId), () -> {
+                        pointService.addWelcomePoints(userId);
+                        return "포인트 적립 완료: " + userId;
+                    }, executors.io());
+                return emailFuture.thenCombine(pointFuture, (emailResult, pointResult) -> emailResult + ", " + pointResult);
+            });
+        return result.whenComplete((value, error) -> registration.finish(error == null));
+    }
+
+    public int getComputeThreads() {
+        return computeThreads;
+    }
+
+    private String hash(String userId, String password) {
+        log.debug("[{}] 비밀번호 해시 시작 - 사용자: {}", Thread.currentThread().getName(), userId);
+        String passwordHash = passwordHasher.hash(password);
+        log.debug("[{}] 비밀번호 해시 완료 - 사용자: {}", Thread.currentThread().getName(), userId);
+        return passwordHash;
+    }
+
+    /**
+     * 한 구성에서 계산 단계와 I/O 단계를 실행할 실행기 (SHARED, VIRTUAL 은 둘이 같음)
+     */
+    private record Stages(ExecutorService compute, ExecutorService io) {
+    }
+}
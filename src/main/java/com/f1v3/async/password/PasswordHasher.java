@@ -0,0 +1,71 @@
+package com.f1v3.async.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 회원가입 비밀번호를 PBKDF2(HMAC-SHA256)로 해시하는 CPU 집약 단계
+ * <p>
+ * 반복 횟수({@code async.password.iterations})만큼 HMAC 을 계산하므로 한 건에 코어 하나를 수십~수백 ms 동안 점유한다.
+ * 메일/포인트처럼 기다리는 작업이 아니라서, I/O 풀에서 실행하면 풀 스레드 수만큼 코어를 두고 다투게 된다.
+ * 결과 형식: {@code pbkdf2-sha256$반복횟수$솔트(Base64)$해시(Base64)}
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public PasswordHasher(@Value("${async.password.iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("반복 횟수는 1 이상이어야 함: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] derived = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(derived);
+    }
+
+    public boolean matches(String password, String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            throw new IllegalArgumentException("알 수 없는 해시 형식: " + encoded);
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] expected = decoder.decode(parts[3]);
+        byte[] actual = derive(password, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " 를 사용할 수 없음", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
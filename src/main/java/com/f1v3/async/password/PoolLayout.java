@@ -0,0 +1,22 @@
+package com.f1v3.async.password;
+
+/**
+ * 비밀번호 해시(CPU)와 메일/포인트(I/O) 단계를 어느 실행기에 나눠 싣는지
+ */
+public enum PoolLayout {
+
+    /**
+     * 해시는 코어 수만큼의 계산 풀, 메일/포인트는 10 스레드 I/O 풀
+     */
+    SPLIT,
+
+    /**
+     * 모든 단계를 10 스레드 풀 하나에서 실행 (기존 방식들과 같은 구성)
+     */
+    SHARED,
+
+    /**
+     * 모든 단계를 작업마다 만드는 가상 스레드에서 실행 (해시는 코어 수만큼인 캐리어 스레드를 나눠 씀)
+     */
+    VIRTUAL
+}
@@ -0,0 +1,58 @@
+package com.f1v3.async.point;
+
+import com.f1v3.async.cache.CacheStats;
+import com.f1v3.async.cache.TinyLfuCache;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 잔액 조회 앞에 두는 W-TinyLFU 캐시
+ * <p>
+ * 가입 직후에는 앱과 다른 서비스가 새 사용자의 잔액을 반복해서 읽는다. 캐시가 없으면 매번 포인트 시스템을 거쳐야 하므로
+ * ({@link ServiceSimulation#balance()}) 미스일 때만 원본을 읽고, 적립은 {@link #add} 로 원본과 캐시를 함께 고쳐
+ * 막 가입한 사용자의 첫 조회부터 캐시에서 바로 응답한다.
+ */
+@Slf4j
+@Component
+public class PointBalanceCache {
+
+    private final PointBalanceStore pointBalanceStore;
+    private final TinyLfuCache<String, Long> cache;
+
+    public PointBalanceCache(PointBalanceStore pointBalanceStore, ServiceSimulation serviceSimulation,
+                             @Value("${async.point.cache.maximum-size:100000}") long maximumSize) {
+        this.pointBalanceStore = pointBalanceStore;
+        this.cache = new TinyLfuCache<>(maximumSize, userId -> {
+            try {
+                // 포인트 시스템 잔액 조회 시뮬레이션 (설정한 지연 분포와 장애 비율을 따름)
+                serviceSimulation.balance().call();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("포인트 잔액 조회 중 인터럽트 발생: " + userId, e);
+            }
+            return pointBalanceStore.get(userId);
+        });
+        log.info("포인트 잔액 캐시 - 최대 {}건", maximumSize);
+    }
+
+    public long get(String userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * 원본 잔액에 delta 를 더하고 바뀐 잔액을 캐시에도 넣는다 (같은 사용자의 적립/조회 결과가 뒤섞이지 않게 키별로 순서를 지킨다)
+     */
+    public long add(String userId, long delta) {
+        return cache.write(userId, id -> pointBalanceStore.add(id, delta));
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,34 @@
+package com.f1v3.async.point;
+
+import com.f1v3.async.cache.CacheStats;
+import com.f1v3.async.common.PointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 포인트 잔액 조회와 잔액 캐시 지표
+ */
+@RestController
+@RequestMapping("/api/points")
+@RequiredArgsConstructor
+public class PointBalanceController {
+
+    private final PointService pointService;
+    private final PointBalanceCache pointBalanceCache;
+
+    @GetMapping("/{userId}")
+    public PointBalance getBalance(@PathVariable String userId) {
+        return new PointBalance(userId, pointService.getBalance(userId));
+    }
+
+    @GetMapping("/cache-stats")
+    public CacheStats getCacheStats() {
+        return pointBalanceCache.getStats();
+    }
+
+    public record PointBalance(String userId, long balance) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.f1v3.async.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 원시 타입 배열 기반 포인트 잔액 저장소
+ * <p>
+ * {@code ConcurrentHashMap<String, Long>} 은 사용자마다 노드, String, char/byte 배열, Long 객체를 만들어
+ * 수천만 명 규모에서는 잔액 자체보다 객체 헤더와 참조가 훨씬 큰 메모리를 차지한다.
+ * 이 저장소는 해시로 나눈 스트라이프마다 개방 주소법(선형 탐사) 테이블을 두고
+ * 해시와 키 위치, 잔액은 하나의 long[] 에, 사용자 ID 는 하나의 byte[] 영역에 이어 붙여 저장한다.
+ * 사용자 ID 가 모두 Latin-1 문자이면 문자당 1바이트, 아니면 UTF-16 으로 문자당 2바이트를 쓴다.
+ * <p>
+ * 쓰기는 스트라이프 단위 쓰기 락, 읽기는 StampedLock 낙관적 읽기로 락 없이 처리한다.
+ */
+@Component
+public class PointBalanceStore {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_CAPACITY_PER_STRIPE = 1024;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    public PointBalanceStore() {
+        this(DEFAULT_STRIPES, DEFAULT_CAPACITY_PER_STRIPE);
+    }
+
+    public PointBalanceStore(int stripeCount, int initialCapacityPerStripe) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("스트라이프 수는 2의 거듭제곱이어야 함: " + stripeCount);
+        }
+        this.stripes = new Stripe[stripeCount];
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacityPerStripe - 1)) << 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * 잔액에 delta 를 더하고 변경된 잔액을 반환한다.
+     */
+    public long add(String userId, long delta) {
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.add(userId, hash, delta);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 잔액을 조회한다. 적립 이력이 없는 사용자는 0 을 반환한다.
+     */
+    public long get(String userId) {
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                long balance = stripe.get(userId, hash);
+                if (stripe.lock.validate(stamp)) {
+                    return balance;
+                }
+            } catch (RuntimeException e) {
+                // 읽는 도중 테이블이 교체되어 인덱스가 어긋난 경우 - 아래에서 읽기 락으로 다시 읽는다
+            }
+        }
+
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.get(userId, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 저장소가 할당한 배열의 총 크기 (배열 헤더 제외)
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                bytes += (long) stripe.table.length * Long.BYTES + stripe.keys.length;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
+    private Stripe stripeFor(int hash) {
+        return stripes[stripeShift == 32 ? 0 : hash >>> stripeShift];
+    }
+
+    private static int hash(String userId) {
+        // 상위 비트는 스트라이프, 하위 비트는 슬롯 선택에 쓰이므로 비트를 고르게 섞는다
+        int h = userId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private static final int UTF16_FLAG = 0x8000;
+        private static final int MAX_KEY_LENGTH = UTF16_FLAG - 1;
+
+        private final StampedLock lock = new StampedLock();
+        // 슬롯마다 [해시 << 32 | 키 위치 + 1][잔액] 두 칸을 나란히 두어 탐사 한 번에 캐시 라인 하나만 읽는다 (0 이면 빈 슬롯)
+        private long[] table;
+        private byte[] keys;        // [인코딩 플래그|길이 2바이트][문자...] 를 이어 붙인 영역
+        private int keysUsed;
+        private int size;
+
+        private Stripe(int capacity) {
+            this.table = new long[capacity * 2];
+            this.keys = new byte[capacity * 16];
+        }
+
+        private int capacity() {
+            return table.length >> 1;
+        }
+
+        private long get(String userId, int hash) {
+            long[] table = this.table;
+            byte[] keys = this.keys;
+            int mask = (table.length >> 1) - 1;
+
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                long meta = table[slot << 1];
+                if (meta == 0L) {
+                    return 0L;
+                }
+                if ((int) (meta >>> 32) == hash && keyEquals(keys, keyOffset(meta), userId)) {
+                    return table[(slot << 1) + 1];
+                }
+            }
+        }
+
+        private long add(String userId, int hash, long delta) {
+            int mask = capacity() - 1;
+            int slot = hash & mask;
+            for (long meta; (meta = table[slot << 1]) != 0L; slot = (slot + 1) & mask) {
+                if ((int) (meta >>> 32) == hash && keyEquals(keys, keyOffset(meta), userId)) {
+                    return table[(slot << 1) + 1] += delta;
+                }
+            }
+
+            table[slot << 1] = meta(hash, appendKey(userId));
+            table[(slot << 1) + 1] = delta;
+            if (++size > capacity() * LOAD_FACTOR) {
+                resize();
+            }
+            return delta;
+        }
+
+        private int appendKey(String userId) {
+            int length = userId.length();
+            if (length > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("사용자 ID 가 너무 김: " + length);
+            }
+            boolean latin1 = isLatin1(userId);
+            int required = 2 + (latin1 ? length : length * 2);
+            if (keysUsed + required > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keysUsed + required));
+            }
+
+            int offset = keysUsed;
+            int header = latin1 ? length : length | UTF16_FLAG;
+            keys[offset] = (byte) (header >>> 8);
+            keys[offset + 1] = (byte) header;
+            for (int i = 0, position = offset + 2; i < length; i++) {
+                char c = userId.charAt(i);
+                if (latin1) {
+                    keys[position++] = (byte) c;
+                } else {
+                    keys[position++] = (byte) (c >>> 8);
+                    keys[position++] = (byte) c;
+                }
+            }
+            keysUsed += required;
+            return offset;
+        }
+
+        private void resize() {
+            long[] oldTable = table;
+            long[] newTable = new long[oldTable.length * 2];
+            int mask = (newTable.length >> 1) - 1;
+
+            for (int i = 0; i < oldTable.length; i += 2) {
+                long meta = oldTable[i];
+                if (meta == 0L) {
+                    continue;
+                }
+                int slot = (int) (meta >>> 32) & mask;
+                while (newTable[slot << 1] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable[slot << 1] = meta;
+                newTable[(slot << 1) + 1] = oldTable[i + 1];
+            }
+            // 낙관적 읽기는 교체 전후 어느 테이블을 보더라도 validate 에서 걸러진다
+            this.table = newTable;
+        }
+
+        private static long meta(int hash, int keyOffset) {
+            return (long) hash << 32 | (keyOffset + 1L);
+        }
+
+        private static int keyOffset(long meta) {
+            return (int) meta - 1;
+        }
+
+        private static boolean keyEquals(byte[] keys, int offset, String userId) {
+            int header = (keys[offset] & 0xFF) << 8 | (keys[offset + 1] & 0xFF);
+            int length = header & MAX_KEY_LENGTH;
+            if (length != userId.length()) {
+                return false;
+            }
+
+            int position = offset + 2;
+            if ((header & UTF16_FLAG) == 0) {
+                for (int i = 0; i < length; i++) {
+                    if ((char) (keys[position + i] & 0xFF) != userId.charAt(i)) {
+                        return false;
+                    }
+                }
+            } else {
+                for (int i = 0; i < length; i++, position += 2) {
+                    char c = (char) ((keys[position] & 0xFF) << 8 | (keys[position + 1] & 0xFF));
+                    if (c != userId.charAt(i)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isLatin1(String userId) {
+            for (int i = 0; i < userId.length(); i++) {
+                if (userId.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,589 @@
+package com.f1v3.async.point;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 파일 기반 추가 전용(append-only) 포인트 원장
+ * <p>
+ * 쓰기는 여러 스트라이프(stripe)로 나뉘고, 스트라이프마다 고정 크기 세그먼트 파일을 메모리에 매핑해 레코드를 복사한다.
+ * 스트라이프 락은 레코드 복사 동안만 잡으므로 코어 수만큼 쓰기가 병렬로 진행된다.
+ * <p>
+ * 내구성은 그룹 커밋으로 보장한다. 쓰기 스레드는 레코드를 복사한 뒤 티켓을 받고, 전용 flush 스레드가
+ * 한 번의 force 로 그때까지 쓰인 모든 레코드를 디스크에 내린 뒤 해당 티켓까지의 쓰기 스레드를 한꺼번에 깨운다.
+ * <p>
+ * flush 가 실패하면(디스크 오류) flush 스레드는 멈추고, 기다리던 쓰기와 이후 쓰기는 모두 예외로 끝난다.
+ * <p>
+ * 봉인된 세그먼트가 {@code compactAfterSegments} 개 쌓이면 백그라운드에서 {@link #compact()} 를 실행해,
+ * 다음 시작 시 복구가 스냅샷과 그 뒤의 세그먼트만 읽도록 한다.
+ * <p>
+ * 레코드 형식: [int 길이][int CRC32C][long 포인트][unsigned short userId 길이][userId UTF-8] - userId 는 UTF-8 로 65535 바이트까지
+ * 세그먼트의 빈 영역은 0 으로 채워져 있으므로, 복구 시 길이 0 이거나 CRC 가 맞지 않는 레코드에서 해당 세그먼트 읽기를 멈춘다.
+ */
+@Slf4j
+public class PointLedger implements AutoCloseable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("points-(\\d+)-(\\d+)\\.log");
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int MAX_USER_ID_BYTES = 0xFFFF;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Stripe[] stripes;
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final int compactAfterSegments;
+    // 스냅샷에 반영되지 않은 봉인 세그먼트 수
+    private final AtomicInteger sealedSegments = new AtomicInteger();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ExecutorService compactor;
+
+    // 그룹 커밋 상태
+    private final AtomicLong writeTickets = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushCompleted = flushLock.newCondition();
+    private final Thread flusher;
+    private long durableTicket;
+    private long flushCount;
+    private RuntimeException flushFailure;
+    private volatile boolean running = true;
+
+    /**
+     * 자동 압축 없이 연다 - 압축은 {@link #compact()} 를 직접 호출할 때만 일어난다.
+     */
+    public PointLedger(Path directory, int stripeCount, int segmentSize) throws IOException {
+        this(directory, stripeCount, segmentSize, 0);
+    }
+
+    /**
+     * @param compactAfterSegments 봉인된 세그먼트가 이 수만큼 쌓이면 백그라운드에서 압축 (0 이면 자동 압축 안 함)
+     */
+    public PointLedger(Path directory, int stripeCount, int segmentSize, int compactAfterSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.stripes = new Stripe[stripeCount];
+        this.compactAfterSegments = compactAfterSegments;
+        this.compactor = compactAfterSegments > 0 ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PointLedger-compactor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        Files.createDirectories(directory);
+        long startTime = System.currentTimeMillis();
+        Map<Integer, Long> covered = readSnapshot((userId, points) -> { });
+        deleteCoveredSegments(covered);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = openStripe(i);
+        }
+        // 지난 실행에서 압축하지 못하고 남은 봉인 세그먼트
+        sealedSegments.set(Math.max(0, listSegments().size() - stripeCount));
+        log.info("포인트 원장 열기 완료 - 경로: {}, 스트라이프: {}, 소요시간: {}ms",
+            directory, stripeCount, System.currentTimeMillis() - startTime);
+
+        this.flusher = new Thread(this::flushLoop, "PointLedger-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        if (compactAfterSegments > 0 && sealedSegments.get() >= compactAfterSegments) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * 포인트 적립 레코드를 추가하고, 디스크에 내려갈 때까지(그룹 커밋) 기다린다.
+     */
+    public void append(String userId, long points) {
+        byte[] record = encode(userId, points);
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("레코드가 세그먼트보다 큼: " + record.length + " bytes");
+        }
+        Stripe stripe = stripes[(int) (Thread.currentThread().threadId() % stripes.length)];
+
+        stripe.lock.lock();
+        try {
+            if (stripe.active.remaining() < record.length) {
+                roll(stripe);
+            }
+            stripe.active.write(record);
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        awaitDurable(writeTickets.incrementAndGet());
+    }
+
+    /**
+     * 스냅샷과 남아 있는 세그먼트를 순서대로 읽어 (userId, 포인트) 를 전달한다.
+     */
+    public void replay(ObjLongConsumer<String> consumer) throws IOException {
+        compactionLock.lock();
+        try {
+            Map<Integer, Long> covered = readSnapshot(consumer);
+            for (Path segment : listSegments()) {
+                if (!isCovered(segment, covered)) {
+                    readSegment(segment, consumer);
+                }
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * 현재까지의 모든 레코드를 사용자별 합계 스냅샷으로 압축하고, 스냅샷에 반영된 세그먼트를 삭제한다.
+     */
+    public void compact() throws IOException {
+        compactionLock.lock();
+        try {
+            long startTime = System.currentTimeMillis();
+
+            // 1. 새 쓰기가 새 세그먼트로 가도록 기록 중인 세그먼트를 봉인
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    if (stripe.active.position > 0) {
+                        roll(stripe);
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+
+            // 2. 이전 스냅샷 + 봉인된 세그먼트 합산
+            Map<String, Long> balances = new HashMap<>();
+            Map<Integer, Long> covered = readSnapshot((userId, points) -> balances.merge(userId, points, Long::sum));
+            List<Path> sealed = new ArrayList<>();
+            for (Path segment : listSegments()) {
+                if (!isCovered(segment, covered) && !isActive(segment)) {
+                    sealed.add(segment);
+                    readSegment(segment, (userId, points) -> balances.merge(userId, points, Long::sum));
+                }
+            }
+            for (Path segment : sealed) {
+                Matcher matcher = matcher(segment);
+                covered.merge(Integer.parseInt(matcher.group(1)), Long.parseLong(matcher.group(2)), Math::max);
+            }
+
+            // 3. 스냅샷(합계 + 반영된 세그먼트 번호)을 원자적으로 교체한 뒤 세그먼트 삭제
+            //    삭제 전에 중단되더라도 다음 시작 시 스냅샷에 반영된 세그먼트는 건너뛰고 지운다
+            writeSnapshot(balances, covered);
+            deleteCoveredSegments(covered);
+            sealedSegments.addAndGet(-sealed.size());
+
+            log.info("포인트 원장 압축 완료 - 사용자: {}명, 삭제된 세그먼트: {}개, 소요시간: {}ms",
+                balances.size(), sealed.size(), System.currentTimeMillis() - startTime);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷에 아직 반영되지 않은 봉인 세그먼트 수
+     */
+    public int getSealedSegmentCount() {
+        return Math.max(0, sealedSegments.get());
+    }
+
+    public long getFlushCount() {
+        flushLock.lock();
+        try {
+            return flushCount;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        running = false;
+        flushLock.lock();
+        try {
+            flushRequested.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                force(stripe.active);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        log.info("포인트 원장 종료 - 경로: {}", directory);
+    }
+
+    private void awaitDurable(long ticket) {
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+            while (durableTicket < ticket) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("포인트 원장 디스크 기록 실패 - 적립이 보존되지 않았을 수 있음", flushFailure);
+                }
+                if (!flusher.isAlive()) {
+                    throw new IllegalStateException("포인트 원장이 종료됨");
+                }
+                flushCompleted.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            flushLock.lock();
+            try {
+                while (running && durableTicket == writeTickets.get()) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                target = writeTickets.get();
+                if (!running && durableTicket == target) {
+                    flushCompleted.signalAll();
+                    return;
+                }
+            } finally {
+                flushLock.unlock();
+            }
+
+            // target 이하 티켓의 레코드는 모두 복사가 끝난 상태이므로 한 번의 force 로 함께 내린다
+            try {
+                for (Stripe stripe : stripes) {
+                    Segment segment;
+                    stripe.lock.lock();
+                    try {
+                        segment = stripe.active;
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                    force(segment);
+                }
+            } catch (RuntimeException e) {
+                // 이 스레드가 죽으면 아무도 깨우지 않으므로, 실패를 남기고 기다리는 쓰기 스레드를 모두 깨운 뒤 멈춘다
+                log.error("포인트 원장 flush 실패 - 이후 적립은 모두 실패 처리", e);
+                flushLock.lock();
+                try {
+                    flushFailure = e;
+                    flushCompleted.signalAll();
+                } finally {
+                    flushLock.unlock();
+                }
+                return;
+            }
+
+            flushLock.lock();
+            try {
+                durableTicket = target;
+                flushCount++;
+                flushCompleted.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // stripe.lock 을 잡은 상태에서 호출한다.
+    private void roll(Stripe stripe) {
+        Segment previous = stripe.active;
+        // 봉인하는 세그먼트는 여기서 바로 내린다 (flush 스레드는 기록 중인 세그먼트만 내림)
+        force(previous);
+        stripe.active = openSegment(stripe.index, previous.number + 1, 0);
+        if (sealedSegments.incrementAndGet() >= compactAfterSegments && compactAfterSegments > 0
+            && !compactionLock.isHeldByCurrentThread()) {
+            // 압축은 스트라이프 락을 모두 잡으므로 여기서 직접 실행하지 않는다 (압축 중의 봉인은 이번 압축에 포함됨)
+            scheduleCompaction();
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(() -> {
+                compactionScheduled.set(false);
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    log.error("포인트 원장 자동 압축 실패 - 다음 세그먼트 봉인 시 다시 시도", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 남은 세그먼트는 다음 시작 때 압축한다
+            compactionScheduled.set(false);
+        }
+    }
+
+    /**
+     * 세그먼트를 디스크에 내린다 - 테스트에서 디스크 오류를 흉내 낼 수 있도록 분리
+     */
+    void force(MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    private void force(Segment segment) {
+        force(segment.buffer);
+    }
+
+    private boolean isActive(Path segment) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (stripe.active.path.equals(segment)) {
+                    return true;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    private boolean isCovered(Path segment, Map<Integer, Long> covered) {
+        Matcher matcher = matcher(segment);
+        Long coveredNumber = covered.get(Integer.parseInt(matcher.group(1)));
+        return coveredNumber != null && Long.parseLong(matcher.group(2)) <= coveredNumber;
+    }
+
+    private void deleteCoveredSegments(Map<Integer, Long> covered) throws IOException {
+        for (Path segment : listSegments()) {
+            if (isCovered(segment, covered)) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    private Stripe openStripe(int index) throws IOException {
+        Path last = null;
+        long lastNumber = -1;
+        for (Path segment : listSegments()) {
+            Matcher matcher = matcher(segment);
+            if (Integer.parseInt(matcher.group(1)) == index) {
+                last = segment;
+                lastNumber = Long.parseLong(matcher.group(2));
+            }
+        }
+
+        if (last == null) {
+            return new Stripe(index, openSegment(index, 0, 0));
+        }
+        // 마지막 세그먼트의 유효한 레코드 끝(잘린 레코드 이전)부터 이어서 쓴다
+        int end = readSegment(last, (userId, points) -> { });
+        return new Stripe(index, openSegment(index, lastNumber, end));
+    }
+
+    private Segment openSegment(int stripe, long number, int position) {
+        Path path = directory.resolve(String.format("points-%d-%010d.log", stripe, number));
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            if (position > 0) {
+                // 잘린 레코드가 남아 있으면 이후 복구에서 유효한 레코드로 오인하지 않도록 지운다
+                for (int i = position; i < Math.min(position + HEADER_SIZE, segmentSize); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+            return new Segment(path, number, buffer, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 열기 실패: " + path, e);
+        }
+    }
+
+    private static Matcher matcher(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("세그먼트 파일 이름이 아님: " + segment);
+        }
+        return matcher;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .toList();
+        }
+    }
+
+    /**
+     * 세그먼트의 유효한 레코드를 읽고, 마지막 유효 레코드의 끝 위치를 반환한다.
+     */
+    private int readSegment(Path segment, ObjLongConsumer<String> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            int position = 0;
+            while (position + HEADER_SIZE <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= HEADER_SIZE || position + length > buffer.limit()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(position + HEADER_SIZE, length - HEADER_SIZE);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                    log.warn("손상된 레코드 발견, 이후 레코드 무시 - 세그먼트: {}, 위치: {}", segment.getFileName(), position);
+                    break;
+                }
+                long points = payload.getLong();
+                byte[] userId = new byte[Short.toUnsignedInt(payload.getShort())];
+                payload.get(userId);
+                consumer.accept(new String(userId, StandardCharsets.UTF_8), points);
+                position += length;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * 스냅샷의 합계를 전달하고, 스트라이프별로 스냅샷에 반영된 마지막 세그먼트 번호를 반환한다.
+     */
+    private Map<Integer, Long> readSnapshot(ObjLongConsumer<String> consumer) throws IOException {
+        Map<Integer, Long> covered = new HashMap<>();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return covered;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        int stripeCount = buffer.getInt();
+        for (int i = 0; i < stripeCount; i++) {
+            covered.put(buffer.getInt(), buffer.getLong());
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] userId = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(userId);
+            consumer.accept(new String(userId, StandardCharsets.UTF_8), buffer.getLong());
+        }
+        return covered;
+    }
+
+    private void writeSnapshot(Map<String, Long> balances, Map<Integer, Long> covered) throws IOException {
+        List<Map.Entry<byte[], Long>> encoded = new ArrayList<>(balances.size());
+        int size = Integer.BYTES + covered.size() * (Integer.BYTES + Long.BYTES) + Integer.BYTES;
+        for (Map.Entry<String, Long> entry : balances.entrySet()) {
+            byte[] userId = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            encoded.add(Map.entry(userId, entry.getValue()));
+            size += Short.BYTES + userId.length + Long.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(covered.size());
+        covered.forEach((stripe, number) -> buffer.putInt(stripe).putLong(number));
+        buffer.putInt(encoded.size());
+        for (Map.Entry<byte[], Long> entry : encoded) {
+            buffer.putShort((short) entry.getKey().length).put(entry.getKey()).putLong(entry.getValue());
+        }
+        buffer.flip();
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static byte[] encode(String userId, long points) {
+        byte[] id = userId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_USER_ID_BYTES) {
+            // 길이를 2바이트로 기록하므로 넘치면 잘린 길이로 기록되어 복구 시 레코드를 잘못 읽는다
+            throw new IllegalArgumentException("사용자 ID 가 너무 김: " + id.length + " bytes (최대 " + MAX_USER_ID_BYTES + ")");
+        }
+        int length = HEADER_SIZE + Long.BYTES + Short.BYTES + id.length;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length).putInt(0).putLong(points).putShort((short) id.length).put(id);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER_SIZE, length - HEADER_SIZE);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static final class Stripe {
+
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Segment active;
+
+        private Stripe(int index, Segment active) {
+            this.index = index;
+            this.active = active;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long number;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(Path path, long number, MappedByteBuffer buffer, int position) {
+            this.path = path;
+            this.number = number;
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        private void write(byte[] record) {
+            buffer.put(position, record);
+            position += record.length;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.f1v3.async.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "async.point.ledger.enabled", havingValue = "true")
+public class PointLedgerConfig {
+
+    @Bean
+    public PointLedger pointLedger(@Value("${async.point.ledger.directory}") String directory,
+                                   @Value("${async.point.ledger.stripes:0}") int stripes,
+                                   @Value("${async.point.ledger.segment-size-mb:64}") int segmentSizeMb,
+                                   @Value("${async.point.ledger.compact-after-segments:16}") int compactAfterSegments,
+                                   PointBalanceStore pointBalanceStore) throws IOException {
+        // 스트라이프 수를 지정하지 않으면 코어 수만큼 나눈다
+        int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        PointLedger ledger = new PointLedger(Path.of(directory), stripeCount, segmentSizeMb * 1024 * 1024,
+            compactAfterSegments);
+
+        // 마지막 스냅샷의 합계와 그 뒤에 쌓인 세그먼트로 메모리 잔액을 복구한다
+        ledger.replay(pointBalanceStore::add);
+        return ledger;
+    }
+}
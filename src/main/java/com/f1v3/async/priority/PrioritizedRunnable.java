@@ -0,0 +1,12 @@
+package com.f1v3.async.priority;
+
+/**
+ * 우선순위 등급을 가진 작업
+ */
+public record PrioritizedRunnable(RegistrationPriority priority, Runnable task) implements Runnable {
+
+    @Override
+    public void run() {
+        task.run();
+    }
+}
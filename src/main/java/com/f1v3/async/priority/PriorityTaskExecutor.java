@@ -0,0 +1,31 @@
+package com.f1v3.async.priority;
+
+import com.f1v3.async.executor.TaskTracker;
+import com.f1v3.async.executor.TrackingThreadPoolExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가중치 공정 큐를 사용하는 고정 크기 스레드 풀
+ * <p>
+ * {@link #forPriority(RegistrationPriority)} 로 얻은 Executor 에 제출한 작업은 해당 등급의 레인에 들어간다.
+ */
+public class PriorityTaskExecutor extends TrackingThreadPoolExecutor {
+
+    public PriorityTaskExecutor(int poolSize, long starvationThreshold, TimeUnit unit) {
+        this(poolSize, starvationThreshold, unit, new TaskTracker("priority", () -> poolSize));
+    }
+
+    public PriorityTaskExecutor(int poolSize, long starvationThreshold, TimeUnit unit, TaskTracker tracker) {
+        super(poolSize, new WeightedFairQueue(RegistrationPriority.STANDARD, starvationThreshold, unit), tracker);
+    }
+
+    public Executor forPriority(RegistrationPriority priority) {
+        return command -> execute(new PrioritizedRunnable(priority, command));
+    }
+
+    public int getQueueSize(RegistrationPriority priority) {
+        return ((WeightedFairQueue) getQueue()).size(priority);
+    }
+}
@@ -0,0 +1,64 @@
+package com.f1v3.async.priority;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.profiling.RegistrationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class PriorityUserService {
+
+    private final EmailService emailService;
+    private final PointService pointService;
+    private final PriorityTaskExecutor executorService;
+
+    public PriorityUserService(EmailService emailService, PointService pointService, ExecutorRegistry executorRegistry) {
+        this.emailService = emailService;
+        this.pointService = pointService;
+        this.executorService = new PriorityTaskExecutor(10, 30, TimeUnit.SECONDS, executorRegistry.register("priority", () -> 10));
+        executorRegistry.manage("priority", executorService);
+    }
+
+    public void registerUser(String userId, String email, RegistrationPriority priority) {
+        long startTime = System.currentTimeMillis();
+        log.info("=== 우선순위 방식 회원가입 시작 - 사용자: {}, 등급: {} ===", userId, priority);
+        RegistrationEvent registration = RegistrationEvent.start("priority", userId, email);
+
+        registerUserAsync(userId, email, priority).join();
+        registration.finish(true);
+
+        long endTime = System.currentTimeMillis();
+        log.info("=== 우선순위 방식 회원가입 완료 - 등급: {}, 총 소요시간: {}ms ===", priority, endTime - startTime);
+    }
+
+    public CompletableFuture<String> registerUserAsync(String userId, String email, RegistrationPriority priority) {
+        // 등급별 레인으로 제출 (대량 이관 작업이 밀려 있어도 유료/제휴 가입이 먼저 처리됨)
+        Executor executor = executorService.forPriority(priority);
+
+        CompletableFuture<String> emailFuture = CompletableFuture.supplyAsync(() -> {
+            emailService.sendWelcomeEmail(email);
+            return "메일 발송 완료: " + email;
+        }, executor);
+
+        CompletableFuture<String> pointFuture = CompletableFuture.supplyAsync(() -> {
+            pointService.addWelcomePoints(userId);
+            return "포인트 적립 완료: " + userId;
+        }, executor);
+
+        return emailFuture.thenCombine(pointFuture, (emailResult, pointResult) -> {
+            log.info("우선순위 작업 완료 [{}] - {}, {}", priority, emailResult, pointResult);
+            return emailResult + ", " + pointResult;
+        });
+    }
+
+    public int getQueueSize(RegistrationPriority priority) {
+        return executorService.getQueueSize(priority);
+    }
+}
@@ -0,0 +1,21 @@
+package com.f1v3.async.priority;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원가입 요청의 우선순위 등급
+ * <p>
+ * weight 는 가중치 공정 큐에서 각 등급이 받는 처리량 비율이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RegistrationPriority {
+
+    PARTNER(8),   // 제휴사 가입
+    PAID(4),      // 유료 플랜 가입
+    STANDARD(2),  // 일반 가입
+    BULK(1);      // 대량 이관(마이그레이션)
+
+    private final int weight;
+}
@@ -0,0 +1,243 @@
+package com.f1v3.async.priority;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위 등급별 가중치 공정 큐 (Smooth Weighted Round-Robin)
+ * <p>
+ * 등급마다 FIFO 레인을 두고, 비어 있지 않은 레인 사이에서 가중치 비율대로 작업을 꺼낸다.
+ * 레인의 맨 앞 작업이 starvationThreshold 이상 대기하면 가중치와 무관하게 가장 오래 기다린 작업을 먼저 꺼낸다.
+ */
+public class WeightedFairQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final RegistrationPriority[] PRIORITIES = RegistrationPriority.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<RegistrationPriority, ArrayDeque<Entry>> lanes = new EnumMap<>(RegistrationPriority.class);
+    private final int[] currentWeights = new int[PRIORITIES.length];
+    private final RegistrationPriority defaultPriority;
+    private final long starvationThresholdNanos;
+    private int count;
+
+    public WeightedFairQueue(RegistrationPriority defaultPriority, long starvationThreshold, TimeUnit unit) {
+        this.defaultPriority = defaultPriority;
+        this.starvationThresholdNanos = unit.toNanos(starvationThreshold);
+        for (RegistrationPriority priority : PRIORITIES) {
+            lanes.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        RegistrationPriority priority = task instanceof PrioritizedRunnable prioritized
+            ? prioritized.priority()
+            : defaultPriority;
+
+        lock.lock();
+        try {
+            lanes.get(priority).addLast(new Entry(task, System.nanoTime()));
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) {
+        offer(task);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (RegistrationPriority priority : PRIORITIES) {
+                Entry head = lanes.get(priority).peekFirst();
+                if (head != null) {
+                    return head.task();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(RegistrationPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (count > 0 && drained < maxElements) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> lane : lanes.values()) {
+                if (lane.removeIf(entry -> entry.task() == o)) {
+                    count--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Runnable> iterator() {
+        // ThreadPoolExecutor.purge()/toString 용도의 스냅샷 반복자
+        lock.lock();
+        try {
+            List<Runnable> snapshot = new ArrayList<>(count);
+            for (ArrayDeque<Entry> lane : lanes.values()) {
+                lane.forEach(entry -> snapshot.add(entry.task()));
+            }
+            return snapshot.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 을 잡은 상태에서 count > 0 일 때만 호출한다.
+    private Runnable dequeue() {
+        ArrayDeque<Entry> lane = lanes.get(selectLane(System.nanoTime()));
+        count--;
+        return lane.pollFirst().task();
+    }
+
+    private RegistrationPriority selectLane(long now) {
+        // 1. 기아 방지: 임계 시간을 넘긴 작업 중 가장 오래 기다린 작업의 레인
+        RegistrationPriority starved = null;
+        long oldest = Long.MAX_VALUE;
+        for (RegistrationPriority priority : PRIORITIES) {
+            Entry head = lanes.get(priority).peekFirst();
+            if (head != null && now - head.enqueuedAt() >= starvationThresholdNanos && head.enqueuedAt() < oldest) {
+                starved = priority;
+                oldest = head.enqueuedAt();
+            }
+        }
+        if (starved != null) {
+            return starved;
+        }
+
+        // 2. Smooth Weighted Round-Robin
+        RegistrationPriority selected = null;
+        int totalWeight = 0;
+        for (RegistrationPriority priority : PRIORITIES) {
+            int index = priority.ordinal();
+            if (lanes.get(priority).isEmpty()) {
+                currentWeights[index] = 0;
+                continue;
+            }
+            currentWeights[index] += priority.getWeight();
+            totalWeight += priority.getWeight();
+            if (selected == null || currentWeights[index] > currentWeights[selected.ordinal()]) {
+                selected = priority;
+            }
+        }
+        currentWeights[selected.ordinal()] -= totalWeight;
+        return selected;
+    }
+
+    private record Entry(Runnable task, long enqueuedAt) {
+    }
+}
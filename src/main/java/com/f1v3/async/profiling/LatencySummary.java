@@ -0,0 +1,7 @@
+package com.f1v3.async.profiling;
+
+/**
+ * 최근 구간의 지연 요약 (μs 단위)
+ */
+public record LatencySummary(long count, long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+}
@@ -0,0 +1,118 @@
+package com.f1v3.async.profiling;
+
+import com.f1v3.async.executor.Discardable;
+import com.f1v3.async.executor.TaskTracker;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제출되는 작업마다 {@link QueueWaitEvent} 를 남기는 실행기 래퍼
+ * <p>
+ * submit/invokeAll 도 결국 {@link #execute(Runnable)} 를 거치므로 모든 제출 경로의 대기 시간이 기록된다.
+ * 함께 받은 {@link TaskTracker} 에는 제출 수와 실행 중인 작업을 알린다.
+ * <p>
+ * submit 으로 만든 Future 는 {@link Discardable} 이라, 버림 정책으로 버려지면 예외로 끝나고 감싼 작업(outbox 항목 등)도 되돌린다.
+ * 거부된 작업도 같은 방식으로 되돌린다.
+ */
+public class ProfiledExecutorService extends AbstractExecutorService {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final TaskTracker tracker;
+
+    public ProfiledExecutorService(String name, ExecutorService delegate) {
+        this(name, delegate, new TaskTracker(name, () -> 0));
+    }
+
+    public ProfiledExecutorService(String name, ExecutorService delegate, TaskTracker tracker) {
+        this.name = name;
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            delegate.execute(tracker.wrap(QueueWaitEvent.track(name, command)));
+        } catch (RejectedExecutionException e) {
+            tracker.onReject();
+            Discardable.tryDiscard(command, e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new DiscardableFutureTask<>(callable);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new DiscardableFutureTask<>(runnable, value);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = delegate.shutdownNow();
+        tracker.onDiscard(pending.size());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    public TaskTracker getTracker() {
+        return tracker;
+    }
+
+    private static final class DiscardableFutureTask<T> extends FutureTask<T> implements Discardable {
+
+        private final Object work;
+
+        private DiscardableFutureTask(Callable<T> callable) {
+            super(callable);
+            this.work = callable;
+        }
+
+        private DiscardableFutureTask(Runnable runnable, T value) {
+            super(runnable, value);
+            this.work = runnable;
+        }
+
+        @Override
+        public void discard(RejectedExecutionException cause) {
+            if (work instanceof Discardable discardable) {
+                discardable.discard(cause);
+            }
+            setException(cause);
+        }
+    }
+}
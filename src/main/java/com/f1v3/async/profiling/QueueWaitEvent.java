@@ -0,0 +1,50 @@
+package com.f1v3.async.profiling;
+
+import com.f1v3.async.executor.WrappedTask;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 작업이 실행기에 제출된 뒤 작업자 스레드에서 실행을 시작하기까지의 대기 구간
+ * <p>
+ * 실행을 시작한 작업자 스레드에서 커밋되므로, 같은 스레드에서 바로 이어지는 단계 이벤트와 묶어 볼 수 있다.
+ */
+@Name(QueueWaitEvent.NAME)
+@Label("Queue Wait")
+@Category({"Async", "Executor"})
+@Description("작업 제출부터 실행 시작까지의 대기 시간")
+@StackTrace(false)
+public class QueueWaitEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.QueueWait";
+
+    @Label("Executor")
+    String executor;
+
+    /**
+     * 기록 중일 때만 대기 시간을 재는 래퍼를 씌우고, 아니면 작업을 그대로 돌려준다.
+     */
+    public static Runnable track(String executor, Runnable task) {
+        QueueWaitEvent event = new QueueWaitEvent();
+        if (!event.isEnabled()) {
+            return task;
+        }
+        event.executor = executor;
+        event.begin();
+        return new WrappedTask() {
+            @Override
+            public void run() {
+                event.commit();
+                task.run();
+            }
+
+            @Override
+            public Runnable unwrap() {
+                return task;
+            }
+        };
+    }
+}
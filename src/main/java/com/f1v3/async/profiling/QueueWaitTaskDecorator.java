@@ -0,0 +1,20 @@
+package com.f1v3.async.profiling;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@code ThreadPoolTaskExecutor} 에 제출되는 작업의 대기 시간을 기록하는 데코레이터
+ */
+public class QueueWaitTaskDecorator implements TaskDecorator {
+
+    private final String executor;
+
+    public QueueWaitTaskDecorator(String executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return QueueWaitEvent.track(executor, runnable);
+    }
+}
@@ -0,0 +1,44 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 회원가입 단계가 시간 초과나 취소로 중단된 시점을 남기는 순간 이벤트
+ * <p>
+ * 어디서 중단을 결정했는지 알 수 있도록 스택 트레이스를 함께 기록한다.
+ */
+@Name(RegistrationAbortEvent.NAME)
+@Label("Registration Abort")
+@Category({"Async", "Registration"})
+@Description("회원가입 단계의 시간 초과 및 취소")
+public class RegistrationAbortEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.RegistrationAbort";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Reason")
+    @Description("TIMEOUT, CANCELLED, FAILED")
+    String reason;
+
+    public static void emit(String strategy, String userId, String stage, String reason) {
+        RegistrationAbortEvent event = new RegistrationAbortEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategy;
+            event.userId = userId;
+            event.stage = stage;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+}
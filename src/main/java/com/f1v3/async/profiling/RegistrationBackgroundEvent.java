@@ -0,0 +1,53 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 호출자에게 응답한 뒤에도 이어지는 회원가입 후속 작업(메일 등)을 기록하는 JFR 이벤트
+ * <p>
+ * 가입 시작부터 백그라운드 작업이 끝날 때까지의 구간이며, 같은 가입의 {@link RegistrationEvent} 가 호출자가 기다린 구간이다.
+ */
+@Name(RegistrationBackgroundEvent.NAME)
+@Label("Registration Background")
+@Category({"Async", "Registration"})
+@Description("응답 후 백그라운드로 마무리되는 회원가입 단계")
+@StackTrace(false)
+public class RegistrationBackgroundEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.RegistrationBackground";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Outcome")
+    @Description("SENT, FAILED")
+    String outcome;
+
+    public static RegistrationBackgroundEvent start(String strategy, String userId, String stage) {
+        RegistrationBackgroundEvent event = new RegistrationBackgroundEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategy;
+            event.userId = userId;
+            event.stage = stage;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 회원가입 한 건의 시작부터 끝까지를 기록하는 JFR 이벤트
+ * <p>
+ * 기록 중이 아니면 {@link #isEnabled()} 가 false 라 필드 설정과 커밋이 모두 생략된다.
+ */
+@Name(RegistrationEvent.NAME)
+@Label("Registration")
+@Category({"Async", "Registration"})
+@Description("전략별 회원가입 요청 처리 구간")
+@StackTrace(false)
+public class RegistrationEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.Registration";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Email")
+    String email;
+
+    @Label("Success")
+    boolean success;
+
+    public static RegistrationEvent start(String strategy, String userId, String email) {
+        RegistrationEvent event = new RegistrationEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategy;
+            event.userId = userId;
+            event.email = email;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(boolean success) {
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프로세스 안에서 JFR 이벤트 스트림을 구독해 회원가입 단계별 지연을 집계하는 프로파일러
+ * <p>
+ * 가입/대기/메일/포인트 이벤트로 최근 구간의 지연 분포를 유지하고, 느린 가입이 끝나면 같은 사용자의 단계 이벤트,
+ * 그 단계를 실행한 스레드의 락/파킹 대기, 겹친 GC 정지를 묶어 한 줄로 남긴다. 가상 스레드 고정(pinning)도 감지한다.
+ * <p>
+ * 이벤트 콜백은 스트림 스레드 하나에서만 실행되므로 상관 분석용 자료구조는 잠금 없이 다룬다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "async.profiling.enabled", havingValue = "true")
+public class RegistrationProfiler implements AutoCloseable {
+
+    private static final String GC_EVENT = "jdk.GarbageCollection";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK_EVENT = "jdk.ThreadPark";
+
+    private static final int WINDOW_SLOTS = 6;
+    private static final int MAX_PENDING = 10_000;
+    private static final int MAX_RECENT_SAMPLES = 4_096;
+
+    private final long slowThresholdMillis;
+    private final long windowMillis;
+    private final Duration reportInterval;
+    private final RecordingStream stream;
+
+    private final Map<String, RollingLatency> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong slowRegistrations = new AtomicLong();
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong abortEvents = new AtomicLong();
+
+    // 아래는 스트림 스레드 전용
+    private final Map<Long, StageSample> lastQueueWaitByThread = new HashMap<>();
+    private final Map<String, StageSample> emailStages = boundedMap();
+    private final Map<String, StageSample> pointStages = boundedMap();
+    private final Map<String, List<String>> abortsByUser = boundedMap();
+    private final Deque<BlockedSample> recentBlocking = new ArrayDeque<>();
+    private final Deque<GcSample> recentGc = new ArrayDeque<>();
+    private Instant lastReport = Instant.now();
+
+    public RegistrationProfiler(@Value("${async.profiling.slow-threshold-ms:3000}") long slowThresholdMillis,
+                                @Value("${async.profiling.window-seconds:60}") long windowSeconds,
+                                @Value("${async.profiling.blocked-threshold-ms:10}") long blockedThresholdMillis,
+                                @Value("${async.profiling.pinned-threshold-ms:20}") long pinnedThresholdMillis,
+                                @Value("${async.profiling.report-interval-seconds:60}") long reportIntervalSeconds) {
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.reportInterval = Duration.ofSeconds(reportIntervalSeconds);
+
+        this.stream = new RecordingStream();
+        stream.setMaxAge(Duration.ofSeconds(windowSeconds));
+        stream.enable(RegistrationEvent.NAME).withoutStackTrace();
+        stream.enable(QueueWaitEvent.NAME).withoutStackTrace();
+        stream.enable(WelcomeEmailEvent.NAME).withoutStackTrace();
+        stream.enable(WelcomePointsEvent.NAME).withoutStackTrace();
+        stream.enable(RegistrationAbortEvent.NAME).withStackTrace();
+        stream.enable(RegistrationBackgroundEvent.NAME).withoutStackTrace();
+        stream.enable(GC_EVENT);
+        // 임계값 이상 대기한 경우만 기록해 평상시 오버헤드를 낮춘다
+        stream.enable(MONITOR_ENTER_EVENT).withThreshold(Duration.ofMillis(blockedThresholdMillis)).withoutStackTrace();
+        stream.enable(THREAD_PARK_EVENT).withThreshold(Duration.ofMillis(blockedThresholdMillis)).withoutStackTrace();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMillis)).withStackTrace();
+
+        stream.onEvent(RegistrationEvent.NAME, this::onRegistration);
+        stream.onEvent(QueueWaitEvent.NAME, this::onQueueWait);
+        stream.onEvent(WelcomeEmailEvent.NAME, event -> onStage("email", event, emailStages, event.getString("email")));
+        stream.onEvent(WelcomePointsEvent.NAME, event -> onStage("points", event, pointStages, event.getString("userId")));
+        stream.onEvent(RegistrationAbortEvent.NAME, this::onAbort);
+        stream.onEvent(RegistrationBackgroundEvent.NAME, event -> record("background:" + event.getString("strategy"), event));
+        stream.onEvent(GC_EVENT, this::onGarbageCollection);
+        stream.onEvent(MONITOR_ENTER_EVENT, event -> onBlocked("monitor", event));
+        stream.onEvent(THREAD_PARK_EVENT, event -> onBlocked("park", event));
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.onFlush(this::reportIfDue);
+        stream.startAsync();
+
+        log.info("회원가입 프로파일러 시작 - 느린 가입 기준: {}ms, 집계 구간: {}초, 가상 스레드 고정 기준: {}ms",
+            slowThresholdMillis, windowSeconds, pinnedThresholdMillis);
+    }
+
+    /**
+     * 단계별 최근 지연 요약. 키는 {@code registration:<전략>}, {@code background:<전략>}, {@code queue-wait:<실행기>},
+     * {@code email}, {@code points}.
+     */
+    public Map<String, LatencySummary> getSummaries() {
+        long now = System.currentTimeMillis();
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        latencies.forEach((stage, latency) -> summaries.put(stage, latency.summarize(now)));
+        return summaries;
+    }
+
+    public LatencySummary getSummary(String stage) {
+        RollingLatency latency = latencies.get(stage);
+        return latency == null ? new LatencySummary(0, 0, 0, 0, 0) : latency.summarize(System.currentTimeMillis());
+    }
+
+    public long getSlowRegistrationCount() {
+        return slowRegistrations.get();
+    }
+
+    public long getPinnedCount() {
+        return pinnedEvents.get();
+    }
+
+    public long getAbortCount() {
+        return abortEvents.get();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+        log.info("회원가입 프로파일러 종료 - 느린 가입: {}건, 중단: {}건, 가상 스레드 고정: {}건",
+            slowRegistrations.get(), abortEvents.get(), pinnedEvents.get());
+    }
+
+    private void onRegistration(RecordedEvent event) {
+        String strategy = event.getString("strategy");
+        String userId = event.getString("userId");
+        record("registration:" + strategy, event);
+
+        StageSample email = emailStages.remove(event.getString("email"));
+        StageSample points = pointStages.remove(userId);
+        List<String> aborts = abortsByUser.remove(userId);
+        long millis = event.getDuration().toMillis();
+        if (millis < slowThresholdMillis) {
+            return;
+        }
+        slowRegistrations.incrementAndGet();
+
+        long gcCount = 0;
+        long gcPauseMillis = 0;
+        for (GcSample gc : recentGc) {
+            if (overlaps(gc.start(), gc.end(), event.getStartTime(), event.getEndTime())) {
+                gcCount++;
+                gcPauseMillis += gc.pause().toMillis();
+            }
+        }
+
+        log.warn("느린 회원가입 감지 - 전략: {}, 사용자: {}, 소요: {}ms, 성공: {} | 메일: {} | 포인트: {} | GC: {}회 정지 {}ms | 중단: {}",
+            strategy, userId, millis, event.getBoolean("success"), describe(email), describe(points),
+            gcCount, gcPauseMillis, aborts == null ? "없음" : aborts);
+    }
+
+    private void onQueueWait(RecordedEvent event) {
+        record("queue-wait:" + event.getString("executor"), event);
+        RecordedThread thread = event.getThread();
+        if (thread != null) {
+            lastQueueWaitByThread.put(thread.getId(), new StageSample(event.getString("executor"), event.getDuration(),
+                Duration.ZERO, Duration.ZERO, event.getEndTime(), null, threadName(thread)));
+        }
+    }
+
+    private void onStage(String stage, RecordedEvent event, Map<String, StageSample> pending, String key) {
+        record(stage, event);
+
+        RecordedThread thread = event.getThread();
+        Duration queueWait = Duration.ZERO;
+        Duration blocked = Duration.ZERO;
+        String threadName = null;
+        if (thread != null) {
+            threadName = threadName(thread);
+            // 같은 스레드에서 직전에 끝난 대기 이벤트가 이 단계를 실행한 작업의 대기 시간이다
+            StageSample wait = lastQueueWaitByThread.remove(thread.getId());
+            if (wait != null && !wait.end().isAfter(event.getStartTime())) {
+                queueWait = wait.duration();
+            }
+            for (BlockedSample sample : recentBlocking) {
+                if (sample.threadId() == thread.getId()
+                    && overlaps(sample.start(), sample.end(), event.getStartTime(), event.getEndTime())) {
+                    blocked = blocked.plus(sample.end().isAfter(event.getEndTime())
+                        ? Duration.between(sample.start(), event.getEndTime())
+                        : Duration.between(sample.start(), sample.end()));
+                }
+            }
+        }
+        pending.put(key, new StageSample(stage, event.getDuration(), queueWait, blocked, event.getEndTime(),
+            event.getString("outcome"), threadName));
+    }
+
+    private void onAbort(RecordedEvent event) {
+        abortEvents.incrementAndGet();
+        String stage = event.getString("stage");
+        String reason = event.getString("reason");
+        abortsByUser.computeIfAbsent(event.getString("userId"), userId -> new ArrayList<>(2))
+            .add(stage + ":" + reason);
+        log.info("회원가입 단계 중단 - 전략: {}, 사용자: {}, 단계: {}, 사유: {}",
+            event.getString("strategy"), event.getString("userId"), stage, reason);
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        append(recentGc, new GcSample(event.getString("name"), event.getStartTime(), event.getEndTime(),
+            event.getDuration("sumOfPauses")));
+    }
+
+    private void onBlocked(String kind, RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        if (thread != null) {
+            append(recentBlocking, new BlockedSample(thread.getId(), kind, event.getStartTime(), event.getEndTime()));
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        RecordedThread thread = event.getThread();
+        log.warn("가상 스레드 고정 감지 - 스레드: {}, 고정 시간: {}ms, 위치: {}",
+            threadName(thread), event.getDuration().toMillis(), topFrame(event));
+    }
+
+    private void reportIfDue() {
+        Instant now = Instant.now();
+        if (Duration.between(lastReport, now).compareTo(reportInterval) < 0) {
+            return;
+        }
+        lastReport = now;
+        getSummaries().forEach((stage, summary) -> {
+            if (summary.count() > 0) {
+                log.info("[프로파일] {} - 건수: {}, p50: {}ms, p90: {}ms, p99: {}ms, 최대: {}ms", stage, summary.count(),
+                    millis(summary.p50Micros()), millis(summary.p90Micros()), millis(summary.p99Micros()),
+                    millis(summary.maxMicros()));
+            }
+        });
+        // 상관 분석용 표본은 집계 구간이 지나면 쓸모가 없으므로 함께 정리한다
+        Instant expired = now.minusMillis(windowMillis);
+        recentGc.removeIf(gc -> gc.end().isBefore(expired));
+        recentBlocking.removeIf(sample -> sample.end().isBefore(expired));
+        lastQueueWaitByThread.values().removeIf(sample -> sample.end().isBefore(expired));
+    }
+
+    private void record(String stage, RecordedEvent event) {
+        latencies.computeIfAbsent(stage, key -> new RollingLatency(windowMillis, WINDOW_SLOTS))
+            .record(event.getEndTime().toEpochMilli(), event.getDuration().toNanos() / 1_000);
+    }
+
+    private static String describe(StageSample sample) {
+        if (sample == null) {
+            return "기록 없음";
+        }
+        return String.format("%dms [%s] (대기 %dms, 블로킹 %dms, 스레드 %s)", sample.duration().toMillis(),
+            sample.outcome(), sample.queueWait().toMillis(), sample.blocked().toMillis(), sample.threadName());
+    }
+
+    private static String threadName(RecordedThread thread) {
+        if (thread == null) {
+            return "unknown";
+        }
+        // 이름 없는 가상 스레드는 스레드 ID 로 구분한다
+        String name = thread.getJavaName();
+        return name == null || name.isEmpty() ? "virtual#" + thread.getJavaThreadId() : name;
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            // JDK 내부 프레임을 건너뛰고 고정을 일으킨 애플리케이션 코드를 가리킨다
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+    private static boolean overlaps(Instant start, Instant end, Instant rangeStart, Instant rangeEnd) {
+        return !end.isBefore(rangeStart) && !start.isAfter(rangeEnd);
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1_000.0);
+    }
+
+    private static <T> void append(Deque<T> samples, T sample) {
+        if (samples.size() == MAX_RECENT_SAMPLES) {
+            samples.pollFirst();
+        }
+        samples.addLast(sample);
+    }
+
+    private static <V> Map<String, V> boundedMap() {
+        // 가입 이벤트가 오지 않는 단계(비동기 반환, 이벤트 버스 소비자 등)가 쌓이지 않도록 오래된 것부터 버린다
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_PENDING;
+            }
+        };
+    }
+
+    private record StageSample(String stage, Duration duration, Duration queueWait, Duration blocked, Instant end,
+                               String outcome, String threadName) {
+    }
+
+    private record BlockedSample(long threadId, String kind, Instant start, Instant end) {
+    }
+
+    private record GcSample(String name, Instant start, Instant end, Duration pause) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.f1v3.async.profiling;
+
+/**
+ * 시간 창을 고정 길이 칸으로 나눠 칸마다 히스토그램을 두고, 창을 벗어난 칸은 재사용 시 비우는 이동 구간 지연 통계
+ */
+final class RollingLatency {
+
+    private final long slotMillis;
+    private final LatencyHistogram[] slots;
+    private final long[] slotIds;
+
+    RollingLatency(long windowMillis, int slotCount) {
+        this.slotMillis = Math.max(1, windowMillis / slotCount);
+        this.slots = new LatencyHistogram[slotCount];
+        this.slotIds = new long[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new LatencyHistogram();
+            slotIds[i] = -1;
+        }
+    }
+
+    synchronized void record(long epochMillis, long micros) {
+        long slotId = Math.floorDiv(epochMillis, slotMillis);
+        int index = (int) Math.floorMod(slotId, slots.length);
+        if (slotIds[index] != slotId) {
+            slots[index].reset();
+            slotIds[index] = slotId;
+        }
+        slots[index].record(micros);
+    }
+
+    synchronized LatencySummary summarize(long nowEpochMillis) {
+        long currentSlot = Math.floorDiv(nowEpochMillis, slotMillis);
+        LatencyHistogram merged = new LatencyHistogram();
+        for (int i = 0; i < slots.length; i++) {
+            if (slotIds[i] > currentSlot - slots.length && slotIds[i] <= currentSlot) {
+                merged.add(slots[i]);
+            }
+        }
+        return new LatencySummary(merged.getTotalCount(), merged.valueAtPercentile(50),
+            merged.valueAtPercentile(90), merged.valueAtPercentile(99), merged.getMaxValue());
+    }
+}
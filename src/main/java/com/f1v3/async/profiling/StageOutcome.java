@@ -0,0 +1,18 @@
+package com.f1v3.async.profiling;
+
+/**
+ * 단계 이벤트의 결과와 중단 사유로 쓰는 값
+ */
+public final class StageOutcome {
+
+    public static final String SENT = "SENT";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+    public static final String GRANTED = "GRANTED";
+    public static final String INTERRUPTED = "INTERRUPTED";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String CANCELLED = "CANCELLED";
+
+    private StageOutcome() {
+    }
+}
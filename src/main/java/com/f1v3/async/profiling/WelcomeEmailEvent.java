@@ -0,0 +1,40 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(WelcomeEmailEvent.NAME)
+@Label("Welcome Email")
+@Category({"Async", "Registration"})
+@Description("환영 메일 발송 구간 (sendWelcomeEmail)")
+@StackTrace(false)
+public class WelcomeEmailEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.WelcomeEmail";
+
+    @Label("Email")
+    String email;
+
+    @Label("Outcome")
+    @Description("SENT, SKIPPED, FAILED, INTERRUPTED")
+    String outcome;
+
+    public static WelcomeEmailEvent start(String email) {
+        WelcomeEmailEvent event = new WelcomeEmailEvent();
+        if (event.isEnabled()) {
+            event.email = email;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = Thread.currentThread().isInterrupted() ? StageOutcome.INTERRUPTED : outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.f1v3.async.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(WelcomePointsEvent.NAME)
+@Label("Welcome Points")
+@Category({"Async", "Registration"})
+@Description("가입 포인트 적립 구간 (addWelcomePoints)")
+@StackTrace(false)
+public class WelcomePointsEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.f1v3.async.WelcomePoints";
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Outcome")
+    @Description("GRANTED, INTERRUPTED")
+    String outcome;
+
+    public static WelcomePointsEvent start(String userId) {
+        WelcomePointsEvent event = new WelcomePointsEvent();
+        if (event.isEnabled()) {
+            event.userId = userId;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = Thread.currentThread().isInterrupted() ? StageOutcome.INTERRUPTED : outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.f1v3.async.simulation;
+
+/**
+ * 시뮬레이션 서비스 호출에 섞을 장애 비율
+ * <p>
+ * 설정 문자열 형식 ({@link #parse(String)}): {@code error=0.01,hang=0.001,hang-ms=30000,slow=0.05,slow-factor=4}
+ * (생략한 항목은 0, 빈 문자열이면 장애 없음)
+ *
+ * @param errorRate      지연 후 오류 응답으로 끝날 확률
+ * @param hangRate       응답 없이 hangMillis 동안 멈췄다가 실패할 확률
+ * @param slowdownRate   지연이 slowdownFactor 배로 늘어날 확률
+ */
+public record FaultProfile(double errorRate, double hangRate, long hangMillis, double slowdownRate, double slowdownFactor) {
+
+    public static final FaultProfile NONE = new FaultProfile(0, 0, 0, 0, 1);
+
+    public FaultProfile {
+        if (errorRate + hangRate > 1) {
+            throw new IllegalArgumentException("오류 확률과 멈춤 확률의 합이 1 을 넘음: " + errorRate + " + " + hangRate);
+        }
+    }
+
+    public static FaultProfile parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return NONE;
+        }
+        SpecParameters params = SpecParameters.parse(spec);
+        return new FaultProfile(
+            Double.parseDouble(params.get("error", "0")),
+            Double.parseDouble(params.get("hang", "0")),
+            Long.parseLong(params.get("hang-ms", "30000")),
+            Double.parseDouble(params.get("slow", "0")),
+            Double.parseDouble(params.get("slow-factor", "1")));
+    }
+}
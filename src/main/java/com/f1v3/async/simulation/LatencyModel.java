@@ -0,0 +1,113 @@
+package com.f1v3.async.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * 시뮬레이션 서비스 호출 한 번의 지연 시간 분포
+ * <p>
+ * 설정 문자열 형식 ({@link #parse(String)}):
+ * <ul>
+ *   <li>{@code constant:ms=2000} - 항상 같은 지연</li>
+ *   <li>{@code lognormal:median=2000,sigma=0.4} - 오른쪽 꼬리가 긴 로그정규 분포</li>
+ *   <li>{@code bimodal:median=1800,sigma=0.2,spike=8000,p=0.03} - 대부분 median 근처, 확률 p 로 spike 근처의 꼬리 지연</li>
+ *   <li>{@code trace:path=./data/email-latency.trace} - 운영에서 기록한 지연(ms, 한 줄에 하나)을 순서대로 재생</li>
+ * </ul>
+ */
+public interface LatencyModel {
+
+    long sampleMillis(RandomGenerator random);
+
+    static LatencyModel constant(long millis) {
+        return new ConstantLatency(millis);
+    }
+
+    static LatencyModel logNormal(long medianMillis, double sigma) {
+        return new LogNormalLatency(medianMillis, sigma);
+    }
+
+    static LatencyModel bimodal(long medianMillis, double sigma, long spikeMillis, double spikeProbability) {
+        return new BimodalLatency(new LogNormalLatency(medianMillis, sigma), new LogNormalLatency(spikeMillis, sigma),
+            spikeProbability);
+    }
+
+    static LatencyModel trace(Path path) {
+        try {
+            long[] samples = Files.readAllLines(path).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .mapToLong(Long::parseLong)
+                .toArray();
+            return new TraceLatency(samples);
+        } catch (IOException e) {
+            throw new UncheckedIOException("지연 기록 파일 읽기 실패: " + path, e);
+        }
+    }
+
+    static LatencyModel parse(String spec) {
+        int colon = spec.indexOf(':');
+        String type = (colon < 0 ? spec : spec.substring(0, colon)).strip();
+        SpecParameters params = SpecParameters.parse(colon < 0 ? "" : spec.substring(colon + 1));
+        return switch (type) {
+            case "constant" -> constant(params.getLong("ms"));
+            case "lognormal" -> logNormal(params.getLong("median"), params.getDouble("sigma"));
+            case "bimodal" -> bimodal(params.getLong("median"), params.getDouble("sigma"),
+                params.getLong("spike"), params.getDouble("p"));
+            case "trace" -> trace(Path.of(params.get("path")));
+            default -> throw new IllegalArgumentException("알 수 없는 지연 모델: " + spec);
+        };
+    }
+
+    record ConstantLatency(long millis) implements LatencyModel {
+
+        @Override
+        public long sampleMillis(RandomGenerator random) {
+            return millis;
+        }
+    }
+
+    record LogNormalLatency(long medianMillis, double sigma) implements LatencyModel {
+
+        @Override
+        public long sampleMillis(RandomGenerator random) {
+            // 로그정규 분포의 중앙값은 exp(mu) 이므로 mu = ln(median)
+            return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    record BimodalLatency(LatencyModel normal, LatencyModel spike, double spikeProbability) implements LatencyModel {
+
+        @Override
+        public long sampleMillis(RandomGenerator random) {
+            return random.nextDouble() < spikeProbability ? spike.sampleMillis(random) : normal.sampleMillis(random);
+        }
+    }
+
+    final class TraceLatency implements LatencyModel {
+
+        private final long[] samples;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        TraceLatency(long[] samples) {
+            if (samples.length == 0) {
+                throw new IllegalArgumentException("지연 기록이 비어 있음");
+            }
+            this.samples = samples;
+        }
+
+        @Override
+        public long sampleMillis(RandomGenerator random) {
+            // 여러 스레드가 호출해도 기록 순서대로 하나씩 꺼내고, 끝에 닿으면 처음부터 다시 재생한다
+            return samples[Math.floorMod(cursor.getAndIncrement(), samples.length)];
+        }
+
+        @Override
+        public String toString() {
+            return "TraceLatency[samples=" + samples.length + "]";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.f1v3.async.simulation;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메일 발송, 포인트 적립, 포인트 잔액 조회의 지연/장애 시뮬레이션 설정
+ * <p>
+ * 지연 모델과 장애 비율 형식은 {@link LatencyModel#parse(String)}, {@link FaultProfile#parse(String)} 참고.
+ * {@code async.simulation.clock=virtual} 이면 모든 지연이 {@link VirtualClock} 의 가상 시간으로 흐른다.
+ */
+@Slf4j
+@Component
+public class ServiceSimulation {
+
+    public static final String DEFAULT_EMAIL_LATENCY = "constant:ms=2000";
+    public static final String DEFAULT_POINTS_LATENCY = "constant:ms=1500";
+    public static final String DEFAULT_BALANCE_LATENCY = "constant:ms=100";
+
+    private final SimulationClock clock;
+    private final SimulatedDependency email;
+    private final SimulatedDependency points;
+    private final SimulatedDependency balance;
+
+    @Autowired
+    public ServiceSimulation(@Value("${async.simulation.email.latency:" + DEFAULT_EMAIL_LATENCY + "}") String emailLatency,
+                             @Value("${async.simulation.email.faults:}") String emailFaults,
+                             @Value("${async.simulation.points.latency:" + DEFAULT_POINTS_LATENCY + "}") String pointsLatency,
+                             @Value("${async.simulation.points.faults:}") String pointsFaults,
+                             @Value("${async.simulation.balance.latency:" + DEFAULT_BALANCE_LATENCY + "}") String balanceLatency,
+                             @Value("${async.simulation.balance.faults:}") String balanceFaults,
+                             @Value("${async.simulation.clock:system}") String clock,
+                             ExecutorRegistry executorRegistry) {
+        this(emailLatency, emailFaults, pointsLatency, pointsFaults, balanceLatency, balanceFaults, SimulationClock.parse(clock));
+        if (this.clock instanceof VirtualClock virtualClock) {
+            // 서비스 풀의 대기/실행 작업이 모두 가상 시간을 기다릴 때만 시간이 흐른다
+            virtualClock.track(executorRegistry);
+        }
+    }
+
+    ServiceSimulation(String emailLatency, String emailFaults, String pointsLatency, String pointsFaults,
+                      String balanceLatency, String balanceFaults, SimulationClock clock) {
+        this.clock = clock;
+        this.email = new SimulatedDependency("메일 서버", LatencyModel.parse(emailLatency), FaultProfile.parse(emailFaults),
+            this.clock);
+        this.points = new SimulatedDependency("포인트 시스템", LatencyModel.parse(pointsLatency), FaultProfile.parse(pointsFaults),
+            this.clock);
+        this.balance = new SimulatedDependency("포인트 잔액 조회", LatencyModel.parse(balanceLatency),
+            FaultProfile.parse(balanceFaults), this.clock);
+        log.info("서비스 시뮬레이션 - {}, {}, {}, 시계: {}", email, points, balance, this.clock);
+    }
+
+    /**
+     * 기존과 같은 고정 지연 (메일 2초, 포인트 1.5초, 잔액 조회 0.1초), 장애 없음
+     */
+    public static ServiceSimulation defaults() {
+        return new ServiceSimulation(DEFAULT_EMAIL_LATENCY, "", DEFAULT_POINTS_LATENCY, "", DEFAULT_BALANCE_LATENCY, "",
+            SimulationClock.system());
+    }
+
+    public SimulationClock clock() {
+        return clock;
+    }
+
+    public SimulatedDependency email() {
+        return email;
+    }
+
+    public SimulatedDependency points() {
+        return points;
+    }
+
+    /**
+     * 포인트 시스템에서 잔액을 읽는 호출 ({@code PointBalanceCache} 의 캐시 미스)
+     */
+    public SimulatedDependency balance() {
+        return balance;
+    }
+}
@@ -0,0 +1,99 @@
+package com.f1v3.async.simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 모델과 장애 비율에 따라 외부 서비스 호출을 흉내 내는 의존성 (메일 서버, 포인트 시스템)
+ * <p>
+ * 모델은 실행 중에 바꿀 수 있어 같은 애플리케이션 컨텍스트에서 여러 지연 분포를 차례로 비교할 수 있다.
+ * 지연은 {@link SimulationClock} 으로 흘려보내므로 가상 시계를 쓰면 실제로 블로킹하지 않는다.
+ */
+public class SimulatedDependency {
+
+    private final String name;
+    private final SimulationClock clock;
+    private volatile LatencyModel latencyModel;
+    private volatile FaultProfile faultProfile;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder hangs = new LongAdder();
+    private final LongAdder slowdowns = new LongAdder();
+
+    public SimulatedDependency(String name, LatencyModel latencyModel, FaultProfile faultProfile) {
+        this(name, latencyModel, faultProfile, SimulationClock.system());
+    }
+
+    public SimulatedDependency(String name, LatencyModel latencyModel, FaultProfile faultProfile, SimulationClock clock) {
+        this.name = name;
+        this.clock = clock;
+        this.latencyModel = latencyModel;
+        this.faultProfile = faultProfile;
+    }
+
+    /**
+     * 호출 한 번을 흉내 낸다 (호출 스레드가 지연 시간만큼 블로킹)
+     *
+     * @throws SimulatedFailureException 오류 응답 또는 응답 없음
+     */
+    public void call() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LatencyModel latency = latencyModel;
+        FaultProfile faults = faultProfile;
+        calls.increment();
+
+        double roll = random.nextDouble();
+        if (roll < faults.hangRate()) {
+            hangs.increment();
+            clock.sleep(faults.hangMillis());
+            throw new SimulatedFailureException(name + " 응답 없음 (" + faults.hangMillis() + "ms)");
+        }
+
+        long millis = Math.max(0, latency.sampleMillis(random));
+        if (random.nextDouble() < faults.slowdownRate()) {
+            slowdowns.increment();
+            millis = Math.round(millis * faults.slowdownFactor());
+        }
+        clock.sleep(millis);
+
+        if (roll < faults.hangRate() + faults.errorRate()) {
+            errors.increment();
+            throw new SimulatedFailureException(name + " 오류 응답 (" + millis + "ms 후)");
+        }
+    }
+
+    public void configure(LatencyModel latencyModel, FaultProfile faultProfile) {
+        this.latencyModel = latencyModel;
+        this.faultProfile = faultProfile;
+    }
+
+    /**
+     * 지금까지 오류 응답 또는 응답 없음으로 끝난 호출 수
+     */
+    public long getFailureCount() {
+        return errors.sum() + hangs.sum();
+    }
+
+    public LatencyModel getLatencyModel() {
+        return latencyModel;
+    }
+
+    public FaultProfile getFaultProfile() {
+        return faultProfile;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, %s, 호출 %d / 오류 %d / 멈춤 %d / 지연 증가 %d]", name, latencyModel, faultProfile,
+            calls.sum(), errors.sum(), hangs.sum(), slowdowns.sum());
+    }
+}
@@ -0,0 +1,11 @@
+package com.f1v3.async.simulation;
+
+/**
+ * 장애 주입으로 발생시킨 외부 서비스 오류
+ */
+public class SimulatedFailureException extends RuntimeException {
+
+    public SimulatedFailureException(String message) {
+        super(message);
+    }
+}
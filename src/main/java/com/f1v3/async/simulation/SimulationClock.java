@@ -0,0 +1,57 @@
+package com.f1v3.async.simulation;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시뮬레이션 지연이 흐르는 시계
+ * <p>
+ * 설정 값 ({@link #parse(String)}): {@code system} - 실제로 블로킹하는 시계, {@code virtual} - 가상 시간을 앞당기는 {@link VirtualClock}
+ */
+public interface SimulationClock {
+
+    long currentTimeMillis();
+
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * 현재 스레드가 일하는 동안 시간이 흐르지 않도록 등록한다 (가상 시계에서만 의미가 있음)
+     */
+    default void register() {
+    }
+
+    default void unregister() {
+    }
+
+    static SimulationClock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    static SimulationClock parse(String type) {
+        return switch (type.strip().toLowerCase(Locale.ROOT)) {
+            case "system" -> system();
+            case "virtual" -> new VirtualClock();
+            default -> throw new IllegalArgumentException("알 수 없는 시계: " + type);
+        };
+    }
+
+    enum SystemClock implements SimulationClock {
+
+        INSTANCE;
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+
+        @Override
+        public String toString() {
+            return "SystemClock";
+        }
+    }
+}
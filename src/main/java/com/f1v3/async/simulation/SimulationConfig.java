@@ -0,0 +1,18 @@
+package com.f1v3.async.simulation;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SimulationConfig {
+
+    /**
+     * 시뮬레이션 지연이 흐르는 시계 - 소요 시간을 재는 쪽도 같은 시계를 써야 가상 시간에서 값이 맞는다
+     * <p>
+     * 시계는 {@link ServiceSimulation} 이 만들지만 닫는 것은 컨테이너가 한다 - 가상 시계면 종료할 때 close() 로 시계 스레드를 멈춘다.
+     */
+    @Bean
+    public SimulationClock simulationClock(ServiceSimulation serviceSimulation) {
+        return serviceSimulation.clock();
+    }
+}
@@ -0,0 +1,45 @@
+package com.f1v3.async.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code key=value,key=value} 형식의 설정 값
+ */
+record SpecParameters(Map<String, String> values) {
+
+    static SpecParameters parse(String text) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String pair : text.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("key=value 형식이 아님: " + pair);
+            }
+            values.put(pair.substring(0, eq).strip(), pair.substring(eq + 1).strip());
+        }
+        return new SpecParameters(values);
+    }
+
+    String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("필수 설정 누락: " + key + " (" + values + ")");
+        }
+        return value;
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    long getLong(String key) {
+        return Long.parseLong(get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+}
@@ -0,0 +1,259 @@
+package com.f1v3.async.simulation;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.TaskTracker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 블로킹 없이 가상 시간만 앞당기는 시계 (테스트와 대규모 동시성 시나리오용)
+ * <p>
+ * {@link #sleep(long)} 을 호출한 스레드는 깨어날 가상 시각을 예약하고 기다린다. 시계 스레드는 실행할 수 있는 일이 하나도 남지 않으면
+ * 가장 이른 예약 시각으로 시간을 옮기고 그 시각에 예약한 스레드만 깨운다. 그래서 지연이 아무리 길어도 실제로는 CPU 작업 시간만 든다.
+ * <p>
+ * 실행할 수 있는 일은 추측하지 않고 다음을 직접 센다.
+ * <ul>
+ *     <li>{@link #track(ExecutorRegistry)} 로 알린 실행기에서 실행 중이면서 잠들지 않은 작업</li>
+ *     <li>그 실행기의 대기 작업 중 쉬는 작업 스레드가 바로 꺼내 갈 수 있는 작업</li>
+ *     <li>{@link #register()} 한 스레드 중 잠들지 않은 스레드</li>
+ *     <li>깨웠지만 아직 sleep 에서 돌아오지 않은 스레드</li>
+ * </ul>
+ * 이 수가 0 이면 남은 일은 모두 가상 시간을 기다리는 중이므로, 같은 순서로 일을 넣은 시나리오는 실행할 때마다 같은 가상 시각에 끝난다.
+ * <p>
+ * 추적하지 않는 스레드(직접 만든 스레드, ForkJoin 공용 풀)는 시간을 붙잡지 않으므로, 넘겨받은 일을 시작하기 전에 시간이 흐를 수 있다.
+ * 반대로 추적하는 작업이나 등록한 스레드가 시계가 아닌 것(다른 작업의 Future, 래치 등)을 기다리면 시간이 흐르지 않는다.
+ */
+@Slf4j
+public final class VirtualClock implements SimulationClock, AutoCloseable {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Wakeup> wakeups = new PriorityQueue<>();
+    private final Set<Thread> sleepers = new HashSet<>();
+    private final Set<Thread> registered = new HashSet<>();
+    private final List<ExecutorRegistry> registries = new CopyOnWriteArrayList<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicInteger updating = new AtomicInteger();
+    private final AtomicLong advances = new AtomicLong();
+    private final Thread ticker;
+    private int waking;
+    private long sequence;
+    private volatile long now;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long startMillis) {
+        this.now = startMillis;
+        this.ticker = new Thread(this::tick, "virtual-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        if (millis <= 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return;
+        }
+        Thread current = Thread.currentThread();
+        lock.lockInterruptibly();
+        try {
+            Wakeup wakeup = new Wakeup(now + millis, sequence++, current, lock.newCondition());
+            wakeups.add(wakeup);
+            sleepers.add(current);
+            changed();
+            try {
+                while (!wakeup.due) {
+                    wakeup.condition.await();
+                }
+            } catch (InterruptedException e) {
+                if (wakeup.due) {
+                    waking--;
+                } else {
+                    wakeups.remove(wakeup);
+                    sleepers.remove(current);
+                }
+                changed();
+                throw e;
+            }
+            waking--;
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 스레드를 {@link #unregister()} 할 때까지 실행할 수 있는 일로 센다 (이 스레드가 잠든 동안은 빼고 센다).
+     * 추적하지 않는 스레드(테스트의 호출 스레드 등)가 작업을 넣는 동안 시간이 앞서 가지 않게 할 때 쓴다.
+     */
+    @Override
+    public void register() {
+        lock.lock();
+        try {
+            registered.add(Thread.currentThread());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void unregister() {
+        lock.lock();
+        try {
+            registered.remove(Thread.currentThread());
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저장소에 등록된 실행기(이후에 등록되는 실행기 포함)의 대기/실행 작업을 실행할 수 있는 일로 센다.
+     */
+    public void track(ExecutorRegistry registry) {
+        registries.add(registry);
+        registry.addChangeListener(new TaskTracker.ChangeListener() {
+            @Override
+            public void beforeChange() {
+                updating.incrementAndGet();
+                changed();
+            }
+
+            @Override
+            public void afterChange() {
+                updating.decrementAndGet();
+                changed();
+            }
+        });
+        changed();
+    }
+
+    /**
+     * 시간을 앞당긴 횟수 (서로 다른 예약 시각의 수)
+     */
+    public long getAdvanceCount() {
+        return advances.get();
+    }
+
+    @Override
+    public void close() {
+        ticker.interrupt();
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualClock[now=" + now + "ms, advances=" + advances.get() + "]";
+    }
+
+    /**
+     * 실행할 수 있는 일이 바뀌었음을 알린다 - 시계 스레드는 세기 전후로 이 횟수를 비교해, 세는 도중에 바뀌었으면 센 값을 버리고 다시 센다.
+     * 세기 전부터 바뀌던 중인 실행기 추적기는 {@code updating} 으로 따로 걸러 낸다.
+     */
+    private void changed() {
+        changes.incrementAndGet();
+        LockSupport.unpark(ticker);
+    }
+
+    private void tick() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long observed = changes.get();
+            if (!tryAdvance(observed) && changes.get() == observed) {
+                // 다음 변화(sleep 예약, 작업 완료 등)가 깨울 때까지 대기
+                LockSupport.park(this);
+            }
+        }
+        log.debug("가상 시계 종료 - {}", this);
+    }
+
+    private boolean tryAdvance(long observed) {
+        lock.lock();
+        try {
+            // 추적기가 값을 바꾸는 중인지 먼저 보고 나서 세야, 바꾸기 시작한 뒤에 센 어긋난 값을 걸러 낼 수 있다
+            if (wakeups.isEmpty() || updating.get() > 0 || !idle() || changes.get() != observed) {
+                return false;
+            }
+            now = Math.max(now, wakeups.peek().at);
+            while (!wakeups.isEmpty() && wakeups.peek().at <= now) {
+                Wakeup wakeup = wakeups.poll();
+                wakeup.due = true;
+                sleepers.remove(wakeup.thread);
+                waking++;
+                wakeup.condition.signal();
+            }
+            advances.incrementAndGet();
+            changes.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실행할 수 있는 일이 하나도 없는지 (락을 쥐고 호출)
+     */
+    private boolean idle() {
+        if (waking > 0) {
+            // 앞서 깨운 스레드가 아직 sleep 에서 돌아오지 않음
+            return false;
+        }
+        for (Thread thread : registered) {
+            if (!sleepers.contains(thread)) {
+                return false;
+            }
+        }
+        for (ExecutorRegistry registry : registries) {
+            for (TaskTracker tracker : registry.getTrackers()) {
+                if (tracker.hasPendingHandoff()) {
+                    return false;
+                }
+                for (Thread thread : tracker.getRunningTasks().keySet()) {
+                    if (!sleepers.contains(thread)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class Wakeup implements Comparable<Wakeup> {
+
+        private final long at;
+        private final long sequence;
+        private final Thread thread;
+        private final Condition condition;
+        private boolean due;
+
+        private Wakeup(long at, long sequence, Thread thread, Condition condition) {
+            this.at = at;
+            this.sequence = sequence;
+            this.thread = thread;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Wakeup other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
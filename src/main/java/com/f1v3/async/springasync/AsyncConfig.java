@@ -1,9 +1,16 @@
 package com.f1v3.async.springasync;
 
+import com.f1v3.async.executor.ExecutorControl;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.ExecutorType;
+import com.f1v3.async.executor.RejectionPolicy;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.executor.TaskTracker;
+import com.f1v3.async.profiling.QueueWaitTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -11,14 +18,32 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
+    private static final int CORE_POOL_SIZE = 5;
+
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
+    public Executor taskExecutor(ServiceExecutorFactory executorFactory, ExecutorRegistry executorRegistry,
+                                 @Value("${async.executor.drain.timeout-ms:10000}") long drainTimeoutMillis) {
+        if (executorFactory.getType() == ExecutorType.RING) {
+            // 링 버퍼 실행기는 큐가 가득 차도 스레드를 늘리지 않으므로 코어 크기로 고정한다
+            return executorFactory.newFixedThreadPool("SpringAsync", CORE_POOL_SIZE);
+        }
+
+        TrackingThreadPoolTaskExecutor executor = new TrackingThreadPoolTaskExecutor("SpringAsync", executorRegistry);
+        TaskTracker tracker = executor.getTracker();
+        QueueWaitTaskDecorator queueWait = new QueueWaitTaskDecorator("SpringAsync");
+        executor.setCorePoolSize(CORE_POOL_SIZE);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("SpringAsync-");
+        // 서비스 전용 풀과 같은 예산으로 종료 시 대기 작업을 마저 처리한다
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(drainTimeoutMillis);
+        executor.setTaskDecorator(runnable -> tracker.wrap(queueWait.decorate(runnable)));
         executor.initialize();
+        // 거부 처리기는 ExecutorControl 이 맡아 실행 중에 정책을 바꿀 수 있게 한다
+        // (submit 경로는 예외를 받아 집계할 곳이 없으므로 거부 집계도 처리기가 한다)
+        executorRegistry.control(new ExecutorControl("SpringAsync", executor.getThreadPoolExecutor(), tracker,
+            RejectionPolicy.ABORT, true));
         return executor;
     }
 }
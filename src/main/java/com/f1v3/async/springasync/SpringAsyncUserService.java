@@ -2,6 +2,9 @@ package com.f1v3.async.springasync;
 
 import com.f1v3.async.common.EmailService;
 import com.f1v3.async.common.PointService;
+import com.f1v3.async.profiling.RegistrationEvent;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.RegistrationStep;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -16,10 +19,12 @@ public class SpringAsyncUserService {
 
     private final EmailService emailService;
     private final PointService pointService;
+    private final RegistrationStatusStore statusStore;
 
     public void registerUser(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== Spring Async 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("spring-async", userId, email);
 
         // @Async 메서드를 호출하여 비동기 처리
         CompletableFuture<String> emailFuture = sendEmailAsync(email);
@@ -37,6 +42,7 @@ public class SpringAsyncUserService {
                 log.error("Spring Async 결과 조회 중 오류 발생", e);
             }
         }).join();
+        registration.finish(true);
     }
 
     @Async("taskExecutor")
@@ -54,10 +60,11 @@ public class SpringAsyncUserService {
     @Async("taskExecutor")
     public CompletableFuture<Void> registerUserAsync(String userId, String email) {
         log.info("=== Spring Async 비동기 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("spring-async", userId);
 
         return CompletableFuture.runAsync(() -> {
-            emailService.sendWelcomeEmail(email);
-            pointService.addWelcomePoints(userId);
+            statusStore.run(ticket, RegistrationStep.EMAIL, () -> emailService.sendWelcomeEmail(email));
+            statusStore.run(ticket, RegistrationStep.POINTS, () -> pointService.addWelcomePoints(userId));
             log.info("Spring Async 비동기 처리 완료: {}", userId);
         });
     }
@@ -65,13 +72,16 @@ public class SpringAsyncUserService {
     @Async("taskExecutor")
     public CompletableFuture<String> registerUserWithException(String userId, String email) {
         log.info("=== Spring Async 예외 처리 방식 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("spring-async", userId);
 
         return CompletableFuture.supplyAsync(() -> {
-            if (userId.contains("exception")) {
-                throw new RuntimeException("Spring Async 의도적인 예외 발생");
-            }
-            emailService.sendWelcomeEmail(email);
-            pointService.addWelcomePoints(userId);
+            statusStore.run(ticket, RegistrationStep.EMAIL, () -> {
+                if (userId.contains("exception")) {
+                    throw new RuntimeException("Spring Async 의도적인 예외 발생");
+                }
+                emailService.sendWelcomeEmail(email);
+            });
+            statusStore.run(ticket, RegistrationStep.POINTS, () -> pointService.addWelcomePoints(userId));
             return "Spring Async 정상 처리 완료: " + userId;
         });
     }
@@ -79,10 +89,11 @@ public class SpringAsyncUserService {
     @Async("taskExecutor")
     public void registerUserFireAndForget(String userId, String email) {
         log.info("=== Spring Async Fire-and-Forget 방식 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("spring-async", userId);
 
-        // Fire-and-Forget 방식 (결과를 기다리지 않음)
-        sendEmailAsync(email);
-        addPointsAsync(userId);
+        // Fire-and-Forget 방식 (결과를 기다리지 않음) - 진행 상황은 상태 저장소로만 확인할 수 있다
+        statusStore.run(ticket, RegistrationStep.EMAIL, () -> sendEmailAsync(email));
+        statusStore.run(ticket, RegistrationStep.POINTS, () -> addPointsAsync(userId));
 
         log.info("=== Spring Async Fire-and-Forget 방식 회원가입 요청 완료 - 사용자: {} ===", userId);
     }
@@ -90,10 +101,11 @@ public class SpringAsyncUserService {
     @Async("taskExecutor")
     public CompletableFuture<String> registerUserAsyncWithResult(String userId, String email) {
         log.info("=== Spring Async 결과 반환 비동기 회원가입 시작 - 사용자: {} ===", userId);
+        long ticket = statusStore.accept("spring-async", userId);
 
         return CompletableFuture.supplyAsync(() -> {
-            emailService.sendWelcomeEmail(email);
-            pointService.addWelcomePoints(userId);
+            statusStore.run(ticket, RegistrationStep.EMAIL, () -> emailService.sendWelcomeEmail(email));
+            statusStore.run(ticket, RegistrationStep.POINTS, () -> pointService.addWelcomePoints(userId));
             log.info("Spring Async 비동기 처리 완료: {}", userId);
             return "Spring Async 처리 완료: " + userId;
         });
@@ -0,0 +1,38 @@
+package com.f1v3.async.springasync;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.ResizableBlockingQueue;
+import com.f1v3.async.executor.TaskTracker;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 실행 중에 대기열 용량을 바꿀 수 있고, 종료하며 취소한 대기 작업을 {@link TaskTracker} 에 알리는 Spring 스레드 풀
+ * <p>
+ * 제출과 실행 전후는 TaskDecorator 가 집계하지만 shutdownNow 로 꺼낸 작업은 실행되지 않으므로,
+ * 버린 작업으로 빼 주지 않으면 종료 후에도 대기 작업 수가 남는다.
+ */
+class TrackingThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final TaskTracker tracker;
+
+    TrackingThreadPoolTaskExecutor(String name, ExecutorRegistry executorRegistry) {
+        this.tracker = executorRegistry.register(name, this::getPoolSize);
+    }
+
+    TaskTracker getTracker() {
+        return tracker;
+    }
+
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        return new ResizableBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    protected void cancelRemainingTask(Runnable task) {
+        super.cancelRemainingTask(task);
+        tracker.onDiscard(1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.f1v3.async.status;
+
+import java.time.Instant;
+
+/**
+ * 회원가입 한 건의 단계별 상태 조회 결과
+ */
+public record RegistrationStatus(String userId,
+                                 String strategy,
+                                 Instant acceptedAt,
+                                 StepStatus email,
+                                 StepStatus points) {
+
+    /**
+     * @param startedAfterMillis 접수부터 실행 시작까지 걸린 시간 (시작 전이면 null)
+     * @param durationMillis     실행 시작부터 끝까지 걸린 시간 (끝나기 전이면 null)
+     */
+    public record StepStatus(StepState state, Long startedAfterMillis, Long durationMillis) {
+    }
+
+    /**
+     * 전체 상태 - 한 단계라도 실패하면 FAILED, 모두 끝나면 DONE, 하나라도 시작했으면 RUNNING
+     */
+    public StepState overall() {
+        if (email.state() == StepState.FAILED || points.state() == StepState.FAILED) {
+            return StepState.FAILED;
+        }
+        if (email.state() == StepState.DONE && points.state() == StepState.DONE) {
+            return StepState.DONE;
+        }
+        if (email.state() == StepState.PENDING && points.state() == StepState.PENDING) {
+            return StepState.PENDING;
+        }
+        return StepState.RUNNING;
+    }
+}
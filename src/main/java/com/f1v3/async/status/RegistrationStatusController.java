@@ -0,0 +1,26 @@
+package com.f1v3.async.status;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 회원가입 후속 단계(메일/포인트) 상태 조회
+ */
+@RestController
+@RequestMapping("/api/registration-status")
+@RequiredArgsConstructor
+public class RegistrationStatusController {
+
+    private final RegistrationStatusStore registrationStatusStore;
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<RegistrationStatus> getStatus(@PathVariable String userId) {
+        return registrationStatusStore.find(userId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
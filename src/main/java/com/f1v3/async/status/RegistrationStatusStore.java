@@ -0,0 +1,251 @@
+package com.f1v3.async.status;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 회원가입별 후속 단계(메일/포인트) 상태와 소요 시간을 담는 고정 크기 저장소
+ * <p>
+ * 가입마다 객체를 만들지 않도록 슬롯 번호로 나눈 원시 타입 배열에 담는다. 슬롯 하나는 접수 시각(long),
+ * 단계 상태(단계마다 2비트, int), 단계별 시작/종료 시각(접수 시각 기준 ms 오프셋, int 4개)과 사용자 ID 참조를 쓰고,
+ * 사용자 ID → 슬롯 색인은 개방 주소법(선형 탐사) int 배열이다.
+ * <p>
+ * 슬롯은 링 버퍼처럼 순서대로 재사용해 가장 오래된 가입부터 밀려나므로 메모리는 용량만큼으로 고정되고,
+ * 보관 시간이 지난 가입은 조회 시 없는 것으로 본다.
+ * 접수 시 받은 티켓(슬롯 번호 + 세대)으로 단계를 갱신하므로, 슬롯이 다른 가입에 재사용된 뒤 도착한 갱신은 무시된다.
+ */
+@Component
+public class RegistrationStatusStore {
+
+    private static final int STATE_BITS = 2;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+    private static final int TIMINGS_PER_SLOT = RegistrationStep.values().length * 2;
+    private static final int UNSET = -1;
+    private static final StepState[] STATES = StepState.values();
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final StampedLock lock = new StampedLock();
+
+    private final String[] userIds;
+    private final String[] strategies;
+    private final long[] acceptedAt;
+    private final int[] states;
+    private final int[] generations;
+    private final int[] timings;        // 슬롯마다 [메일 시작, 메일 종료, 포인트 시작, 포인트 종료]
+    private final int[] index;          // 슬롯 번호 + 1 (0 이면 빈 칸)
+    private final int indexMask;
+    private int nextSlot;
+    private int size;
+
+    public RegistrationStatusStore(@Value("${async.status.capacity:65536}") int capacity,
+                                   @Value("${async.status.ttl-seconds:3600}") long ttlSeconds) {
+        this(capacity, TimeUnit.SECONDS.toMillis(ttlSeconds), System::currentTimeMillis);
+    }
+
+    RegistrationStatusStore(int capacity, long ttlMillis, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("용량은 1 이상이어야 함: " + capacity);
+        }
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.userIds = new String[capacity];
+        this.strategies = new String[capacity];
+        this.acceptedAt = new long[capacity];
+        this.states = new int[capacity];
+        this.generations = new int[capacity];
+        this.timings = new int[capacity * TIMINGS_PER_SLOT];
+        // 색인은 용량의 2배 이상 2의 거듭제곱으로 잡아 탐사 길이를 짧게 유지한다
+        this.index = new int[Integer.highestOneBit(Math.max(2, capacity) - 1) << 2];
+        this.indexMask = index.length - 1;
+    }
+
+    /**
+     * 가입을 접수 상태(모든 단계 PENDING)로 등록한다. 같은 사용자의 이전 기록은 지운다.
+     *
+     * @return 단계 갱신에 쓰는 티켓
+     */
+    public long accept(String strategy, String userId) {
+        long now = clock.getAsLong();
+        long stamp = lock.writeLock();
+        try {
+            int existing = findSlot(userId);
+            if (existing >= 0) {
+                remove(existing);
+            }
+            int slot = nextSlot;
+            nextSlot = (nextSlot + 1) % capacity;
+            if (userIds[slot] != null) {
+                // 가장 오래된 가입을 밀어낸다
+                remove(slot);
+            }
+
+            userIds[slot] = userId;
+            strategies[slot] = strategy;
+            acceptedAt[slot] = now;
+            states[slot] = 0;
+            Arrays.fill(timings, slot * TIMINGS_PER_SLOT, (slot + 1) * TIMINGS_PER_SLOT, UNSET);
+            int generation = ++generations[slot];
+            insertIndex(userId, slot);
+            size++;
+            return (long) generation << 32 | slot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void started(long ticket, RegistrationStep step) {
+        update(ticket, step, StepState.RUNNING);
+    }
+
+    public void finished(long ticket, RegistrationStep step, boolean success) {
+        update(ticket, step, success ? StepState.DONE : StepState.FAILED);
+    }
+
+    /**
+     * 단계 작업을 감싸 실행 시작/종료를 기록한다. 예외로 끝나거나 인터럽트된 채 끝나면 실패로 기록한다.
+     */
+    public <T> Supplier<T> track(long ticket, RegistrationStep step, Supplier<T> work) {
+        return () -> {
+            started(ticket, step);
+            boolean success = false;
+            try {
+                T result = work.get();
+                // 메일/포인트 서비스는 인터럽트를 삼키고 상태만 복원하므로 여기서 중단 여부를 확인한다
+                success = !Thread.currentThread().isInterrupted();
+                return result;
+            } finally {
+                finished(ticket, step, success);
+            }
+        };
+    }
+
+    /**
+     * 단계 작업을 호출 스레드에서 바로 실행하며 시작/종료를 기록한다.
+     */
+    public void run(long ticket, RegistrationStep step, Runnable work) {
+        track(ticket, step, () -> {
+            work.run();
+            return null;
+        }).get();
+    }
+
+    public Optional<RegistrationStatus> find(String userId) {
+        long now = clock.getAsLong();
+        long stamp = lock.readLock();
+        try {
+            int slot = findSlot(userId);
+            if (slot < 0 || now - acceptedAt[slot] > ttlMillis) {
+                return Optional.empty();
+            }
+            return Optional.of(new RegistrationStatus(userId, strategies[slot], Instant.ofEpochMilli(acceptedAt[slot]),
+                stepStatus(slot, RegistrationStep.EMAIL), stepStatus(slot, RegistrationStep.POINTS)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 저장된 가입 수 (보관 시간이 지났지만 아직 밀려나지 않은 가입 포함)
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void update(long ticket, RegistrationStep step, StepState state) {
+        int slot = (int) ticket;
+        int generation = (int) (ticket >>> 32);
+        long now = clock.getAsLong();
+        long stamp = lock.writeLock();
+        try {
+            if (generations[slot] != generation || userIds[slot] == null) {
+                // 이미 밀려났거나 같은 사용자가 다시 가입해 슬롯이 바뀐 경우
+                return;
+            }
+            int shift = step.ordinal() * STATE_BITS;
+            states[slot] = states[slot] & ~(STATE_MASK << shift) | state.ordinal() << shift;
+            int offset = (int) Math.min(now - acceptedAt[slot], Integer.MAX_VALUE);
+            int base = slot * TIMINGS_PER_SLOT + step.ordinal() * 2;
+            if (state == StepState.RUNNING) {
+                timings[base] = offset;
+            } else {
+                timings[base + 1] = offset;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private RegistrationStatus.StepStatus stepStatus(int slot, RegistrationStep step) {
+        StepState state = STATES[states[slot] >>> step.ordinal() * STATE_BITS & STATE_MASK];
+        int base = slot * TIMINGS_PER_SLOT + step.ordinal() * 2;
+        int started = timings[base];
+        int finished = timings[base + 1];
+        return new RegistrationStatus.StepStatus(state,
+            started == UNSET ? null : (long) started,
+            started == UNSET || finished == UNSET ? null : (long) finished - started);
+    }
+
+    private int findSlot(String userId) {
+        for (int i = hash(userId) & indexMask; index[i] != 0; i = (i + 1) & indexMask) {
+            int slot = index[i] - 1;
+            if (userIds[slot].equals(userId)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertIndex(String userId, int slot) {
+        int i = hash(userId) & indexMask;
+        while (index[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        index[i] = slot + 1;
+    }
+
+    private void remove(int slot) {
+        String userId = userIds[slot];
+        int i = hash(userId) & indexMask;
+        while (index[i] != slot + 1) {
+            i = (i + 1) & indexMask;
+        }
+        // 뒤로 당기기 삭제 - 삭제 표시 없이 뒤따르는 항목을 빈 칸으로 옮겨 탐사 사슬을 유지한다
+        int hole = i;
+        for (int j = (hole + 1) & indexMask; index[j] != 0; j = (j + 1) & indexMask) {
+            int home = hash(userIds[index[j] - 1]) & indexMask;
+            if (((j - home) & indexMask) >= ((j - hole) & indexMask)) {
+                index[hole] = index[j];
+                hole = j;
+            }
+        }
+        index[hole] = 0;
+        userIds[slot] = null;
+        strategies[slot] = null;
+        size--;
+    }
+
+    private static int hash(String userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,9 @@
+package com.f1v3.async.status;
+
+/**
+ * 상태를 추적하는 회원가입 후속 단계
+ */
+public enum RegistrationStep {
+    EMAIL,
+    POINTS
+}
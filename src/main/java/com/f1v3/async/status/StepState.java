@@ -0,0 +1,13 @@
+package com.f1v3.async.status;
+
+/**
+ * 후속 단계 하나의 진행 상태 (저장소에는 단계마다 2비트로 담는다)
+ */
+public enum StepState {
+    /** 접수됐고 실행 대기 중 */
+    PENDING,
+    RUNNING,
+    DONE,
+    /** 예외로 끝났거나 인터럽트로 중단됨 */
+    FAILED
+}
@@ -2,6 +2,7 @@ package com.f1v3.async.thread;
 
 import com.f1v3.async.common.EmailService;
 import com.f1v3.async.common.PointService;
+import com.f1v3.async.profiling.RegistrationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,8 @@ public class ThreadUserService {
     public void registerUser(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== Thread 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("thread", userId, email);
+        boolean success = true;
 
         // 각각을 별도 스레드로 실행
         Thread emailThread = new Thread(() -> emailService.sendWelcomeEmail(email));
@@ -32,7 +35,9 @@ public class ThreadUserService {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("스레드 대기 중 인터럽트 발생", e);
+            success = false;
         }
+        registration.finish(success);
 
         long endTime = System.currentTimeMillis();
         log.info("=== Thread 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
@@ -41,10 +46,12 @@ public class ThreadUserService {
     public void registerUserSync(String userId, String email) {
         long startTime = System.currentTimeMillis();
         log.info("=== 동기 방식 회원가입 시작 - 사용자: {} ===", userId);
+        RegistrationEvent registration = RegistrationEvent.start("sync", userId, email);
 
         // 순차적으로 실행
         emailService.sendWelcomeEmail(email);
         pointService.addWelcomePoints(userId);
+        registration.finish(true);
 
         long endTime = System.currentTimeMillis();
         log.info("=== 동기 방식 회원가입 완료 - 총 소요시간: {}ms ===", endTime - startTime);
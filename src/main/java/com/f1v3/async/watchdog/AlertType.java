@@ -0,0 +1,10 @@
+package com.f1v3.async.watchdog;
+
+public enum AlertType {
+    /** 임계 시간보다 오래 실행 중인 작업 */
+    STUCK_TASK,
+    /** 표본마다 계속 늘어나는 대기열 */
+    QUEUE_GROWTH,
+    /** 모든 작업자가 같은 풀의 작업 결과를 기다리며 멈춘 상태 */
+    STARVATION
+}
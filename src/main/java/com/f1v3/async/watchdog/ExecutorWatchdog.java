@@ -0,0 +1,210 @@
+package com.f1v3.async.watchdog;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.TaskTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록된 회원가입 실행기를 주기적으로 표본 조사해 멈춘 작업, 계속 늘어나는 대기열, 풀 기아 교착을 찾는 감시기
+ * <p>
+ * 이상을 찾으면 관련 스레드의 스택 트레이스를 담아 경고 로그를 남기고 {@link #getAlerts()} 에 보관한다.
+ * 같은 상태가 이어지는 동안에는 한 번만 알린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "async.watchdog.enabled", havingValue = "true")
+public class ExecutorWatchdog implements AutoCloseable {
+
+    private static final int MAX_ALERTS = 100;
+    private static final int MAX_STACK_DEPTH = 20;
+
+    private final ExecutorRegistry executorRegistry;
+    private final long stuckThresholdNanos;
+    private final int queueGrowthSamples;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "executor-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 표본 조사는 감시 스레드 하나에서만 실행된다
+    private final Map<TaskTracker, PoolState> states = new HashMap<>();
+    private final Deque<WatchdogAlert> alerts = new ArrayDeque<>();
+
+    public ExecutorWatchdog(ExecutorRegistry executorRegistry,
+                            @Value("${async.watchdog.interval-ms:1000}") long intervalMillis,
+                            @Value("${async.watchdog.stuck-threshold-ms:10000}") long stuckThresholdMillis,
+                            @Value("${async.watchdog.queue-growth-samples:5}") int queueGrowthSamples) {
+        this.executorRegistry = executorRegistry;
+        this.stuckThresholdNanos = TimeUnit.MILLISECONDS.toNanos(stuckThresholdMillis);
+        this.queueGrowthSamples = queueGrowthSamples;
+        scheduler.scheduleWithFixedDelay(this::sampleSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("실행기 감시 시작 - 주기: {}ms, 멈춘 작업 기준: {}ms, 대기열 증가 기준: 연속 {}회",
+            intervalMillis, stuckThresholdMillis, queueGrowthSamples);
+    }
+
+    public List<WatchdogAlert> getAlerts() {
+        synchronized (alerts) {
+            return new ArrayList<>(alerts);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        log.info("실행기 감시 종료 - 누적 경고: {}건", getAlerts().size());
+    }
+
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // 감시 작업이 예외로 끝나면 이후 표본 조사가 모두 멈추므로 여기서 삼킨다
+            log.error("실행기 감시 중 오류 발생", e);
+        }
+    }
+
+    void sample() {
+        long now = System.nanoTime();
+        for (TaskTracker tracker : executorRegistry.getTrackers()) {
+            PoolState state = states.computeIfAbsent(tracker, ignored -> new PoolState());
+            Map<Thread, Long> running = Map.copyOf(tracker.getRunningTasks());
+            long queued = tracker.getQueuedCount();
+            long completed = tracker.getCompletedCount();
+
+            checkStuckTasks(tracker, state, running, now);
+            checkQueueGrowth(tracker, state, running, queued);
+            checkStarvation(tracker, state, running, queued, completed);
+
+            state.lastQueued = queued;
+            state.lastCompleted = completed;
+        }
+    }
+
+    private void checkStuckTasks(TaskTracker tracker, PoolState state, Map<Thread, Long> running, long now) {
+        Set<String> stillRunning = new HashSet<>();
+        running.forEach((thread, startNanos) -> {
+            String taskKey = thread.threadId() + ":" + startNanos;
+            stillRunning.add(taskKey);
+            long elapsedNanos = now - startNanos;
+            if (elapsedNanos >= stuckThresholdNanos && state.reportedStuckTasks.add(taskKey)) {
+                raise(AlertType.STUCK_TASK, tracker,
+                    String.format("%s 스레드의 작업이 %dms 째 실행 중", thread.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos)),
+                    List.of(thread));
+            }
+        });
+        state.reportedStuckTasks.retainAll(stillRunning);
+    }
+
+    private void checkQueueGrowth(TaskTracker tracker, PoolState state, Map<Thread, Long> running, long queued) {
+        if (queued <= state.lastQueued) {
+            state.growthStreak = 0;
+            state.growthReported = false;
+            return;
+        }
+        state.growthStreak++;
+        if (state.growthStreak >= queueGrowthSamples && !state.growthReported) {
+            state.growthReported = true;
+            raise(AlertType.QUEUE_GROWTH, tracker,
+                String.format("대기 작업이 %d회 연속 증가 (현재 %d건, 실행 중 %d/%d)", state.growthStreak, queued,
+                    running.size(), tracker.getPoolSize()),
+                running.keySet());
+        }
+    }
+
+    private void checkStarvation(TaskTracker tracker, PoolState state, Map<Thread, Long> running,
+                                 long queued, long completed) {
+        int poolSize = tracker.getPoolSize();
+        // 작업자가 모두 바쁘고, 대기 작업이 있는데, 직전 표본 이후 끝난 작업이 없을 때만 스택을 확인한다
+        boolean saturated = poolSize > 0 && running.size() >= poolSize && queued > 0 && completed == state.lastCompleted;
+        if (!saturated || !running.keySet().stream().allMatch(ExecutorWatchdog::isWaitingOnFuture)) {
+            state.starvationReported = false;
+            return;
+        }
+        if (!state.starvationReported) {
+            state.starvationReported = true;
+            raise(AlertType.STARVATION, tracker,
+                String.format("작업자 %d개가 모두 다른 작업의 결과를 기다리는 중이고 대기 작업 %d건은 실행될 스레드가 없음 (기아 교착 의심)",
+                    running.size(), queued),
+                running.keySet());
+        }
+    }
+
+    private void raise(AlertType type, TaskTracker tracker, String message, Iterable<Thread> threads) {
+        Map<String, String> dumps = new LinkedHashMap<>();
+        for (Thread thread : threads) {
+            dumps.put(thread.getName(), formatStackTrace(thread));
+        }
+        WatchdogAlert alert = new WatchdogAlert(type, tracker.getName(), message, dumps, Instant.now());
+        synchronized (alerts) {
+            if (alerts.size() == MAX_ALERTS) {
+                alerts.pollFirst();
+            }
+            alerts.addLast(alert);
+        }
+
+        StringBuilder stacks = new StringBuilder();
+        dumps.forEach((name, stack) -> stacks.append(System.lineSeparator()).append('"').append(name).append('"')
+            .append(System.lineSeparator()).append(stack));
+        log.warn("[실행기 감시] {} - 실행기: {}, {}{}", type, tracker.getName(), message, stacks);
+    }
+
+    /**
+     * 스레드가 {@code Future.get()} / {@code CompletableFuture.join()} 으로 다른 작업의 결과를 기다리는 중인지
+     */
+    static boolean isWaitingOnFuture(Thread thread) {
+        Thread.State threadState = thread.getState();
+        if (threadState != Thread.State.WAITING && threadState != Thread.State.TIMED_WAITING) {
+            return false;
+        }
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            String className = frame.getClassName();
+            String method = frame.getMethodName();
+            if (className.equals("java.util.concurrent.FutureTask") && method.equals("awaitDone")
+                || className.equals("java.util.concurrent.CompletableFuture")
+                && (method.equals("waitingGet") || method.equals("timedGet"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String formatStackTrace(Thread thread) {
+        StackTraceElement[] frames = thread.getStackTrace();
+        StringBuilder builder = new StringBuilder("   상태: ").append(thread.getState());
+        for (int i = 0; i < Math.min(frames.length, MAX_STACK_DEPTH); i++) {
+            builder.append(System.lineSeparator()).append("\tat ").append(frames[i]);
+        }
+        if (frames.length > MAX_STACK_DEPTH) {
+            builder.append(System.lineSeparator()).append("\t... ").append(frames.length - MAX_STACK_DEPTH).append(" more");
+        }
+        return builder.toString();
+    }
+
+    private static final class PoolState {
+        private long lastQueued;
+        private long lastCompleted;
+        private int growthStreak;
+        private boolean growthReported;
+        private boolean starvationReported;
+        private final Set<String> reportedStuckTasks = new HashSet<>();
+    }
+}
@@ -0,0 +1,16 @@
+package com.f1v3.async.watchdog;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 감시 중 발견한 이상 상태와 관련 스레드의 스택 트레이스
+ *
+ * @param threadDumps 스레드 이름 → 스택 트레이스
+ */
+public record WatchdogAlert(AlertType type,
+                            String executor,
+                            String message,
+                            Map<String, String> threadDumps,
+                            Instant detectedAt) {
+}
@@ -0,0 +1,127 @@
+package com.f1v3.async.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 접수만 하고 바로 응답한 회원가입의 진행 상태
+ * <p>
+ * 끝난 가입은 보관 시간이 지나면 지운다. 상태 조회(롱 폴링/SSE)는 여기 있는 Future 의 완료를 기다린다.
+ * 보관 건수는 용량으로 제한해, 넘치면 {@link com.f1v3.async.status.RegistrationStatusStore} 처럼 가장 오래 전에 접수한 가입부터 밀어낸다.
+ * 제한 시간 안에 끝나지 않은 가입은 시간 초과로 기록한다 (백그라운드 작업은 계속 진행).
+ */
+@Slf4j
+@Component
+public class FireAndForgetRegistrations {
+
+    private final Map<String, Registration> registrations;
+    private final Executor evictionDelay;
+    private final long timeoutMillis;
+
+    public FireAndForgetRegistrations(@Value("${async.web.status-capacity:65536}") int capacity,
+                                      @Value("${async.web.status-retention-seconds:300}") long retentionSeconds,
+                                      @Value("${async.web.registration-timeout-ms:10000}") long timeoutMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("용량은 1 이상이어야 함: " + capacity);
+        }
+        // 접수 순서를 유지해 가득 차면 가장 오래된 가입을 지운다 (갱신은 짧으므로 맵 전체를 잠근다)
+        this.registrations = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Registration> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.evictionDelay = CompletableFuture.delayedExecutor(retentionSeconds, TimeUnit.SECONDS);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 가입 처리를 시작하고 진행 상태를 등록한다. 같은 사용자의 가입이 아직 처리 중이면 시작하지 않는다.
+     * <p>
+     * 돌려주는 상태는 이 호출이 만든(거절했으면 처리 중이던) 가입의 것이다 - 접수 직후 용량 초과로 밀려나도 응답에 쓸 수 있다.
+     */
+    public Submission submit(String userId, Supplier<CompletableFuture<String>> registration) {
+        Registration created = new Registration(System.nanoTime(), new CompletableFuture<>());
+        synchronized (registrations) {
+            Registration current = registrations.get(userId);
+            if (current != null && !current.result().isDone()) {
+                return new Submission(false, current.snapshot(userId));
+            }
+            // 다시 접수한 사용자는 맨 뒤(가장 최근)로 옮긴다
+            registrations.remove(userId);
+            registrations.put(userId, created);
+        }
+
+        CompletableFuture<String> future;
+        try {
+            future = registration.get().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // 풀이 가득 차 제출이 거부된 경우 등 - 처리 중 상태로 남지 않도록 실패로 기록한다
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((message, throwable) -> {
+            long elapsedMillis = created.elapsedMillis();
+            created.result().complete(throwable == null
+                ? RegistrationResult.completed(userId, message, elapsedMillis)
+                : RegistrationResult.failed(userId, throwable, elapsedMillis));
+            evictionDelay.execute(() -> remove(userId, created));
+        });
+        return new Submission(true, created.snapshot(userId));
+    }
+
+    public Optional<CompletableFuture<RegistrationResult>> find(String userId) {
+        return Optional.ofNullable(get(userId)).map(Registration::result);
+    }
+
+    /**
+     * 지금 시점의 상태 (처리 중이면 경과 시간을 담은 PENDING)
+     */
+    public Optional<RegistrationResult> current(String userId) {
+        return Optional.ofNullable(get(userId)).map(registration -> registration.snapshot(userId));
+    }
+
+    public int size() {
+        synchronized (registrations) {
+            return registrations.size();
+        }
+    }
+
+    private Registration get(String userId) {
+        synchronized (registrations) {
+            return registrations.get(userId);
+        }
+    }
+
+    private void remove(String userId, Registration registration) {
+        synchronized (registrations) {
+            registrations.remove(userId, registration);
+        }
+    }
+
+    /**
+     * @param accepted 새로 접수했으면 true, 같은 사용자의 가입이 처리 중이라 거절했으면 false
+     * @param current  접수한(거절했으면 처리 중인) 가입의 지금 시점 상태
+     */
+    public record Submission(boolean accepted, RegistrationResult current) {
+    }
+
+    private record Registration(long acceptedNanos, CompletableFuture<RegistrationResult> result) {
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acceptedNanos);
+        }
+
+        RegistrationResult snapshot(String userId) {
+            return result.getNow(RegistrationResult.pending(userId, elapsedMillis()));
+        }
+    }
+}
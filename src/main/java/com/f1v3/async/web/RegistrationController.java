@@ -0,0 +1,212 @@
+package com.f1v3.async.web;
+
+import com.f1v3.async.completablefuture.CompletableFutureUserService;
+import com.f1v3.async.keyed.KeyedUserService;
+import com.f1v3.async.partial.PartialSuccessUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원가입 HTTP 엔드포인트
+ * <p>
+ * {@code /blocking} 은 가입이 끝날 때까지 Tomcat 작업 스레드를 붙잡고, {@code /async}, {@code /deferred} 는
+ * 가입 전략이 돌려준 Future 를 그대로 반환해 서블릿 비동기 처리로 넘긴다 (작업 스레드는 바로 반납).
+ * {@code /partial} 은 포인트 적립까지만 기다려 응답하고 메일은 백그라운드에서 마무리한다 (진행 상황은 상태 저장소로 조회).
+ * 접수만 하는 {@code POST /api/registrations} 는 202 로 응답하고, 결과는 롱 폴링 또는 SSE 로 조회한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/registrations")
+public class RegistrationController {
+
+    private final CompletableFutureUserService completableFutureUserService;
+    private final KeyedUserService keyedUserService;
+    private final PartialSuccessUserService partialSuccessUserService;
+    private final FireAndForgetRegistrations fireAndForgetRegistrations;
+    private final long timeoutMillis;
+
+    public RegistrationController(CompletableFutureUserService completableFutureUserService,
+                                  KeyedUserService keyedUserService,
+                                  PartialSuccessUserService partialSuccessUserService,
+                                  FireAndForgetRegistrations fireAndForgetRegistrations,
+                                  @Value("${async.web.registration-timeout-ms:10000}") long timeoutMillis) {
+        this.completableFutureUserService = completableFutureUserService;
+        this.keyedUserService = keyedUserService;
+        this.partialSuccessUserService = partialSuccessUserService;
+        this.fireAndForgetRegistrations = fireAndForgetRegistrations;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 기존 동기 방식 - 메일/포인트가 끝날 때까지(2초 이상) 요청 스레드가 대기
+     */
+    @PostMapping("/blocking")
+    public RegistrationResult registerBlocking(@RequestBody RegistrationRequest request) {
+        request.validate();
+        long startNanos = System.nanoTime();
+        completableFutureUserService.registerUser(request.userId(), request.email());
+        return RegistrationResult.completed(request.userId(), "회원가입 완료", elapsedMillis(startNanos));
+    }
+
+    /**
+     * CompletableFuture 반환 - 완료되면 Spring MVC 가 다른 스레드에서 응답을 이어 쓴다
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<RegistrationResult>> registerAsync(@RequestBody RegistrationRequest request) {
+        request.validate();
+        long startNanos = System.nanoTime();
+        return completableFutureUserService.registerUserAsync(request.userId(), request.email())
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .handle((message, throwable) -> toResponse(throwable == null
+                ? RegistrationResult.completed(request.userId(), message, elapsedMillis(startNanos))
+                : RegistrationResult.failed(request.userId(), throwable, elapsedMillis(startNanos))));
+    }
+
+    /**
+     * 부분 완료 응답 - 포인트 적립이 끝나면 응답하고, 메일 발송 결과는 기다리지 않는다
+     */
+    @PostMapping("/partial")
+    public CompletableFuture<ResponseEntity<RegistrationResult>> registerPartial(@RequestBody RegistrationRequest request) {
+        request.validate();
+        long startNanos = System.nanoTime();
+        return partialSuccessUserService.registerUserAsync(request.userId(), request.email())
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .handle((registration, throwable) -> toResponse(throwable == null
+                ? RegistrationResult.completed(request.userId(), registration.message(), elapsedMillis(startNanos))
+                : RegistrationResult.failed(request.userId(), throwable, elapsedMillis(startNanos))));
+    }
+
+    /**
+     * DeferredResult 반환 - 사용자별 순서 보장 방식의 Future 완료 시 결과를 채우고, 제한 시간을 넘기면 504
+     */
+    @PostMapping("/deferred")
+    public DeferredResult<ResponseEntity<RegistrationResult>> registerDeferred(@RequestBody RegistrationRequest request) {
+        request.validate();
+        long startNanos = System.nanoTime();
+        DeferredResult<ResponseEntity<RegistrationResult>> deferred = new DeferredResult<>(timeoutMillis);
+        deferred.onTimeout(() -> deferred.setResult(toResponse(
+            new RegistrationResult(request.userId(), RegistrationResult.State.TIMED_OUT,
+                "제한 시간 " + timeoutMillis + "ms 초과", elapsedMillis(startNanos)))));
+
+        keyedUserService.registerUserAsync(request.userId(), request.email())
+            .whenComplete((message, throwable) -> deferred.setResult(toResponse(throwable == null
+                ? RegistrationResult.completed(request.userId(), message, elapsedMillis(startNanos))
+                : RegistrationResult.failed(request.userId(), throwable, elapsedMillis(startNanos)))));
+        return deferred;
+    }
+
+    /**
+     * 접수만 하고 바로 202 응답 - 처리 결과는 {@code Location} 의 상태 엔드포인트로 조회
+     */
+    @PostMapping
+    public ResponseEntity<RegistrationResult> registerFireAndForget(@RequestBody RegistrationRequest request) {
+        request.validate();
+        String userId = request.userId();
+        FireAndForgetRegistrations.Submission submission = fireAndForgetRegistrations.submit(userId,
+            () -> completableFutureUserService.registerUserAsync(userId, request.email()));
+        if (!submission.accepted()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(submission.current());
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/registrations/" + userId)).body(submission.current());
+    }
+
+    /**
+     * 롱 폴링 상태 조회 - 처리 중이면 끝나거나 {@code waitMillis} 가 지날 때까지 응답을 미룬다 (0 이면 바로 응답)
+     */
+    @GetMapping("/{userId}")
+    public DeferredResult<ResponseEntity<RegistrationResult>> getStatus(@PathVariable String userId,
+                                                                        @RequestParam(defaultValue = "0") long waitMillis) {
+        Optional<CompletableFuture<RegistrationResult>> result = fireAndForgetRegistrations.find(userId);
+        if (result.isEmpty()) {
+            return immediate(ResponseEntity.notFound().build());
+        }
+        long waitLimit = Math.min(Math.max(waitMillis, 0), timeoutMillis);
+        if (waitLimit == 0 || result.get().isDone()) {
+            return immediate(ResponseEntity.ok(fireAndForgetRegistrations.current(userId)
+                .orElseGet(() -> result.get().join())));
+        }
+
+        DeferredResult<ResponseEntity<RegistrationResult>> deferred = new DeferredResult<>(waitLimit);
+        deferred.onTimeout(() -> deferred.setResult(ResponseEntity.ok(fireAndForgetRegistrations.current(userId)
+            .orElseGet(() -> result.get().join()))));
+        result.get().thenAccept(done -> deferred.setResult(ResponseEntity.ok(done)));
+        return deferred;
+    }
+
+    /**
+     * SSE 상태 스트림 - 현재 상태를 바로 보내고, 완료되면 최종 상태를 보낸 뒤 스트림을 닫는다
+     */
+    @GetMapping(path = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatus(@PathVariable String userId) {
+        Optional<CompletableFuture<RegistrationResult>> result = fireAndForgetRegistrations.find(userId);
+        Optional<RegistrationResult> current = fireAndForgetRegistrations.current(userId);
+        if (result.isEmpty() || current.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        send(emitter, current.get());
+        if (current.get().isDone()) {
+            emitter.complete();
+        } else {
+            result.get().thenAccept(done -> {
+                send(emitter, done);
+                emitter.complete();
+            });
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private static void send(SseEmitter emitter, RegistrationResult result) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(result, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우
+            log.debug("상태 이벤트 전송 실패 - 사용자: {}", result.userId(), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static <T> DeferredResult<T> immediate(T value) {
+        DeferredResult<T> deferred = new DeferredResult<>();
+        deferred.setResult(value);
+        return deferred;
+    }
+
+    private static ResponseEntity<RegistrationResult> toResponse(RegistrationResult result) {
+        HttpStatus status = switch (result.state()) {
+            case COMPLETED, PENDING -> HttpStatus.OK;
+            case TIMED_OUT -> HttpStatus.GATEWAY_TIMEOUT;
+            case FAILED -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        return ResponseEntity.status(status).body(result);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,13 @@
+package com.f1v3.async.web;
+
+/**
+ * 회원가입 요청 본문
+ */
+public record RegistrationRequest(String userId, String email) {
+
+    void validate() {
+        if (userId == null || userId.isBlank() || email == null || email.isBlank()) {
+            throw new IllegalArgumentException("userId 와 email 은 필수: " + this);
+        }
+    }
+}
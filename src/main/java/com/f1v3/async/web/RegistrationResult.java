@@ -0,0 +1,40 @@
+package com.f1v3.async.web;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 회원가입 처리 결과 (동기/비동기 엔드포인트와 상태 조회가 같은 형식으로 응답)
+ *
+ * @param elapsedMillis 요청 접수부터 완료까지 걸린 시간 (처리 중이면 지금까지 걸린 시간)
+ */
+public record RegistrationResult(String userId, State state, String message, long elapsedMillis) {
+
+    public enum State {
+        /** 접수됐고 메일/포인트 처리 중 */
+        PENDING,
+        COMPLETED,
+        FAILED,
+        /** 제한 시간 안에 끝나지 않음 (백그라운드 작업은 계속 진행) */
+        TIMED_OUT
+    }
+
+    public static RegistrationResult pending(String userId, long elapsedMillis) {
+        return new RegistrationResult(userId, State.PENDING, "처리 중", elapsedMillis);
+    }
+
+    public static RegistrationResult completed(String userId, String message, long elapsedMillis) {
+        return new RegistrationResult(userId, State.COMPLETED, message, elapsedMillis);
+    }
+
+    public static RegistrationResult failed(String userId, Throwable throwable, long elapsedMillis) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause() : throwable;
+        State state = cause instanceof TimeoutException ? State.TIMED_OUT : State.FAILED;
+        return new RegistrationResult(userId, state, String.valueOf(cause.getMessage()), elapsedMillis);
+    }
+
+    public boolean isDone() {
+        return state != State.PENDING;
+    }
+}
@@ -3,26 +3,44 @@ package com.f1v3.async;
 import com.f1v3.async.completablefuture.CompletableFutureUserService;
 import com.f1v3.async.executorservice.ExecutorServiceUserService;
 import com.f1v3.async.future.FutureUserService;
+import com.f1v3.async.simulation.FaultProfile;
+import com.f1v3.async.simulation.LatencyModel;
+import com.f1v3.async.simulation.ServiceSimulation;
+import com.f1v3.async.simulation.SimulatedDependency;
+import com.f1v3.async.simulation.SimulationClock;
 import com.f1v3.async.springasync.SpringAsyncUserService;
+import com.f1v3.async.support.TestWaits;
 import com.f1v3.async.thread.ThreadUserService;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
 /**
  * 모든 비동기 방식의 성능을 비교하는 통합 테스트
+ * <p>
+ * 메일/포인트 지연은 가상 시계로 흘려 실제로는 기다리지 않으며, 소요시간과 지연 분포는 모두 가상 시각 기준이다.
  *
  * @author Seungjo, Jeong
  */
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "async.simulation.clock=virtual")
 class AsyncPerformanceComparisonTest {
 
     @Autowired
@@ -40,13 +58,11 @@ class AsyncPerformanceComparisonTest {
     @Autowired
     private SpringAsyncUserService springAsyncUserService;
 
-    @AfterEach
-    void cleanup() {
-        // 리소스 정리
-        executorServiceUserService.shutdown();
-        futureUserService.shutdown();
-        completableFutureUserService.shutdown();
-    }
+    @Autowired
+    private ServiceSimulation serviceSimulation;
+
+    @Autowired
+    private SimulationClock clock;
 
     @Test
     void compareAllAsyncMethods() throws InterruptedException {
@@ -55,7 +71,7 @@ class AsyncPerformanceComparisonTest {
         int userCount = 10;
 
         // 1. Thread 방식
-        long threadStart = System.currentTimeMillis();
+        long threadStart = clock.currentTimeMillis();
         List<Thread> threads = IntStream.range(0, userCount)
             .mapToObj(i -> new Thread(() ->
                 threadUserService.registerUser("thread-" + i, "thread-" + i + "@example.com")))
@@ -64,11 +80,11 @@ class AsyncPerformanceComparisonTest {
         for (Thread thread : threads) {
             thread.join();
         }
-        long threadEnd = System.currentTimeMillis();
+        long threadEnd = clock.currentTimeMillis();
         long threadTime = threadEnd - threadStart;
 
         // 2. ExecutorService 방식
-        long executorStart = System.currentTimeMillis();
+        long executorStart = clock.currentTimeMillis();
         List<Future<String>> executorFutures = IntStream.range(0, userCount)
             .mapToObj(i -> executorServiceUserService.registerUserWithFuture("executor-" + i, "executor-" + i + "@example.com"))
             .toList();
@@ -79,11 +95,11 @@ class AsyncPerformanceComparisonTest {
                 log.error("ExecutorService 작업 실행 중 오류", e);
             }
         }
-        long executorEnd = System.currentTimeMillis();
+        long executorEnd = clock.currentTimeMillis();
         long executorTime = executorEnd - executorStart;
 
         // 3. Future 방식
-        long futureStart = System.currentTimeMillis();
+        long futureStart = clock.currentTimeMillis();
         List<Future<String>> futureFutures = IntStream.range(0, userCount)
             .mapToObj(i -> futureUserService.registerUserWithResult("future-" + i, "future-" + i + "@example.com"))
             .toList();
@@ -94,26 +110,26 @@ class AsyncPerformanceComparisonTest {
                 log.error("Future 작업 실행 중 오류", e);
             }
         }
-        long futureEnd = System.currentTimeMillis();
+        long futureEnd = clock.currentTimeMillis();
         long futureTime = futureEnd - futureStart;
 
         // 4. CompletableFuture 방식
-        long cfStart = System.currentTimeMillis();
+        long cfStart = clock.currentTimeMillis();
         List<CompletableFuture<Void>> cfFutures = IntStream.range(0, userCount)
             .mapToObj(i -> CompletableFuture.runAsync(() ->
                 completableFutureUserService.registerUser("cf-" + i, "cf-" + i + "@example.com")))
             .toList();
         CompletableFuture.allOf(cfFutures.toArray(new CompletableFuture[0])).join();
-        long cfEnd = System.currentTimeMillis();
+        long cfEnd = clock.currentTimeMillis();
         long cfTime = cfEnd - cfStart;
 
         // 5. Spring Async 방식
-        long springStart = System.currentTimeMillis();
+        long springStart = clock.currentTimeMillis();
         List<CompletableFuture<Void>> springFutures = IntStream.range(0, userCount)
             .mapToObj(i -> springAsyncUserService.registerUserAsync("spring-" + i, "spring-" + i + "@example.com"))
             .toList();
         CompletableFuture.allOf(springFutures.toArray(new CompletableFuture[0])).join();
-        long springEnd = System.currentTimeMillis();
+        long springEnd = clock.currentTimeMillis();
         long springTime = springEnd - springStart;
 
         // 결과 출력
@@ -157,29 +173,29 @@ class AsyncPerformanceComparisonTest {
         // 각 방식별로 단일 작업의 시작 지연시간 측정
 
         // Thread 방식
-        long threadStart = System.currentTimeMillis();
+        long threadStart = clock.currentTimeMillis();
         threadUserService.registerUser("latency-thread", "latency-thread@example.com");
-        long threadLatency = System.currentTimeMillis() - threadStart;
+        long threadLatency = clock.currentTimeMillis() - threadStart;
 
         // ExecutorService 방식
-        long executorStart = System.currentTimeMillis();
+        long executorStart = clock.currentTimeMillis();
         executorServiceUserService.registerUser("latency-executor", "latency-executor@example.com");
-        long executorLatency = System.currentTimeMillis() - executorStart;
+        long executorLatency = clock.currentTimeMillis() - executorStart;
 
         // Future 방식
-        long futureStart = System.currentTimeMillis();
+        long futureStart = clock.currentTimeMillis();
         futureUserService.registerUser("latency-future", "latency-future@example.com");
-        long futureLatency = System.currentTimeMillis() - futureStart;
+        long futureLatency = clock.currentTimeMillis() - futureStart;
 
         // CompletableFuture 방식
-        long cfStart = System.currentTimeMillis();
+        long cfStart = clock.currentTimeMillis();
         completableFutureUserService.registerUser("latency-cf", "latency-cf@example.com");
-        long cfLatency = System.currentTimeMillis() - cfStart;
+        long cfLatency = clock.currentTimeMillis() - cfStart;
 
         // Spring Async 방식
-        long springStart = System.currentTimeMillis();
+        long springStart = clock.currentTimeMillis();
         springAsyncUserService.registerUser("latency-spring", "latency-spring@example.com");
-        long springLatency = System.currentTimeMillis() - springStart;
+        long springLatency = clock.currentTimeMillis() - springStart;
 
         log.info("==================== 단일 작업 지연시간 결과 ====================");
         log.info("Thread 방식:           {}ms", threadLatency);
@@ -189,4 +205,123 @@ class AsyncPerformanceComparisonTest {
         log.info("Spring Async 방식:     {}ms", springLatency);
         log.info("===================================================");
     }
+
+    @Test
+    void rankStrategiesUnderLatencyProfiles() {
+        log.info("==================== 지연 분포별 방식 순위 비교 ====================");
+
+        List<LatencyProfile> profiles = List.of(
+            new LatencyProfile("고정 지연", "constant:ms=2000", "", "constant:ms=1500", ""),
+            new LatencyProfile("로그정규", "lognormal:median=2000,sigma=0.6", "", "lognormal:median=1500,sigma=0.6", ""),
+            new LatencyProfile("꼬리 급등", "bimodal:median=1800,sigma=0.2,spike=15000,p=0.05", "",
+                "bimodal:median=1400,sigma=0.2,spike=10000,p=0.05", ""),
+            new LatencyProfile("장애 섞임", "lognormal:median=2000,sigma=0.4", "error=0.05,hang=0.01,hang-ms=20000,slow=0.1,slow-factor=5",
+                "lognormal:median=1500,sigma=0.4", "error=0.02,slow=0.1,slow-factor=5"));
+
+        Map<String, BiConsumer<String, String>> strategies = new LinkedHashMap<>();
+        strategies.put("Thread", threadUserService::registerUser);
+        strategies.put("ExecutorService", executorServiceUserService::registerUser);
+        strategies.put("Future", futureUserService::registerUser);
+        strategies.put("CompletableFuture", completableFutureUserService::registerUser);
+        strategies.put("Spring Async", springAsyncUserService::registerUser);
+
+        rankStrategies(profiles, strategies, 30);
+    }
+
+    @Test
+    void rankPooledStrategiesWithTenThousandUsers() {
+        log.info("==================== 1만 명 동시 가입 방식 순위 비교 ====================");
+
+        // 가입마다 스레드 2개를 만드는 Thread 방식과 큐가 100칸인 Spring Async 는 1만 명 동시 투입 대상에서 뺀다
+        Map<String, BiConsumer<String, String>> strategies = new LinkedHashMap<>();
+        strategies.put("ExecutorService", executorServiceUserService::registerUser);
+        strategies.put("Future", futureUserService::registerUser);
+        strategies.put("CompletableFuture", completableFutureUserService::registerUser);
+
+        rankStrategies(List.of(new LatencyProfile("로그정규 1만", "lognormal:median=2000,sigma=0.6", "",
+            "lognormal:median=1500,sigma=0.6", "")), strategies, 10_000);
+    }
+
+    private void rankStrategies(List<LatencyProfile> profiles, Map<String, BiConsumer<String, String>> strategies, int userCount) {
+        SimulatedDependency email = serviceSimulation.email();
+        SimulatedDependency points = serviceSimulation.points();
+        LatencyModel originalEmail = email.getLatencyModel();
+        FaultProfile originalEmailFaults = email.getFaultProfile();
+        LatencyModel originalPoints = points.getLatencyModel();
+        FaultProfile originalPointsFaults = points.getFaultProfile();
+        try {
+            for (LatencyProfile profile : profiles) {
+                email.configure(LatencyModel.parse(profile.emailLatency()), FaultProfile.parse(profile.emailFaults()));
+                points.configure(LatencyModel.parse(profile.pointsLatency()), FaultProfile.parse(profile.pointsFaults()));
+
+                List<StrategyResult> results = new ArrayList<>();
+                strategies.forEach((name, registration) ->
+                    results.add(runConcurrently(profile.name(), name, registration, userCount)));
+                results.sort(Comparator.comparingLong(StrategyResult::p99Millis));
+
+                log.info("==================== [{}] p99 순위 ({}명 동시 가입) ====================", profile.name(), userCount);
+                for (int rank = 0; rank < results.size(); rank++) {
+                    StrategyResult result = results.get(rank);
+                    log.info("{}. {} - p50: {}ms, p99: {}ms, 최대: {}ms, 전체: {}ms (실제 {}ms), 가입 실패: {}건 (메일/포인트 호출 실패 {}건)",
+                        rank + 1, result.strategy(), result.p50Millis(), result.p99Millis(), result.maxMillis(),
+                        result.totalMillis(), result.realMillis(), result.failures(), result.dependencyFailures());
+                }
+            }
+        } finally {
+            email.configure(originalEmail, originalEmailFaults);
+            points.configure(originalPoints, originalPointsFaults);
+        }
+    }
+
+    private StrategyResult runConcurrently(String profile, String strategy, BiConsumer<String, String> registration, int userCount) {
+        long[] latencies = new long[userCount];
+        AtomicInteger failures = new AtomicInteger();
+        long dependencyFailuresBefore = serviceSimulation.email().getFailureCount() + serviceSimulation.points().getFailureCount();
+        long realStart = System.nanoTime();
+        long start = clock.currentTimeMillis();
+        // 모든 가입을 같은 가상 시각에 넣도록 투입하는 동안은 시간이 흐르지 않게 한다
+        // (호출 가상 스레드는 시계가 추적하지 않으므로 모두 출발할 때까지 붙잡아 둔다)
+        CountDownLatch started = new CountDownLatch(userCount);
+        clock.register();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < userCount; i++) {
+                int index = i;
+                // 중복 발송 방지 필터에 걸리지 않도록 분포와 방식마다 다른 주소를 쓴다
+                String userId = profile + "-" + strategy + "-" + i;
+                callers.execute(() -> {
+                    started.countDown();
+                    long requestStart = clock.currentTimeMillis();
+                    try {
+                        registration.accept(userId, userId + "@example.com");
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[index] = clock.currentTimeMillis() - requestStart;
+                });
+            }
+            TestWaits.await(started);
+            clock.unregister();
+        }
+        long totalMillis = clock.currentTimeMillis() - start;
+        long realMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - realStart);
+        // 방식마다 장애를 로그만 남기고 삼키기도 하므로 의존성 호출 실패 수를 따로 센다
+        long dependencyFailures = serviceSimulation.email().getFailureCount() + serviceSimulation.points().getFailureCount()
+            - dependencyFailuresBefore;
+        long[] sorted = Arrays.stream(latencies).sorted().toArray();
+        return new StrategyResult(strategy, percentile(sorted, 50), percentile(sorted, 99), sorted[sorted.length - 1],
+            totalMillis, realMillis, failures.get(), dependencyFailures);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private record LatencyProfile(String name, String emailLatency, String emailFaults,
+                                  String pointsLatency, String pointsFaults) {
+    }
+
+    private record StrategyResult(String strategy, long p50Millis, long p99Millis, long maxMillis,
+                                  long totalMillis, long realMillis, int failures, long dependencyFailures) {
+    }
 }
@@ -0,0 +1,255 @@
+package com.f1v3.async.cache;
+
+import com.f1v3.async.point.PointBalanceCache;
+import com.f1v3.async.point.PointBalanceStore;
+import com.f1v3.async.simulation.FaultProfile;
+import com.f1v3.async.simulation.LatencyModel;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class TinyLfuCacheTest {
+
+    private static final int CACHE_SIZE = 1_000;
+
+    @Test
+    void testReadThroughAndStats() {
+        AtomicInteger loads = new AtomicInteger();
+        TinyLfuCache<String, Long> cache = new TinyLfuCache<>(100, key -> (long) loads.incrementAndGet());
+
+        assertEquals(1L, cache.get("user-1"));
+        assertEquals(1L, cache.get("user-1"));
+        assertEquals(2L, cache.get("user-2"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, loads.get());
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(2, stats.loadCount());
+        assertEquals(2, stats.size());
+    }
+
+    @Test
+    void testBoundedBySize() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(CACHE_SIZE, key -> key);
+        for (int i = 0; i < 20_000; i++) {
+            cache.get(i);
+        }
+        cache.cleanUp();
+
+        assertEquals(CACHE_SIZE, cache.estimatedSize());
+        assertEquals(20_000 - CACHE_SIZE, cache.stats().evictionCount());
+    }
+
+    @Test
+    void testFrequentKeysSurviveScan() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(CACHE_SIZE, key -> key);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < CACHE_SIZE / 2; i++) {
+                cache.get("hot-" + i);
+            }
+        }
+        // 한 번씩만 읽히는 키 수만 개 - LRU 였다면 자주 읽히던 키가 모두 밀려난다
+        for (int i = 0; i < 50_000; i++) {
+            cache.get("scan-" + i);
+        }
+        cache.cleanUp();
+
+        long survived = IntStream.range(0, CACHE_SIZE / 2).filter(i -> cache.getIfPresent("hot-" + i) != null).count();
+        log.info("전체 순회 후 남은 자주 읽히던 키: {}/{}", survived, CACHE_SIZE / 2);
+        assertTrue(survived > CACHE_SIZE / 2 * 0.9);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        TinyLfuCache<String, Long> cache = new TinyLfuCache<>(100, key -> {
+            loads.incrementAndGet();
+            await(release);
+            return 1000L;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Long>> readers = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> cache.get("new-user"), executor))
+                .toList();
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+            readers.forEach(reader -> assertEquals(1000L, reader.join()));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().loadCount());
+    }
+
+    @Test
+    void testLoadOverlappingWriteIsNotCached() throws InterruptedException {
+        long[] source = {0};
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TinyLfuCache<String, Long> cache = new TinyLfuCache<>(100, key -> {
+            long value = source[0];
+            loading.countDown();
+            await(release);
+            return value;
+        });
+
+        CompletableFuture<Long> staleRead = CompletableFuture.supplyAsync(() -> cache.get("user"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        // 조회가 원본을 읽은 뒤 적립이 끝났다 - 조회 결과(0)는 돌려주기만 하고 캐시에는 적립 후 잔액이 남아야 한다
+        assertEquals(1000L, cache.write("user", key -> source[0] += 1000));
+        release.countDown();
+
+        assertEquals(0L, staleRead.join());
+        assertEquals(1000L, cache.get("user"));
+        assertEquals(1000L, cache.getIfPresent("user"));
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        AtomicInteger attempts = new AtomicInteger();
+        TinyLfuCache<String, Long> cache = new TinyLfuCache<>(100, key -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("포인트 시스템 오류");
+            }
+            return 1000L;
+        });
+
+        assertThrows(IllegalStateException.class, () -> cache.get("user"));
+        assertNull(cache.getIfPresent("user"));
+        assertEquals(1000L, cache.get("user"));
+        assertEquals(1, cache.stats().loadFailureCount());
+
+        cache.invalidate("user");
+        assertNull(cache.getIfPresent("user"));
+    }
+
+    @Test
+    void compareHitRateWithLru() {
+        log.info("==================== 잔액 조회 적중률 비교: W-TinyLFU vs LRU (캐시 {}건) ====================", CACHE_SIZE);
+
+        // 자주 읽히는 사용자 1만 명(지프 분포) 70%, 한 번 읽히고 마는 조회(배치, 전체 순회) 30%
+        int hotUsers = 10_000;
+        double[] cumulative = new double[hotUsers];
+        double total = 0;
+        for (int i = 0; i < hotUsers; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        Random random = new Random(42);
+        long[] keys = new long[500_000];
+        for (int i = 0; i < keys.length; i++) {
+            if (random.nextDouble() < 0.7) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                keys[i] = index >= 0 ? index : -index - 1;
+            } else {
+                keys[i] = hotUsers + i;
+            }
+        }
+
+        TinyLfuCache<Long, Long> tinyLfu = new TinyLfuCache<>(CACHE_SIZE, key -> key);
+        for (long key : keys) {
+            tinyLfu.get(key);
+        }
+        double lruHitRate = lruHitRate(keys, key -> key);
+
+        log.info("==================== 결과 ====================");
+        log.info("W-TinyLFU: 적중률 {}%", String.format("%.1f", tinyLfu.stats().hitRate() * 100));
+        log.info("LRU:       적중률 {}%", String.format("%.1f", lruHitRate * 100));
+        assertTrue(tinyLfu.stats().hitRate() > lruHitRate);
+    }
+
+    @Test
+    void compareBalanceReadsWithAndWithoutCache() {
+        int users = 200;
+        int readsPerUser = 50;
+        log.info("==================== 가입 직후 잔액 조회 비교 ({}명 x {}회, 원본 조회 1ms) ====================", users, readsPerUser);
+
+        ServiceSimulation simulation = ServiceSimulation.defaults();
+        simulation.balance().configure(LatencyModel.parse("constant:ms=1"), FaultProfile.parse(""));
+        PointBalanceStore store = new PointBalanceStore();
+        PointBalanceCache cache = new PointBalanceCache(store, simulation, 10_000);
+        for (int i = 0; i < users; i++) {
+            cache.add("signup-" + i, 1000);
+        }
+
+        long uncachedMillis = readAll(users, readsPerUser, userId -> {
+            try {
+                simulation.balance().call();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return store.get(userId);
+        });
+        long cachedMillis = readAll(users, readsPerUser, cache::get);
+
+        CacheStats stats = cache.getStats();
+        log.info("==================== 결과 ====================");
+        log.info("매번 포인트 시스템 조회: {}ms", uncachedMillis);
+        log.info("잔액 캐시:              {}ms (적중률 {}%, 원본 조회 {}건)", cachedMillis,
+            String.format("%.1f", stats.hitRate() * 100), stats.loadCount());
+
+        // 적립 때 캐시에 넣었으므로 첫 조회부터 적중한다
+        assertEquals(0, stats.loadCount());
+        assertTrue(cachedMillis < uncachedMillis);
+    }
+
+    private static long readAll(int users, int readsPerUser, ToLongFunction<String> reader) {
+        AtomicInteger wrong = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < users; i++) {
+                String userId = "signup-" + i;
+                for (int read = 0; read < readsPerUser; read++) {
+                    executor.execute(() -> {
+                        if (reader.applyAsLong(userId) != 1000L) {
+                            wrong.incrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+        assertEquals(0, wrong.get());
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static double lruHitRate(long[] keys, LongUnaryOperator loader) {
+        Map<Long, Long> lru = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        long hits = 0;
+        for (long key : keys) {
+            if (lru.get(key) != null) {
+                hits++;
+            } else {
+                lru.put(key, loader.applyAsLong(key));
+            }
+        }
+        return (double) hits / keys.length;
+    }
+}
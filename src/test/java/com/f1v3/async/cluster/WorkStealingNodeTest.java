@@ -0,0 +1,269 @@
+package com.f1v3.async.cluster;
+
+import com.f1v3.async.AsyncApplication;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static com.f1v3.async.support.TestWaits.awaitUntil;
+import static com.f1v3.async.support.TestWaits.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class WorkStealingNodeTest {
+
+    private static final InetSocketAddress ANY_LOOPBACK_PORT = new InetSocketAddress("127.0.0.1", 0);
+
+    @Test
+    void testIdleNodeStealsFromBusyNode() throws Exception {
+        int taskCount = 40;
+        Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+        Consumer<WelcomeTask> runner = task -> {
+            executions.computeIfAbsent(task.email(), key -> new AtomicInteger()).incrementAndGet();
+            sleep(50);
+        };
+        ExecutorService busyPool = Executors.newFixedThreadPool(1);
+        ExecutorService idlePool = Executors.newFixedThreadPool(4);
+        WelcomeTaskOutbox busyOutbox = new WelcomeTaskOutbox();
+        WelcomeTaskOutbox idleOutbox = new WelcomeTaskOutbox();
+
+        try (WorkStealingNode busy = new WorkStealingNode(ANY_LOOPBACK_PORT, List.of(), 1, 8, 10, busyPool, busyOutbox, runner);
+             WorkStealingNode idle = new WorkStealingNode(ANY_LOOPBACK_PORT, List.of(loopback(busy.getPort())), 4, 8, 10,
+                 idlePool, idleOutbox, runner)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < taskCount; i++) {
+                busy.submit(WelcomeTask.email("cluster-" + i + "@example.com"));
+            }
+            assertTrue(busy.awaitIdle(10, TimeUnit.SECONDS));
+            assertTrue(idle.awaitIdle(10, TimeUnit.SECONDS));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            log.info("작업 {}개 - 바쁜 노드 실행: {}건 / 내줌: {}건, 한가한 노드 실행: {}건 / 가져옴: {}건, 소요: {}ms",
+                taskCount, busy.getExecutedCount(), busy.getHandedOffCount(), idle.getExecutedCount(), idle.getStolenCount(),
+                elapsedMillis);
+            // 모든 작업이 두 노드를 합쳐 정확히 한 번씩 실행된다
+            assertEquals(taskCount, executions.size());
+            executions.values().forEach(count -> assertEquals(1, count.get()));
+            assertTrue(idle.getStolenCount() > 0, "한가한 노드가 작업을 가져가야 함");
+            assertEquals(busy.getHandedOffCount(), idle.getStolenCount());
+            assertEquals(taskCount, busy.getExecutedCount() + idle.getExecutedCount());
+            // 한 노드였다면 작업자 1개로 40 * 50ms
+            assertTrue(elapsedMillis < taskCount * 50 / 2, "작업을 나눠 처리해야 함: " + elapsedMillis + "ms");
+            // 넘긴 작업은 바쁜 노드의 미완료 목록에서도 지워진다
+            assertEquals(0, busyOutbox.size());
+            assertEquals(0, idleOutbox.size());
+        } finally {
+            busyPool.shutdownNow();
+            idlePool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchFrameRoundTrip() {
+        List<WelcomeTask> tasks = List.of(WelcomeTask.email("환영@example.com"), WelcomeTask.points("user-1"),
+            WelcomeTask.registration("user-2", "user-2@example.com"));
+
+        ByteBuffer frame = StealProtocol.batch(tasks);
+        assertEquals(frame.remaining() - StealProtocol.HEADER_BYTES, frame.getInt());
+        assertEquals(StealProtocol.BATCH, frame.get());
+
+        assertEquals(tasks, StealProtocol.readBatch(frame));
+    }
+
+    @Test
+    void testBatchIsHandedOffOnlyAfterAck() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        Consumer<WelcomeTask> runner = task -> {
+            started.countDown();
+            await(release);
+        };
+
+        // 작업자 1개가 첫 작업에서 멈춰 있으므로 나머지 9개는 대기열에 남는다
+        try (WorkStealingNode node = new WorkStealingNode(ANY_LOOPBACK_PORT, List.of(), 1, 8, 10, pool, outbox, runner)) {
+            for (int i = 0; i < 10; i++) {
+                node.submit(WelcomeTask.email("ack-" + i + "@example.com"));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(9, node.getBacklogSize());
+
+            // ACK 없이 끊으면 보낸 작업은 대기열로 돌아온다
+            try (Socket socket = connect(node.getPort())) {
+                assertEquals(5, steal(socket).size());
+                assertEquals(4, node.getBacklogSize());
+            }
+            assertTrue(awaitUntil(() -> node.getBacklogSize() == 9), "끊긴 연결의 작업이 대기열로 돌아와야 함");
+
+            // ACK 를 보내야 넘긴 것으로 처리되고 미완료 목록에서 지워진다
+            try (Socket socket = connect(node.getPort())) {
+                List<WelcomeTask> stolen = steal(socket);
+                write(socket, StealProtocol.ack(stolen.size()));
+                assertTrue(awaitUntil(() -> node.getHandedOffCount() == stolen.size()));
+                assertEquals(4, node.getBacklogSize());
+                assertEquals(10 - stolen.size(), outbox.size());
+
+                // 연결을 열어 둔 채 ACK 를 보내지 않으면 시간 초과 뒤 대기열로 돌아온다
+                assertEquals(2, steal(socket).size());
+                assertEquals(2, node.getBacklogSize());
+                assertTrue(awaitUntil(() -> node.getBacklogSize() == 4), "ACK 시간 초과 뒤 대기열로 돌아와야 함");
+                assertEquals(stolen.size(), node.getHandedOffCount());
+            }
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStolenTasksAreRegisteredBeforeAck() throws Exception {
+        List<WelcomeTask> batch = List.of(WelcomeTask.email("thief-1@example.com"), WelcomeTask.points("thief-2"));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        AtomicInteger registeredAtAck = new AtomicInteger(-1);
+
+        // 작업을 한 번만 내주고, ACK 를 받은 순간 가져간 노드의 미완료 목록 크기를 기록하는 노드
+        try (ServerSocket victim = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread victimThread = new Thread(() -> {
+                try (Socket socket = victim.accept()) {
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    assertEquals(StealProtocol.STEAL, readFrame(in).get());
+                    write(socket, StealProtocol.batch(batch));
+                    ByteBuffer ack = readFrame(in);
+                    assertEquals(StealProtocol.ACK, ack.get());
+                    registeredAtAck.set(outbox.size());
+                    assertEquals(batch.size(), StealProtocol.readAck(ack));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            victimThread.start();
+
+            try (WorkStealingNode thief = new WorkStealingNode(ANY_LOOPBACK_PORT, List.of(loopback(victim.getLocalPort())), 2, 8, 10,
+                pool, outbox, task -> await(release))) {
+                victimThread.join(5000);
+                assertEquals(batch.size(), registeredAtAck.get(), "ACK 를 보내기 전에 가져온 작업을 자기 목록에 등록해야 함");
+                assertTrue(awaitUntil(() -> thief.getStolenCount() == batch.size()));
+            }
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 같은 장비에서 별도 JVM 으로 띄운 {@link AsyncApplication} 이 이 JVM 노드의 작업을 가져가는지 확인한다
+     */
+    @Test
+    void testSeparateJvmStealsOverLoopback(@TempDir Path tempDir) throws Exception {
+        int taskCount = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        Path childLog = tempDir.resolve("cluster-node.log");
+        Process child = null;
+
+        try (WorkStealingNode busy = new WorkStealingNode(ANY_LOOPBACK_PORT, List.of(), 1, 8, 50, pool,
+            new WelcomeTaskOutbox(), task -> sleep(100))) {
+            long start = System.nanoTime();
+            for (int i = 0; i < taskCount; i++) {
+                busy.submit(WelcomeTask.registration("jvm-" + i, "jvm-" + i + "@example.com"));
+            }
+            child = startNode(busy.getPort(), childLog);
+
+            // 혼자라면 작업자 1개로 100 * 100ms = 10초, 다른 JVM 이 뜨는 동안에는 혼자 처리한다
+            assertTrue(busy.awaitIdle(60, TimeUnit.SECONDS));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            log.info("작업 {}개 - 이 JVM 실행: {}건, 다른 JVM 으로 넘김: {}건, 소요: {}ms",
+                taskCount, busy.getExecutedCount(), busy.getHandedOffCount(), elapsedMillis);
+            assertTrue(busy.getHandedOffCount() > 0, "다른 JVM 이 작업을 가져가야 함 (노드 로그: " + childLog + ")");
+            assertEquals(taskCount, busy.getExecutedCount() + busy.getHandedOffCount());
+        } finally {
+            pool.shutdownNow();
+            if (child != null) {
+                child.destroy();
+                if (!child.waitFor(30, TimeUnit.SECONDS)) {
+                    child.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private Process startNode(int peerPort, Path logFile) throws IOException {
+        List<String> command = new ArrayList<>(Arrays.asList(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", System.getProperty("java.class.path"),
+            AsyncApplication.class.getName(),
+            "--server.port=0",
+            "--async.cluster.enabled=true",
+            "--async.cluster.port=0",
+            "--async.cluster.peers=127.0.0.1:" + peerPort,
+            "--async.cluster.workers=10",
+            "--async.cluster.steal-interval-ms=20",
+            "--async.simulation.email.latency=constant:ms=50",
+            "--async.simulation.points.latency=constant:ms=50",
+            "--async.executor.drain.pending-path="));
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+    }
+
+    private static Socket connect(int port) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(loopback(port), 1000);
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static List<WelcomeTask> steal(Socket socket) throws IOException {
+        write(socket, StealProtocol.stealRequest(8));
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        byte[] frame = new byte[in.readInt()];
+        in.readFully(frame);
+        ByteBuffer body = ByteBuffer.wrap(frame);
+        assertEquals(StealProtocol.BATCH, body.get());
+        return StealProtocol.readBatch(body);
+    }
+
+    private static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        byte[] frame = new byte[in.readInt()];
+        in.readFully(frame);
+        return ByteBuffer.wrap(frame);
+    }
+
+    private static void write(Socket socket, ByteBuffer frame) throws IOException {
+        socket.getOutputStream().write(frame.array(), 0, frame.limit());
+        socket.getOutputStream().flush();
+    }
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress("127.0.0.1", port);
+    }
+}
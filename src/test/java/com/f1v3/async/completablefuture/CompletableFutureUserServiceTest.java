@@ -1,7 +1,7 @@
 package com.f1v3.async.completablefuture;
 
+import com.f1v3.async.simulation.SimulationClock;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,37 +14,50 @@ import java.util.concurrent.TimeoutException;
 import java.util.stream.IntStream;
 
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "async.simulation.clock=virtual")
 class CompletableFutureUserServiceTest {
 
     @Autowired
     private CompletableFutureUserService completableFutureUserService;
 
-    @AfterEach
-    void tearDown() {
-        completableFutureUserService.shutdown();
-    }
+    @Autowired
+    private SimulationClock clock;
 
     @Test
     void testBasicUserRegistration() {
         log.info("==================== CompletableFuture 방식 기본 사용자 등록 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         completableFutureUserService.registerUser("cf-user", "cf@example.com");
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("CompletableFuture 방식 소요시간: {}ms", end - start);
     }
 
+    @Test
+    void testAsyncRegistrationReturnsImmediately() throws ExecutionException, InterruptedException {
+        log.info("==================== CompletableFuture 비동기 반환 테스트 ====================");
+
+        long start = clock.currentTimeMillis();
+        CompletableFuture<String> future = completableFutureUserService.registerUserAsync("async-user", "async@example.com");
+        long returned = clock.currentTimeMillis();
+
+        String result = future.get();
+        long end = clock.currentTimeMillis();
+
+        log.info("비동기 결과: {}", result);
+        log.info("반환까지: {}ms, 완료까지: {}ms", returned - start, end - start);
+    }
+
     @Test
     void testChainingOperations() throws ExecutionException, InterruptedException {
         log.info("==================== CompletableFuture 체이닝 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         CompletableFuture<String> future = completableFutureUserService.registerUserWithChaining("chaining-user", "chaining@example.com");
 
         String result = future.get();
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("체이닝 결과: {}", result);
         log.info("체이닝 작업 소요시간: {}ms", end - start);
@@ -88,7 +101,7 @@ class CompletableFutureUserServiceTest {
         log.info("==================== CompletableFuture 방식 대량 처리 테스트 ====================");
 
         int userCount = 15;
-        long bulkStart = System.currentTimeMillis();
+        long bulkStart = clock.currentTimeMillis();
 
         List<CompletableFuture<Void>> futures = IntStream.range(0, userCount)
                 .mapToObj(i -> CompletableFuture.runAsync(() ->
@@ -96,7 +109,7 @@ class CompletableFutureUserServiceTest {
                 .toList();
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        long bulkEnd = System.currentTimeMillis();
+        long bulkEnd = clock.currentTimeMillis();
 
         log.info("CompletableFuture 방식 {}명 처리 소요시간: {}ms", userCount, bulkEnd - bulkStart);
         log.info("평균 처리시간: {}ms/user", (bulkEnd - bulkStart) / userCount);
@@ -0,0 +1,93 @@
+package com.f1v3.async.dag;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.f1v3.async.support.TestWaits.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+class DagUserServiceTest {
+
+    @Autowired
+    private DagUserService dagUserService;
+
+    @Test
+    void testStepGraphRegistration() {
+        log.info("==================== 단계 그래프 방식 회원가입 테스트 ====================");
+
+        RegistrationReport report = dagUserService.registerUser("dag-user", "dag@example.com");
+
+        // 모든 단계가 완료되고, 총 소요시간은 단계 합(5초)이 아니라 임계 경로(email → crm, 2.7초)에 가깝다
+        assertTrue(report.isSuccessful());
+        assertTrue(report.totalMillis() < 3500, "임계 경로 기준으로 병렬 실행되어야 함");
+        assertTrue(report.step("crm").startedAtMillis() >= report.step("email").durationMillis());
+        assertEquals(2700L, dagUserService.getRegistrationGraph().getCriticalPathMillis());
+    }
+
+    @Test
+    void testCriticalPathRunsFirstWhenPoolIsSaturated() {
+        List<String> executionOrder = new CopyOnWriteArrayList<>();
+        StepGraph graph = StepGraph.builder()
+            .step("warmup", Duration.ofMillis(1000), Duration.ofSeconds(1),
+                context -> record(executionOrder, "warmup", 50))
+            .step("short-leaf", Duration.ofMillis(100), Duration.ofSeconds(1),
+                context -> record(executionOrder, "short-leaf", 20))
+            .step("critical-head", Duration.ofMillis(50), Duration.ofSeconds(1),
+                context -> record(executionOrder, "critical-head", 20))
+            .step("critical-tail", Duration.ofMillis(200), Duration.ofSeconds(1),
+                context -> record(executionOrder, "critical-tail", 20), "critical-head")
+            .build();
+
+        // 스레드 1개가 warmup 을 실행하는 동안 나머지가 대기하고, 이후 rank 가 높은 임계 경로부터 실행된다
+        StepGraphEngine engine = new StepGraphEngine(1);
+        engine.execute(graph, new RegistrationContext("user", "user@example.com")).join();
+        engine.shutdown();
+
+        assertEquals(250L, graph.getRank("critical-head"));
+        assertEquals(List.of("warmup", "critical-head", "critical-tail", "short-leaf"), executionOrder);
+    }
+
+    @Test
+    void testTimedOutStepSkipsDependents() {
+        StepGraph graph = StepGraph.builder()
+            .step("slow", Duration.ofMillis(100), Duration.ofMillis(100),
+                context -> sleep(1000))
+            .step("after-slow", Duration.ofMillis(10), Duration.ofSeconds(1),
+                context -> { }, "slow")
+            .step("independent", Duration.ofMillis(10), Duration.ofSeconds(1),
+                context -> { })
+            .build();
+
+        StepGraphEngine engine = new StepGraphEngine(4);
+        RegistrationReport report = engine.execute(graph, new RegistrationContext("user", "user@example.com")).join();
+        engine.shutdown();
+
+        assertEquals(StepStatus.TIMED_OUT, report.step("slow").status());
+        assertEquals(StepStatus.SKIPPED, report.step("after-slow").status());
+        assertEquals(StepStatus.COMPLETED, report.step("independent").status());
+        assertTrue(report.totalMillis() < 1000, "시간 초과된 단계를 기다리지 않아야 함");
+    }
+
+    @Test
+    void testCyclicGraphIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> StepGraph.builder()
+            .step("a", Duration.ofMillis(10), Duration.ofSeconds(1), context -> { }, "b")
+            .step("b", Duration.ofMillis(10), Duration.ofSeconds(1), context -> { }, "a")
+            .build());
+    }
+
+    private void record(List<String> executionOrder, String name, long millis) {
+        executionOrder.add(name);
+        sleep(millis);
+    }
+}
@@ -0,0 +1,106 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class HttpEmailServiceTest {
+
+    private static final int REGISTRATIONS = 1_000;
+    private static final long PROVIDER_LATENCY_MILLIS = 50;
+    private static final int MAX_CONCURRENT_REQUESTS = 128;
+
+    private StubEmailServer stubServer;
+    private HttpEmailService httpEmailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubServer = new StubEmailServer(PROVIDER_LATENCY_MILLIS);
+        httpEmailService = new HttpEmailService(new DefaultListableBeanFactory().getBeanProvider(WelcomeEmailGuard.class),
+            stubServer.baseUrl(), MAX_CONCURRENT_REQUESTS, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpEmailService.close();
+        stubServer.close();
+    }
+
+    @Test
+    void testSendWelcomeEmail() {
+        httpEmailService.sendWelcomeEmail("http-user@example.com");
+
+        assertEquals(1, stubServer.getReceivedCount());
+    }
+
+    @Test
+    void testProviderErrorIsReported() {
+        stubServer.setStatusCode(503);
+
+        assertThrows(EmailDeliveryException.class, () -> httpEmailService.sendWelcomeEmail("error@example.com"));
+        CompletionException error = assertThrows(CompletionException.class,
+            () -> httpEmailService.sendWelcomeEmailAsync("error@example.com").join());
+        assertTrue(error.getCause() instanceof EmailDeliveryException);
+    }
+
+    @Test
+    void compareAsyncHttpAndBlockingStrategies() throws InterruptedException {
+        log.info("==================== HTTP 메일 발송 {}건 동시 처리 비교 (제공자 지연 {}ms) ====================",
+            REGISTRATIONS, PROVIDER_LATENCY_MILLIS);
+
+        // 커넥션 수립과 JIT 영향을 줄이기 위한 워밍업
+        CompletableFuture.allOf(IntStream.range(0, MAX_CONCURRENT_REQUESTS)
+            .mapToObj(i -> httpEmailService.sendWelcomeEmailAsync("warmup-" + i + "@example.com"))
+            .toArray(CompletableFuture[]::new)).join();
+
+        // 1. sendAsync: 응답 대기 중 스레드를 점유하지 않음
+        long asyncStart = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = IntStream.range(0, REGISTRATIONS)
+            .mapToObj(i -> httpEmailService.sendWelcomeEmailAsync("async-" + i + "@example.com"))
+            .toList();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long asyncTime = System.currentTimeMillis() - asyncStart;
+        int asyncConnections = stubServer.getConnectionCount();
+
+        // 2. 기존 전략과 같은 newFixedThreadPool(10) 위에서 블로킹 호출
+        long pooledTime = runBlocking(Executors.newFixedThreadPool(10), "pooled");
+
+        // 3. 가상 스레드 위에서 블로킹 호출
+        long virtualTime = runBlocking(Executors.newVirtualThreadPerTaskExecutor(), "virtual");
+
+        log.info("==================== 결과 ====================");
+        log.info("HttpClient.sendAsync:              {}ms (커넥션 {}개)", asyncTime, asyncConnections);
+        log.info("고정 스레드 풀(10) + 블로킹 호출:  {}ms", pooledTime);
+        log.info("가상 스레드 + 블로킹 호출:         {}ms", virtualTime);
+
+        assertEquals(MAX_CONCURRENT_REQUESTS + REGISTRATIONS * 3, stubServer.getReceivedCount());
+        // 요청마다 새 커넥션을 여는 대신 동시 요청 제한 수준의 커넥션을 재사용한다
+        assertTrue(asyncConnections < REGISTRATIONS, "커넥션이 재사용되어야 함");
+        // 고정 풀은 10개씩만 처리하므로 최소 (1000 / 10) * 50ms 가 걸린다
+        assertTrue(asyncTime < pooledTime);
+    }
+
+    private long runBlocking(ExecutorService executor, String prefix) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        IntStream.range(0, REGISTRATIONS).forEach(i ->
+            executor.execute(() -> httpEmailService.sendWelcomeEmail(prefix + "-" + i + "@example.com")));
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return System.currentTimeMillis() - start;
+    }
+}
@@ -0,0 +1,178 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class SmtpEmailServiceTest {
+
+    private static final int MESSAGES = 500;
+    private static final long ROUND_TRIP_MILLIS = 5;
+    private static final int MAX_CONNECTIONS = 8;
+
+    private StubSmtpServer stubServer;
+    private SmtpEmailService smtpEmailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubServer = new StubSmtpServer(ROUND_TRIP_MILLIS, true);
+        smtpEmailService = newService(stubServer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtpEmailService.close();
+        stubServer.close();
+    }
+
+    @Test
+    void testSendWelcomeEmail() {
+        smtpEmailService.sendWelcomeEmail("smtp-user@example.com");
+
+        assertEquals(List.of("<smtp-user@example.com>"), stubServer.getRecipients());
+        assertTrue(stubServer.getLastMessage().startsWith("From: <welcome@f1v3.com>\r\nTo: <smtp-user@example.com>\r\n"));
+        assertTrue(stubServer.getLastMessage().contains("smtp-user@example.com 님, 회원가입을 환영합니다."));
+    }
+
+    @Test
+    void testLocalizedTemplate() {
+        smtpEmailService.sendWelcomeEmailAsync("english@example.com", Locale.US).join();
+
+        assertTrue(stubServer.getLastMessage().contains("Subject: Welcome aboard\r\n"));
+        assertTrue(stubServer.getLastMessage().contains("Hi english@example.com, thanks for signing up."));
+    }
+
+    @Test
+    void testRejectedRecipientIsReported() {
+        assertThrows(EmailDeliveryException.class, () -> smtpEmailService.sendWelcomeEmail("reject@example.com"));
+
+        // 거부된 뒤에도 같은 커넥션으로 다음 메일을 보낸다
+        smtpEmailService.sendWelcomeEmail("after-reject@example.com");
+        assertEquals(List.of("<after-reject@example.com>"), stubServer.getRecipients());
+        assertEquals(1, stubServer.getConnectionCount());
+    }
+
+    @Test
+    void testInvalidAddressIsRejectedBeforeSending() {
+        CompletionException error = assertThrows(CompletionException.class,
+            () -> smtpEmailService.sendWelcomeEmailAsync("evil@example.com>\r\nRCPT TO:<other@example.com").join());
+
+        assertTrue(error.getCause() instanceof EmailDeliveryException);
+        assertEquals(0, stubServer.getConnectionCount());
+    }
+
+    @Test
+    void testServerWithoutPipelining() throws Exception {
+        try (StubSmtpServer plainServer = new StubSmtpServer(ROUND_TRIP_MILLIS, false);
+             SmtpEmailService service = newService(plainServer)) {
+            CompletableFuture.allOf(IntStream.range(0, 20)
+                .mapToObj(i -> service.sendWelcomeEmailAsync("plain-" + i + "@example.com"))
+                .toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(20, plainServer.getReceivedCount());
+            // PIPELINING 을 알리지 않은 서버에는 명령을 하나씩 보낸다
+            assertEquals(1, plainServer.getMaxCommandsPerRoundTrip());
+        }
+    }
+
+    @Test
+    void compareConnectionReuseAndPipelining() throws InterruptedException {
+        log.info("==================== SMTP 메일 발송 {}건 비교 (왕복 {}ms) ====================", MESSAGES, ROUND_TRIP_MILLIS);
+
+        // 1. 기존 전략과 같은 newFixedThreadPool(10) 위에서 메일마다 연결 + 인사 + 명령 하나씩
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        long perMessageStart = System.currentTimeMillis();
+        IntStream.range(0, MESSAGES).forEach(i ->
+            executor.execute(() -> sendWithNewConnection(stubServer.getPort(), "fresh-" + i + "@example.com")));
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        long perMessageTime = System.currentTimeMillis() - perMessageStart;
+        int perMessageConnections = stubServer.getConnectionCount();
+
+        // 2. 커넥션 풀 + PIPELINING
+        long pooledStart = System.currentTimeMillis();
+        CompletableFuture.allOf(IntStream.range(0, MESSAGES)
+            .mapToObj(i -> smtpEmailService.sendWelcomeEmailAsync("pooled-" + i + "@example.com"))
+            .toArray(CompletableFuture[]::new)).join();
+        long pooledTime = System.currentTimeMillis() - pooledStart;
+        int pooledConnections = stubServer.getConnectionCount() - perMessageConnections;
+
+        log.info("==================== 결과 ====================");
+        log.info("메일마다 새 연결 (스레드 10개):  {}ms (커넥션 {}개)", perMessageTime, perMessageConnections);
+        log.info("커넥션 풀 + PIPELINING:          {}ms (커넥션 {}개, 왕복당 최대 명령 {}개)",
+            pooledTime, pooledConnections, stubServer.getMaxCommandsPerRoundTrip());
+
+        assertEquals(MESSAGES * 2, stubServer.getReceivedCount());
+        assertEquals(MESSAGES, perMessageConnections);
+        assertTrue(pooledConnections <= MAX_CONNECTIONS, "커넥션을 재사용해야 함: " + pooledConnections);
+        // 본문 끝(.)과 다음 메일의 MAIL FROM / RCPT TO / DATA 를 한 번에 보낸다
+        assertTrue(stubServer.getMaxCommandsPerRoundTrip() >= 4);
+        // 새 연결은 메일마다 왕복 7번 (인사, EHLO, MAIL, RCPT, DATA, 본문, QUIT), 풀은 커넥션마다 메일당 왕복 1번
+        assertTrue(pooledTime * 3 < perMessageTime, "풀 + PIPELINING 이 크게 빨라야 함");
+    }
+
+    private SmtpEmailService newService(StubSmtpServer server) throws IOException {
+        return new SmtpEmailService(new DefaultListableBeanFactory().getBeanProvider(WelcomeEmailGuard.class),
+            new WelcomeEmailTemplates("ko", 4096, 64), "127.0.0.1", server.getPort(), "welcome@f1v3.com",
+            MAX_CONNECTIONS, 64, 10_000);
+    }
+
+    /**
+     * 커넥션 재사용도 PIPELINING 도 없는 단순한 SMTP 클라이언트 - 명령마다 응답을 기다린다
+     */
+    private static void sendWithNewConnection(int port, String email) {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            expect(in, "220");
+            command(out, in, "EHLO async.f1v3.local", "250");
+            command(out, in, "MAIL FROM:<welcome@f1v3.com>", "250");
+            command(out, in, "RCPT TO:<" + email + ">", "250");
+            command(out, in, "DATA", "354");
+            command(out, in, "Subject: welcome\r\n\r\nwelcome\r\n.", "250");
+            command(out, in, "QUIT", "221");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void command(OutputStream out, BufferedReader in, String command, String expectedCode) throws IOException {
+        out.write((command + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        expect(in, expectedCode);
+    }
+
+    private static void expect(BufferedReader in, String expectedCode) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null || !line.startsWith(expectedCode)) {
+                throw new IOException("예상하지 못한 SMTP 응답: " + line);
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+    }
+}
@@ -0,0 +1,86 @@
+package com.f1v3.async.email;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트/벤치마크용 로컬 메일 발송 API 스텁 서버
+ * <p>
+ * 요청마다 스레드를 재우지 않고 스케줄러로 지연 응답하므로, 동시 요청이 많아도 설정한 지연시간만큼만 걸린다.
+ */
+@Slf4j
+class StubEmailServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService acceptor = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger receivedCount = new AtomicInteger();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private volatile long latencyMillis;
+    private volatile int statusCode = 202;
+
+    StubEmailServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.createContext("/v1/messages", this::handle);
+        this.server.setExecutor(acceptor);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    int getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        acceptor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        receivedCount.incrementAndGet();
+        connections.add(exchange.getRemoteAddress());
+
+        responder.schedule(() -> {
+            try {
+                exchange.sendResponseHeaders(statusCode, -1);
+            } catch (IOException e) {
+                log.warn("스텁 메일 서버 응답 실패", e);
+            } finally {
+                exchange.close();
+            }
+        }, latencyMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,208 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트/벤치마크용 로컬 SMTP 스텁 서버
+ * <p>
+ * 클라이언트가 보낸 명령을 모두 읽고 더 읽을 것이 없을 때 설정한 지연시간만큼 기다린 뒤 응답을 한 번에 보낸다.
+ * 즉 지연시간은 왕복 한 번의 비용이며, 명령을 몰아 보내는(PIPELINING) 클라이언트는 그만큼 덜 기다린다.
+ * {@code reject} 로 시작하는 수신자는 550 으로 거부한다.
+ */
+@Slf4j
+class StubSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean pipelining;
+    private final long latencyMillis;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger maxCommandsPerRoundTrip = new AtomicInteger();
+    private final List<String> recipients = new CopyOnWriteArrayList<>();
+    private volatile String lastMessage;
+
+    StubSmtpServer(long latencyMillis, boolean pipelining) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.pipelining = pipelining;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress("127.0.0.1", 0), 1024);
+        sessions.execute(this::accept);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 본문까지 받아 250 으로 응답한 메일 수
+     */
+    int getReceivedCount() {
+        return recipients.size();
+    }
+
+    List<String> getRecipients() {
+        return recipients;
+    }
+
+    /**
+     * 마지막으로 받은 메일 본문 (DATA 로 받은 줄을 CRLF 로 이은 것, 점 이스케이프는 되돌림)
+     */
+    String getLastMessage() {
+        return lastMessage;
+    }
+
+    int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * 왕복 한 번에 받은 명령 수의 최댓값 (PIPELINING 을 쓰지 않으면 1)
+     */
+    int getMaxCommandsPerRoundTrip() {
+        return maxCommandsPerRoundTrip.get();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.debug("스텁 SMTP 서버 닫기 실패", e);
+        }
+        sessions.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                sessions.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            StringBuilder replies = new StringBuilder("220 stub.smtp.local ESMTP\r\n");
+            respond(out, replies);
+
+            String sender = null;
+            String recipient = null;
+            int commands = 0;
+            String line;
+            while ((line = readLine(in)) != null) {
+                commands++;
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO")) {
+                    replies.append("250-stub.smtp.local\r\n");
+                    if (pipelining) {
+                        replies.append("250-PIPELINING\r\n");
+                    }
+                    replies.append("250 8BITMIME\r\n");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    sender = line.substring(10);
+                    replies.append("250 OK\r\n");
+                } else if (command.startsWith("RCPT TO:")) {
+                    if (sender == null) {
+                        replies.append("503 MAIL first\r\n");
+                    } else if (line.substring(8).startsWith("<reject")) {
+                        replies.append("550 No such user\r\n");
+                    } else {
+                        recipient = line.substring(8);
+                        replies.append("250 OK\r\n");
+                    }
+                } else if (command.equals("DATA")) {
+                    if (recipient == null) {
+                        replies.append("554 No valid recipients\r\n");
+                    } else {
+                        replies.append("354 End data with <CR><LF>.<CR><LF>\r\n");
+                        maxCommandsPerRoundTrip.accumulateAndGet(commands, Math::max);
+                        respond(out, replies);
+                        commands = 0;
+                        StringBuilder message = new StringBuilder();
+                        while (!".".equals(line = readLine(in))) {
+                            if (line == null) {
+                                return;
+                            }
+                            message.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+                        }
+                        commands++;
+                        lastMessage = message.toString();
+                        recipients.add(recipient);
+                        replies.append("250 Queued\r\n");
+                    }
+                    sender = null;
+                    recipient = null;
+                } else if (command.equals("RSET")) {
+                    sender = null;
+                    recipient = null;
+                    replies.append("250 OK\r\n");
+                } else if (command.equals("QUIT")) {
+                    replies.append("221 Bye\r\n");
+                    respond(out, replies);
+                    return;
+                } else {
+                    replies.append("500 Unknown command\r\n");
+                }
+
+                // 클라이언트가 더 보낸 명령이 없으면 응답을 기다리는 중이다
+                if (in.available() == 0) {
+                    maxCommandsPerRoundTrip.accumulateAndGet(commands, Math::max);
+                    commands = 0;
+                    respond(out, replies);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("스텁 SMTP 세션 종료 - {}", e.toString());
+        }
+    }
+
+    private void respond(OutputStream out, StringBuilder replies) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("스텁 SMTP 서버 종료", e);
+        }
+        out.write(replies.toString().getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        replies.setLength(0);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.f1v3.async.email;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class WelcomeEmailGuardTest {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    @TempDir
+    Path directory;
+
+    private StubEmailServer stubServer;
+    private WelcomeEmailGuard guard;
+    private HttpEmailService httpEmailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubServer = new StubEmailServer(10);
+        guard = new WelcomeEmailGuard(new ScalableBloomFilter(1_000, FALSE_POSITIVE_RATE), new WelcomedEmailHistory());
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("welcomeEmailGuard", guard);
+        httpEmailService = new HttpEmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class),
+            stubServer.baseUrl(), 16, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpEmailService.close();
+        stubServer.close();
+    }
+
+    @Test
+    void testDuplicateWelcomeEmailIsNotSent() {
+        httpEmailService.sendWelcomeEmail("dup@example.com");
+        httpEmailService.sendWelcomeEmail("dup@example.com");
+        httpEmailService.sendWelcomeEmail(" DUP@example.com ");
+        httpEmailService.sendWelcomeEmail("other@example.com");
+
+        // 처음 보는 주소는 이력을 조회하지 않고, 중복 주소만 정확히 조회한다
+        assertEquals(2, stubServer.getReceivedCount());
+        assertEquals(2L, guard.getSkippedLookupCount());
+        assertEquals(2L, guard.getHistoryLookupCount());
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedOnNextRegistration() {
+        stubServer.setStatusCode(503);
+        assertThrows(EmailDeliveryException.class, () -> httpEmailService.sendWelcomeEmail("retry@example.com"));
+
+        // 필터에는 남아 있지만 이력이 되돌려졌으므로 다시 발송된다
+        stubServer.setStatusCode(202);
+        httpEmailService.sendWelcomeEmail("retry@example.com");
+        httpEmailService.sendWelcomeEmail("retry@example.com");
+
+        assertEquals(2, stubServer.getReceivedCount());
+    }
+
+    @Test
+    void testInterruptedDeliveryIsRetriedOnNextRegistration() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("welcomeEmailGuard", guard);
+        EmailService emailService = new EmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class),
+            ServiceSimulation.defaults());
+
+        // 발송 도중 인터럽트되면 보냈는지 알 수 없으므로 실패로 처리하고 이력을 되돌린다
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(EmailDeliveryException.class, () -> emailService.sendWelcomeEmail("interrupted@example.com"));
+        } finally {
+            assertTrue(Thread.interrupted(), "인터럽트 상태가 유지되어야 함");
+        }
+
+        assertTrue(guard.tryAcquire("interrupted@example.com"));
+    }
+
+    @Test
+    void testHistorySurvivesRestart() {
+        Path history = directory.resolve("welcomed-emails");
+        WelcomeEmailGuard first = new WelcomeEmailGuard(1_000, FALSE_POSITIVE_RATE, history.toString());
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(first.tryAcquire("user-" + i + "@example.com"));
+        }
+        first.release("user-7@example.com");
+        first.close();
+
+        WelcomeEmailGuard restarted = new WelcomeEmailGuard(1_000, FALSE_POSITIVE_RATE, history.toString());
+        ScalableBloomFilter filter = restarted.getFilter();
+
+        // 이력 파일을 다시 읽어 필터를 채운다
+        assertEquals(first.getFilter().getLayerCount(), filter.getLayerCount());
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("user-" + i + "@example.com"));
+        }
+        assertFalse(filter.mightContain("never-registered@example.com"));
+
+        // 재시작 후에도 이미 보낸 주소는 막고, 발송 실패로 되돌린 주소는 다시 보낸다
+        assertFalse(restarted.tryAcquire("user-42@example.com"));
+        assertTrue(restarted.tryAcquire("user-7@example.com"));
+        assertTrue(restarted.tryAcquire("never-registered@example.com"));
+        restarted.close();
+    }
+
+    @Test
+    void testHistoryIsWrittenAsAddressesAreRecorded() {
+        Path history = directory.resolve("welcomed-emails");
+        // 닫지 않고 버리는 가드 - 비정상 종료를 흉내 낸다
+        WelcomeEmailGuard crashed = new WelcomeEmailGuard(1_000, FALSE_POSITIVE_RATE, history.toString());
+        assertTrue(crashed.tryAcquire("before-crash@example.com"));
+
+        WelcomeEmailGuard restarted = new WelcomeEmailGuard(1_000, FALSE_POSITIVE_RATE, history.toString());
+        try {
+            assertFalse(restarted.tryAcquire("before-crash@example.com"), "기록한 주소는 종료 전에 이미 파일에 있어야 함");
+        } finally {
+            restarted.close();
+            crashed.close();
+        }
+    }
+
+    @Test
+    void measureMemoryAndSkippedLookups() {
+        log.info("==================== 환영 메일 중복 가드 측정 ====================");
+        int addresses = 1_000_000;
+        WelcomeEmailGuard largeGuard = new WelcomeEmailGuard(
+            new ScalableBloomFilter(100_000, FALSE_POSITIVE_RATE), new WelcomedEmailHistory());
+
+        for (int i = 0; i < addresses; i++) {
+            largeGuard.tryAcquire("member-" + i + "@example.com");
+        }
+        ScalableBloomFilter filter = largeGuard.getFilter();
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("unseen-" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        double measuredRate = (double) falsePositives / probes;
+
+        // 가져오기/재가입 상황: 10만 건 중 20% 가 기존 회원
+        long lookupsBefore = largeGuard.getHistoryLookupCount();
+        Random random = new Random(7);
+        int registrations = 100_000;
+        int duplicates = 0;
+        for (int i = 0; i < registrations; i++) {
+            if (random.nextInt(100) < 20) {
+                duplicates++;
+                assertFalse(largeGuard.tryAcquire("member-" + random.nextInt(addresses) + "@example.com"));
+            } else {
+                largeGuard.tryAcquire("new-" + i + "@example.com");
+            }
+        }
+        long lookups = largeGuard.getHistoryLookupCount() - lookupsBefore;
+
+        log.info("주소 {}개 - 필터 {}개, {} KB ({} bits/주소)", addresses, filter.getLayerCount(),
+            filter.getBitSize() / 8 / 1024, String.format("%.1f", (double) filter.getBitSize() / filter.getApproximateCount()));
+        log.info("오탐률 - 목표 {}, 측정 {}", FALSE_POSITIVE_RATE, String.format("%.5f", measuredRate));
+        log.info("가입 {}건 (중복 {}건) - 발송 이력 조회 {}건, 조회 생략 {}건",
+            registrations, duplicates, lookups, registrations - lookups);
+
+        assertTrue(measuredRate <= FALSE_POSITIVE_RATE * 2, "오탐률이 목표 범위 안이어야 함");
+        assertTrue(lookups < duplicates + registrations / 100, "이력 조회는 중복 주소와 일부 오탐에서만 발생해야 함");
+    }
+}
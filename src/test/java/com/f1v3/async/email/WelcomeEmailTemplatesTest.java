@@ -0,0 +1,192 @@
+package com.f1v3.async.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class WelcomeEmailTemplatesTest {
+
+    private static final String SENDER = "welcome@f1v3.com";
+    private static final int RENDERS = 200_000;
+
+    private final WelcomeEmailTemplates templates = new WelcomeEmailTemplates("ko", 4096, 16);
+
+    @Test
+    void testRenderDefaultTemplate() {
+        try (RenderedEmail email = templates.render(SENDER, "user@example.com")) {
+            String message = decode(email);
+
+            assertTrue(email.content().isDirect());
+            assertTrue(message.startsWith("From: <welcome@f1v3.com>\r\nTo: <user@example.com>\r\nSubject: =?UTF-8?B?"));
+            assertTrue(message.contains("\r\n\r\nuser@example.com 님, 회원가입을 환영합니다.\r\n"));
+            assertTrue(message.endsWith("문의: welcome@f1v3.com\r\n.\r\n"));
+            assertFalse(message.replace("\r\n", "").contains("\n"), "줄바꿈은 모두 CRLF 여야 함");
+        }
+    }
+
+    @Test
+    void testLocalizedTemplatesAreCompiledOnce() {
+        String english = render("user@example.com", Locale.ENGLISH);
+        String american = render("user@example.com", Locale.US);
+        String korean = render("user@example.com", Locale.KOREA);
+        String unknown = render("user@example.com", Locale.JAPANESE);
+
+        assertTrue(english.contains("Subject: Welcome aboard\r\n"));
+        assertEquals(english, american);
+        assertTrue(korean.contains("님, 회원가입을 환영합니다."));
+        // 템플릿이 없는 로케일은 기본 템플릿으로
+        assertEquals(korean, unknown);
+        // welcome-email.txt, welcome-email_en.txt
+        assertEquals(2, templates.getCompiledCount());
+    }
+
+    @Test
+    void testLocaleCacheIsBounded() {
+        String korean = render("user@example.com", Locale.KOREA);
+        // 요청이 보낸 로케일(없는 언어, 변형, 확장)이 아무리 많아도 캐시는 정해진 수를 넘지 않는다
+        for (int i = 0; i < WelcomeEmailTemplates.MAX_CACHED_LOCALES * 4; i++) {
+            assertEquals(korean, render("user@example.com", Locale.forLanguageTag("x" + (char) ('a' + i % 26) + (char) ('a' + i / 26)
+                + "-KR-u-nu-latn")));
+        }
+
+        assertEquals(WelcomeEmailTemplates.MAX_CACHED_LOCALES, templates.getCachedLocaleCount());
+        assertEquals(1, templates.getCompiledCount());
+        assertEquals(korean, render("user@example.com", Locale.of("ko", "KR", "POSIX")));
+    }
+
+    @Test
+    void testCompileTemplate() {
+        WelcomeEmailTemplate template = WelcomeEmailTemplate.compile("Subject: hi\n\n.hidden line\n{{recipient}}\nbye");
+        String message = render(template, ".dot@example.com");
+
+        // '.' 으로 시작하는 줄은 점 하나를 더 붙여 보낸다 (본문 고정 부분과 줄 맨 앞에 오는 값 모두)
+        assertTrue(message.endsWith("\r\n\r\n..hidden line\r\n..dot@example.com\r\nbye\r\n.\r\n"), message);
+        assertThrows(IllegalArgumentException.class, () -> WelcomeEmailTemplate.compile("Subject: hi\n\n{{password}}"));
+        assertThrows(IllegalArgumentException.class, () -> WelcomeEmailTemplate.compile("Subject: no body"));
+    }
+
+    @Test
+    void testEncodeLongSubject() {
+        String subject = "가입을 환영합니다 ".repeat(5).strip();
+        String encoded = WelcomeEmailTemplate.encodeHeaderValue(subject);
+
+        // 인코딩된 단어 하나는 75자를 넘지 않는다 (RFC 2047)
+        for (String word : encoded.split("\r\n ")) {
+            assertTrue(word.length() <= 75, word);
+        }
+        assertEquals("ASCII subject", WelcomeEmailTemplate.encodeHeaderValue("ASCII subject"));
+    }
+
+    @Test
+    void testBuffersAreReused() {
+        DirectBufferPool pool = templates.getBufferPool();
+        for (int i = 0; i < 1_000; i++) {
+            templates.render(SENDER, "user-" + i + "@example.com").close();
+        }
+        assertEquals(1, pool.getAllocatedCount());
+
+        // 동시에 빌린 만큼만 새로 할당하고, 풀 크기를 넘는 반납은 버린다
+        List<RenderedEmail> inFlight = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            inFlight.add(templates.render(SENDER, "burst-" + i + "@example.com"));
+        }
+        inFlight.forEach(RenderedEmail::close);
+        assertEquals(32, pool.getAllocatedCount());
+        assertEquals(16, pool.getPooledCount());
+
+        // 버퍼보다 큰 메일은 풀 밖의 힙 버퍼에 렌더링
+        try (RenderedEmail large = templates.render(SENDER, "x".repeat(5_000) + "@example.com")) {
+            assertFalse(large.content().isDirect());
+        }
+        assertEquals(32, pool.getAllocatedCount());
+    }
+
+    @Test
+    void compareTemplateRenderingAndStringConcatenation() {
+        log.info("==================== 환영 메일 {}건 렌더링 비교 ====================", RENDERS);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long checksum = 0;
+
+        // 워밍업
+        for (int i = 0; i < RENDERS / 10; i++) {
+            checksum += concatenate("warmup-" + i + "@example.com").length;
+            try (RenderedEmail email = templates.render(SENDER, "warmup-" + i + "@example.com")) {
+                checksum += email.size();
+            }
+        }
+
+        // 1. 메일마다 문자열을 이어 붙이고 UTF-8 로 인코딩
+        long concatAllocated = threads.getCurrentThreadAllocatedBytes();
+        long concatStart = System.nanoTime();
+        for (int i = 0; i < RENDERS; i++) {
+            checksum += concatenate("user-" + i + "@example.com").length;
+        }
+        long concatTime = System.nanoTime() - concatStart;
+        concatAllocated = threads.getCurrentThreadAllocatedBytes() - concatAllocated;
+
+        // 2. 미리 컴파일한 템플릿 + 다이렉트 버퍼 풀
+        long templateAllocated = threads.getCurrentThreadAllocatedBytes();
+        long templateStart = System.nanoTime();
+        for (int i = 0; i < RENDERS; i++) {
+            try (RenderedEmail email = templates.render(SENDER, "user-" + i + "@example.com")) {
+                checksum += email.size();
+            }
+        }
+        long templateTime = System.nanoTime() - templateStart;
+        templateAllocated = threads.getCurrentThreadAllocatedBytes() - templateAllocated;
+
+        log.info("==================== 결과 (checksum {}) ====================", checksum);
+        log.info("문자열 연결 + 인코딩:        {}ms, 건당 할당 {}B", concatTime / 1_000_000, concatAllocated / RENDERS);
+        log.info("컴파일된 템플릿 + 버퍼 풀:   {}ms, 건당 할당 {}B", templateTime / 1_000_000, templateAllocated / RENDERS);
+
+        // 두 경우 모두 주소 문자열("user-" + i + ...)은 만들지만, 템플릿은 메일 본문을 위한 할당이 없다
+        assertTrue(templateAllocated * 3 < concatAllocated, "템플릿 렌더링의 할당이 훨씬 적어야 함");
+    }
+
+    /**
+     * 템플릿 없이 메일마다 전체 메시지를 문자열로 만드는 방식
+     */
+    private static byte[] concatenate(String recipient) {
+        String message = "From: <" + SENDER + ">\r\n"
+            + "To: <" + recipient + ">\r\n"
+            + "Subject: " + WelcomeEmailTemplate.encodeHeaderValue("가입을 환영합니다") + "\r\n"
+            + "MIME-Version: 1.0\r\n"
+            + "Content-Type: text/plain; charset=UTF-8\r\n"
+            + "Content-Transfer-Encoding: 8bit\r\n"
+            + "\r\n"
+            + recipient + " 님, 회원가입을 환영합니다.\r\n"
+            + "가입 축하 포인트 1,000점이 적립되었습니다.\r\n"
+            + "\r\n"
+            + "문의: " + SENDER + "\r\n"
+            + ".\r\n";
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String render(String recipient, Locale locale) {
+        try (RenderedEmail email = templates.render(SENDER, recipient, locale)) {
+            return decode(email);
+        }
+    }
+
+    private static String render(WelcomeEmailTemplate template, String recipient) {
+        ByteBuffer buffer = ByteBuffer.allocate(template.maxRenderedBytes(SENDER, recipient));
+        template.renderTo(buffer, SENDER, recipient);
+        return StandardCharsets.UTF_8.decode(buffer.flip()).toString();
+    }
+
+    private static String decode(RenderedEmail email) {
+        return StandardCharsets.UTF_8.decode(email.content().duplicate()).toString();
+    }
+}
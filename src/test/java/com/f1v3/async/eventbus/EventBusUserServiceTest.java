@@ -0,0 +1,153 @@
+package com.f1v3.async.eventbus;
+
+import com.f1v3.async.common.PointService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static com.f1v3.async.support.TestWaits.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+class EventBusUserServiceTest {
+
+    @Autowired
+    private EventBusUserService eventBusUserService;
+
+    @Autowired
+    private PointService pointService;
+
+    @Test
+    void testRegistrationReturnsBeforeConsumersFinish() throws InterruptedException {
+        log.info("==================== 이벤트 버스 방식 회원가입 테스트 ====================");
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 1; i <= 4; i++) {
+            eventBusUserService.registerUser("bus-user-" + i, "bus-user-" + i + "@example.com");
+        }
+        long publishTime = System.currentTimeMillis() - startTime;
+
+        // 메일(2초)/포인트(1.5초)를 기다리지 않고 반환된다
+        assertTrue(publishTime < 500, "발행만 하고 바로 반환되어야 함");
+        assertTrue(eventBusUserService.getLag(EventBusUserService.EMAIL_CONSUMER) > 0);
+
+        assertTrue(eventBusUserService.awaitIdle(15, TimeUnit.SECONDS));
+        assertEquals(0L, eventBusUserService.getLag(EventBusUserService.POINT_CONSUMER));
+        assertEquals(1000L, pointService.getBalance("bus-user-1"));
+        log.info("발행 소요시간: {}ms, 소비 완료까지: {}ms", publishTime, System.currentTimeMillis() - startTime);
+    }
+
+    @Test
+    void testEventsOfSameUserAreConsumedInOrderAndConsumersLagIndependently() throws InterruptedException {
+        Map<String, List<Long>> received = new ConcurrentHashMap<>();
+        List<String> slowConsumed = new CopyOnWriteArrayList<>();
+        PartitionedEventBus bus = new PartitionedEventBus(4, 8, Map.of(
+            "fast", (event, offset) -> received.computeIfAbsent(event.getUserId(), id -> new CopyOnWriteArrayList<>())
+                .add(Long.parseLong(event.getEmail())),
+            "slow", (event, offset) -> {
+                sleep(20);
+                slowConsumed.add(event.getUserId());
+            }));
+
+        // email 자리에 사용자별 발행 순번을 실어 보낸다 (링 크기 8 보다 많이 발행해 배압도 함께 확인)
+        for (long sequence = 0; sequence < 10; sequence++) {
+            for (int user = 0; user < 5; user++) {
+                bus.publish("user-" + user, String.valueOf(sequence));
+            }
+        }
+        assertTrue(bus.getLag("slow") >= bus.getLag("fast"));
+        assertTrue(bus.shutdown(10, TimeUnit.SECONDS));
+
+        assertEquals(5, received.size());
+        received.values().forEach(sequences -> assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), sequences));
+        assertEquals(50, slowConsumed.size());
+    }
+
+    @Test
+    void testEveryEventPublishedBeforeShutdownIsConsumed() throws InterruptedException {
+        AtomicLong consumed = new AtomicLong();
+        PartitionedEventBus bus = new PartitionedEventBus(4, 16, Map.of(
+            "counter", (event, offset) -> consumed.incrementAndGet()));
+
+        // 발행자들이 계속 발행하는 중에 종료해, 종료 확인과 발행 사이에 끼어든 이벤트가 정리에서 빠지지 않는지 본다
+        int publishers = 4;
+        AtomicLong published = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(publishers);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < publishers; t++) {
+            String userId = "publisher-" + t;
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        bus.publish(userId, "user@example.com");
+                        published.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // 종료 후 발행은 거절된다
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        assertTrue(await(started, 5, TimeUnit.SECONDS));
+        sleep(50);
+
+        assertTrue(bus.shutdown(10, TimeUnit.SECONDS));
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertTrue(published.get() > 0);
+        assertEquals(published.get(), consumed.get(), "발행에 성공한 이벤트는 모두 소비되어야 함");
+        assertThrows(IllegalStateException.class, () -> bus.publish("late-user", "late@example.com"));
+    }
+
+    @Test
+    void measurePublishCostAndAllocation() throws InterruptedException {
+        log.info("==================== 이벤트 발행 비용 측정 ====================");
+        int events = 5_000_000;
+        PartitionedEventBus bus = new PartitionedEventBus(4, 1 << 16, Map.of(
+            "noop", (event, offset) -> { }));
+
+        String[] userIds = new String[1_024];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = "user-" + i;
+        }
+
+        // 워밍업 (JIT 컴파일)
+        for (int i = 0; i < events; i++) {
+            bus.publish(userIds[i & 1023], "user@example.com");
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            bus.publish(userIds[i & 1023], "user@example.com");
+        }
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertTrue(bus.shutdown(10, TimeUnit.SECONDS));
+
+        double nanosPerEvent = (double) elapsed / events;
+        log.info("발행 {}건 - 건당 {}ns, 발행 스레드 할당 {} bytes (건당 {} bytes)",
+            events, String.format("%.1f", nanosPerEvent), allocated, String.format("%.4f", (double) allocated / events));
+    }
+}
@@ -0,0 +1,271 @@
+package com.f1v3.async.executor;
+
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static com.f1v3.async.support.TestWaits.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class ExecutorControlTest {
+
+    private static final int TASKS = 200;
+    private static final long TASK_MILLIS = 20;
+
+    private final ExecutorRegistry registry = new ExecutorRegistry();
+    private final ServiceExecutorFactory factory = new ServiceExecutorFactory("jdk", 1024, "park", registry);
+    private final List<ExecutorService> pools = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pools.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    void testGrowCorePoolStartsQueuedTasks() throws InterruptedException {
+        ExecutorService pool = newPool("grow", 1);
+        ExecutorControl control = registry.findControl("grow").orElseThrow();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            pool.execute(() -> {
+                first.countDown();
+                started.countDown();
+                await(release);
+            });
+        }
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        assertEquals(3, control.getStats().queuedCount());
+
+        // 대기 중이던 작업이 재시작 없이 새 스레드에서 바로 시작된다
+        ExecutorSettings settings = control.update(new ExecutorSettingsUpdate(4, 4, null, null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(new ExecutorSettings(4, 4, Integer.MAX_VALUE, RejectionPolicy.ABORT), settings);
+        assertEquals(4, control.getStats().activeCount());
+        assertEquals(0, control.getStats().queuedCount());
+
+        // 다시 줄여도 설정 순서 때문에 실패하지 않는다
+        assertEquals(1, control.update(new ExecutorSettingsUpdate(1, 1, null, null)).maxPoolSize());
+    }
+
+    @Test
+    void testBoundedQueueGrowsToMaxPoolSize() throws InterruptedException {
+        ExecutorService pool = newPool("bounded", 1);
+        ExecutorControl control = registry.findControl("bounded").orElseThrow();
+        control.update(new ExecutorSettingsUpdate(1, 3, 2, null));
+        CountDownLatch started = new CountDownLatch(3);
+
+        // 코어 1 + 대기열 2 를 넘는 작업부터 최대 3 까지 스레드가 늘고, 그다음은 거부
+        for (int i = 0; i < 5; i++) {
+            pool.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> await(release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ExecutorStats stats = control.getStats();
+        assertEquals(3, stats.poolSize());
+        assertEquals(2, stats.queuedCount());
+        assertEquals(1, stats.rejectedCount());
+    }
+
+    @Test
+    void testChangeRejectionPolicy() throws InterruptedException {
+        ExecutorService pool = newPool("policy", 1);
+        ExecutorControl control = registry.findControl("policy").orElseThrow();
+        control.update(new ExecutorSettingsUpdate(null, null, 2, null));
+        Queue<String> executed = new ConcurrentLinkedQueue<>();
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<?> oldest = pool.submit(() -> executed.add("oldest"));
+        pool.submit(() -> executed.add("second"));
+
+        assertThrows(RejectedExecutionException.class, () -> pool.submit(() -> executed.add("aborted")));
+
+        control.update(new ExecutorSettingsUpdate(null, null, null, RejectionPolicy.CALLER_RUNS));
+        Thread caller = Thread.currentThread();
+        pool.execute(() -> executed.add(Thread.currentThread() == caller ? "caller" : "worker"));
+
+        control.update(new ExecutorSettingsUpdate(null, null, null, RejectionPolicy.DISCARD));
+        Future<?> discarded = pool.submit(() -> executed.add("discarded"));
+        // 버려도 기다리는 쪽에 알릴 수 없는 작업은 버리지 않고 거부한다
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> executed.add("unsignalled")));
+
+        control.update(new ExecutorSettingsUpdate(null, null, null, RejectionPolicy.DISCARD_OLDEST));
+        pool.submit(() -> executed.add("newest"));
+
+        // 버려진 작업의 Future 는 기다리지 않고 바로 예외로 끝난다
+        assertRejected(discarded);
+        assertRejected(oldest);
+
+        release.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("caller", "second", "newest"), List.copyOf(executed));
+        ExecutorStats stats = control.getStats();
+        assertEquals(2, stats.rejectedCount());
+        assertEquals(1, stats.callerRunsCount());
+        assertEquals(2, stats.discardedCount());
+        assertEquals(0, stats.queuedCount(), "버린 작업이 대기 작업 수에 남으면 안 됨");
+    }
+
+    @Test
+    void testDiscardedWelcomeTaskLeavesOutbox() throws InterruptedException {
+        ExecutorService pool = newPool("outbox", 1);
+        ExecutorControl control = registry.findControl("outbox").orElseThrow();
+        control.update(new ExecutorSettingsUpdate(null, null, 1, RejectionPolicy.DISCARD));
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> queued = outbox.supplyAsync(WelcomeTask.points("queued-user"), () -> "적립", pool);
+        CompletableFuture<String> dropped = outbox.supplyAsync(WelcomeTask.points("dropped-user"), () -> "적립", pool);
+        Future<String> droppedSubmit = pool.submit(outbox.track(WelcomeTask.email("dropped@example.com"), () -> "발송"));
+
+        // 버려진 가입 작업은 기다리는 쪽이 바로 실패를 받고, 종료 시 다시 실행할 목록에도 남지 않는다
+        CompletionException error = assertThrows(CompletionException.class, dropped::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertRejected(droppedSubmit);
+        assertEquals(List.of(WelcomeTask.points("queued-user")), outbox.getPending());
+
+        release.countDown();
+        assertEquals("적립", queued.join());
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    void testBlockingPutWaitsForCapacity() throws InterruptedException {
+        ResizableBlockingQueue<String> queue = new ResizableBlockingQueue<>(1);
+        queue.put("first");
+        assertFalse(queue.offer("second", 10, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<Void> put = CompletableFuture.runAsync(() -> {
+            try {
+                queue.put("second");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertEquals("first", queue.take());
+        put.join();
+        assertEquals(List.of("second"), List.copyOf(queue));
+
+        // 용량을 늘리면 기다리던 넣기가 바로 들어간다
+        CompletableFuture<Boolean> offer = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.offer("third", 5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        queue.setCapacity(2);
+        assertTrue(offer.join());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void testRejectInvalidSettings() {
+        newPool("invalid", 2);
+        ExecutorControl control = registry.findControl("invalid").orElseThrow();
+        ExecutorSettings before = control.getSettings();
+
+        assertThrows(IllegalArgumentException.class, () -> control.update(new ExecutorSettingsUpdate(4, 3, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> control.update(new ExecutorSettingsUpdate(0, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> control.update(new ExecutorSettingsUpdate(null, null, -1, null)));
+        assertEquals(before, control.getSettings());
+
+        // 크기를 바꿀 수 없는 실행기(가상 스레드, 링 버퍼)는 조회만 되고 변경 요청은 409
+        pools.add(factory.newVirtualThreadPerTaskExecutor("virtual"));
+        ServiceExecutorFactory ringFactory = new ServiceExecutorFactory("ring", 1024, "park", registry);
+        pools.add(ringFactory.newFixedThreadPool("ring", 2));
+        ExecutorController controller = new ExecutorController(registry);
+        for (String name : List.of("virtual", "ring")) {
+            assertTrue(registry.findControl(name).isEmpty());
+            assertFalse(registry.findStats(name).orElseThrow().resizable());
+            assertEquals(HttpStatus.CONFLICT,
+                controller.updateExecutor(name, new ExecutorSettingsUpdate(4, 4, null, null)).getStatusCode());
+        }
+        assertEquals(HttpStatus.NOT_FOUND,
+            controller.updateExecutor("missing", new ExecutorSettingsUpdate(4, 4, null, null)).getStatusCode());
+    }
+
+    @Test
+    void compareResizingDuringSlowdown() throws InterruptedException {
+        log.info("==================== 메일 서버 지연 중 풀 크기 조정 비교 ({}건, 건당 {}ms) ====================", TASKS, TASK_MILLIS);
+
+        long fixedMillis = drain("slowdown-fixed", false);
+        long resizedMillis = drain("slowdown-resized", true);
+
+        log.info("==================== 결과 ====================");
+        log.info("스레드 2개 그대로:          {}ms", fixedMillis);
+        log.info("밀리기 시작하자 20개로 조정: {}ms", resizedMillis);
+
+        assertTrue(resizedMillis * 2 < fixedMillis, "크기를 늘린 풀이 훨씬 빨리 비워져야 함");
+    }
+
+    private long drain(String name, boolean resize) throws InterruptedException {
+        ExecutorService pool = newPool(name, 2);
+        CountDownLatch done = new CountDownLatch(TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            pool.execute(() -> {
+                sleep(TASK_MILLIS);
+                done.countDown();
+            });
+        }
+        if (resize) {
+            ExecutorControl control = registry.findControl(name).orElseThrow();
+            log.info("조정 전 대기 작업: {}건", control.getStats().queuedCount());
+            control.update(new ExecutorSettingsUpdate(20, 20, null, null));
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private ExecutorService newPool(String name, int threads) {
+        ExecutorService pool = factory.newFixedThreadPool(name, threads);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static void assertRejected(Future<?> future) {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+}
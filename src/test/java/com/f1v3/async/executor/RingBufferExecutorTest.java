@@ -0,0 +1,336 @@
+package com.f1v3.async.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class RingBufferExecutorTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int PRODUCERS = 4;
+
+    @Test
+    void testRunsAllTasksAndDrainsOnShutdown() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            RingBufferExecutor executor = new RingBufferExecutor("ring-test", 2, 64, waitStrategy);
+            AtomicLong executed = new AtomicLong();
+
+            // 링 크기(64)보다 많이 제출해 가득 찬 링에서의 대기도 함께 확인
+            for (int i = 0; i < 10_000; i++) {
+                executor.execute(executed::incrementAndGet);
+            }
+            executor.shutdown();
+
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(10_000L, executed.get(), waitStrategy + " 전략에서 모든 작업이 실행되어야 함");
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(executed::incrementAndGet));
+        }
+    }
+
+    @Test
+    void testShutdownNowReturnsPendingTasks() throws InterruptedException {
+        RingBufferExecutor executor = new RingBufferExecutor("ring-test", 1, 16, WaitStrategy.PARK);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> { });
+        }
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(5, pending.size());
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "인터럽트로 실행 중인 작업이 끝나야 함");
+    }
+
+    @Test
+    void testTasksRacingShutdownAreRunOrReturned() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            RingBufferExecutor executor = new RingBufferExecutor("ring-test", 2, 16, WaitStrategy.PARK);
+            AtomicLong accepted = new AtomicLong();
+            AtomicLong executed = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] producers = new Thread[PRODUCERS];
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers[p] = new Thread(() -> {
+                    try {
+                        start.await();
+                        while (true) {
+                            executor.execute(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (RejectedExecutionException | InterruptedException e) {
+                        // 종료 후 제출은 거부된다
+                    }
+                });
+                producers[p].start();
+            }
+
+            start.countDown();
+            Thread.yield();
+            // 제출과 경합한 종료 - 받아들인 작업은 실행되거나 shutdownNow 의 반환 목록에 있어야 한다
+            long returned = round % 2 == 0 ? 0 : executor.shutdownNow().size();
+            executor.shutdown();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(accepted.get(), executed.get() + returned, round + "번째 종료에서 작업이 사라짐");
+        }
+    }
+
+    @Test
+    void testSubmitterParksWhileRingIsFull() throws InterruptedException {
+        RingBufferExecutor executor = new RingBufferExecutor("ring-test", 1, 2, WaitStrategy.SPIN);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong executed = new AtomicLong();
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // 작업자가 첫 작업을 가져간 뒤 링(2칸)을 채운다
+        while (executor.getQueueSize() > 0) {
+            Thread.onSpinWait();
+        }
+        executor.execute(executed::incrementAndGet);
+        executor.execute(executed::incrementAndGet);
+
+        Thread submitter = new Thread(() -> executor.execute(executed::incrementAndGet));
+        submitter.start();
+        // SPIN 전략이라도 가득 찬 링을 기다리는 제출자는 잠든다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (LockSupport.getBlocker(submitter) != executor && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(executor, LockSupport.getBlocker(submitter), "가득 찬 링에서는 제출자가 잠들어 기다려야 함");
+
+        release.countDown();
+        submitter.join();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(3L, executed.get());
+    }
+
+    @Test
+    void testWorkerSubmittingToFullRingRunsTaskInline() throws InterruptedException {
+        RingBufferExecutor executor = new RingBufferExecutor("ring-test", 1, 2, WaitStrategy.PARK);
+        AtomicLong executed = new AtomicLong();
+        AtomicLong inline = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // 유일한 작업자가 링(2칸)보다 많이 제출한다 - 기다리면 링을 비울 스레드가 없어 멈춘다
+        // 작업자가 하나뿐이므로 링에 들어간 작업은 제출 반복이 끝난 뒤에야 실행된다
+        AtomicBoolean submitting = new AtomicBoolean();
+        executor.execute(() -> {
+            submitting.set(true);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    if (submitting.get()) {
+                        inline.incrementAndGet();
+                    }
+                    executed.incrementAndGet();
+                });
+            }
+            submitting.set(false);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "작업자가 가득 찬 링에서 멈추지 않아야 함");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(10L, executed.get());
+        assertEquals(8L, inline.get(), "링에 들어가지 못한 8건은 제출한 작업자가 직접 실행해야 함");
+    }
+
+    @Test
+    void testParkedWorkerWaitsWithoutTimeout() throws InterruptedException {
+        RingBufferExecutor executor = new RingBufferExecutor("ring-test", 1, 16, WaitStrategy.PARK);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(() -> {
+            worker.set(Thread.currentThread());
+            ran.countDown();
+        });
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+
+        // 주기적으로 깨어나 확인하지 않고, 제출자가 깨울 때까지 잠든다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (worker.get().getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(Thread.State.WAITING, worker.get().getState());
+
+        CountDownLatch woken = new CountDownLatch(1);
+        executor.execute(woken::countDown);
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testErrorReplacesWorkerThread() throws InterruptedException {
+        RingBufferExecutor executor = new RingBufferExecutor("ring-test", 1, 16, WaitStrategy.PARK);
+        AtomicReference<Thread> failedOn = new AtomicReference<>();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            failedOn.set(Thread.currentThread());
+            throw new Error("의도적인 Error 발생");
+        });
+        executor.execute(() -> {
+            ranOn.set(Thread.currentThread());
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS), "Error 뒤의 작업도 새 작업자가 실행해야 함");
+        assertNotSame(failedOn.get(), ranOn.get());
+        assertEquals("ring-test-1", ranOn.get().getName());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void compareSubmitThroughput() throws InterruptedException {
+        log.info("==================== 작업 제출 처리량 비교 (제출 스레드 {}개, 작업자 {}개) ====================",
+            PRODUCERS, POOL_SIZE);
+        int tasksPerProducer = 250_000;
+
+        measureThroughput("newFixedThreadPool", () -> Executors.newFixedThreadPool(POOL_SIZE), tasksPerProducer);
+        for (WaitStrategy waitStrategy : runnableStrategies()) {
+            measureThroughput("RingBufferExecutor(" + waitStrategy + ")",
+                () -> new RingBufferExecutor("ring-bench", POOL_SIZE, 1024, waitStrategy), tasksPerProducer);
+        }
+    }
+
+    @Test
+    void compareHandoffLatency() throws InterruptedException {
+        log.info("==================== 작업 인계 지연 비교 (제출 → 실행 시작) ====================");
+        int tasks = 20_000;
+
+        measureHandoffLatency("newFixedThreadPool", Executors.newFixedThreadPool(POOL_SIZE), tasks);
+        for (WaitStrategy waitStrategy : runnableStrategies()) {
+            measureHandoffLatency("RingBufferExecutor(" + waitStrategy + ")",
+                new RingBufferExecutor("ring-bench", POOL_SIZE, 1024, waitStrategy), tasks);
+        }
+    }
+
+    private List<WaitStrategy> runnableStrategies() {
+        // SPIN 은 대기 중에도 작업자마다 코어를 점유하므로 코어가 부족하면 제출 스레드가 밀려 측정이 무의미하다
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (cores <= POOL_SIZE) {
+            log.info("코어 {}개 - SPIN 전략은 작업자 수({})보다 코어가 많을 때만 측정", cores, POOL_SIZE);
+            return List.of(WaitStrategy.YIELD, WaitStrategy.PARK);
+        }
+        return List.of(WaitStrategy.values());
+    }
+
+    private void measureThroughput(String name, Supplier<ExecutorService> factory, int tasksPerProducer)
+        throws InterruptedException {
+        // 워밍업 후 측정
+        runProducers(factory.get(), tasksPerProducer / 5);
+        long elapsedNanos = runProducers(factory.get(), tasksPerProducer);
+
+        long tasks = (long) PRODUCERS * tasksPerProducer;
+        log.info("{} - {}건 {}ms ({}건/초)", name, tasks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            tasks * 1_000_000_000L / Math.max(1, elapsedNanos));
+    }
+
+    private long runProducers(ExecutorService executor, int tasksPerProducer) throws InterruptedException {
+        AtomicLong executed = new AtomicLong();
+        Runnable task = executed::incrementAndGet;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    executor.execute(task);
+                }
+            });
+            producers[p].start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - startTime;
+
+        assertEquals((long) PRODUCERS * tasksPerProducer, executed.get());
+        return elapsed;
+    }
+
+    private void measureHandoffLatency(String name, ExecutorService executor, int tasks) throws InterruptedException {
+        long[] latencies = new long[tasks];
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                latencies[index] = System.nanoTime() - submittedAt;
+                done.countDown();
+            });
+            // 작업자가 대기 상태로 돌아갈 만큼 간격을 두어 매번 인계 비용이 드러나도록 한다
+            long pauseUntil = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(20);
+            while (System.nanoTime() < pauseUntil) {
+                Thread.onSpinWait();
+            }
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // 앞쪽 절반은 워밍업으로 제외
+        long[] measured = Arrays.copyOfRange(latencies, tasks / 2, tasks);
+        Arrays.sort(measured);
+        log.info("{} - p50: {}μs, p99: {}μs, p99.9: {}μs", name,
+            micros(measured[measured.length / 2]),
+            micros(measured[(int) (measured.length * 0.99)]),
+            micros(measured[(int) (measured.length * 0.999)]));
+    }
+
+    private String micros(long nanos) {
+        return String.format("%.1f", nanos / 1_000.0);
+    }
+}
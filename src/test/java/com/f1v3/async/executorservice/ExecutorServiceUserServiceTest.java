@@ -1,7 +1,7 @@
 package com.f1v3.async.executorservice;
 
+import com.f1v3.async.simulation.SimulationClock;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,24 +11,22 @@ import java.util.concurrent.Future;
 import java.util.stream.IntStream;
 
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "async.simulation.clock=virtual")
 class ExecutorServiceUserServiceTest {
 
     @Autowired
     private ExecutorServiceUserService executorServiceUserService;
 
-    @AfterEach
-    void tearDown() {
-        executorServiceUserService.shutdown();
-    }
+    @Autowired
+    private SimulationClock clock;
 
     @Test
     void testBasicUserRegistration() {
         log.info("==================== ExecutorService 방식 기본 사용자 등록 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         executorServiceUserService.registerUser("executor-user", "executor@example.com");
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("ExecutorService 방식 소요시간: {}ms", end - start);
     }
@@ -38,7 +36,7 @@ class ExecutorServiceUserServiceTest {
         log.info("==================== ExecutorService 방식 대량 처리 테스트 ====================");
 
         int userCount = 15;
-        long bulkStart = System.currentTimeMillis();
+        long bulkStart = clock.currentTimeMillis();
 
         List<Future<String>> futures = IntStream.range(0, userCount)
                 .mapToObj(i -> executorServiceUserService.registerUserWithFuture("bulk-executor-" + i, "bulk-executor-" + i + "@example.com"))
@@ -54,7 +52,7 @@ class ExecutorServiceUserServiceTest {
             }
         }
 
-        long bulkEnd = System.currentTimeMillis();
+        long bulkEnd = clock.currentTimeMillis();
         log.info("ExecutorService 방식 {}명 처리 소요시간: {}ms", userCount, bulkEnd - bulkStart);
         log.info("평균 처리시간: {}ms/user", (bulkEnd - bulkStart) / userCount);
     }
@@ -64,7 +62,7 @@ class ExecutorServiceUserServiceTest {
         log.info("==================== ExecutorService 스레드 풀 성능 테스트 ====================");
 
         int taskCount = 20;
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
 
         // 동시에 여러 작업 제출
         List<Future<String>> futures = IntStream.range(0, taskCount)
@@ -81,7 +79,7 @@ class ExecutorServiceUserServiceTest {
             }
         }
 
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
         log.info("스레드 풀 {}개 작업 처리 소요시간: {}ms", taskCount, end - start);
         log.info("평균 처리시간: {}ms/task", (end - start) / taskCount);
     }
@@ -1,37 +1,40 @@
 package com.f1v3.async.future;
 
+import com.f1v3.async.simulation.SimulationClock;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "async.simulation.clock=virtual")
 class FutureUserServiceTest {
 
     @Autowired
     private FutureUserService futureUserService;
 
-    @AfterEach
-    void tearDown() {
-        futureUserService.shutdown();
-    }
+    @Autowired
+    private SimulationClock clock;
 
     @Test
     void testBasicUserRegistration() {
         log.info("==================== Future 방식 기본 사용자 등록 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         futureUserService.registerUser("future-user", "future@example.com");
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Future 방식 소요시간: {}ms", end - start);
     }
@@ -40,11 +43,11 @@ class FutureUserServiceTest {
     void testFutureWithResult() throws ExecutionException, InterruptedException {
         log.info("==================== Future 결과 반환 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         Future<String> future = futureUserService.registerUserWithResult("future-result-user", "future-result@example.com");
 
         String result = future.get(); // 블로킹 대기
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Future 결과: {}", result);
         log.info("Future 결과 반환 소요시간: {}ms", end - start);
@@ -70,7 +73,7 @@ class FutureUserServiceTest {
         log.info("==================== Future 방식 대량 처리 테스트 ====================");
 
         int userCount = 12;
-        long bulkStart = System.currentTimeMillis();
+        long bulkStart = clock.currentTimeMillis();
 
         List<Future<String>> futures = IntStream.range(0, userCount)
             .mapToObj(i -> futureUserService.registerUserWithResult("bulk-future-" + i, "bulk-future-" + i + "@example.com"))
@@ -86,11 +89,40 @@ class FutureUserServiceTest {
             }
         }
 
-        long bulkEnd = System.currentTimeMillis();
+        long bulkEnd = clock.currentTimeMillis();
         log.info("Future 방식 {}명 처리 소요시간: {}ms", userCount, bulkEnd - bulkStart);
         log.info("평균 처리시간: {}ms/user", (bulkEnd - bulkStart) / userCount);
     }
 
+    @Test
+    void testCompletionServiceRegistration() {
+        log.info("==================== Future 완료 통지 방식 테스트 ====================");
+
+        long start = clock.currentTimeMillis();
+        futureUserService.registerUserWithCompletionService("completion-user", "completion@example.com");
+        long end = clock.currentTimeMillis();
+
+        log.info("Future 완료 통지 방식 소요시간: {}ms", end - start);
+    }
+
+    @Test
+    void testBulkProcessingInCompletionOrder() {
+        log.info("==================== Future 완료 순서 대량 처리 테스트 ====================");
+
+        int userCount = 5;
+        Map<String, String> users = new LinkedHashMap<>();
+        IntStream.range(0, userCount).forEach(i -> users.put("completion-" + i, "completion-" + i + "@example.com"));
+
+        long bulkStart = clock.currentTimeMillis();
+        List<String> results = futureUserService.registerUsersInCompletionOrder(users);
+        long bulkEnd = clock.currentTimeMillis();
+
+        // 포인트 적립(1.5초)이 메일 발송(2초)보다 먼저 끝나므로 먼저 처리된다
+        assertEquals(userCount * 2, results.size());
+        assertTrue(results.get(0).startsWith("포인트 적립 완료"));
+        log.info("Future 완료 순서 {}명 처리 소요시간: {}ms", userCount, bulkEnd - bulkStart);
+    }
+
     @Test
     void testCancelledFuture() {
         log.info("==================== Future 취소 테스트 ====================");
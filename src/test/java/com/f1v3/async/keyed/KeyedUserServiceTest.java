@@ -0,0 +1,132 @@
+package com.f1v3.async.keyed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+class KeyedUserServiceTest {
+
+    @Autowired
+    private KeyedUserService keyedUserService;
+
+    @Test
+    void testRegistrationWithFollowUpEvent() {
+        log.info("==================== 사용자별 순서 보장 방식 회원가입 + 후속 이벤트 테스트 ====================");
+
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String userId = "keyed-user-" + i;
+            futures.add(keyedUserService.registerUserAsync(userId, userId + "@example.com"));
+            futures.add(keyedUserService.submitUserEvent(userId, () -> log.info("프로필 변경 반영 - 사용자: {}", userId)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long end = System.currentTimeMillis();
+
+        log.info("사용자별 순서 보장 방식 5명 처리 소요시간: {}ms", end - start);
+    }
+
+    @Test
+    void testSameKeyRunsInOrderAndKeysRunInParallel() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        KeyedExecutor keyedExecutor = new KeyedExecutor(pool);
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlapped = new AtomicInteger();
+        // 8명의 첫 작업이 모두 동시에 실행 중이어야 열린다 (사용자 간에 순차였다면 열리지 않음)
+        CountDownLatch allUsersStarted = new CountDownLatch(8);
+        AtomicInteger parallelStarts = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int seq = 0; seq < 10; seq++) {
+            int sequence = seq;
+            for (int user = 0; user < 8; user++) {
+                String userId = "user-" + user;
+                futures.add(keyedExecutor.execute(userId, () -> {
+                    if (running.computeIfAbsent(userId, k -> new AtomicInteger()).incrementAndGet() > 1) {
+                        overlapped.incrementAndGet();
+                    }
+                    if (sequence == 0) {
+                        allUsersStarted.countDown();
+                        if (await(allUsersStarted, 5, TimeUnit.SECONDS)) {
+                            parallelStarts.incrementAndGet();
+                        }
+                    }
+                    executed.computeIfAbsent(userId, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    running.get(userId).decrementAndGet();
+                }));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        pool.shutdown();
+
+        // 사용자별로는 제출 순서대로 하나씩 실행
+        List<Integer> expected = IntStream.range(0, 10).boxed().toList();
+        assertEquals(8, executed.size());
+        executed.values().forEach(sequences -> assertEquals(expected, sequences));
+        assertEquals(0, overlapped.get(), "같은 사용자의 작업이 겹쳐 실행되면 안 됨");
+        // 사용자 간에는 병렬 실행
+        assertEquals(8, parallelStarts.get(), "서로 다른 사용자의 작업은 병렬로 실행되어야 함");
+        assertEquals(0, keyedExecutor.getActiveKeyCount());
+    }
+
+    @Test
+    void testCallerRunsTaskCanResubmitSameKey() {
+        // 스레드 하나를 막아 두어 다음 제출은 모두 호출 스레드에서 실행된다
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+        KeyedExecutor keyedExecutor = new KeyedExecutor(pool);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = keyedExecutor.execute("other", () -> await(release, 5, TimeUnit.SECONDS));
+
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<CompletableFuture<Void>> outer = keyedExecutor.submit("user", () -> {
+            executed.add("outer");
+            return keyedExecutor.execute("user", () -> executed.add("inner"));
+        });
+
+        outer.join().join();
+        assertEquals(List.of("outer", "inner"), executed);
+        release.countDown();
+        blocker.join();
+        assertEquals(0, keyedExecutor.getActiveKeyCount());
+        pool.shutdown();
+    }
+
+    @Test
+    void testFailedTaskDoesNotBlockNextTask() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        KeyedExecutor keyedExecutor = new KeyedExecutor(pool);
+
+        CompletableFuture<Void> failed = keyedExecutor.execute("user", () -> {
+            throw new IllegalStateException("의도적인 예외 발생");
+        });
+        CompletableFuture<String> next = keyedExecutor.submit("user", () -> "다음 작업 완료");
+
+        assertTrue(failed.handle((result, error) -> error != null).join());
+        assertEquals("다음 작업 완료", next.join());
+        pool.shutdown();
+    }
+}
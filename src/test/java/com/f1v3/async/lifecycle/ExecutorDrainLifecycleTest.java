@@ -0,0 +1,155 @@
+package com.f1v3.async.lifecycle;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.email.WelcomeEmailGuard;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.point.PointBalanceCache;
+import com.f1v3.async.point.PointBalanceStore;
+import com.f1v3.async.point.PointLedger;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class ExecutorDrainLifecycleTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final ServiceSimulation serviceSimulation = ServiceSimulation.defaults();
+    private final EmailService emailService = new EmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class),
+        serviceSimulation);
+
+    @Test
+    void testDrainsQueuedTasksWithinBudget() {
+        Context context = new Context();
+        ExecutorDrainLifecycle lifecycle = context.lifecycle(10_000, tempDir.resolve("pending.tsv"));
+        ExecutorService executor = context.executorFactory.newFixedThreadPool("drain-test", 2);
+
+        // 작업자 2개에 포인트 적립 4건 - 종료 신호 시점에 2건은 대기열에 남아 있다
+        for (int i = 0; i < 4; i++) {
+            String userId = "drain-user" + i;
+            executor.submit(context.outbox.track(WelcomeTask.points(userId), () -> {
+                context.pointService.addWelcomePoints(userId);
+                return null;
+            }));
+        }
+        lifecycle.start();
+        lifecycle.stop();
+
+        DrainReport report = lifecycle.getLastReport();
+        assertTrue(executor.isTerminated());
+        assertTrue(report.cancelledTasks().isEmpty(), "예산 안에 끝났으므로 취소된 작업이 없어야 함");
+        assertTrue(report.unfinishedTasks().isEmpty());
+        assertEquals(0, context.outbox.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1000, context.pointService.getBalance("drain-user" + i));
+        }
+        assertFalse(Files.exists(tempDir.resolve("pending.tsv")));
+    }
+
+    @Test
+    void testPersistsUnfinishedTasksAndReplaysOnStart() throws Exception {
+        Path pendingPath = tempDir.resolve("pending.tsv");
+        Context before = new Context();
+        ExecutorDrainLifecycle lifecycle = before.lifecycle(300, pendingPath);
+        ExecutorService executor = before.executorFactory.newFixedThreadPool("drain-test", 1);
+
+        // 작업자 1개에 1.5초짜리 적립 3건 - 0.3초 예산 안에는 하나도 끝나지 않는다
+        for (int i = 0; i < 3; i++) {
+            String userId = "late-user" + i;
+            executor.submit(before.outbox.track(WelcomeTask.points(userId), () -> {
+                before.pointService.addWelcomePoints(userId);
+                return null;
+            }));
+        }
+        lifecycle.stop();
+
+        DrainReport report = lifecycle.getLastReport();
+        log.info("정리 결과: {}", report);
+        assertEquals(Map.of("drain-test", 2), report.cancelledTasks(), "대기열에 있던 2건이 취소되어야 함");
+        assertEquals(3, report.unfinishedTasks().size(), "실행 중 인터럽트된 1건과 취소된 2건이 남아야 함");
+        assertEquals(Map.of(WelcomeTask.Kind.POINTS, 3), report.countByKind());
+        assertTrue(report.persisted());
+        List<String> lines = Files.readAllLines(pendingPath);
+        assertEquals(3, lines.size());
+        assertTrue(lines.contains("POINTS\tlate-user0\t"));
+
+        // 다음 기동 때 저장된 작업을 다시 실행하고 파일을 지운다
+        Context after = new Context();
+        ExecutorDrainLifecycle restarted = after.lifecycle(10_000, pendingPath);
+        restarted.start();
+        assertFalse(Files.exists(pendingPath));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (after.outbox.size() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1000, after.pointService.getBalance("late-user" + i));
+        }
+        restarted.stop();
+        assertTrue(restarted.getLastReport().unfinishedTasks().isEmpty());
+    }
+
+    @Test
+    void testPersistsDependentStageRejectedDuringDrain() throws Exception {
+        Path pendingPath = tempDir.resolve("pending.tsv");
+        Context context = new Context();
+        ExecutorDrainLifecycle lifecycle = context.lifecycle(10_000, pendingPath);
+        ExecutorService executor = context.executorFactory.newFixedThreadPool("drain-test", 1);
+
+        // 포인트 적립이 끝나면 같은 풀에 메일 발송을 넣는 가입 - 정리가 시작된 뒤라 메일 단계는 거부된다
+        CompletableFuture<Void> email = context.outbox.supplyAsync(WelcomeTask.points("chain-user"), () -> {
+                context.pointService.addWelcomePoints("chain-user");
+                return null;
+            }, executor)
+            .thenCompose(ignored -> context.outbox.supplyAsync(WelcomeTask.email("chain@example.com"), () -> {
+                emailService.sendWelcomeEmail("chain@example.com");
+                return null;
+            }, executor));
+        lifecycle.stop();
+
+        assertTrue(email.isCompletedExceptionally(), "종료된 풀에 넣은 메일 단계는 거부되어야 함");
+        assertEquals(1000, context.pointService.getBalance("chain-user"));
+        DrainReport report = lifecycle.getLastReport();
+        assertEquals(List.of(WelcomeTask.email("chain@example.com")), report.unfinishedTasks(),
+            "거부된 후속 단계는 미완료 작업으로 남아야 함");
+        assertEquals(List.of("EMAIL\t\tchain@example.com"), Files.readAllLines(pendingPath));
+    }
+
+    private final class Context {
+
+        private final ExecutorRegistry executorRegistry = new ExecutorRegistry();
+        private final ServiceExecutorFactory executorFactory = new ServiceExecutorFactory("jdk", 1024, "park", executorRegistry);
+        private final WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        private final PointService pointService;
+
+        private Context() {
+            this.pointService = new PointService(beanFactory.getBeanProvider(PointLedger.class),
+                new PointBalanceCache(new PointBalanceStore(), serviceSimulation, 1_000), serviceSimulation);
+        }
+
+        private ExecutorDrainLifecycle lifecycle(long drainTimeoutMillis, Path pendingPath) {
+            return new ExecutorDrainLifecycle(executorRegistry, outbox, emailService, pointService, executorFactory,
+                drainTimeoutMillis, pendingPath.toString());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.f1v3.async.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.email.WelcomeEmailGuard;
+import com.f1v3.async.point.PointBalanceCache;
+import com.f1v3.async.point.PointBalanceStore;
+import com.f1v3.async.point.PointLedger;
+import com.f1v3.async.simulation.FaultProfile;
+import com.f1v3.async.simulation.LatencyModel;
+import com.f1v3.async.simulation.ServiceSimulation;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+class AsyncLoggingTest {
+
+    private static final int REGISTRATIONS = 20_000;
+    private static final int THREADS = 16;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void compareRegistrationThroughputWithLogging() throws InterruptedException, IOException {
+        log.info("==================== 회원가입 처리량 비교: 로그 끔 vs 동기 로그 vs 비동기 로그 ({}건, {}스레드) ====================",
+            REGISTRATIONS, THREADS);
+
+        // 메일/포인트 지연을 없애 로그 비용만 드러나게 한다
+        ServiceSimulation simulation = ServiceSimulation.defaults();
+        simulation.email().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        simulation.points().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        EmailService emailService = new EmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class), simulation);
+        PointService pointService = new PointService(beanFactory.getBeanProvider(PointLedger.class),
+            new PointBalanceCache(new PointBalanceStore(), simulation, 100_000), simulation);
+
+        LoggerContext global = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger common = global.getLogger("com.f1v3.async.common");
+        Logger registrationLog = global.getLogger("com.f1v3.async.common.RegistrationBenchmark");
+        Registration registration = userId -> {
+            registrationLog.info("=== 회원가입 시작 - 사용자: {} ===", userId);
+            emailService.sendWelcomeEmail(userId + "@example.com");
+            pointService.addWelcomePoints(userId);
+            registrationLog.info("=== 회원가입 완료 - 사용자: {} ===", userId);
+        };
+
+        common.setAdditive(false);
+        try {
+            common.setLevel(Level.WARN);
+            run("warmup", registration);
+            long offMillis = run("off", registration);
+
+            common.setLevel(Level.INFO);
+            Appender<ILoggingEvent> sync = fileAppender(global, "sync");
+            common.addAppender(sync);
+            long syncMillis = run("sync", registration);
+            common.detachAppender(sync);
+            sync.stop();
+
+            // 버리지 않고 모두 쓰도록 설정해 두 방식이 같은 양을 쓰게 한다
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(global);
+            async.setName("async");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setMaxFlushTime(0);
+            async.addAppender(fileAppender(global, "async"));
+            async.start();
+            common.addAppender(async);
+            long asyncMillis = run("async", registration);
+            common.detachAppender(async);
+            async.stop();
+
+            log.info("==================== 결과 ====================");
+            log.info("로그 끔 (WARN):    {}ms ({}건/초)", offMillis, REGISTRATIONS * 1000L / Math.max(1, offMillis));
+            log.info("동기 파일 로그:    {}ms ({}건/초)", syncMillis, REGISTRATIONS * 1000L / Math.max(1, syncMillis));
+            log.info("비동기 파일 로그:  {}ms ({}건/초)", asyncMillis, REGISTRATIONS * 1000L / Math.max(1, asyncMillis));
+
+            // 가입마다 6줄 - 종료 시 큐에 남은 로그까지 모두 내보낸다
+            assertEquals(REGISTRATIONS * 6L, lineCount("sync"));
+            assertEquals(REGISTRATIONS * 6L, lineCount("async"));
+        } finally {
+            common.detachAndStopAllAppenders();
+            common.setLevel(null);
+            common.setAdditive(true);
+        }
+    }
+
+    private long run(String name, Registration registration) throws InterruptedException {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                String userId = name + "-" + i;
+                executor.execute(() -> registration.register(userId));
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext context, String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName(name + "-file");
+        file.setFile(tempDir.resolve(name + ".log").toString());
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+
+    private long lineCount(String name) throws IOException {
+        try (var lines = Files.lines(tempDir.resolve(name + ".log"))) {
+            return lines.count();
+        }
+    }
+
+    private interface Registration {
+        void register(String userId);
+    }
+}
@@ -0,0 +1,252 @@
+package com.f1v3.async.partial;
+
+import com.f1v3.async.common.EmailService;
+import com.f1v3.async.common.PointService;
+import com.f1v3.async.completablefuture.CompletableFutureUserService;
+import com.f1v3.async.email.WelcomeEmailGuard;
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.ServiceExecutorFactory;
+import com.f1v3.async.lifecycle.ExecutorDrainLifecycle;
+import com.f1v3.async.lifecycle.WelcomeTask;
+import com.f1v3.async.lifecycle.WelcomeTaskOutbox;
+import com.f1v3.async.partial.PartialRegistration.BackgroundResult;
+import com.f1v3.async.point.PointBalanceCache;
+import com.f1v3.async.point.PointBalanceStore;
+import com.f1v3.async.point.PointLedger;
+import com.f1v3.async.simulation.FaultProfile;
+import com.f1v3.async.simulation.LatencyModel;
+import com.f1v3.async.simulation.ServiceSimulation;
+import com.f1v3.async.simulation.SimulationClock;
+import com.f1v3.async.status.RegistrationStatus;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.StepState;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = {
+    "async.simulation.clock=virtual",
+    // 메일 서버가 자주 실패하는 상황 - 포인트 적립은 항상 성공
+    "async.simulation.email.faults=error=0.3"
+})
+class PartialSuccessUserServiceTest {
+
+    private static final int USERS = 30;
+
+    @Autowired
+    private PartialSuccessUserService partialSuccessUserService;
+
+    @Autowired
+    private CompletableFutureUserService completableFutureUserService;
+
+    @Autowired
+    private RegistrationStatusStore statusStore;
+
+    @Autowired
+    private SimulationClock clock;
+
+    @Test
+    void testRespondsWhenPointsAreGranted() {
+        log.info("==================== 부분 완료 방식 응답 시점 테스트 ====================");
+
+        long start = clock.currentTimeMillis();
+        PartialRegistration registration = partialSuccessUserService.registerUserAsync("partial-user", "partial@example.com").join();
+        long responded = clock.currentTimeMillis();
+        RegistrationStatus atResponse = statusStore.find("partial-user").orElseThrow();
+
+        BackgroundResult background = registration.background().join();
+        long done = clock.currentTimeMillis();
+
+        log.info("응답까지: {}ms, 메일까지: {}ms (메일 성공: {}) - {}", responded - start, done - start,
+            background.isSuccess(), registration.message());
+        // 포인트 1.5초, 메일 2초 - 메일을 기다리지 않고 응답한다
+        assertTrue(responded - start < done - start);
+        assertEquals(StepState.DONE, atResponse.points().state());
+        StepState emailState = statusStore.find("partial-user").orElseThrow().email().state();
+        assertEquals(background.isSuccess() ? StepState.DONE : StepState.FAILED, emailState);
+    }
+
+    @Test
+    void testBackgroundCallbacksAndMetrics() {
+        log.info("==================== 부분 완료 방식 백그라운드 콜백/지표 테스트 ====================");
+
+        Queue<BackgroundResult> results = new ConcurrentLinkedQueue<>();
+        Consumer<BackgroundResult> listener = result -> {
+            if (result.userId().startsWith("callback-")) {
+                results.add(result);
+            }
+        };
+        partialSuccessUserService.addBackgroundListener(listener);
+        long succeededBefore = partialSuccessUserService.getBackgroundSucceededCount();
+        long failedBefore = partialSuccessUserService.getBackgroundFailedCount();
+        try {
+            List<PartialRegistration> registrations = IntStream.range(0, USERS)
+                .mapToObj(i -> partialSuccessUserService.registerUserAsync("callback-" + i, "callback-" + i + "@example.com"))
+                .toList().stream()
+                .map(CompletableFuture::join)
+                .toList();
+            CompletableFuture.allOf(registrations.stream().map(PartialRegistration::background)
+                .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            partialSuccessUserService.removeBackgroundListener(listener);
+        }
+
+        long succeeded = partialSuccessUserService.getBackgroundSucceededCount() - succeededBefore;
+        long failed = partialSuccessUserService.getBackgroundFailedCount() - failedBefore;
+        log.info("백그라운드 메일 - 성공: {}건, 실패: {}건, 남은 작업: {}건", succeeded, failed,
+            partialSuccessUserService.getBackgroundPendingCount());
+        assertEquals(USERS, results.size());
+        assertEquals(USERS, succeeded + failed);
+        assertEquals(results.stream().filter(result -> !result.isSuccess()).count(), failed);
+    }
+
+    @Test
+    void testEmailIsNotSentWhenPointsFail() {
+        ServiceSimulation simulation = ServiceSimulation.defaults();
+        simulation.email().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        simulation.points().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.parse("error=1"));
+        ExecutorRegistry registry = new ExecutorRegistry();
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60);
+        PartialSuccessUserService service = newService(simulation, registry, outbox, store);
+        try {
+            CompletionException error = assertThrows(CompletionException.class,
+                () -> service.registerUserAsync("no-points", "no-points@example.com").join());
+
+            log.info("포인트 적립 실패 - {}", error.getCause().toString());
+            RegistrationStatus status = store.find("no-points").orElseThrow();
+            assertEquals(StepState.FAILED, status.points().state());
+            assertEquals(StepState.PENDING, status.email().state());
+            assertEquals(0, service.getBackgroundPendingCount());
+            assertEquals(0, outbox.size());
+        } finally {
+            registry.getManagedExecutors().forEach(managed -> managed.executor().shutdownNow());
+        }
+    }
+
+    @Test
+    void testRejectedEmailIsRolledBack() {
+        ServiceSimulation simulation = ServiceSimulation.defaults();
+        simulation.email().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        simulation.points().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        ExecutorRegistry registry = new ExecutorRegistry();
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60);
+        PartialSuccessUserService service = newService(simulation, registry, outbox, store);
+        try {
+            // 메일 풀만 닫아 두면 포인트 적립은 성공하고 메일 제출은 거부된다
+            registry.getManagedExecutors().stream()
+                .filter(managed -> managed.name().equals("partial-background"))
+                .forEach(managed -> managed.executor().shutdown());
+
+            PartialRegistration registration = service.registerUserAsync("rejected", "rejected@example.com").join();
+            BackgroundResult background = registration.background().join();
+
+            assertInstanceOf(RejectedExecutionException.class, background.error());
+            assertEquals(StepState.FAILED, store.find("rejected").orElseThrow().email().state());
+            assertEquals(0, service.getBackgroundPendingCount());
+            assertEquals(1, service.getBackgroundFailedCount());
+            assertEquals(0, outbox.size());
+        } finally {
+            registry.getManagedExecutors().forEach(managed -> managed.executor().shutdownNow());
+        }
+    }
+
+    @Test
+    void testEmailAcceptedBeforeDrainIsPersisted() throws IOException {
+        ServiceSimulation simulation = ServiceSimulation.defaults();
+        simulation.email().configure(LatencyModel.parse("constant:ms=0"), FaultProfile.NONE);
+        simulation.points().configure(LatencyModel.parse("constant:ms=300"), FaultProfile.NONE);
+        ExecutorRegistry registry = new ExecutorRegistry();
+        WelcomeTaskOutbox outbox = new WelcomeTaskOutbox();
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60);
+        PartialSuccessUserService service = newService(simulation, registry, outbox, store);
+        Path pendingPath = Files.createTempDirectory("partial-drain").resolve("pending.tsv");
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        ExecutorDrainLifecycle lifecycle = new ExecutorDrainLifecycle(registry, outbox,
+            new EmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class), simulation),
+            new PointService(beanFactory.getBeanProvider(PointLedger.class),
+                new PointBalanceCache(new PointBalanceStore(), simulation, 1_000), simulation),
+            new ServiceExecutorFactory("jdk", 1024, "park", registry), 10_000, pendingPath.toString());
+
+        // 포인트 적립 중에 종료가 시작되면 메일 풀은 이미 닫혀 있어 메일 제출이 거부된다
+        CompletableFuture<PartialRegistration> registration = service.registerUserAsync("draining", "draining@example.com");
+        lifecycle.stop();
+
+        BackgroundResult background = registration.join().background().join();
+        assertInstanceOf(RejectedExecutionException.class, background.error());
+        assertEquals(List.of(WelcomeTask.email("draining@example.com")), lifecycle.getLastReport().unfinishedTasks());
+        assertEquals(List.of("EMAIL\t\tdraining@example.com"), Files.readAllLines(pendingPath));
+    }
+
+    @Test
+    void compareWithWaitingForAllSteps() {
+        log.info("==================== 응답 시간 비교: 모든 단계 대기 vs 부분 완료 ({}명, 메일 실패율 30%) ====================", USERS);
+
+        Outcome waitAll = measure(i -> completableFutureUserService.registerUserAsync("all-" + i, "all-" + i + "@example.com"));
+        Outcome partial = measure(i -> partialSuccessUserService.registerUserAsync("early-" + i, "early-" + i + "@example.com"));
+
+        log.info("==================== 결과 ====================");
+        log.info("메일/포인트 모두 대기 (CompletableFuture): 평균 응답 {}ms, 최대 {}ms, 실패 {}건",
+            waitAll.averageMillis(), waitAll.maxMillis(), waitAll.failures());
+        log.info("포인트만 대기 (부분 완료):                  평균 응답 {}ms, 최대 {}ms, 실패 {}건",
+            partial.averageMillis(), partial.maxMillis(), partial.failures());
+
+        assertTrue(partial.averageMillis() < waitAll.averageMillis());
+        // 메일 실패는 가입 실패가 아니다
+        assertEquals(0, partial.failures());
+    }
+
+    private Outcome measure(Function<Integer, CompletableFuture<?>> register) {
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Long>> latencies = IntStream.range(0, USERS)
+            .mapToObj(i -> {
+                long start = clock.currentTimeMillis();
+                return register.apply(i).handle((result, error) -> {
+                    if (error != null) {
+                        failures.incrementAndGet();
+                    }
+                    return clock.currentTimeMillis() - start;
+                });
+            })
+            .toList();
+        List<Long> millis = latencies.stream().map(CompletableFuture::join).toList();
+        return new Outcome(millis.stream().mapToLong(Long::longValue).sum() / USERS,
+            millis.stream().mapToLong(Long::longValue).max().orElse(0), failures.get());
+    }
+
+    private PartialSuccessUserService newService(ServiceSimulation simulation, ExecutorRegistry registry,
+                                                 WelcomeTaskOutbox outbox, RegistrationStatusStore store) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        EmailService emailService = new EmailService(beanFactory.getBeanProvider(WelcomeEmailGuard.class), simulation);
+        PointService pointService = new PointService(beanFactory.getBeanProvider(PointLedger.class),
+            new PointBalanceCache(new PointBalanceStore(), simulation, 1_000), simulation);
+        return new PartialSuccessUserService(emailService, pointService,
+            new ServiceExecutorFactory("jdk", 1024, "park", registry), outbox, store, 2, 2);
+    }
+
+    private record Outcome(long averageMillis, long maxMillis, int failures) {
+    }
+}
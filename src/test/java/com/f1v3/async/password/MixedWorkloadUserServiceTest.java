@@ -0,0 +1,104 @@
+package com.f1v3.async.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비밀번호 해시(CPU)와 메일/포인트(I/O)가 섞인 가입의 실행기 구성별 처리량 비교
+ * <p>
+ * 해시는 실제로 CPU 를 쓰는 작업이라 가상 시계 대신 실제 시계를 쓰고, 테스트 시간을 줄이려고 메일/포인트 지연을 1/10 로 줄였다.
+ */
+@Slf4j
+@SpringBootTest(properties = {"async.password.iterations=50000",
+    "async.simulation.email.latency=constant:ms=200", "async.simulation.points.latency=constant:ms=150"})
+class MixedWorkloadUserServiceTest {
+
+    private static final int USER_COUNT = 60;
+
+    @Autowired
+    private MixedWorkloadUserService mixedWorkloadUserService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Test
+    void testRegistrationWithPasswordHash() {
+        log.info("==================== 비밀번호 해시 포함 회원가입 테스트 ====================");
+
+        String result = mixedWorkloadUserService.registerUser("password-user", "password@example.com", "s3cret!", PoolLayout.SPLIT);
+
+        assertEquals("메일 발송 완료: password@example.com, 포인트 적립 완료: password-user", result);
+    }
+
+    @Test
+    void testHashMatchesOnlyOriginalPassword() {
+        String first = passwordHasher.hash("s3cret!");
+        String second = passwordHasher.hash("s3cret!");
+
+        // 가입마다 솔트가 달라 같은 비밀번호라도 결과가 다르다
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("pbkdf2-sha256$50000$"));
+        assertTrue(passwordHasher.matches("s3cret!", first));
+        assertTrue(passwordHasher.matches("s3cret!", second));
+        assertFalse(passwordHasher.matches("wrong", first));
+    }
+
+    @Test
+    void compareThroughputByPoolLayout() {
+        log.info("==================== 실행기 구성별 처리량 비교 ({}명 동시 가입, 계산 풀 {}스레드, 해시 반복 {}회) ====================",
+            USER_COUNT, mixedWorkloadUserService.getComputeThreads(), passwordHasher.getIterations());
+
+        // JIT 가 해시 경로를 컴파일하도록 구성마다 한 번씩 먼저 실행
+        for (PoolLayout layout : PoolLayout.values()) {
+            mixedWorkloadUserService.registerUser("warmup-" + layout, "warmup-" + layout + "@example.com", "warmup", layout);
+        }
+
+        List<LayoutResult> results = new ArrayList<>();
+        for (PoolLayout layout : PoolLayout.values()) {
+            results.add(runConcurrently(layout));
+        }
+
+        log.info("==================== 결과 ====================");
+        for (LayoutResult result : results) {
+            log.info("{} - 전체: {}ms, 처리량: {}건/초, 가입 p50: {}ms, p99: {}ms",
+                result.layout(), result.totalMillis(), String.format("%.1f", result.throughput()),
+                result.p50Millis(), result.p99Millis());
+        }
+    }
+
+    private LayoutResult runConcurrently(PoolLayout layout) {
+        long[] latencies = new long[USER_COUNT];
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            int index = i;
+            String userId = "mixed-" + layout + "-" + i;
+            long requestStart = System.nanoTime();
+            futures.add(mixedWorkloadUserService.registerUserAsync(userId, userId + "@example.com", "password-" + i, layout)
+                .whenComplete((result, error) ->
+                    latencies[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStart)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long[] sorted = Arrays.stream(latencies).sorted().toArray();
+        return new LayoutResult(layout, totalMillis, USER_COUNT * 1000.0 / Math.max(1, totalMillis),
+            sorted[sorted.length / 2], sorted[(int) Math.ceil(sorted.length * 0.99) - 1]);
+    }
+
+    private record LayoutResult(PoolLayout layout, long totalMillis, double throughput, long p50Millis, long p99Millis) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.f1v3.async.point;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class PointBalanceStoreTest {
+
+    private static final int USERS = 1_000_000;
+
+    @Test
+    void testMatchesHashMapUnderRandomUpdates() {
+        PointBalanceStore store = new PointBalanceStore(4, 2);
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            String userId = "user-" + random.nextInt(20_000);
+            long delta = random.nextInt(2_000) - 500;
+            store.add(userId, delta);
+            expected.merge(userId, delta, Long::sum);
+        }
+
+        assertEquals(expected.size(), store.size());
+        expected.forEach((userId, balance) -> assertEquals(balance, store.get(userId)));
+        assertEquals(0L, store.get("unknown-user"));
+
+        // Latin-1 범위를 벗어난 사용자 ID 도 같은 길이의 Latin-1 ID 와 구분된다
+        store.add("사용자-1", 300);
+        store.add("ÀÁ-1", 200);
+        assertEquals(300L, store.get("사용자-1"));
+        assertEquals(200L, store.get("ÀÁ-1"));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws InterruptedException {
+        PointBalanceStore store = new PointBalanceStore();
+        int threads = 16;
+        int updatesPerThread = 100_000;
+
+        runConcurrently(threads, updatesPerThread, 1_000, store::add);
+
+        long total = 0;
+        for (int i = 0; i < 1_000; i++) {
+            total += store.get("user-" + i);
+        }
+        assertEquals((long) threads * updatesPerThread, total);
+    }
+
+    @Test
+    void compareMemoryFootprint() {
+        log.info("==================== 잔액 저장소 메모리 비교 ({}명) ====================", USERS);
+
+        String[] userIds = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = "user-" + i;
+        }
+
+        long before = usedHeap();
+        PointBalanceStore store = new PointBalanceStore();
+        for (String userId : userIds) {
+            store.add(userId, 1000);
+        }
+        long storeBytes = usedHeap() - before;
+
+        // ConcurrentHashMap 은 키 String 이 맵에만 남아 있는 실제 상황을 재현하기 위해 문자 배열까지 복사한 String 으로 넣는다
+        before = usedHeap();
+        Map<String, Long> map = new ConcurrentHashMap<>();
+        for (String userId : userIds) {
+            map.put(new String(userId.toCharArray()), 1000L + userId.length());
+        }
+        long mapBytes = usedHeap() - before;
+        // 원본 ID 배열이 측정 도중 회수되어 복사한 String 크기가 상쇄되지 않도록 끝까지 유지한다
+        Reference.reachabilityFence(userIds);
+
+        log.info("PointBalanceStore: 약 {} MB ({} bytes/사용자, 배열 할당량 {} MB)",
+            storeBytes / (1024 * 1024), storeBytes / USERS, store.getAllocatedBytes() / (1024 * 1024));
+        log.info("ConcurrentHashMap<String, Long>: 약 {} MB ({} bytes/사용자)", mapBytes / (1024 * 1024), mapBytes / USERS);
+
+        assertEquals(USERS, store.size());
+        assertEquals(USERS, map.size());
+        assertTrue(storeBytes < mapBytes, "원시 배열 저장소가 더 적은 메모리를 써야 함");
+    }
+
+    @Test
+    void compareUpdateThroughputUnderContention() throws InterruptedException {
+        log.info("==================== 잔액 적립 처리량 비교 ====================");
+        int threads = 8;
+        int updatesPerThread = 500_000;
+
+        for (int hotUsers : new int[]{16, 100_000}) {
+            PointBalanceStore store = new PointBalanceStore();
+            Map<String, Long> map = new ConcurrentHashMap<>();
+
+            // 워밍업
+            runConcurrently(threads, 50_000, hotUsers, store::add);
+            runConcurrently(threads, 50_000, hotUsers, (userId, delta) -> map.merge(userId, delta, Long::sum));
+
+            long storeMillis = runConcurrently(threads, updatesPerThread, hotUsers, store::add);
+            long mapMillis = runConcurrently(threads, updatesPerThread, hotUsers,
+                (userId, delta) -> map.merge(userId, delta, Long::sum));
+
+            long updates = (long) threads * updatesPerThread;
+            log.info("사용자 {}명에 {}건 적립 - PointBalanceStore: {}ms ({}건/초), ConcurrentHashMap.merge: {}ms ({}건/초)",
+                hotUsers, updates, storeMillis, updates * 1000 / Math.max(1, storeMillis),
+                mapMillis, updates * 1000 / Math.max(1, mapMillis));
+        }
+    }
+
+    private long runConcurrently(int threads, int updatesPerThread, int users,
+                                 ObjLongConsumer<String> update) throws InterruptedException {
+        // 문자열 생성과 난수 비용이 측정에 섞이지 않도록 미리 만들어 둔다
+        String[] userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "user-" + i;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            // 실제 적립 요청처럼 가입 순서와 무관한 순서로 접근한다
+            int[] order = new Random(t).ints(updatesPerThread, 0, users).toArray();
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int index : order) {
+                        update.accept(userIds[index], 1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startTime = System.currentTimeMillis();
+        start.countDown();
+        done.await();
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        return elapsed;
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
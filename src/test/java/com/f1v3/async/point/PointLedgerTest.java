@@ -0,0 +1,201 @@
+package com.f1v3.async.point;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.f1v3.async.support.TestWaits.awaitUntil;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class PointLedgerTest {
+
+    private static final int SEGMENT_SIZE = 4 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsSurviveReopen() throws IOException {
+        try (PointLedger ledger = new PointLedger(directory, 4, SEGMENT_SIZE)) {
+            for (int i = 0; i < 500; i++) {
+                ledger.append("user-" + (i % 10), 1000);
+            }
+        }
+
+        try (PointLedger reopened = new PointLedger(directory, 4, SEGMENT_SIZE)) {
+            reopened.append("user-0", 500);
+            Map<String, Long> balances = replay(reopened);
+
+            assertEquals(10, balances.size());
+            assertEquals(50_500L, balances.get("user-0"));
+            assertEquals(50_000L, balances.get("user-9"));
+        }
+    }
+
+    @Test
+    void testLongUserIdsSurviveReopenAndOversizedIdsAreRejected() throws IOException {
+        // 32767 바이트를 넘는 ID 는 short 로 읽으면 음수 길이가 된다
+        String longUserId = "u".repeat(40_000);
+        try (PointLedger ledger = new PointLedger(directory, 1, 64 * 1024)) {
+            ledger.append(longUserId, 1000);
+            assertThrows(IllegalArgumentException.class, () -> ledger.append("u".repeat(70_000), 1000));
+            ledger.compact();
+            ledger.append(longUserId, 500);
+        }
+
+        try (PointLedger reopened = new PointLedger(directory, 1, 64 * 1024)) {
+            assertEquals(Map.of(longUserId, 1500L), replay(reopened));
+        }
+    }
+
+    @Test
+    void testTornRecordIsIgnoredOnRecovery() throws IOException {
+        try (PointLedger ledger = new PointLedger(directory, 1, SEGMENT_SIZE)) {
+            ledger.append("user-1", 1000);
+            ledger.append("user-2", 1000);
+        }
+
+        // 마지막 레코드 뒤에 쓰다 만 레코드(길이만 있고 CRC 가 맞지 않음)를 흉내낸다
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int end = 2 * (4 + 4 + 8 + 2 + "user-1".length());
+            channel.write(ByteBuffer.allocate(12).putInt(30).putInt(12345).putInt(7).flip(), end);
+        }
+
+        try (PointLedger reopened = new PointLedger(directory, 1, SEGMENT_SIZE)) {
+            reopened.append("user-3", 1000);
+            Map<String, Long> balances = replay(reopened);
+
+            assertEquals(Map.of("user-1", 1000L, "user-2", 1000L, "user-3", 1000L), balances);
+        }
+    }
+
+    @Test
+    void testFlushFailureFailsWaitingWriters() throws IOException {
+        AtomicBoolean diskFailing = new AtomicBoolean();
+        try (PointLedger ledger = new PointLedger(directory, 1, SEGMENT_SIZE) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                if (diskFailing.get()) {
+                    throw new UncheckedIOException(new IOException("디스크 오류"));
+                }
+                super.force(buffer);
+            }
+        }) {
+            ledger.append("user-1", 100);
+
+            diskFailing.set(true);
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> ledger.append("user-2", 100));
+            assertInstanceOf(UncheckedIOException.class, error.getCause());
+            // flush 스레드가 멈춘 뒤의 쓰기도 기다리지 않고 실패한다
+            assertThrows(IllegalStateException.class, () -> ledger.append("user-3", 100));
+            diskFailing.set(false);
+        }
+    }
+
+    @Test
+    void testCompactsInBackgroundAfterSegmentThreshold() throws IOException, InterruptedException {
+        try (PointLedger ledger = new PointLedger(directory, 1, SEGMENT_SIZE, 4)) {
+            for (int i = 0; i < 2_000; i++) {
+                ledger.append("user-" + (i % 10), 10);
+            }
+            assertTrue(awaitUntil(() -> ledger.getSealedSegmentCount() < 4), "봉인된 세그먼트가 쌓이면 압축되어야 함");
+        }
+
+        assertTrue(Files.exists(directory.resolve("snapshot.dat")));
+        try (PointLedger reopened = new PointLedger(directory, 1, SEGMENT_SIZE)) {
+            assertTrue(segments().size() <= 4, "스냅샷 이후의 세그먼트만 남아야 함");
+            Map<String, Long> balances = replay(reopened);
+            assertEquals(10, balances.size());
+            assertEquals(2_000L, balances.get("user-0"));
+        }
+    }
+
+    @Test
+    void testCompactionKeepsBalancesAndDeletesSegments() throws IOException {
+        try (PointLedger ledger = new PointLedger(directory, 2, SEGMENT_SIZE)) {
+            for (int i = 0; i < 2_000; i++) {
+                ledger.append("user-" + (i % 100), 10);
+            }
+            int before = segments().size();
+
+            ledger.compact();
+            ledger.append("user-0", 5);
+
+            assertTrue(segments().size() < before, "스냅샷에 반영된 세그먼트는 삭제되어야 함");
+            assertEquals(205L, replay(ledger).get("user-0"));
+        }
+
+        try (PointLedger reopened = new PointLedger(directory, 2, SEGMENT_SIZE)) {
+            Map<String, Long> balances = replay(reopened);
+            assertEquals(100, balances.size());
+            assertEquals(205L, balances.get("user-0"));
+            assertEquals(200L, balances.get("user-99"));
+        }
+    }
+
+    @Test
+    void compareGroupCommitThroughput() throws Exception {
+        log.info("==================== 포인트 원장 동시 쓰기 처리량 (그룹 커밋) ====================");
+
+        for (int writers : new int[]{1, 8, 64}) {
+            Path writerDirectory = Files.createDirectory(directory.resolve("writers-" + writers));
+            int recordsPerWriter = 4_000 / writers;
+
+            try (PointLedger ledger = new PointLedger(writerDirectory, Runtime.getRuntime().availableProcessors(), 1024 * 1024)) {
+                ExecutorService executor = Executors.newFixedThreadPool(writers);
+                long start = System.nanoTime();
+                for (int w = 0; w < writers; w++) {
+                    int writer = w;
+                    executor.execute(() -> {
+                        for (int i = 0; i < recordsPerWriter; i++) {
+                            ledger.append("writer-" + writer + "-user-" + i, 1000);
+                        }
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+                long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                long records = (long) writers * recordsPerWriter;
+                log.info("쓰기 스레드 {}개: {}건 / {}ms = {}건/초, fsync {}회 (fsync 당 평균 {}건)",
+                    writers, records, elapsedMillis, records * 1000 / elapsedMillis,
+                    ledger.getFlushCount(), records / Math.max(1, ledger.getFlushCount()));
+                assertEquals(records, replay(ledger).size());
+            }
+        }
+    }
+
+    private Map<String, Long> replay(PointLedger ledger) throws IOException {
+        Map<String, Long> balances = new HashMap<>();
+        ledger.replay((userId, points) -> balances.merge(userId, points, Long::sum));
+        return balances;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.f1v3.async.priority;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+class PriorityUserServiceTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int BULK_TASKS = 2_000;
+    private static final int INTERACTIVE_TASKS = 40;
+
+    @Autowired
+    private PriorityUserService priorityUserService;
+
+    @Test
+    void testPriorityUserRegistration() {
+        log.info("==================== 우선순위 방식 기본 사용자 등록 테스트 ====================");
+
+        long start = System.currentTimeMillis();
+        CompletableFuture.allOf(
+            priorityUserService.registerUserAsync("bulk-user", "bulk@example.com", RegistrationPriority.BULK),
+            priorityUserService.registerUserAsync("paid-user", "paid@example.com", RegistrationPriority.PAID)
+        ).join();
+        long end = System.currentTimeMillis();
+
+        log.info("우선순위 방식 소요시간: {}ms", end - start);
+    }
+
+    @Test
+    void testWeightedFairSelection() {
+        WeightedFairQueue queue = new WeightedFairQueue(RegistrationPriority.STANDARD, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 30; i++) {
+            queue.offer(new PrioritizedRunnable(RegistrationPriority.PAID, () -> { }));
+            queue.offer(new PrioritizedRunnable(RegistrationPriority.BULK, () -> { }));
+        }
+
+        // 두 등급이 모두 밀려 있으면 PAID(4) : BULK(1) 비율로 꺼낸다
+        Map<RegistrationPriority, Integer> served = new EnumMap<>(RegistrationPriority.class);
+        for (int i = 0; i < 25; i++) {
+            PrioritizedRunnable task = (PrioritizedRunnable) queue.poll();
+            served.merge(task.priority(), 1, Integer::sum);
+        }
+
+        assertEquals(20, served.get(RegistrationPriority.PAID));
+        assertEquals(5, served.get(RegistrationPriority.BULK));
+    }
+
+    @Test
+    void testStarvationProtection() throws InterruptedException {
+        WeightedFairQueue queue = new WeightedFairQueue(RegistrationPriority.STANDARD, 10, TimeUnit.MILLISECONDS);
+        queue.offer(new PrioritizedRunnable(RegistrationPriority.BULK, () -> { }));
+        TimeUnit.MILLISECONDS.sleep(20);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(new PrioritizedRunnable(RegistrationPriority.PARTNER, () -> { }));
+        }
+
+        // 임계 시간을 넘긴 BULK 작업은 가중치와 무관하게 먼저 처리된다
+        PrioritizedRunnable first = (PrioritizedRunnable) queue.poll();
+        assertEquals(RegistrationPriority.BULK, first.priority());
+    }
+
+    @Test
+    void compareFifoAndWeightedFairLatency() throws InterruptedException {
+        log.info("==================== FIFO vs 가중치 공정 큐 등급별 지연시간 비교 ====================");
+
+        ExecutorService fifo = Executors.newFixedThreadPool(POOL_SIZE);
+        Map<RegistrationPriority, List<Long>> fifoLatency = runMixedWorkload(priority -> fifo);
+        fifo.shutdown();
+
+        PriorityTaskExecutor weighted = new PriorityTaskExecutor(POOL_SIZE, 5, TimeUnit.SECONDS);
+        Map<RegistrationPriority, List<Long>> weightedLatency = runMixedWorkload(weighted::forPriority);
+        weighted.shutdown();
+
+        log.info("==================== 등급별 대기 지연시간 (ms) ====================");
+        for (RegistrationPriority priority : List.of(RegistrationPriority.PAID, RegistrationPriority.BULK)) {
+            log.info("FIFO     [{}] p50: {}ms, p99: {}ms", priority,
+                percentile(fifoLatency.get(priority), 50), percentile(fifoLatency.get(priority), 99));
+            log.info("Weighted [{}] p50: {}ms, p99: {}ms", priority,
+                percentile(weightedLatency.get(priority), 50), percentile(weightedLatency.get(priority), 99));
+        }
+
+        // 대량 이관 작업이 밀려 있어도 유료 가입은 FIFO 보다 훨씬 빨리 처리된다
+        assertTrue(percentile(weightedLatency.get(RegistrationPriority.PAID), 50)
+            < percentile(fifoLatency.get(RegistrationPriority.PAID), 50));
+        // 대량 이관 작업도 모두 처리된다 (기아 없음)
+        assertEquals(BULK_TASKS, weightedLatency.get(RegistrationPriority.BULK).size());
+    }
+
+    // 대량 이관 작업을 한꺼번에 넣은 뒤 유료 가입을 일정 간격으로 제출하고, 등급별 대기 시간을 측정한다
+    private Map<RegistrationPriority, List<Long>> runMixedWorkload(Function<RegistrationPriority, Executor> executors)
+        throws InterruptedException {
+        Map<RegistrationPriority, List<Long>> latencies = new EnumMap<>(RegistrationPriority.class);
+        latencies.put(RegistrationPriority.PAID, Collections.synchronizedList(new ArrayList<>()));
+        latencies.put(RegistrationPriority.BULK, Collections.synchronizedList(new ArrayList<>()));
+        CountDownLatch done = new CountDownLatch(BULK_TASKS + INTERACTIVE_TASKS);
+
+        for (int i = 0; i < BULK_TASKS; i++) {
+            submit(executors.apply(RegistrationPriority.BULK), RegistrationPriority.BULK, latencies, done);
+        }
+        for (int i = 0; i < INTERACTIVE_TASKS; i++) {
+            submit(executors.apply(RegistrationPriority.PAID), RegistrationPriority.PAID, latencies, done);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        done.await();
+        return latencies;
+    }
+
+    private void submit(Executor executor, RegistrationPriority priority,
+                        Map<RegistrationPriority, List<Long>> latencies, CountDownLatch done) {
+        long submittedAt = System.nanoTime();
+        executor.execute(() -> {
+            latencies.get(priority).add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt));
+            try {
+                TimeUnit.MILLISECONDS.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+    }
+
+    private long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return sorted.get(index);
+    }
+}
@@ -0,0 +1,144 @@
+package com.f1v3.async.profiling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.f1v3.async.support.TestWaits.awaitUntil;
+import static com.f1v3.async.support.TestWaits.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class RegistrationProfilerTest {
+
+    // 이벤트 스트림은 약 1초마다 기록을 읽어 오므로 넉넉히 기다린다
+    private static final long EVENT_WAIT_SECONDS = 15;
+
+    private RegistrationProfiler profiler;
+
+    @AfterEach
+    void tearDown() {
+        if (profiler != null) {
+            profiler.close();
+        }
+    }
+
+    @Test
+    void testCorrelatesSlowRegistrationWithStages() throws Exception {
+        profiler = new RegistrationProfiler(100, 60, 10, 5, 1);
+        ExecutorService executor = new ProfiledExecutorService("profiler-test", Executors.newSingleThreadExecutor());
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                long emailMillis = i == 0 ? 150 : 20;
+                String userId = "user" + i;
+                String email = userId + "@example.com";
+                RegistrationEvent registration = RegistrationEvent.start("test", userId, email);
+
+                // 첫 작업이 실행되는 동안 두 번째 작업은 큐에서 기다린다
+                Future<?> emailTask = executor.submit(() -> {
+                    WelcomeEmailEvent event = WelcomeEmailEvent.start(email);
+                    sleep(emailMillis);
+                    event.finish(StageOutcome.SENT);
+                });
+                Future<?> pointTask = executor.submit(() -> {
+                    WelcomePointsEvent event = WelcomePointsEvent.start(userId);
+                    sleep(10);
+                    event.finish(StageOutcome.GRANTED);
+                });
+                emailTask.get();
+                pointTask.get();
+                registration.finish(true);
+            }
+            RegistrationAbortEvent.emit("test", "user0", "email", StageOutcome.TIMEOUT);
+        } finally {
+            executor.shutdown();
+        }
+
+        awaitUntil(() -> profiler.getSummary("registration:test").count() == 5, EVENT_WAIT_SECONDS, TimeUnit.SECONDS);
+        awaitUntil(() -> profiler.getAbortCount() == 1, EVENT_WAIT_SECONDS, TimeUnit.SECONDS);
+
+        // 150ms 메일을 보낸 첫 사용자만 느린 가입으로 분류
+        assertEquals(1, profiler.getSlowRegistrationCount());
+        assertEquals(5, profiler.getSummary("email").count());
+        assertEquals(5, profiler.getSummary("points").count());
+        assertEquals(10, profiler.getSummary("queue-wait:profiler-test").count());
+
+        LatencySummary registration = profiler.getSummary("registration:test");
+        assertTrue(registration.maxMicros() >= 150_000, "최댓값은 느린 가입의 소요시간 이상이어야 함");
+        assertTrue(registration.p50Micros() < 100_000, "중앙값은 빠른 가입 쪽이어야 함");
+        assertTrue(profiler.getSummary("queue-wait:profiler-test").maxMicros() >= 20_000,
+            "메일 작업 뒤에 줄 선 포인트 작업의 대기 시간이 기록되어야 함");
+        profiler.getSummaries().forEach((stage, summary) -> log.info("{} - {}", stage, summary));
+    }
+
+    @Test
+    void testDetectsVirtualThreadPinning() throws Exception {
+        profiler = new RegistrationProfiler(3000, 60, 10, 5, 60);
+        Object lock = new Object();
+
+        // synchronized 블록 안에서 블로킹하면 가상 스레드가 캐리어 스레드에 고정된다
+        Thread virtualThread = Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        });
+        virtualThread.join();
+
+        awaitUntil(() -> profiler.getPinnedCount() >= 1, EVENT_WAIT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(profiler.getPinnedCount() >= 1);
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(100_000, histogram.getMaxValue());
+        assertWithinBucketError(50_000, histogram.valueAtPercentile(50));
+        assertWithinBucketError(99_000, histogram.valueAtPercentile(99));
+        assertEquals(100_000, histogram.valueAtPercentile(100));
+        for (long value : new long[]{0, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            assertTrue(LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value)) >= value);
+        }
+    }
+
+    @Test
+    void measureEventOverhead() {
+        log.info("==================== 가입 이벤트 기록 비용 (start + finish) ====================");
+        int iterations = 2_000_000;
+
+        // 기록 중이 아닐 때
+        measure("기록 안 함", iterations);
+
+        // 스트림이 이벤트를 구독하는 동안
+        profiler = new RegistrationProfiler(3000, 60, 10, 20, 60);
+        measure("기록 중", iterations);
+    }
+
+    private void measure(String name, int iterations) {
+        for (int i = 0; i < iterations / 4; i++) {
+            RegistrationEvent.start("bench", "user", "user@example.com").finish(true);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            RegistrationEvent.start("bench", "user", "user@example.com").finish(true);
+        }
+        long elapsed = System.nanoTime() - start;
+        log.info("{} - {}건 {}ms (건당 {}ns)", name, iterations, TimeUnit.NANOSECONDS.toMillis(elapsed), elapsed / iterations);
+    }
+
+    private void assertWithinBucketError(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8,
+            "기댓값 " + expected + " 대비 오차가 12.5% 이내여야 함 (실제 " + actual + ")");
+    }
+}
@@ -0,0 +1,101 @@
+package com.f1v3.async.simulation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class SimulatedDependencyTest {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Test
+    void testParsesSpecs() {
+        assertEquals(LatencyModel.constant(2000), LatencyModel.parse("constant:ms=2000"));
+        assertEquals(LatencyModel.logNormal(1500, 0.4), LatencyModel.parse("lognormal: median=1500, sigma=0.4"));
+        assertInstanceOf(LatencyModel.BimodalLatency.class, LatencyModel.parse("bimodal:median=1800,sigma=0.2,spike=8000,p=0.03"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("uniform:min=1,max=2"));
+
+        assertEquals(FaultProfile.NONE, FaultProfile.parse(""));
+        assertEquals(new FaultProfile(0.01, 0.001, 500, 0.05, 4),
+            FaultProfile.parse("error=0.01,hang=0.001,hang-ms=500,slow=0.05,slow-factor=4"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("error=0.8,hang=0.5"));
+    }
+
+    @Test
+    void testLogNormalAndBimodalShapes() {
+        long[] logNormal = sample(LatencyModel.logNormal(2000, 0.5), 20_000);
+        long[] bimodal = sample(LatencyModel.bimodal(1800, 0.1, 8000, 0.03), 20_000);
+
+        log.info("로그정규 - p50: {}ms, p99: {}ms / 쌍봉 - p50: {}ms, p99: {}ms",
+            percentile(logNormal, 50), percentile(logNormal, 99), percentile(bimodal, 50), percentile(bimodal, 99));
+        assertEquals(2000, percentile(logNormal, 50), 100);
+        assertTrue(percentile(logNormal, 99) > 2 * percentile(logNormal, 50), "로그정규 분포는 오른쪽 꼬리가 길어야 함");
+
+        double spikeShare = Arrays.stream(bimodal).filter(millis -> millis > 5000).count() / (double) bimodal.length;
+        assertEquals(0.03, spikeShare, 0.005);
+        assertEquals(1800, percentile(bimodal, 50), 100);
+    }
+
+    @Test
+    void testReplaysTraceInOrder(@TempDir Path dir) throws IOException {
+        Path trace = dir.resolve("email-latency.trace");
+        Files.write(trace, List.of("# 운영 메일 서버 응답 시간", "120", "", "3400", "95"));
+
+        LatencyModel model = LatencyModel.parse("trace:path=" + trace);
+        long[] replayed = LongStream.range(0, 5).map(i -> model.sampleMillis(random)).toArray();
+
+        assertEquals(List.of(120L, 3400L, 95L, 120L, 3400L), Arrays.stream(replayed).boxed().toList());
+    }
+
+    @Test
+    void testInjectsFaults() throws InterruptedException {
+        SimulatedDependency dependency = new SimulatedDependency("메일 서버", LatencyModel.constant(0),
+            FaultProfile.parse("error=0.2"));
+
+        int failures = 0;
+        for (int i = 0; i < 2000; i++) {
+            try {
+                dependency.call();
+            } catch (SimulatedFailureException e) {
+                failures++;
+            }
+        }
+        log.info("{}", dependency);
+        assertEquals(0.2, failures / 2000.0, 0.04);
+
+        // 항상 지연 증가 - 10ms 가 5배로 늘어남
+        dependency.configure(LatencyModel.constant(10), FaultProfile.parse("slow=1,slow-factor=5"));
+        long start = System.nanoTime();
+        dependency.call();
+        assertTrue(System.nanoTime() - start >= 50_000_000L, "지연이 배율만큼 늘어나야 함");
+
+        // 항상 멈춤 - hang-ms 만큼 기다린 뒤 실패
+        dependency.configure(LatencyModel.constant(0), FaultProfile.parse("hang=1,hang-ms=50"));
+        long hangStart = System.nanoTime();
+        assertThrows(SimulatedFailureException.class, dependency::call);
+        assertTrue(System.nanoTime() - hangStart >= 50_000_000L, "멈춤 시간만큼 기다린 뒤 실패해야 함");
+    }
+
+    private long[] sample(LatencyModel model, int count) {
+        return LongStream.range(0, count).map(i -> model.sampleMillis(random)).sorted().toArray();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+}
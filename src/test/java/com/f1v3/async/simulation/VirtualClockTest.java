@@ -0,0 +1,178 @@
+package com.f1v3.async.simulation;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.profiling.ProfiledExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class VirtualClockTest {
+
+    private final VirtualClock clock = new VirtualClock();
+    private final ExecutorRegistry registry = new ExecutorRegistry();
+
+    @AfterEach
+    void tearDown() {
+        clock.close();
+    }
+
+    @Test
+    void testWakesSleepersInVirtualTimeOrder() throws Exception {
+        List<String> wakeOrder = new CopyOnWriteArrayList<>();
+        ExecutorService pool = trackedPool(3);
+        try {
+            long start = System.nanoTime();
+            clock.register();
+            List<Future<?>> sleepers = List.of(
+                pool.submit(sleeper("email", 2000, wakeOrder)),
+                pool.submit(sleeper("points", 1500, wakeOrder)),
+                pool.submit(sleeper("coupon", 500, wakeOrder)));
+            clock.unregister();
+            for (Future<?> sleeper : sleepers) {
+                sleeper.get();
+            }
+            long realMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            log.info("깨어난 순서: {}, 가상 시각: {}ms, 실제: {}ms", wakeOrder, clock.currentTimeMillis(), realMillis);
+            assertEquals(List.of("coupon@500", "points@1500", "email@2000"), wakeOrder);
+            assertEquals(2000, clock.currentTimeMillis());
+            assertTrue(realMillis < 500, "실제로 블로킹하지 않아야 함: " + realMillis + "ms");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRunsPoolScenarioInVirtualTime() throws Exception {
+        // 스레드 10개 풀에 2초짜리 작업 1만 개 - 실제 시계라면 약 33분
+        int tasks = 10_000;
+        ExecutorService pool = trackedPool(10);
+        try {
+            clock.register();
+            long start = System.nanoTime();
+            List<Future<Long>> finishedAt = IntStream.range(0, tasks)
+                .mapToObj(i -> pool.submit(() -> {
+                    clock.sleep(2000);
+                    return clock.currentTimeMillis();
+                }))
+                .toList();
+            clock.unregister();
+            long lastFinishedAt = 0;
+            for (Future<Long> future : finishedAt) {
+                lastFinishedAt = Math.max(lastFinishedAt, future.get());
+            }
+            long realMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // 풀의 작업 스레드가 모두 잠든 뒤에만 시간이 흐르므로 한 번 옮길 때마다 작업 10개가 함께 깨어난다
+            log.info("작업 {}개 - 가상 시각: {}ms, 시간 이동: {}회, 실제: {}ms", tasks, lastFinishedAt, clock.getAdvanceCount(), realMillis);
+            assertEquals(tasks / 10 * 2000L, lastFinishedAt);
+            assertEquals(tasks / 10, clock.getAdvanceCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPoolScenarioIsDeterministic() throws Exception {
+        // 같은 순서로 넣은 작업은 실행할 때마다 같은 가상 시각에 끝난다 - 지연이 제각각이어도 마찬가지
+        List<Long> first = finishTimes(new long[]{700, 300, 1100, 50, 900});
+        List<Long> second = finishTimes(new long[]{700, 300, 1100, 50, 900});
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testUntrackedLatchWaiterDoesNotStopTime() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Thread sleeper = new Thread(() -> {
+            try {
+                clock.sleep(1000);
+                done.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sleeper.start();
+
+        // 등록하지 않은 호출 스레드는 실행할 수 있는 일로 세지 않으므로 래치를 기다리는 동안에도 시간이 흐른다
+        assertTrue(done.await(5, TimeUnit.SECONDS), "등록하지 않은 스레드가 시간을 붙잡으면 안 됨");
+        assertEquals(1000, clock.currentTimeMillis());
+    }
+
+    @Test
+    void testInterruptCancelsSleep() throws InterruptedException {
+        // 예약을 취소하기 전에 60초가 흘러가 버리지 않도록 호출 스레드를 등록해 시간을 붙잡는다
+        clock.register();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread sleeper = new Thread(() -> {
+            assertThrows(InterruptedException.class, () -> clock.sleep(60_000));
+            interrupted.countDown();
+        });
+        sleeper.start();
+        while (sleeper.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        sleeper.interrupt();
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        clock.unregister();
+        // 취소된 예약은 시간을 앞당기지 않는다
+        assertEquals(0, clock.currentTimeMillis());
+        assertEquals(0, clock.getAdvanceCount());
+    }
+
+    private List<Long> finishTimes(long[] delays) throws Exception {
+        try (VirtualClock repeatClock = new VirtualClock()) {
+            ExecutorRegistry repeatRegistry = new ExecutorRegistry();
+            repeatClock.track(repeatRegistry);
+            ExecutorService pool = new ProfiledExecutorService("repeat", Executors.newFixedThreadPool(3),
+                repeatRegistry.register("repeat", () -> 3));
+            try {
+                repeatClock.register();
+                List<Future<Long>> futures = IntStream.range(0, 300)
+                    .mapToObj(i -> pool.submit(() -> {
+                        repeatClock.sleep(delays[i % delays.length]);
+                        return repeatClock.currentTimeMillis();
+                    }))
+                    .toList();
+                repeatClock.unregister();
+                List<Long> finishedAt = new ArrayList<>();
+                for (Future<Long> future : futures) {
+                    finishedAt.add(future.get());
+                }
+                return finishedAt;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService trackedPool(int threads) {
+        clock.track(registry);
+        return new ProfiledExecutorService("pool", Executors.newFixedThreadPool(threads), registry.register("pool", () -> threads));
+    }
+
+    private Callable<Void> sleeper(String name, long millis, List<String> wakeOrder) {
+        return () -> {
+            clock.sleep(millis);
+            wakeOrder.add(name + "@" + clock.currentTimeMillis());
+            return null;
+        };
+    }
+}
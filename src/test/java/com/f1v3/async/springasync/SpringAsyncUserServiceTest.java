@@ -1,5 +1,9 @@
 package com.f1v3.async.springasync;
 
+import com.f1v3.async.simulation.SimulationClock;
+import com.f1v3.async.status.RegistrationStatus;
+import com.f1v3.async.status.RegistrationStatusStore;
+import com.f1v3.async.status.StepState;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,22 +12,53 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "async.simulation.clock=virtual")
 class SpringAsyncUserServiceTest {
 
     @Autowired
     private SpringAsyncUserService springAsyncUserService;
 
+    @Autowired
+    private RegistrationStatusStore registrationStatusStore;
+
+    @Autowired
+    private SimulationClock clock;
+
+    @Test
+    void testFireAndForgetStatusTracking() throws InterruptedException {
+        log.info("==================== Spring Async Fire-and-Forget 상태 추적 테스트 ====================");
+
+        springAsyncUserService.registerUserFireAndForget("fire-user", "fire@example.com");
+
+        // 호출은 바로 끝나므로 상태 저장소로 메일/포인트 단계의 진행을 확인한다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        RegistrationStatus status = null;
+        while (System.nanoTime() < deadline) {
+            status = registrationStatusStore.find("fire-user").orElse(null);
+            if (status != null && status.overall() == StepState.DONE) {
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        log.info("Fire-and-Forget 가입 상태: {}", status);
+        assertEquals(StepState.DONE, status.overall());
+        assertEquals("spring-async", status.strategy());
+    }
+
     @Test
     void testBasicUserRegistration() {
         log.info("==================== Spring Async 방식 기본 사용자 등록 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         springAsyncUserService.registerUser("spring-user", "spring@example.com");
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Spring Async 방식 소요시간: {}ms", end - start);
     }
@@ -32,11 +67,11 @@ class SpringAsyncUserServiceTest {
     void testAsyncWithResult() throws ExecutionException, InterruptedException {
         log.info("==================== Spring Async 결과 반환 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         CompletableFuture<String> future = springAsyncUserService.registerUserAsyncWithResult("spring-async-user", "spring-async@example.com");
 
         String result = future.get(); // 블로킹 대기
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Spring Async 결과: {}", result);
         log.info("Spring Async 결과 반환 소요시간: {}ms", end - start);
@@ -47,14 +82,14 @@ class SpringAsyncUserServiceTest {
         log.info("==================== Spring Async 방식 대량 처리 테스트 ====================");
 
         int userCount = 12;
-        long bulkStart = System.currentTimeMillis();
+        long bulkStart = clock.currentTimeMillis();
 
         List<CompletableFuture<Void>> futures = IntStream.range(0, userCount)
             .mapToObj(i -> springAsyncUserService.registerUserAsync("bulk-spring-" + i, "bulk-spring-" + i + "@example.com"))
             .toList();
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        long bulkEnd = System.currentTimeMillis();
+        long bulkEnd = clock.currentTimeMillis();
 
         log.info("Spring Async 방식 {}명 처리 소요시간: {}ms", userCount, bulkEnd - bulkStart);
         log.info("평균 처리시간: {}ms/user", (bulkEnd - bulkStart) / userCount);
@@ -81,7 +116,7 @@ class SpringAsyncUserServiceTest {
         log.info("==================== Spring Async 스레드 풀 테스트 ====================");
 
         int taskCount = 20;
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
 
         // 동시에 여러 작업 제출하여 스레드 풀 동작 확인
         List<CompletableFuture<Void>> futures = IntStream.range(0, taskCount)
@@ -89,7 +124,7 @@ class SpringAsyncUserServiceTest {
             .toList();
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Spring Async 스레드 풀 {}개 작업 처리 소요시간: {}ms", taskCount, end - start);
         log.info("평균 처리시간: {}ms/task", (end - start) / taskCount);
@@ -116,11 +151,11 @@ class SpringAsyncUserServiceTest {
     void testVoidAsyncMethod() throws ExecutionException, InterruptedException {
         log.info("==================== Spring Async Void 반환 테스트 ====================");
 
-        long start = System.currentTimeMillis();
+        long start = clock.currentTimeMillis();
         CompletableFuture<Void> future = springAsyncUserService.registerUserAsync("void-user", "void@example.com");
 
         future.get(); // 블로킹 대기
-        long end = System.currentTimeMillis();
+        long end = clock.currentTimeMillis();
 
         log.info("Spring Async Void 처리 완료");
         log.info("Spring Async Void 처리 소요시간: {}ms", end - start);
@@ -0,0 +1,48 @@
+package com.f1v3.async.springasync;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.executor.TaskTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackingThreadPoolTaskExecutorTest {
+
+    @Test
+    void testCancelledQueuedTasksLeaveQueuedCount() throws InterruptedException {
+        TrackingThreadPoolTaskExecutor executor = new TrackingThreadPoolTaskExecutor("cancel-test", new ExecutorRegistry());
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        TaskTracker tracker = executor.getTracker();
+        executor.setTaskDecorator(tracker::wrap);
+        executor.initialize();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        assertEquals(3, tracker.getQueuedCount());
+
+        // 대기 작업을 기다리지 않는 종료 - shutdownNow 가 꺼낸 작업은 실행되지 않는다
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.shutdown();
+
+        assertEquals(0, tracker.getQueuedCount(), "취소한 대기 작업은 대기 수에서 빠져야 함");
+        assertEquals(3, tracker.getDiscardedCount());
+    }
+}
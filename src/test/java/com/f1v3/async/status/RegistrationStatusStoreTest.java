@@ -0,0 +1,130 @@
+package com.f1v3.async.status;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class RegistrationStatusStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void testRecordsStepStatesAndTimings() {
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60_000, clock::get);
+        long ticket = store.accept("test", "user1");
+
+        RegistrationStatus accepted = store.find("user1").orElseThrow();
+        assertEquals(StepState.PENDING, accepted.overall());
+        assertEquals(StepState.PENDING, accepted.email().state());
+        assertNull(accepted.email().startedAfterMillis());
+
+        clock.addAndGet(100);
+        store.started(ticket, RegistrationStep.EMAIL);
+        clock.addAndGet(50);
+        store.started(ticket, RegistrationStep.POINTS);
+        assertEquals(StepState.RUNNING, store.find("user1").orElseThrow().overall());
+
+        clock.addAndGet(1500);
+        store.finished(ticket, RegistrationStep.POINTS, true);
+        clock.addAndGet(450);
+        store.finished(ticket, RegistrationStep.EMAIL, true);
+
+        RegistrationStatus done = store.find("user1").orElseThrow();
+        log.info("가입 상태: {}", done);
+        assertEquals(StepState.DONE, done.overall());
+        assertEquals("test", done.strategy());
+        assertEquals(100, done.email().startedAfterMillis());
+        assertEquals(2000, done.email().durationMillis());
+        assertEquals(150, done.points().startedAfterMillis());
+        assertEquals(1500, done.points().durationMillis());
+    }
+
+    @Test
+    void testTrackMarksFailureOnExceptionAndInterrupt() {
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60_000, clock::get);
+        long ticket = store.accept("test", "user1");
+
+        assertThrows(IllegalStateException.class, () -> store.run(ticket, RegistrationStep.EMAIL, () -> {
+            throw new IllegalStateException("메일 서버 오류");
+        }));
+        store.run(ticket, RegistrationStep.POINTS, () -> Thread.currentThread().interrupt());
+        assertTrue(Thread.interrupted());
+
+        RegistrationStatus status = store.find("user1").orElseThrow();
+        assertEquals(StepState.FAILED, status.email().state());
+        assertEquals(StepState.FAILED, status.points().state());
+        assertEquals(StepState.FAILED, status.overall());
+    }
+
+    @Test
+    void testEvictsOldestWhenFull() {
+        int capacity = 100;
+        RegistrationStatusStore store = new RegistrationStatusStore(capacity, 60_000, clock::get);
+        long[] tickets = IntStream.range(0, 250).mapToLong(i -> store.accept("test", "user" + i)).toArray();
+
+        assertEquals(capacity, store.size());
+        for (int i = 0; i < 250; i++) {
+            assertEquals(i >= 150, store.find("user" + i).isPresent(), "user" + i);
+        }
+
+        // 밀려난 가입의 티켓으로 갱신해도 슬롯을 새로 쓴 가입에는 영향이 없어야 함
+        store.finished(tickets[0], RegistrationStep.EMAIL, false);
+        assertEquals(StepState.PENDING, store.find("user200").orElseThrow().email().state());
+    }
+
+    @Test
+    void testReRegistrationReplacesPreviousEntry() {
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60_000, clock::get);
+        long first = store.accept("test", "user1");
+        long second = store.accept("retry", "user1");
+
+        assertEquals(1, store.size());
+        store.finished(first, RegistrationStep.EMAIL, false);
+        store.finished(second, RegistrationStep.EMAIL, true);
+
+        RegistrationStatus status = store.find("user1").orElseThrow();
+        assertEquals("retry", status.strategy());
+        assertEquals(StepState.DONE, status.email().state());
+    }
+
+    @Test
+    void testExpiresAfterTtl() {
+        RegistrationStatusStore store = new RegistrationStatusStore(16, 60_000, clock::get);
+        store.accept("test", "user1");
+
+        clock.addAndGet(60_000);
+        assertTrue(store.find("user1").isPresent());
+        clock.addAndGet(1);
+        assertFalse(store.find("user1").isPresent());
+    }
+
+    @Test
+    void measureFootprint() {
+        int capacity = 65_536;
+        RegistrationStatusStore store = new RegistrationStatusStore(capacity, 60_000, clock::get);
+        String[] userIds = IntStream.range(0, capacity * 2).mapToObj(i -> "user" + i).toArray(String[]::new);
+
+        long start = System.nanoTime();
+        for (String userId : userIds) {
+            long ticket = store.accept("bench", userId);
+            store.started(ticket, RegistrationStep.EMAIL);
+            store.finished(ticket, RegistrationStep.EMAIL, true);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // 슬롯당 참조 2개(사용자 ID, 전략) + 접수 시각 long + int 6개(상태, 세대, 단계별 시작/종료 시각) + 색인 int 2칸
+        long bytesPerSlot = 2L * Integer.BYTES + Long.BYTES + 6L * Integer.BYTES + 2L * Integer.BYTES;
+        log.info("가입 {}건 기록 (접수 + 시작 + 종료) - 건당 {}ns, 슬롯당 약 {}바이트 (압축 참조 기준, 용량 {} → 약 {}KB)",
+            userIds.length, elapsed / userIds.length, bytesPerSlot, capacity, bytesPerSlot * capacity / 1024);
+        assertEquals(capacity, store.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.f1v3.async.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 테스트 작업 안에서 쓰는 대기 도우미
+ * <p>
+ * 작업 본문(Runnable, 람다)은 InterruptedException 을 던질 수 없으므로, 인터럽트되면 플래그만 되살리고 돌아온다.
+ */
+public final class TestWaits {
+
+    private static final long DEFAULT_TIMEOUT_SECONDS = 10;
+
+    private TestWaits() {
+    }
+
+    /**
+     * 외부 호출 지연처럼 작업이 시간을 쓰는 것을 흉내 낸다.
+     */
+    public static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 테스트가 풀어 줄 때까지 작업을 붙잡아 둔다.
+     */
+    public static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return 제한 시간 안에 열렸으면 true
+     */
+    public static boolean await(CountDownLatch latch, long timeout, TimeUnit unit) {
+        try {
+            return latch.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * {@link #awaitUntil(BooleanSupplier, long, TimeUnit)} 를 기본 제한 시간(10초)으로 호출한다.
+     */
+    public static boolean awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        return awaitUntil(condition, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 알림을 받을 수 없는 상태(연결 끊김 감지, 주기적으로 읽어 오는 기록)를 짧은 간격으로 확인하며 기다린다.
+     *
+     * @return 제한 시간 안에 조건이 참이 됐으면 true
+     */
+    public static boolean awaitUntil(BooleanSupplier condition, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+}
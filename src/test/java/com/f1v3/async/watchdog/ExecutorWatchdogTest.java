@@ -0,0 +1,121 @@
+package com.f1v3.async.watchdog;
+
+import com.f1v3.async.executor.ExecutorRegistry;
+import com.f1v3.async.profiling.ProfiledExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.f1v3.async.support.TestWaits.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class ExecutorWatchdogTest {
+
+    private final ExecutorRegistry registry = new ExecutorRegistry();
+    private ExecutorWatchdog watchdog;
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (watchdog != null) {
+            watchdog.close();
+        }
+    }
+
+    @Test
+    void testDetectsStuckTask() throws InterruptedException {
+        watchdog = new ExecutorWatchdog(registry, 50, 300, 100);
+        executor = newPool("stuck-test", 2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 외부 API 응답을 끝없이 기다리는 작업
+        executor.execute(() -> await(release));
+
+        WatchdogAlert alert = awaitAlert(AlertType.STUCK_TASK);
+        release.countDown();
+
+        assertEquals("stuck-test", alert.executor());
+        assertEquals(1, alert.threadDumps().size());
+        assertTrue(alert.threadDumps().values().iterator().next().contains("CountDownLatch.await"),
+            "멈춘 스레드의 스택 트레이스가 담겨야 함");
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(1, countAlerts(AlertType.STUCK_TASK), "같은 작업은 한 번만 알려야 함");
+    }
+
+    @Test
+    void testDetectsStarvationDeadlock() throws InterruptedException {
+        watchdog = new ExecutorWatchdog(registry, 50, 60_000, 100);
+        int poolSize = 2;
+        executor = newPool("starvation-test", poolSize);
+
+        // 풀 작업이 같은 풀에 하위 작업을 넣고 get() 으로 기다리는 패턴 - 모든 작업자가 이렇게 막히면 하위 작업은 영영 실행되지 않는다
+        // (모든 작업자가 바깥 작업을 잡은 뒤에 하위 작업을 넣어야, 하위 작업이 아직 바깥 작업을 받지 않은 작업자에게 가지 않는다)
+        CountDownLatch allOuterStarted = new CountDownLatch(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            executor.submit(() -> {
+                allOuterStarted.countDown();
+                allOuterStarted.await();
+                Future<String> inner = executor.submit(() -> "메일 발송 완료");
+                return inner.get();
+            });
+        }
+
+        WatchdogAlert alert = awaitAlert(AlertType.STARVATION);
+        log.info("감지된 기아 교착: {}", alert.message());
+
+        assertEquals(poolSize, alert.threadDumps().size());
+        alert.threadDumps().values().forEach(stack -> assertTrue(stack.contains("FutureTask.get"), stack));
+    }
+
+    @Test
+    void testDetectsGrowingQueue() throws InterruptedException {
+        watchdog = new ExecutorWatchdog(registry, 50, 60_000, 3);
+        executor = newPool("growth-test", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+
+        // 처리 속도보다 빠르게 계속 제출
+        for (int i = 0; i < 20 && countAlerts(AlertType.QUEUE_GROWTH) == 0; i++) {
+            executor.execute(() -> { });
+            TimeUnit.MILLISECONDS.sleep(60);
+        }
+        WatchdogAlert alert = awaitAlert(AlertType.QUEUE_GROWTH);
+        release.countDown();
+
+        assertEquals("growth-test", alert.executor());
+        assertTrue(alert.threadDumps().size() == 1, "대기열을 막고 있는 작업자 스레드의 스택이 담겨야 함");
+        assertEquals(0, countAlerts(AlertType.STARVATION), "결과를 기다리는 작업이 아니므로 기아 교착이 아님");
+    }
+
+    private ExecutorService newPool(String name, int threads) {
+        return new ProfiledExecutorService(name, Executors.newFixedThreadPool(threads), registry.register(name, () -> threads));
+    }
+
+    private WatchdogAlert awaitAlert(AlertType type) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            List<WatchdogAlert> matched = watchdog.getAlerts().stream().filter(alert -> alert.type() == type).toList();
+            if (!matched.isEmpty()) {
+                return matched.get(0);
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        throw new AssertionError(type + " 경고가 발생하지 않음");
+    }
+
+    private long countAlerts(AlertType type) {
+        return watchdog.getAlerts().stream().filter(alert -> alert.type() == type).count();
+    }
+}
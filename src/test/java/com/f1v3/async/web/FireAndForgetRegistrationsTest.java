@@ -0,0 +1,55 @@
+package com.f1v3.async.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FireAndForgetRegistrationsTest {
+
+    @Test
+    void testEvictsOldestRegistrationWhenFull() {
+        FireAndForgetRegistrations registrations = new FireAndForgetRegistrations(2, 300, 10_000);
+
+        assertTrue(registrations.submit("user-1", () -> CompletableFuture.completedFuture("완료")).accepted());
+        assertTrue(registrations.submit("user-2", CompletableFuture::new).accepted());
+        assertTrue(registrations.submit("user-3", CompletableFuture::new).accepted());
+
+        // 처리 중인 가입이 남아 있어도 용량을 넘으면 가장 오래 전에 접수한 가입부터 밀려난다
+        assertEquals(2, registrations.size());
+        assertTrue(registrations.current("user-1").isEmpty());
+        assertEquals(RegistrationResult.State.PENDING, registrations.current("user-2").orElseThrow().state());
+        assertFalse(registrations.submit("user-2", CompletableFuture::new).accepted(), "처리 중인 사용자는 다시 접수하지 않음");
+    }
+
+    @Test
+    void testRecordsTimeoutForRegistrationThatNeverCompletes() {
+        FireAndForgetRegistrations registrations = new FireAndForgetRegistrations(16, 300, 50);
+
+        assertTrue(registrations.submit("stuck-user", CompletableFuture::new).accepted());
+
+        RegistrationResult result = registrations.find("stuck-user").orElseThrow().join();
+        assertEquals(RegistrationResult.State.TIMED_OUT, result.state());
+        assertTrue(registrations.submit("stuck-user", () -> CompletableFuture.completedFuture("완료")).accepted(),
+            "시간 초과로 끝난 사용자는 다시 접수할 수 있음");
+    }
+
+    @Test
+    void testSubmissionReturnsStateEvenIfEvictedRightAway() {
+        FireAndForgetRegistrations registrations = new FireAndForgetRegistrations(1, 300, 10_000);
+
+        // 가입을 시작하는 사이에 다른 요청이 접수돼 용량 1 을 넘겨 밀려나는 경우
+        FireAndForgetRegistrations.Submission submission = registrations.submit("evicted-user", () -> {
+            registrations.submit("other-user", CompletableFuture::new);
+            return new CompletableFuture<>();
+        });
+
+        assertTrue(submission.accepted());
+        assertTrue(registrations.current("evicted-user").isEmpty());
+        assertEquals("evicted-user", submission.current().userId());
+        assertEquals(RegistrationResult.State.PENDING, submission.current().state());
+    }
+}
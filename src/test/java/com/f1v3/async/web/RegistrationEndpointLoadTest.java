@@ -0,0 +1,156 @@
+package com.f1v3.async.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동기 엔드포인트와 비동기 엔드포인트를 HTTP 수준에서 비교하는 부하 테스트
+ * <p>
+ * Tomcat 작업 스레드를 10개로 줄여 두고 가입 요청을 동시에 보낸 뒤, 그 사이에 가벼운 상태 조회를 보내
+ * 작업 스레드가 남아 있는지(조회 응답 시간)와 가입 요청의 처리 시간을 함께 측정한다.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"server.tomcat.threads.max=10", "server.tomcat.threads.min-spare=10",
+        // 30건의 메일/포인트 60개가 서비스 풀 10개 스레드에서 처리되는 동안 시간 초과로 끊기지 않도록
+        "async.web.registration-timeout-ms=60000"})
+class RegistrationEndpointLoadTest {
+
+    private static final int CONCURRENT_REGISTRATIONS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    void compareBlockingAndAsyncEndpoints() throws Exception {
+        log.info("==================== 동기 vs 비동기 엔드포인트 HTTP 부하 비교 ({}건 동시, Tomcat 스레드 10개) ====================",
+            CONCURRENT_REGISTRATIONS);
+
+        LoadResult blocking = runLoad("blocking", "/api/registrations/blocking");
+        LoadResult async = runLoad("async", "/api/registrations/async");
+        LoadResult deferred = runLoad("deferred", "/api/registrations/deferred");
+
+        log.info("==================== 결과 ====================");
+        for (LoadResult result : List.of(blocking, async, deferred)) {
+            log.info("{} - 전체: {}ms, 가입 응답 p50: {}ms / 최대: {}ms, 부하 중 상태 조회 응답: {}ms",
+                result.name(), result.totalMillis(), result.percentile(50), result.percentile(100), result.probeMillis());
+        }
+
+        // 동기 방식은 작업 스레드 10개가 모두 가입에 묶여 조회 요청도 앞 가입이 끝날 때까지 기다린다
+        assertTrue(blocking.probeMillis() >= 1000, "동기 엔드포인트는 작업 스레드를 점유해야 함: " + blocking.probeMillis());
+        assertTrue(async.probeMillis() < blocking.probeMillis(), "비동기 엔드포인트는 작업 스레드를 바로 반납해야 함");
+        assertTrue(deferred.probeMillis() < blocking.probeMillis(), "DeferredResult 엔드포인트는 작업 스레드를 바로 반납해야 함");
+    }
+
+    @Test
+    void testFireAndForgetWithLongPolling() throws Exception {
+        log.info("==================== 접수 후 롱 폴링 상태 조회 테스트 ====================");
+
+        HttpResponse<String> accepted = post("/api/registrations", "poll-user");
+        assertEquals(202, accepted.statusCode());
+        assertEquals("/api/registrations/poll-user", accepted.headers().firstValue("Location").orElseThrow());
+        assertTrue(accepted.body().contains("PENDING"));
+
+        // 처리 중에 같은 사용자로 다시 접수하면 거절
+        assertEquals(409, post("/api/registrations", "poll-user").statusCode());
+
+        // 완료될 때까지 응답을 미루는 조회
+        long start = System.nanoTime();
+        HttpResponse<String> status = get("/api/registrations/poll-user?waitMillis=10000");
+        log.info("롱 폴링 응답 ({}ms): {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), status.body());
+        assertEquals(200, status.statusCode());
+        assertTrue(status.body().contains("COMPLETED"), status.body());
+
+        assertEquals(404, get("/api/registrations/unknown-user").statusCode());
+    }
+
+    @Test
+    void testFireAndForgetWithServerSentEvents() throws Exception {
+        log.info("==================== 접수 후 SSE 상태 스트림 테스트 ====================");
+
+        assertEquals(202, post("/api/registrations", "sse-user").statusCode());
+
+        // 현재 상태(PENDING)와 최종 상태(COMPLETED) 두 이벤트를 받은 뒤 서버가 스트림을 닫는다
+        HttpResponse<String> events = get("/api/registrations/sse-user/events");
+        log.info("SSE 응답:\n{}", events.body());
+        assertEquals(200, events.statusCode());
+        assertTrue(events.body().indexOf("PENDING") < events.body().indexOf("COMPLETED"), events.body());
+    }
+
+    private LoadResult runLoad(String name, String path) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> registrations = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+            long requestStart = System.nanoTime();
+            registrations.add(postAsync(path, name + "-load-" + i).thenApply(response -> {
+                assertEquals(200, response.statusCode(), response.body());
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStart);
+            }));
+        }
+
+        // 가입 요청이 모두 들어간 뒤 가벼운 조회 요청 하나의 응답 시간
+        TimeUnit.MILLISECONDS.sleep(300);
+        long probeStart = System.nanoTime();
+        get("/api/registrations/probe-" + name);
+        long probeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeStart);
+
+        long[] latencies = registrations.stream().mapToLong(CompletableFuture::join).sorted().toArray();
+        return new LoadResult(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), latencies, probeMillis);
+    }
+
+    private CompletableFuture<HttpResponse<String>> postAsync(String path, String userId) {
+        return httpClient.sendAsync(postRequest(path, userId), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String userId) throws Exception {
+        return httpClient.send(postRequest(path, userId), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest postRequest(String path, String userId) {
+        String body = String.format("{\"userId\":\"%s\",\"email\":\"%s@example.com\"}", userId, userId);
+        return HttpRequest.newBuilder(uri(path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record LoadResult(String name, long totalMillis, long[] sortedLatencies, long probeMillis) {
+
+        long percentile(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)];
+        }
+    }
+}